@@ -0,0 +1,7 @@
+package com.JK.SIMS.config.dataSource;
+
+// Lookup keys of ReplicaRoutingDataSource
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
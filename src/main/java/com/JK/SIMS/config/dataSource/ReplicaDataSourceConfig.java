@@ -0,0 +1,87 @@
+package com.JK.SIMS.config.dataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * Read-only transactions (query services, analytics, searches, reports) read from a replica pool,
+ * while writes and everything outside a read-only transaction use the primary (spring.datasource.*).
+ * Enabled with replica.enabled=true; otherwise the single auto-configured datasource is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${replica.datasource.url}")
+    private String replicaUrl;
+
+    @Value("${replica.datasource.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${replica.datasource.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${replica.datasource.maximum-pool-size:10}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${replica.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
+    @Value("${replica.max-lag-ms:2000}")
+    private long maxLagMs;
+
+    @Value("${replica.retry-after-failure-ms:30000}")
+    private long retryAfterFailureMs;
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(replicaUrl);
+        dataSource.setUsername(replicaUsername);
+        dataSource.setPassword(replicaPassword);
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        dataSource.setMaximumPoolSize(replicaMaximumPoolSize);
+        dataSource.setReadOnly(true);
+        dataSource.setInitializationFailTimeout(-1); // A missing replica must not stop the application
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaStalenessGuard replicaStalenessGuard(Clock clock) {
+        return new ReplicaStalenessGuard(clock, readYourWritesMs, maxLagMs, retryAfterFailureMs);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               ReplicaStalenessGuard stalenessGuard, Clock clock) {
+        return new ReplicaLagMonitor(primary, replica, stalenessGuard, clock);
+    }
+
+    // The datasource of JPA, JdbcTemplate and the transaction manager
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaStalenessGuard stalenessGuard) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, stalenessGuard));
+    }
+}
@@ -0,0 +1,63 @@
+package com.JK.SIMS.config.dataSource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Measures the replica lag with a heartbeat row: the time is written to the primary and read back from the
+ * replica, the difference is how far replication is behind. Works with any replication setup, as long as the
+ * replica_heartbeat table is replicated like the others. Nodes share the row, so their clocks should be in sync.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaStalenessGuard stalenessGuard;
+    private final Clock clock;
+    private boolean tableCreated = false;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaStalenessGuard stalenessGuard, Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.stalenessGuard = stalenessGuard;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${replica.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        try {
+            if (!tableCreated) {
+                primary.execute(CREATE_TABLE);
+                tableCreated = true;
+            }
+            long now = clock.millis();
+            if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            log.error("ReplicaRouting: Failed to write the heartbeat to the primary: {}", e.getMessage());
+        }
+        measureLag();
+    }
+
+    void measureLag() {
+        try {
+            List<Long> beats = replica.queryForList("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+            // No heartbeat replicated yet: the lag is unknown, keep reading from the primary
+            stalenessGuard.updateLag(beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, clock.millis() - beats.get(0)));
+        } catch (DataAccessException e) {
+            stalenessGuard.updateLag(Long.MAX_VALUE);
+            log.debug("ReplicaRouting: Failed to read the heartbeat from the replica: {}", e.getMessage());
+        }
+    }
+}
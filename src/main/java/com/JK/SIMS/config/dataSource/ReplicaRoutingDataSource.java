@@ -0,0 +1,78 @@
+package com.JK.SIMS.config.dataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends the connections of read-only transactions to the replica while the ReplicaStalenessGuard allows it,
+ * everything else to the primary. A replica connection that cannot be opened falls back to the primary.
+ * The transaction flags are only known once the transaction has started, so this must be wrapped in a
+ * LazyConnectionDataSourceProxy, which opens the connection on the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaStalenessGuard stalenessGuard;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaStalenessGuard stalenessGuard) {
+        this.primary = primary;
+        this.stalenessGuard = stalenessGuard;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceRole.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return stalenessGuard.replicaUsable() ? DataSourceRole.REPLICA : DataSourceRole.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stalenessGuard.recordWrite();
+                }
+            });
+        }
+        return DataSourceRole.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            stalenessGuard.replicaFailed(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) {
+            return target.getConnection(username, password);
+        }
+        try {
+            return target.getConnection(username, password);
+        } catch (SQLException e) {
+            stalenessGuard.replicaFailed(e);
+            return primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.JK.SIMS.config.dataSource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a read-only transaction may read from the replica:
+ * - not while the replica lags behind the primary by more than maxLagMs (or its lag is unknown),
+ * - not within retryAfterFailureMs after a connection to it failed,
+ * - not for a user who committed a write within readYourWritesMs, so users always see their own changes.
+ *   Writes are only known to the node that made them.
+ */
+@Slf4j
+public class ReplicaStalenessGuard {
+
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    private final Clock clock;
+    private final long readYourWritesMs;
+    private final long maxLagMs;
+    private final long retryAfterFailureMs;
+
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private volatile long replicaLagMs = Long.MAX_VALUE; // Unknown until the first heartbeat is read
+    private volatile long replicaDownUntil = 0;
+
+    public ReplicaStalenessGuard(Clock clock, long readYourWritesMs, long maxLagMs, long retryAfterFailureMs) {
+        this.clock = clock;
+        this.readYourWritesMs = readYourWritesMs;
+        this.maxLagMs = maxLagMs;
+        this.retryAfterFailureMs = retryAfterFailureMs;
+    }
+
+    public boolean replicaUsable() {
+        long now = clock.millis();
+        if (now < replicaDownUntil || replicaLagMs > maxLagMs) {
+            return false;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return true;
+        }
+        Long lastWrite = lastWriteByUser.get(user);
+        return lastWrite == null || now - lastWrite > readYourWritesMs;
+    }
+
+    // Called after a read-write transaction of the current user committed
+    public void recordWrite() {
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        long now = clock.millis();
+        if (lastWriteByUser.size() >= MAX_TRACKED_WRITERS) {
+            lastWriteByUser.values().removeIf(lastWrite -> now - lastWrite > readYourWritesMs);
+        }
+        lastWriteByUser.put(user, now);
+    }
+
+    public void replicaFailed(Exception e) {
+        replicaDownUntil = clock.millis() + retryAfterFailureMs;
+        log.warn("ReplicaRouting: Replica unavailable, reading from the primary for the next {} ms: {}",
+                retryAfterFailureMs, e.getMessage());
+    }
+
+    public void updateLag(long lagMs) {
+        if (lagMs > maxLagMs && replicaLagMs <= maxLagMs) {
+            log.warn("ReplicaRouting: Replica is {} ms behind the primary, reading from the primary", lagMs);
+        } else if (lagMs <= maxLagMs && replicaLagMs > maxLagMs) {
+            log.info("ReplicaRouting: Replica caught up ({} ms behind), read-only transactions use it again", lagMs);
+        }
+        replicaLagMs = lagMs;
+    }
+
+    public long getReplicaLagMs() {
+        return replicaLagMs;
+    }
+
+    @Nullable
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,123 @@
+package com.JK.SIMS.config.hibernateCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache provider keeping every region in an in-process BoundedStorageAccess.
+ * Regions are configured by name; unknown regions use the default limits. The update timestamps region
+ * is never bounded nor expired, as the query cache relies on it to detect stale results.
+ * When a MeterRegistry is available, each region publishes the standard cache.* metrics tagged with its name.
+ */
+@Slf4j
+public class BoundedRegionFactory extends RegionFactoryTemplate {
+
+    private final Map<String, RegionLimits> regionLimits;
+    private final RegionLimits defaultLimits;
+    @Nullable
+    private final MeterRegistry meterRegistry;
+
+    public BoundedRegionFactory(Map<String, RegionLimits> regionLimits, RegionLimits defaultLimits,
+                                @Nullable MeterRegistry meterRegistry) {
+        this.regionLimits = Map.copyOf(regionLimits);
+        this.defaultLimits = defaultLimits;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return createStorage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return createStorage(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new BoundedStorageAccess(regionName, 0, 0);
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        log.info("HibernateCache: Second-level cache started with regions {}", regionLimits.keySet());
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        log.info("HibernateCache: Second-level cache stopped");
+    }
+
+    private BoundedStorageAccess createStorage(String regionName) {
+        RegionLimits limits = regionLimits.getOrDefault(regionName, defaultLimits);
+        BoundedStorageAccess storage = new BoundedStorageAccess(regionName, limits.maxEntries(), limits.ttlMs());
+        if (meterRegistry != null) {
+            new RegionMetrics(storage).bindTo(meterRegistry);
+        }
+        log.debug("HibernateCache: Region '{}' created with max {} entries and ttl {} ms",
+                regionName, limits.maxEntries(), limits.ttlMs());
+        return storage;
+    }
+
+    /**
+     * @param maxEntries entries kept before the least recently used is dropped, 0 for no limit
+     * @param ttlMs      lifetime of an entry, 0 for no expiry
+     */
+    public record RegionLimits(int maxEntries, long ttlMs) {}
+
+    private static final class RegionMetrics extends CacheMeterBinder<BoundedStorageAccess> {
+
+        RegionMetrics(BoundedStorageAccess storage) {
+            super(storage, storage.getRegionName(), Tags.of("cacheManager", "hibernate"));
+        }
+
+        @Override
+        protected Long size() {
+            BoundedStorageAccess storage = getCache();
+            return storage == null ? null : storage.size();
+        }
+
+        @Override
+        protected long hitCount() {
+            BoundedStorageAccess storage = getCache();
+            return storage == null ? 0 : storage.hitCount();
+        }
+
+        @Override
+        protected Long missCount() {
+            BoundedStorageAccess storage = getCache();
+            return storage == null ? null : storage.missCount();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            BoundedStorageAccess storage = getCache();
+            return storage == null ? null : storage.evictionCount();
+        }
+
+        @Override
+        protected long putCount() {
+            BoundedStorageAccess storage = getCache();
+            return storage == null ? 0 : storage.putCount();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            // Only the standard cache metrics
+        }
+    }
+}
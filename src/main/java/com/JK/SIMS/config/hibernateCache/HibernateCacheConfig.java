@@ -0,0 +1,65 @@
+package com.JK.SIMS.config.hibernateCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Second-level and query cache for the reference entities (ProductsForPM, Supplier), which are read on
+ * almost every request but rarely change. Writes through the EntityManager update the cache on commit
+ * (read-write strategy); bulk and native statements evict the regions of the tables they touch.
+ * Other nodes' changes are picked up when the entry expires.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String PRODUCTS_REGION = "products";
+    public static final String SUPPLIERS_REGION = "suppliers";
+
+    @Value("${hibernate-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hibernate-cache.products.max-entries:10000}")
+    private int productsMaxEntries;
+
+    @Value("${hibernate-cache.products.ttl-ms:600000}")
+    private long productsTtlMs;
+
+    @Value("${hibernate-cache.suppliers.max-entries:1000}")
+    private int suppliersMaxEntries;
+
+    @Value("${hibernate-cache.suppliers.ttl-ms:600000}")
+    private long suppliersTtlMs;
+
+    @Value("${hibernate-cache.queries.max-entries:1000}")
+    private int queriesMaxEntries;
+
+    @Value("${hibernate-cache.queries.ttl-ms:60000}")
+    private long queriesTtlMs;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(ObjectProvider<MeterRegistry> meterRegistry) {
+        return properties -> {
+            if (!enabled) {
+                return;
+            }
+            BoundedRegionFactory regionFactory = new BoundedRegionFactory(
+                    Map.of(PRODUCTS_REGION, new BoundedRegionFactory.RegionLimits(productsMaxEntries, productsTtlMs),
+                            SUPPLIERS_REGION, new BoundedRegionFactory.RegionLimits(suppliersMaxEntries, suppliersTtlMs),
+                            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                            new BoundedRegionFactory.RegionLimits(queriesMaxEntries, queriesTtlMs)),
+                    new BoundedRegionFactory.RegionLimits(queriesMaxEntries, queriesTtlMs),
+                    meterRegistry.getIfAvailable());
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.JK.SIMS.config.idGeneration;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TableGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+
+/**
+ * Moves every id_generator row past the largest id already in its entity table, before the application
+ * serves requests. Needed once for the tables whose rows were created with IDENTITY ids, and harmless
+ * afterwards: the value only ever increases (GREATEST), so nodes starting at the same time cannot move
+ * another node's reserved block back.
+ */
+@Slf4j
+@Component
+public class IdGeneratorAlignment implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorAlignment(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignAll();
+    }
+
+    public void alignAll() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().forEachEntityDescriptor(descriptor -> {
+            TableGenerator generator = findTableGenerator(descriptor.getMappedClass());
+            if (generator != null && IdGenerators.TABLE.equals(generator.table())
+                    && descriptor instanceof AbstractEntityPersister persister) {
+                align(generator.pkColumnValue(), persister.getTableName(), persister.getIdentifierColumnNames()[0],
+                        generator.allocationSize());
+            }
+        });
+    }
+
+    private void align(String segment, String entityTable, String idColumn, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + entityTable, Long.class);
+        // One block above the largest id, whatever part of the block the optimizer hands out first
+        long nextValue = (maxId == null ? 0 : maxId) + allocationSize + 1;
+        String update = "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = GREATEST("
+                + IdGenerators.VALUE_COLUMN + ", ?) WHERE " + IdGenerators.SEGMENT_COLUMN + " = ?";
+        if (jdbcTemplate.update(update, nextValue, segment) == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.SEGMENT_COLUMN + ", "
+                        + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)", segment, nextValue);
+            } catch (DataIntegrityViolationException e) {
+                // Another node inserted the row first
+                jdbcTemplate.update(update, nextValue, segment);
+            }
+        }
+        log.info("IdGeneratorAlignment: Ids of {} start above {}", entityTable, maxId == null ? 0 : maxId);
+    }
+
+    private static TableGenerator findTableGenerator(Class<?> entityClass) {
+        for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                TableGenerator generator = field.getAnnotation(TableGenerator.class);
+                if (generator != null) {
+                    return generator;
+                }
+            }
+        }
+        return null;
+    }
+}
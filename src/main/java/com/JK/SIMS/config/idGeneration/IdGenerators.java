@@ -0,0 +1,18 @@
+package com.JK.SIMS.config.idGeneration;
+
+/**
+ * Shared id generator of the high-volume entities (orders, order items, stock movements, damage reports).
+ * Ids are reserved ALLOCATION_SIZE at a time from one row per entity in the id_generator table (pooled optimizer),
+ * so Hibernate knows them before the INSERT and can send the rows in JDBC batches, which IDENTITY columns prevent.
+ * IdGeneratorAlignment moves every row past the ids already in use on startup.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generator";
+    public static final String SEGMENT_COLUMN = "entity_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
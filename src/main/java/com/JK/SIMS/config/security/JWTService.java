@@ -1,11 +1,16 @@
 package com.JK.SIMS.config.security;
 
 
+import com.JK.SIMS.config.security.jwtAuthentication.VerifiedJwt;
+import com.JK.SIMS.config.security.tokenBlacklist.TokenBlacklistCache;
+import com.JK.SIMS.models.UM_models.BlacklistedToken;
 import com.JK.SIMS.repository.UserManagement_repo.BlackListTokenRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
@@ -33,7 +38,11 @@ public class JWTService {
     @Value("${jwt.access.expiration}") // 1 hour in milliseconds
     private Long accessTokenDurationMs;
 
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
     private final BlackListTokenRepository blackListTokenRepository;
+    private final TokenBlacklistCache tokenBlacklistCache;
 
 
     public String generateAccessToken(String username, String role) {
@@ -53,11 +62,19 @@ public class JWTService {
     }
 
 
+    // Answered from memory, see TokenBlacklistCache
     public boolean isTokenBlacklisted(String token) {
-        if (token != null && !token.isEmpty()) {
-            return blackListTokenRepository.existsByToken(token);
-        }
-        return false;
+        return tokenBlacklistCache.isRevoked(token);
+    }
+
+    /**
+     * Revokes the token on this node right away and stores it so other nodes pick it up on their next sync.
+     */
+    @Transactional
+    public void blacklistToken(String token) {
+        Date expiresAt = extractExpiration(token);
+        tokenBlacklistCache.revoke(token, expiresAt);
+        blackListTokenRepository.save(new BlacklistedToken(token, new Date(), expiresAt));
     }
 
     //Cleanup strategy
@@ -68,21 +85,42 @@ public class JWTService {
             Date currentTime = new Date();
             Date expirationThreshold = new Date(currentTime.getTime() - (1000 * 60 * 60 * 8));
 
-            blackListTokenRepository.findAll().stream()
-                    .filter(token -> token.getBlacklistedAt().before(expirationThreshold))
-                    .forEach(blackListTokenRepository::delete);
-
-            log.info("Cleaned up expired blacklisted tokens");
+            int removed = blackListTokenRepository.deleteBlacklistedBefore(expirationThreshold);
+            log.info("Cleaned up {} expired blacklisted tokens", removed);
         } catch (Exception e) {
             log.error("Error during blacklisted tokens cleanup: {}", e.getMessage());
         }
     }
 
-    private SecretKey getKey() {
+    // The key and parser are immutable and thread-safe, so they are built once instead of per call
+    @PostConstruct
+    private void initSigningKey() {
         byte[] keys = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keys);
+        this.signingKey = Keys.hmacShaKeyFor(keys);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
+    private SecretKey getKey() {
+        return signingKey;
+    }
+
+    /**
+     * Verifies the signature and expiration and reads all claims in a single parse.
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token is expired
+     * @throws io.jsonwebtoken.JwtException if the token is invalid
+     */
+    public VerifiedJwt verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedJwt(
+                token,
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("type", String.class),
+                claims.getExpiration()
+        );
+    }
 
     public String extractUsername(String token) {
         // extract the username from jwt token
@@ -90,9 +128,7 @@ public class JWTService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -115,4 +151,9 @@ public class JWTService {
         final String userName = extractUsername(token);
         return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
+
+    // Same check on claims that were already parsed
+    public boolean validateToken(VerifiedJwt verifiedJwt, UserDetails userDetails) {
+        return verifiedJwt.username().equals(userDetails.getUsername()) && !verifiedJwt.isExpired();
+    }
 }
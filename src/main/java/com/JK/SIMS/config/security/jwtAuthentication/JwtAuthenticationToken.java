@@ -0,0 +1,22 @@
+package com.JK.SIMS.config.security.jwtAuthentication;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Authentication stored by JWTFilter; carries the verified claims so nothing
+ * later in the request has to parse the raw token again.
+ */
+public class JwtAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final VerifiedJwt verifiedJwt;
+
+    public JwtAuthenticationToken(UserDetails principal, VerifiedJwt verifiedJwt) {
+        super(principal, null, principal.getAuthorities());
+        this.verifiedJwt = verifiedJwt;
+    }
+
+    public VerifiedJwt getVerifiedJwt() {
+        return verifiedJwt;
+    }
+}
@@ -0,0 +1,109 @@
+package com.JK.SIMS.config.security.jwtAuthentication;
+
+import com.JK.SIMS.service.userAuthenticationService.impl.UserDetailsServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Principals resolved for JWT authentication, so authenticated requests do not query the users table.
+ * - Bounded: the least recently used entry is dropped once max-size is reached.
+ * - Entries expire after ttl-ms; this also bounds how stale another node's copy can be after a change.
+ * - Only used by JWTFilter. Login still goes through UserDetailsServiceImpl directly.
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final Map<String, CachedPrincipal> principals;
+
+    public UserPrincipalCache(UserDetailsServiceImpl userDetailsService,
+                              @Value("${jwt.principal-cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.principal-cache.ttl-ms:60000}") long ttlMs,
+                              @Value("${jwt.principal-cache.max-size:10000}") int maxSize) {
+        this.userDetailsService = userDetailsService;
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.principals = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the principal of the token's subject. A cached principal whose authority no longer
+     * matches the role claim is reloaded, so a role change is picked up as soon as a new token is used.
+     */
+    public UserDetails loadUser(VerifiedJwt verifiedJwt) throws UsernameNotFoundException {
+        String username = verifiedJwt.username();
+        if (!enabled) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached;
+        synchronized (principals) {
+            cached = principals.get(username);
+        }
+        if (cached != null && cached.expiresAt() > now && hasRole(cached.userDetails(), verifiedJwt.role())) {
+            return cached.userDetails();
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        synchronized (principals) {
+            principals.put(username, new CachedPrincipal(userDetails, now + ttlMs));
+        }
+        return userDetails;
+    }
+
+    /**
+     * Drops the cached principal of the user. Inside a transaction the entry is dropped
+     * after commit, so a concurrent request cannot cache the old row again in between.
+     */
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(username);
+                }
+            });
+        }
+        remove(username);
+    }
+
+    public void invalidateAll() {
+        synchronized (principals) {
+            principals.clear();
+        }
+        log.info("UserPrincipalCache: All cached principals invalidated");
+    }
+
+    private void remove(String username) {
+        synchronized (principals) {
+            principals.remove(username);
+        }
+        log.debug("UserPrincipalCache: Invalidated principal of '{}'", username);
+    }
+
+    private boolean hasRole(UserDetails userDetails, String role) {
+        return role == null || userDetails.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals(role));
+    }
+
+    private record CachedPrincipal(UserDetails userDetails, long expiresAt) {}
+}
@@ -0,0 +1,29 @@
+package com.JK.SIMS.config.security.jwtAuthentication;
+
+import com.JK.SIMS.models.UM_models.Users;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener of Users that drops the cached principal when the row changes or is deleted,
+ * so a new role or a removed account applies to the next request instead of after the cache TTL.
+ * Without a UserPrincipalCache bean (e.g. JPA test slices) it does nothing.
+ */
+public class UserPrincipalCacheListener {
+
+    private final ObjectProvider<UserPrincipalCache> userPrincipalCache;
+
+    public UserPrincipalCacheListener(ObjectProvider<UserPrincipalCache> userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Users user) {
+        UserPrincipalCache cache = userPrincipalCache.getIfAvailable();
+        if (cache != null) {
+            cache.invalidate(user.getUsername());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.JK.SIMS.config.security.jwtAuthentication;
+
+import java.util.Date;
+
+/**
+ * Claims of an access token whose signature and expiration have already been checked.
+ * Built once per request by JWTFilter and kept in the security context.
+ */
+public record VerifiedJwt(String token, String username, String role, String type, Date expiration) {
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
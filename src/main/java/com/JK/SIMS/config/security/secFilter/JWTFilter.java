@@ -1,8 +1,10 @@
 package com.JK.SIMS.config.security.secFilter;
 
 import com.JK.SIMS.exception.JwtAuthenticationException;
+import com.JK.SIMS.config.security.jwtAuthentication.JwtAuthenticationToken;
+import com.JK.SIMS.config.security.jwtAuthentication.UserPrincipalCache;
+import com.JK.SIMS.config.security.jwtAuthentication.VerifiedJwt;
 import com.JK.SIMS.config.security.utils.TokenUtils;
-import com.JK.SIMS.service.userAuthenticationService.impl.UserDetailsServiceImpl;
 import com.JK.SIMS.config.security.JWTService;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -11,8 +13,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -29,22 +29,22 @@ public class JWTFilter extends OncePerRequestFilter {
     private JWTService jwtService;
 
     @Autowired
-    ApplicationContext context;
+    private UserPrincipalCache userPrincipalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String authHeader = request.getHeader("Authorization");
-            String token = null;
-            String userInfo = null;
+            VerifiedJwt verifiedJwt = null;
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 try {
-                    token = TokenUtils.extractToken(authHeader);
+                    String token = TokenUtils.extractToken(authHeader);
                     if (jwtService.isTokenBlacklisted(token)) {
                         throw new JwtAuthenticationException("Token has been blacklisted");
                     }
-                    userInfo = jwtService.extractUsername(token);
+                    // Signature, expiration and claims are read in this single parse
+                    verifiedJwt = jwtService.verify(token);
                 } catch (ExpiredJwtException e) {
                     setErrorMessage(request, "Token has expired");
                     throw new JwtAuthenticationException("Token has expired");
@@ -60,14 +60,12 @@ public class JWTFilter extends OncePerRequestFilter {
                 }
             }
 
-            if (userInfo != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (verifiedJwt != null && verifiedJwt.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 try {
-                    UserDetails userDetails = context.getBean(UserDetailsServiceImpl.class).loadUserByUsername(userInfo);
+                    UserDetails userDetails = userPrincipalCache.loadUser(verifiedJwt);
 
-                    if (jwtService.validateToken(token, userDetails)) {
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities()
-                        );
+                    if (jwtService.validateToken(verifiedJwt, userDetails)) {
+                        JwtAuthenticationToken authToken = new JwtAuthenticationToken(userDetails, verifiedJwt);
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
                     } else {
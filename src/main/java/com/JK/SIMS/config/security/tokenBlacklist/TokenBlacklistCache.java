@@ -0,0 +1,130 @@
+package com.JK.SIMS.config.security.tokenBlacklist;
+
+import com.JK.SIMS.models.UM_models.BlacklistedToken;
+import com.JK.SIMS.repository.UserManagement_repo.BlackListTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the BlacklistedTokens table, so JWTFilter never queries the database.
+ * - Keyed by the SHA-256 of the token; the value is the token expiration, after which the entry is evicted.
+ * - A Bloom filter in front answers the common "not revoked" case with a few bit reads.
+ * - Loaded at startup, updated directly on logout/password change, and caught up with
+ *   revocations made on other nodes by reading only rows newer than the last sync.
+ */
+@Component
+@Slf4j
+public class TokenBlacklistCache {
+
+    // Rows without expires_at (written before it existed) are kept as long as the table keeps them
+    private static final long LEGACY_ENTRY_TTL_MS = 1000L * 60 * 60 * 8;
+
+    private final BlackListTokenRepository blackListTokenRepository;
+    private final int bloomExpectedInsertions;
+    private final double bloomFalsePositiveRate;
+    private final long syncOverlapMs;
+
+    private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>(); // token hash -> expiry epoch millis
+    private volatile TokenBloomFilter bloomFilter;
+    private volatile Date lastSyncedAt = new Date(0);
+
+    public TokenBlacklistCache(BlackListTokenRepository blackListTokenRepository,
+                               @Value("${jwt.blacklist.bloom.expected-insertions:100000}") int bloomExpectedInsertions,
+                               @Value("${jwt.blacklist.bloom.false-positive-rate:0.01}") double bloomFalsePositiveRate,
+                               @Value("${jwt.blacklist.sync-overlap-ms:5000}") long syncOverlapMs) {
+        this.blackListTokenRepository = blackListTokenRepository;
+        this.bloomExpectedInsertions = bloomExpectedInsertions;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.syncOverlapMs = syncOverlapMs;
+        this.bloomFilter = new TokenBloomFilter(bloomExpectedInsertions, bloomFalsePositiveRate);
+    }
+
+    @PostConstruct
+    public void loadAll() {
+        Date syncStart = new Date();
+        List<BlacklistedToken> rows = blackListTokenRepository.findAll();
+        rows.forEach(this::addRow);
+        lastSyncedAt = syncStart;
+        log.info("TokenBlacklistCache: Loaded {} revoked tokens", revokedUntil.size());
+    }
+
+    public boolean isRevoked(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        byte[] digest = sha256(token);
+        if (!bloomFilter.mightContain(digest)) {
+            return false;
+        }
+        Long expiresAt = revokedUntil.get(HexFormat.of().formatHex(digest));
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    // Synchronized with the rebuild in evictExpired() so no revocation is left out of the new filter
+    public synchronized void revoke(String token, Date expiresAt) {
+        byte[] digest = sha256(token);
+        revokedUntil.put(HexFormat.of().formatHex(digest), expiresAt.getTime());
+        bloomFilter.put(digest);
+    }
+
+    // Catch up with revocations made on other nodes; the overlap covers rows committed slightly out of order
+    @Scheduled(fixedDelayString = "${jwt.blacklist.sync-interval-ms:15000}")
+    public void syncFromDatabase() {
+        try {
+            Date syncStart = new Date();
+            List<BlacklistedToken> newRows = blackListTokenRepository.findByBlacklistedAtAfter(
+                    new Date(lastSyncedAt.getTime() - syncOverlapMs));
+            newRows.forEach(this::addRow);
+            lastSyncedAt = syncStart;
+            if (!newRows.isEmpty()) {
+                log.debug("TokenBlacklistCache: Synced {} revoked tokens", newRows.size());
+            }
+        } catch (Exception e) {
+            log.error("TokenBlacklistCache: Failed to sync revoked tokens - {}", e.getMessage());
+        }
+    }
+
+    // Drop expired entries and rebuild the Bloom filter, which cannot forget entries on its own
+    @Scheduled(fixedDelayString = "${jwt.blacklist.eviction-interval-ms:600000}")
+    public synchronized void evictExpired() {
+        long now = System.currentTimeMillis();
+        revokedUntil.values().removeIf(expiresAt -> expiresAt <= now);
+
+        TokenBloomFilter rebuilt = new TokenBloomFilter(
+                Math.max(bloomExpectedInsertions, revokedUntil.size() * 2), bloomFalsePositiveRate);
+        revokedUntil.keySet().forEach(hash -> rebuilt.put(HexFormat.of().parseHex(hash)));
+        bloomFilter = rebuilt;
+        log.debug("TokenBlacklistCache: {} revoked tokens after eviction", revokedUntil.size());
+    }
+
+    private void addRow(BlacklistedToken row) {
+        Date expiresAt = row.getExpiresAt();
+        if (expiresAt == null) {
+            Date blacklistedAt = row.getBlacklistedAt() != null ? row.getBlacklistedAt() : new Date();
+            expiresAt = new Date(blacklistedAt.getTime() + LEGACY_ENTRY_TTL_MS);
+        }
+        if (expiresAt.getTime() > System.currentTimeMillis()) {
+            revoke(row.getToken(), expiresAt);
+        }
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.JK.SIMS.config.security.utils;
 
 import com.JK.SIMS.config.security.JWTService;
+import com.JK.SIMS.config.security.jwtAuthentication.JwtAuthenticationToken;
+import com.JK.SIMS.config.security.jwtAuthentication.VerifiedJwt;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.apache.coyote.BadRequestException;
@@ -9,6 +11,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Component
 @RequiredArgsConstructor
 public class SecurityUtils {
@@ -24,14 +28,31 @@ public class SecurityUtils {
 
     }
 
+    /**
+     * Returns the username of the token's owner. When the token is the one JWTFilter
+     * already verified for this request, the username comes from the security context
+     * and the token is not parsed again.
+     */
     public String validateAndExtractUsername(String jwtToken) throws BadRequestException {
-        String username = jwtService.extractUsername(jwtToken);
+        String username = getVerifiedJwt()
+                .filter(verifiedJwt -> verifiedJwt.token().equals(jwtToken))
+                .map(VerifiedJwt::username)
+                .orElseGet(() -> jwtService.extractUsername(jwtToken));
         if (username == null || username.isEmpty()) {
             throw new BadRequestException("Invalid JWT token: Cannot determine user.");
         }
         return username;
     }
 
+    // Claims verified by JWTFilter for the current request, if it was authenticated with a JWT
+    public Optional<VerifiedJwt> getVerifiedJwt() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth instanceof JwtAuthenticationToken jwtAuthentication) {
+            return Optional.of(jwtAuthentication.getVerifiedJwt());
+        }
+        return Optional.empty();
+    }
+
     public String extractClientIp(HttpServletRequest request) {
         String forwarded = request.getHeader("X-Forwarded-For");
         if (forwarded != null && !forwarded.isEmpty()) {
@@ -0,0 +1,51 @@
+package com.JK.SIMS.controller.dataImportController;
+
+import com.JK.SIMS.models.ApiResponse;
+import com.JK.SIMS.models.dataImport.ImportType;
+import com.JK.SIMS.models.dataImport.dtos.ImportReport;
+import com.JK.SIMS.service.dataImport.DataImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@RequestMapping("/api/v1/imports")
+public class DataImportController {
+
+    private final DataImportService dataImportService;
+
+    /**
+     * Adds the products of an .xlsx or .csv file with the columns Name, Category, Location, Price and Status.
+     */
+    @PostMapping(value = "/catalog", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("@securityUtils.hasAccess()")
+    public ResponseEntity<ApiResponse<ImportReport>> importCatalog(@RequestParam("file") MultipartFile file) {
+        log.info("DataImportController: importCatalog() calling for {}...", file.getOriginalFilename());
+        return importResponse(dataImportService.importFile(ImportType.CATALOG, file));
+    }
+
+    /**
+     * Sets the stock levels of the SKUs of an .xlsx or .csv file with the columns SKU, Current Stock and/or Minimum Stock.
+     */
+    @PostMapping(value = "/stock-levels", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("@securityUtils.hasAccess()")
+    public ResponseEntity<ApiResponse<ImportReport>> importStockLevels(@RequestParam("file") MultipartFile file) {
+        log.info("DataImportController: importStockLevels() calling for {}...", file.getOriginalFilename());
+        return importResponse(dataImportService.importFile(ImportType.STOCK_LEVELS, file));
+    }
+
+    private ResponseEntity<ApiResponse<ImportReport>> importResponse(ImportReport report) {
+        HttpStatus status = report.failureCount() > 0
+                ? HttpStatus.MULTI_STATUS  // 207: Some rows failed
+                : HttpStatus.OK;
+        return ResponseEntity.status(status).body(new ApiResponse<>(report.failureCount() == 0,
+                String.format("Imported %d/%d rows successfully", report.successCount(), report.totalRows()), report));
+    }
+}
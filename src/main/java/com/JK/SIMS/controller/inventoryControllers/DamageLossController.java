@@ -29,8 +29,9 @@ public class DamageLossController {
     @GetMapping
     public ResponseEntity<DamageLossPageResponse> getDamageLossDashboardData(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size){
-        DamageLossPageResponse pageResponse = damageLossService.getDamageLossDashboardData(page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor){ // keyset mode, empty for the first page
+        DamageLossPageResponse pageResponse = damageLossService.getDamageLossDashboardData(cursor, page, size);
         return ResponseEntity.ok(pageResponse);
     }
 
@@ -107,8 +107,7 @@ public class InventoryDashboardController {
                                                  @RequestParam(required = false) String dateOption, // "orderDate" or "estimatedDate"
                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-                                                 @RequestParam(defaultValue = "id") String sortBy,
-                                                 @RequestParam(defaultValue = "asc") String sortDirection,
+                                                 @RequestParam(required = false) String cursor, // nextCursor of the previous page
                                                  @RequestParam(defaultValue = "0") int page,
                                                  @RequestParam(defaultValue = "10") int size) {
         // Parse status (handle both SO and PO statuses)
@@ -139,7 +138,7 @@ public class InventoryDashboardController {
         // Delegate to service
         PaginatedResponse<PendingOrdersResponseInIC> result =
                 icService.filterPendingOrders(type, soStatus, poStatus, dateOption,
-                        startDate, endDate, productCategory, sortBy, sortDirection, page, size);
+                        startDate, endDate, productCategory, cursor, page, size);
         return ResponseEntity.ok(result);
     }
 
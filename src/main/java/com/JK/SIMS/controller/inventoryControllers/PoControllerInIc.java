@@ -4,18 +4,24 @@ import com.JK.SIMS.models.ApiResponse;
 import com.JK.SIMS.models.PM_models.ProductCategories;
 import com.JK.SIMS.models.PaginatedResponse;
 import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+import com.JK.SIMS.exception.ValidationException;
 import com.JK.SIMS.models.purchaseOrder.dtos.ReceiveStockRequest;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptRequest;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptSummary;
 import com.JK.SIMS.models.purchaseOrder.dtos.views.SummaryPurchaseOrderView;
 import com.JK.SIMS.service.InventoryServices.poService.POServiceInInventory;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import static com.JK.SIMS.service.generalUtils.GlobalServiceHelper.validateAndExtractToken;
 
@@ -26,6 +32,9 @@ import static com.JK.SIMS.service.generalUtils.GlobalServiceHelper.validateAndEx
 public class PoControllerInIc {
     private final POServiceInInventory poServiceInIc;
 
+    @Value("${goods-receipt.max-lines:2000}")
+    private int goodsReceiptMaxLines;
+
     @GetMapping
     public ResponseEntity<?> getAllPendingPurchaseOrders(
             @RequestParam(defaultValue = "0") int page,
@@ -85,6 +94,41 @@ public class PoControllerInIc {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    // Goods receipt of a whole delivery: many PO lines in one request | High Roles only
+    @PostMapping("/receive/bulk")
+    @PreAuthorize("@securityUtils.hasAccess()")
+    public ResponseEntity<ApiResponse<GoodsReceiptSummary>> receivePurchaseOrdersBulk(@Valid @RequestBody GoodsReceiptRequest receiptRequest,
+                                                                                      @RequestHeader("Authorization") String token) throws BadRequestException {
+        if (receiptRequest.getLines().size() > goodsReceiptMaxLines) {
+            throw new ValidationException("Cannot receive more than " + goodsReceiptMaxLines + " lines at once, upload a file instead");
+        }
+        log.info("IcPo receivePurchaseOrdersBulk() calling with {} lines...", receiptRequest.getLines().size());
+        String jwtToken = validateAndExtractToken(token);
+        return receiptResponse(poServiceInIc.receivePurchaseOrdersBulk(receiptRequest, jwtToken));
+    }
+
+    /**
+     * Goods receipt from an .xlsx or .csv delivery file with the columns PO Number, Received Quantity
+     * and optionally Arrival Date.
+     */
+    @PostMapping(value = "/receive/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("@securityUtils.hasAccess()")
+    public ResponseEntity<ApiResponse<GoodsReceiptSummary>> receivePurchaseOrdersFile(@RequestParam("file") MultipartFile file,
+                                                                                      @RequestHeader("Authorization") String token) throws BadRequestException {
+        log.info("IcPo receivePurchaseOrdersFile() calling for {}...", file.getOriginalFilename());
+        String jwtToken = validateAndExtractToken(token);
+        return receiptResponse(poServiceInIc.receivePurchaseOrdersFile(file, jwtToken));
+    }
+
+    private ResponseEntity<ApiResponse<GoodsReceiptSummary>> receiptResponse(GoodsReceiptSummary summary) {
+        HttpStatus status = summary.failedLines() > 0
+                ? HttpStatus.MULTI_STATUS  // 207: Some lines failed
+                : HttpStatus.OK;
+        return ResponseEntity.status(status).body(new ApiResponse<>(summary.failedLines() == 0,
+                String.format("Received %d/%d lines, %d units", summary.receivedLines(), summary.totalLines(),
+                        summary.totalQuantityReceived()), summary));
+    }
+
     // Cancel button in the PO section.
     @PutMapping("/{orderId}/cancel")
     @PreAuthorize("@securityUtils.hasAccess()")
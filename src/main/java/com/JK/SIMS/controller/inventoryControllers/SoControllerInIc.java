@@ -6,6 +6,8 @@ import com.JK.SIMS.models.ApiResponse;
 import com.JK.SIMS.models.PaginatedResponse;
 import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
 import com.JK.SIMS.models.salesOrder.dtos.SalesOrderResponseDto;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.BulkStockOutRequestDto;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.BulkStockOutResponse;
 import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.ProcessSalesOrderRequestDto;
 import com.JK.SIMS.models.salesOrder.dtos.views.SummarySalesOrderView;
 import com.JK.SIMS.service.InventoryServices.soService.SoServiceInInventory;
@@ -14,6 +16,8 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -34,6 +38,9 @@ public class SoControllerInIc {
 
     private final SoServiceInInventory soServiceInInventory;
 
+    @Value("${sales-order.bulk-stock-out.max-orders:500}")
+    private int bulkStockOutMaxOrders;
+
     @GetMapping
     public ResponseEntity<?> getAllWaitingSalesOrders(
             @RequestParam(defaultValue = "0") @Min(0) int page,
@@ -70,6 +77,24 @@ public class SoControllerInIc {
         return ResponseEntity.ok(response);
     }
 
+    // Stock out of several orders at once; each order succeeds or fails on its own
+    @PostMapping("/stocks/out/bulk")
+    @PreAuthorize("@securityUtils.hasAccess()")
+    public ResponseEntity<ApiResponse<BulkStockOutResponse>> stockOutManyOrders(@Valid @RequestBody BulkStockOutRequestDto request,
+                                                                                @RequestHeader("Authorization") String token){
+        if (request.getOrders().size() > bulkStockOutMaxOrders) {
+            throw new ValidationException("Cannot process more than " + bulkStockOutMaxOrders + " orders at once");
+        }
+        log.info("IcSo: stockOutManyOrders() called with {} orders", request.getOrders().size());
+        String jwtToken = validateAndExtractToken(token);
+        BulkStockOutResponse response = soServiceInInventory.processSalesOrdersBulk(request, jwtToken);
+        HttpStatus status = response.failureCount() > 0
+                ? HttpStatus.MULTI_STATUS  // 207: Some orders failed
+                : HttpStatus.OK;
+        return ResponseEntity.status(status).body(new ApiResponse<>(response.failureCount() == 0,
+                String.format("Processed %d/%d orders successfully", response.successCount(), response.totalOrders()), response));
+    }
+
 
     @PutMapping("/{orderId}/cancel")
     @PreAuthorize("@securityUtils.hasAccess()")
@@ -0,0 +1,73 @@
+package com.JK.SIMS.controller.inventoryControllers;
+
+import com.JK.SIMS.models.PaginatedResponse;
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementFilter;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementSeries;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementView;
+import com.JK.SIMS.service.stockMovementService.StockMovementQueryService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static com.JK.SIMS.service.generalUtils.EntityConstants.DEFAULT_SORT_DIRECTION;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@RequestMapping("/api/v1/products/inventory/stock-movements")
+public class StockMovementController {
+    private final StockMovementQueryService stockMovementQueryService;
+
+    // Movement history, keyset-paginated on the creation time; every filter is optional, from inclusive and to exclusive
+    @GetMapping
+    public ResponseEntity<?> getMovements(@RequestParam(required = false) String productId,
+                                          @RequestParam(required = false) StockMovementType type,
+                                          @RequestParam(required = false) StockMovementReferenceType referenceType,
+                                          @RequestParam(required = false) String referenceId, // SO or PO reference
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                          @RequestParam(defaultValue = DEFAULT_SORT_DIRECTION) String sortDirection,
+                                          @RequestParam(required = false) String cursor, // nextCursor of the previous page
+                                          @RequestParam(defaultValue = "10") int size) {
+        log.info("StockMovementController: getMovements() calling with size {}...", size);
+        PaginatedResponse<StockMovementView> movements = stockMovementQueryService.getMovements(
+                new StockMovementFilter(productId, type, referenceType, referenceId, from, to), sortDirection, cursor, size);
+        return ResponseEntity.ok(movements);
+    }
+
+    // Whole filtered history as NDJSON (one movement per line, oldest first), streamed without a page size
+    @GetMapping("/export")
+    public void exportMovements(HttpServletResponse response,
+                                @RequestParam(required = false) String productId,
+                                @RequestParam(required = false) StockMovementType type,
+                                @RequestParam(required = false) StockMovementReferenceType referenceType,
+                                @RequestParam(required = false) String referenceId,
+                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("StockMovementController: exportMovements() calling...");
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=StockMovements.ndjson");
+        stockMovementQueryService.exportMovements(response,
+                new StockMovementFilter(productId, type, referenceType, referenceId, from, to));
+    }
+
+    // IN/OUT totals per product and day or week (Monday-based), for charts; to is inclusive
+    @GetMapping("/series")
+    public ResponseEntity<?> getSeries(@RequestParam(required = false) String productId, // all products when empty
+                                       @RequestParam(defaultValue = "DAY") StockMovementSeries.Granularity granularity,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("StockMovementController: getSeries() calling with granularity {}...", granularity);
+        StockMovementSeries series = stockMovementQueryService.getSeries(productId, granularity, from, to);
+        return ResponseEntity.ok(series);
+    }
+}
@@ -28,10 +28,12 @@ public class TotalItemsController {
     public ResponseEntity<?> getAllProducts(@RequestParam(defaultValue = DEFAULT_SORT_BY) String sortBy,
                                             @RequestParam(defaultValue = DEFAULT_SORT_DIRECTION) String sortDirection,
                                             @RequestParam(defaultValue = "0") int page,
-                                            @RequestParam(defaultValue = "10") int size){
+                                            @RequestParam(defaultValue = "10") int size,
+                                            @RequestParam(required = false) String cursor){ // keyset mode, empty for the first page
         log.info("TotalItemsController: getAllProducts() calling with page {} and size {}...", page, size);
-        PaginatedResponse<InventoryControlResponse> inventoryResponse =
-                totalItemsService.getAllPaginatedInventoryResponse(sortBy, sortDirection, page, size);
+        PaginatedResponse<InventoryControlResponse> inventoryResponse = cursor != null
+                ? totalItemsService.getInventoryResponseAfter(cursor, sortBy, sortDirection, size)
+                : totalItemsService.getAllPaginatedInventoryResponse(sortBy, sortDirection, page, size);
         return ResponseEntity.ok(inventoryResponse);
     }
 
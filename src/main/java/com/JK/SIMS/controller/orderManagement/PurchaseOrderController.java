@@ -35,10 +35,12 @@ public class PurchaseOrderController {
     public ResponseEntity<?> getAllSummaryPurchaseOrders(@RequestParam(defaultValue = "0") int page,
                                                          @RequestParam(defaultValue = "10") int size,
                                                          @RequestParam(defaultValue = "asc") String sortDirection,
-                                                         @RequestParam(defaultValue = "product.name") String sortBy){
+                                                         @RequestParam(defaultValue = "product.name") String sortBy,
+                                                         @RequestParam(required = false) String cursor){ // keyset mode, empty for the first page
         log.info("OM-PO: getAllPurchaseOrders() calling...");
-        PaginatedResponse<SummaryPurchaseOrderView> pageResponse =
-                purchaseOrderService.getAllPurchaseOrders(page, size, sortBy, sortDirection);
+        PaginatedResponse<SummaryPurchaseOrderView> pageResponse = cursor != null
+                ? purchaseOrderService.getPurchaseOrdersAfter(cursor, sortBy, sortDirection, size)
+                : purchaseOrderService.getAllPurchaseOrders(page, size, sortBy, sortDirection);
         return ResponseEntity.ok(pageResponse);
     }
 
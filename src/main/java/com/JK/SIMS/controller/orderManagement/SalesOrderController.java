@@ -45,10 +45,12 @@ public class SalesOrderController {
     public ResponseEntity<?> getAllSummarySalesOrders(@RequestParam(defaultValue = DEFAULT_SORT_BY_FOR_SO) String sortBy,
                                                       @RequestParam(defaultValue = DEFAULT_SORT_DIRECTION) String sortDirection,
                                                       @RequestParam(defaultValue = "0") int page,
-                                                      @RequestParam(defaultValue = "10") int size){
+                                                      @RequestParam(defaultValue = "10") int size,
+                                                      @RequestParam(required = false) String cursor){ // keyset mode, empty for the first page
         log.info("OM-SO: getAllSummarySalesOrders() is calling...");
-        PaginatedResponse<SummarySalesOrderView> summaryView =
-                salesOrderService.getAllSummarySalesOrders(sortBy, sortDirection, page, size);
+        PaginatedResponse<SummarySalesOrderView> summaryView = cursor != null
+                ? salesOrderService.getSummarySalesOrdersAfter(cursor, sortBy, sortDirection, size)
+                : salesOrderService.getAllSummarySalesOrders(sortBy, sortDirection, page, size);
         return new ResponseEntity<>(summaryView, HttpStatus.OK);
     }
 
@@ -15,6 +15,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -32,6 +33,9 @@ public class ProductController {
     
     private final ProductManagementService pmService;
 
+    @Value("${product-import.max-rows:10000}")
+    private int importMaxRows;
+
     @GetMapping
     public ResponseEntity<PaginatedResponse<ProductManagementResponse>> getAllProducts(
             @RequestParam(defaultValue = "productID") String sortBy,
@@ -73,8 +77,27 @@ public class ProductController {
         }
 
         log.info("PM: addProductsBatch() calling for {} products", batchRequest.getProducts().size());
-        BatchProductResponse response = pmService.addProductsBatch(batchRequest.getProducts());
+        return batchResponse(pmService.addProductsBatch(batchRequest.getProducts()));
+    }
+
+    // Bulk import of up to product-import.max-rows products, committed in chunks
+    @PostMapping("/import")
+    @PreAuthorize("@securityUtils.hasAccess()")
+    public ResponseEntity<ApiResponse<BatchProductResponse>> importProducts(
+            @RequestBody @Valid BatchProductRequest importRequest) {
+        if (importRequest == null || importRequest.getProducts() == null ||
+                importRequest.getProducts().isEmpty()) {
+            throw new ValidationException("Import request must contain at least one product");
+        }
+        if (importRequest.getProducts().size() > importMaxRows) {
+            throw new ValidationException("Cannot import more than " + importMaxRows + " products at once");
+        }
+
+        log.info("PM: importProducts() calling for {} products", importRequest.getProducts().size());
+        return batchResponse(pmService.addProductsBatch(importRequest.getProducts()));
+    }
 
+    private ResponseEntity<ApiResponse<BatchProductResponse>> batchResponse(BatchProductResponse response) {
         HttpStatus status = response.getFailureCount() > 0
                 ? HttpStatus.MULTI_STATUS  // 207: Some succeeded, some failed
                 : HttpStatus.CREATED;       // 201: All succeeded
@@ -0,0 +1,45 @@
+package com.JK.SIMS.controller.reportJobController;
+
+import com.JK.SIMS.models.ApiResponse;
+import com.JK.SIMS.models.reportJob.dtos.ReportJobRequest;
+import com.JK.SIMS.models.reportJob.dtos.ReportJobResponse;
+import com.JK.SIMS.config.security.utils.TokenUtils;
+import com.JK.SIMS.service.reportJob.ReportJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@RequestMapping("/api/v1/reports/jobs")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * Submits a report to be built in the background (PRODUCTS, TOTAL_ITEMS or LOW_STOCK).
+     * Poll the returned job until it is DONE, then download the file from its downloadUrl.
+     * Only the submitter, admins and managers can see the job.
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submitReportJob(@Valid @RequestBody ReportJobRequest request,
+                                                                          @RequestHeader("Authorization") String token) throws BadRequestException {
+        log.info("ReportJobController: submitReportJob() calling for {}...", request.getReportType());
+        ReportJobResponse job = reportJobService.submit(request, TokenUtils.extractToken(token));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponse<>(true, "Report job " + job.status().name().toLowerCase(), job));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getReportJob(@PathVariable Long jobId,
+                                                                       @RequestHeader("Authorization") String token) throws BadRequestException {
+        log.info("ReportJobController: getReportJob() calling for job {}...", jobId);
+        ReportJobResponse job = reportJobService.getJob(jobId, TokenUtils.extractToken(token));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Report job " + job.status().name().toLowerCase(), job));
+    }
+}
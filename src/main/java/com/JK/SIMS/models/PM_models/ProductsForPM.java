@@ -1,9 +1,15 @@
 package com.JK.SIMS.models.PM_models;
 
+import com.JK.SIMS.config.hibernateCache.HibernateCacheConfig;
+import com.JK.SIMS.service.generalUtils.textIndex.catalogIndex.CatalogSearchIndexListener;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsListener;
+import com.JK.SIMS.service.reportJob.ReportDataChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -12,6 +18,9 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "Products_For_Management")
+@EntityListeners({CatalogSearchIndexListener.class, DashboardMetricsListener.class, ReportDataChangeListener.class}) // Keep the search index, dashboard totals and report versions current
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PRODUCTS_REGION)
 public class ProductsForPM {
     @Id
     @Column(name = "productID", unique = true, nullable = false)
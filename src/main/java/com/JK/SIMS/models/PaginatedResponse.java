@@ -1,5 +1,6 @@
 package com.JK.SIMS.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,8 +15,15 @@ import java.util.List;
 @AllArgsConstructor
 public class PaginatedResponse<T> {
     private List<T> content;
-    private int totalPages;
-    private long totalElements;
+    // Not set in keyset mode, which does not count the rows
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    // Opaque keyset cursor of the next page, only set by cursor-paginated endpoints
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     public PaginatedResponse(Page<T> page) {
         this.content = page.getContent();
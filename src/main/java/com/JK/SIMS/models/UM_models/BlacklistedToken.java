@@ -8,7 +8,9 @@ import java.util.Date;
 
 @Data
 @Entity
-@Table(name = "BlacklistedTokens")
+@Table(name = "BlacklistedTokens", indexes = {
+        @Index(name = "idx_blacklisted_at", columnList = "blacklistedAt") // incremental sync between nodes
+})
 @NoArgsConstructor
 public class BlacklistedToken {
 
@@ -20,8 +22,17 @@ public class BlacklistedToken {
     private String token;
     private Date blacklistedAt;
 
+    // Expiration of the revoked token itself; after that the token is rejected anyway
+    @Column(name = "expires_at")
+    private Date expiresAt;
+
     public BlacklistedToken(String token, Date blacklistedAt) {
         this.token = token;
         this.blacklistedAt = blacklistedAt;
     }
+
+    public BlacklistedToken(String token, Date blacklistedAt, Date expiresAt) {
+        this(token, blacklistedAt);
+        this.expiresAt = expiresAt;
+    }
 }
@@ -1,5 +1,6 @@
 package com.JK.SIMS.models.UM_models;
 
+import com.JK.SIMS.config.security.jwtAuthentication.UserPrincipalCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "Users")
+@EntityListeners(UserPrincipalCacheListener.class) // Keep cached principals of JWT requests current
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -1,10 +1,11 @@
 package com.JK.SIMS.models.damage_loss;
 
+import com.JK.SIMS.config.idGeneration.IdGenerators;
 import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsListener;
+import com.JK.SIMS.service.reportAnalytics.financialRollup.FinancialRollupListener;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -12,12 +13,14 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "DamageLosses")
+@EntityListeners({DashboardMetricsListener.class, FinancialRollupListener.class}) // Keep the dashboard totals and financial rollups current
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class DamageLoss {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "damage_losses_id")
+    @TableGenerator(name = "damage_losses_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "damage_losses", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Integer id;
 
     @ManyToOne
@@ -46,4 +49,33 @@ public class DamageLoss {
     @Column
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // Loss date as stored, so FinancialRollupListener also rebuilds the day a report was moved away from
+    @Transient
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private LocalDateTime storedLossDate;
+
+    public DamageLoss(Integer id, InventoryControlData icProduct, Integer quantityLost, LossReason reason,
+                      BigDecimal lossValue, LocalDateTime lossDate, String recordedBy,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.icProduct = icProduct;
+        this.quantityLost = quantityLost;
+        this.reason = reason;
+        this.lossValue = lossValue;
+        this.lossDate = lossDate;
+        this.recordedBy = recordedBy;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Entity listeners run first, so FinancialRollupListener still sees the previous date on update
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberStoredLossDate() {
+        this.storedLossDate = lossDate;
+    }
 }
@@ -0,0 +1,23 @@
+package com.JK.SIMS.models.dataImport;
+
+import java.util.List;
+
+/**
+ * What an import file holds, with the columns read from it (matched to the header row by name,
+ * ignoring case, spaces and underscores; other columns are ignored).
+ * CATALOG adds new products, STOCK_LEVELS sets the current and minimum stock of existing inventory rows.
+ */
+public enum ImportType {
+    CATALOG(List.of("Name", "Category", "Location", "Price", "Status")),
+    STOCK_LEVELS(List.of("SKU", "Current Stock", "Minimum Stock"));
+
+    private final List<String> columns;
+
+    ImportType(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,20 @@
+package com.JK.SIMS.models.dataImport.dtos;
+
+import com.JK.SIMS.models.dataImport.ImportType;
+
+import java.util.List;
+
+// Outcome of an import; errors lists the first failed rows only (errorsTruncated), failureCount counts all of them
+public record ImportReport(
+        ImportType importType,
+        String fileName,
+        long totalRows,
+        long successCount,
+        long failureCount,
+        List<RowError> errors,
+        boolean errorsTruncated,
+        long durationMs
+) {
+    // rowNumber as shown by spreadsheet tools, the header being row 1
+    public record RowError(long rowNumber, String errorMessage) {}
+}
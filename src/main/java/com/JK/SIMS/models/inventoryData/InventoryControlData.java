@@ -1,10 +1,14 @@
 package com.JK.SIMS.models.inventoryData;
 
 import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.service.generalUtils.textIndex.catalogIndex.CatalogSearchIndexListener;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsListener;
+import com.JK.SIMS.service.reportJob.ReportDataChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,7 +17,9 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@DynamicUpdate // Only write changed columns, so entity saves do not overwrite counters changed by conditional updates
 @Table(name = "InventoryControl_Data")
+@EntityListeners({CatalogSearchIndexListener.class, DashboardMetricsListener.class, ReportDataChangeListener.class}) // Keep the search index, dashboard totals and report versions current
 public class InventoryControlData {
 
     @Id
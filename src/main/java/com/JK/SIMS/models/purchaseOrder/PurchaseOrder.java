@@ -1,8 +1,11 @@
 package com.JK.SIMS.models.purchaseOrder;
 
+import com.JK.SIMS.config.idGeneration.IdGenerators;
 import com.JK.SIMS.models.PM_models.ProductsForPM;
 import com.JK.SIMS.models.supplier.Supplier;
 import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.textIndex.orderIndex.OrderSearchIndexListener;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,9 +22,12 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "purchase_order")
+@EntityListeners({OrderSearchIndexListener.class, DashboardMetricsListener.class}) // Keep the search index and dashboard totals current
 public class PurchaseOrder {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "purchase_order_id")
+    @TableGenerator(name = "purchase_order_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "purchase_order", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "po_number", unique = true, nullable = false)
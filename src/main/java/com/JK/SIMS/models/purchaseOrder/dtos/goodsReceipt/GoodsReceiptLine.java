@@ -0,0 +1,26 @@
+package com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One delivered PO line, identified by orderId or, when it is absent, by poNumber
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GoodsReceiptLine {
+
+    private Long orderId;
+
+    private String poNumber;
+
+    @NotNull(message = "Received quantity is required")
+    @Min(value = 0, message = "Received quantity must be at least 0")
+    private Integer receivedQuantity;
+
+    private LocalDate actualArrivalDate;
+}
@@ -0,0 +1,17 @@
+package com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GoodsReceiptRequest {
+    @NotEmpty(message = "At least one receipt line is required")
+    private List<@Valid GoodsReceiptLine> lines; // Applied in this order
+}
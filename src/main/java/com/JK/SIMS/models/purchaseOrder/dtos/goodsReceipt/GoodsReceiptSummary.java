@@ -0,0 +1,26 @@
+package com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt;
+
+import java.util.List;
+
+/**
+ * Outcome of a goods receipt: what each product received in total, and the lines that were not applied.
+ * errors lists the first failed lines only (errorsTruncated), failedLines counts all of them.
+ */
+public record GoodsReceiptSummary(
+        String fileName, // null for a JSON request
+        long totalLines,
+        long receivedLines,
+        long failedLines,
+        long totalQuantityReceived,
+        List<ProductReceipt> products,
+        List<LineError> errors,
+        boolean errorsTruncated,
+        long durationMs
+) {
+    // currentStock after the receipt, null when the product has no inventory row
+    public record ProductReceipt(String productId, String productName, long linesReceived, long quantityReceived,
+                                 Integer currentStock) {}
+
+    // lineNumber: position of the line in the request (from 1), or its row in the file (the header being row 1)
+    public record LineError(long lineNumber, String reference, String errorMessage) {}
+}
@@ -0,0 +1,20 @@
+package com.JK.SIMS.models.purchaseOrder.dtos.views;
+
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Text columns of one purchase order, read to build the order search index
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PurchaseOrderSearchFields {
+    private Long id;
+    private String poNumber;
+    private String productName;
+    private String supplierName;
+    private String orderedBy;
+    private String updatedBy;
+    private PurchaseOrderStatus status;
+}
@@ -0,0 +1,14 @@
+package com.JK.SIMS.models.reportAnalyticsMetrics.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Quantity lost in a damage/loss report, read to build the dashboard metrics snapshot
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class DamageQuantityRow {
+    private Integer id;
+    private Integer quantityLost;
+}
@@ -0,0 +1,23 @@
+package com.JK.SIMS.models.reportAnalyticsMetrics.dashboard;
+
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// A product with one of its inventory rows (sku is null when it has none), read to build the dashboard metrics snapshot
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ProductStockRow {
+    private String productId;
+    private ProductStatus productStatus;
+    private BigDecimal price;
+    private String sku;
+    private Integer currentStock;
+    private Integer minLevel;
+    private InventoryDataStatus inventoryStatus;
+}
@@ -0,0 +1,15 @@
+package com.JK.SIMS.models.reportAnalyticsMetrics.dashboard;
+
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Status of a purchase order, read to build the dashboard metrics snapshot
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PurchaseOrderStatusRow {
+    private Long id;
+    private PurchaseOrderStatus status;
+}
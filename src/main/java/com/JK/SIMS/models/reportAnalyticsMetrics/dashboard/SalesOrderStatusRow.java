@@ -0,0 +1,15 @@
+package com.JK.SIMS.models.reportAnalyticsMetrics.dashboard;
+
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Status of a sales order, read to build the dashboard metrics snapshot
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SalesOrderStatusRow {
+    private Long id;
+    private SalesOrderStatus status;
+}
@@ -0,0 +1,52 @@
+package com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Revenue, completed sales orders and damage loss value of one product category on one day.
+ * An order with items of several categories counts once in each of them.
+ */
+@Entity
+@Table(name = "daily_category_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_category_rollup_date_category",
+                columnNames = {"rollup_date", "category"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyCategoryRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProductCategories category;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "completed_orders", nullable = false)
+    private Long completedOrders;
+
+    @Column(name = "loss_value", nullable = false)
+    private BigDecimal lossValue;
+
+    public DailyCategoryRollup(LocalDate rollupDate, ProductCategories category, BigDecimal revenue,
+                               Long completedOrders, BigDecimal lossValue) {
+        this.rollupDate = rollupDate;
+        this.category = category;
+        this.revenue = revenue;
+        this.completedOrders = completedOrders;
+        this.lossValue = lossValue;
+    }
+}
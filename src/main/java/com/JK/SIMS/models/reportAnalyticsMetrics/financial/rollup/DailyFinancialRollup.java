@@ -0,0 +1,50 @@
+package com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Revenue, completed sales orders and damage loss value of one day, summed by the financial overview
+ * instead of the raw order items and damage reports. Rebuilt as a whole by FinancialRollupService.
+ */
+@Entity
+@Table(name = "daily_financial_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_financial_rollup_date", columnNames = "rollup_date"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyFinancialRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "completed_orders", nullable = false)
+    private Long completedOrders;
+
+    @Column(name = "loss_value", nullable = false)
+    private BigDecimal lossValue;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    public DailyFinancialRollup(LocalDate rollupDate, BigDecimal revenue, Long completedOrders,
+                                BigDecimal lossValue, LocalDateTime refreshedAt) {
+        this.rollupDate = rollupDate;
+        this.revenue = revenue;
+        this.completedOrders = completedOrders;
+        this.lossValue = lossValue;
+        this.refreshedAt = refreshedAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Damage loss value of one category on one day, read to build the financial rollups
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class DailyLossRow {
+    private LocalDate day;
+    private ProductCategories category;
+    private BigDecimal lossValue;
+}
@@ -0,0 +1,16 @@
+package com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Completed sales orders of one day, read to build the financial rollups
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class DailyOrderCountRow {
+    private LocalDate day;
+    private Long completedOrders;
+}
@@ -0,0 +1,17 @@
+package com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Sums of the daily financial rollups over a date range
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class FinancialRollupTotals {
+    private BigDecimal revenue;
+    private Long completedOrders;
+    private BigDecimal lossValue;
+}
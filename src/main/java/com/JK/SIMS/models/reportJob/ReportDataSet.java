@@ -0,0 +1,6 @@
+package com.JK.SIMS.models.reportJob;
+
+public enum ReportDataSet {
+    PRODUCTS,
+    INVENTORY
+}
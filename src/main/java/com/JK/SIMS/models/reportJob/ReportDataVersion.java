@@ -0,0 +1,25 @@
+package com.JK.SIMS.models.reportJob;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter of the data behind the reports, increased after every commit that changed it.
+ * A stored report artifact is reused while the versions it was built from are still current.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "report_data_version")
+public class ReportDataVersion {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "data_set", length = 32)
+    private ReportDataSet dataSet;
+
+    @Column(nullable = false)
+    private long version;
+}
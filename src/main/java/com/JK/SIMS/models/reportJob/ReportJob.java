@@ -0,0 +1,79 @@
+package com.JK.SIMS.models.reportJob;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report built in the background by ReportJobProcessor and stored as an artifact in the ReportArtifactStore.
+ * Jobs with the same cache key (report type, parameters and data versions) share one artifact.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "report_job", indexes = {
+        @Index(name = "idx_report_job_cache_key", columnList = "cache_key, status"),
+        @Index(name = "idx_report_job_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class ReportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false)
+    private ReportType reportType;
+
+    @Column(name = "sort_by")
+    private String sortBy;
+
+    @Column(name = "sort_direction")
+    private String sortDirection;
+
+    @Column(name = "cache_key", nullable = false)
+    private String cacheKey;
+
+    @Column(name = "requested_by", length = 100)
+    private String requestedBy; // Username of the submitter; only they and admins can see the job
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobStatus status = ReportJobStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "artifact_key")
+    private String artifactKey;
+
+    @Column(name = "row_count")
+    private Long rowCount;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public ReportJob(ReportType reportType, String sortBy, String sortDirection, String cacheKey, String requestedBy,
+                     LocalDateTime nextAttemptAt) {
+        this.reportType = reportType;
+        this.sortBy = sortBy;
+        this.sortDirection = sortDirection;
+        this.cacheKey = cacheKey;
+        this.requestedBy = requestedBy;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.JK.SIMS.models.reportJob;
+
+public enum ReportJobStatus {
+    PENDING,
+    PROCESSING, // claimed by a worker until nextAttemptAt (lease)
+    DONE,
+    FAILED
+}
@@ -0,0 +1,29 @@
+package com.JK.SIMS.models.reportJob;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+@Getter
+public enum ReportType {
+    PRODUCTS("ProductManagementReport", Set.of(ReportDataSet.PRODUCTS), Set.of()),
+    TOTAL_ITEMS("TotalItemsReport", Set.of(ReportDataSet.PRODUCTS, ReportDataSet.INVENTORY), Constants.INVENTORY_SORT_FIELDS),
+    LOW_STOCK("LowStockReport", Set.of(ReportDataSet.PRODUCTS, ReportDataSet.INVENTORY), Constants.INVENTORY_SORT_FIELDS);
+
+    private final String fileName;
+    private final Set<ReportDataSet> dataSets; // A report is rebuilt once one of these changed
+    private final Set<String> sortFields; // Empty for a report with a fixed order
+
+    ReportType(String fileName, Set<ReportDataSet> dataSets, Set<String> sortFields) {
+        this.fileName = fileName;
+        this.dataSets = dataSets;
+        this.sortFields = sortFields;
+    }
+
+    private static final class Constants {
+        // Attributes of InventoryControlData the inventory reports can be sorted by
+        private static final Set<String> INVENTORY_SORT_FIELDS = Set.of("SKU", "location", "currentStock", "minLevel",
+                "reservedStock", "status", "lastUpdate", "pmProduct.productID", "pmProduct.name", "pmProduct.category",
+                "pmProduct.price", "pmProduct.status");
+    }
+}
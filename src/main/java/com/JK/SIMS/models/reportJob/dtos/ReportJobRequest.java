@@ -0,0 +1,22 @@
+package com.JK.SIMS.models.reportJob.dtos;
+
+import com.JK.SIMS.models.reportJob.ReportType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReportJobRequest {
+    @NotNull(message = "Report type is required")
+    private ReportType reportType;
+
+    // Sorting of the inventory reports; the product report is always sorted by product ID
+    private String sortBy;
+
+    @Pattern(regexp = "(?i)asc|desc", message = "Sort direction must be asc or desc")
+    private String sortDirection;
+}
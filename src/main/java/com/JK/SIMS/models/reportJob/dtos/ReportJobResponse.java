@@ -0,0 +1,19 @@
+package com.JK.SIMS.models.reportJob.dtos;
+
+import com.JK.SIMS.models.reportJob.ReportJobStatus;
+import com.JK.SIMS.models.reportJob.ReportType;
+
+import java.time.LocalDateTime;
+
+// downloadUrl is only set once the job is DONE, and is valid until downloadUrlExpiresAt
+public record ReportJobResponse(
+        Long jobId,
+        ReportType reportType,
+        ReportJobStatus status,
+        Long rowCount,
+        String downloadUrl,
+        LocalDateTime downloadUrlExpiresAt,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {}
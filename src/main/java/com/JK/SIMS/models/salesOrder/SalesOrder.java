@@ -1,7 +1,11 @@
 package com.JK.SIMS.models.salesOrder;
 
+import com.JK.SIMS.config.idGeneration.IdGenerators;
 import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
 import com.JK.SIMS.models.salesOrder.qrcode.SalesOrderQRCode;
+import com.JK.SIMS.service.generalUtils.textIndex.orderIndex.OrderSearchIndexListener;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsListener;
+import com.JK.SIMS.service.reportAnalytics.financialRollup.FinancialRollupListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -18,14 +22,17 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "sales_order")
+@EntityListeners({OrderSearchIndexListener.class, DashboardMetricsListener.class, FinancialRollupListener.class}) // Keep the search index, dashboard totals and financial rollups current
 public class SalesOrder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "sales_order_id")
+    @TableGenerator(name = "sales_order_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "sales_order", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true, name = "order_reference")
-    private String orderReference; // "SO-2024-07-20-001" [SO-date-nextOrderNumberOnThatDay]
+    private String orderReference; // "SO-2024-07-20-001" [SO-date-nextOrderNumberOnThatDay], see SalesOrderReferenceGenerator
 
     @Column(nullable = false)
     private String destination; // To companies, third parties
@@ -0,0 +1,17 @@
+package com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStockOutRequestDto {
+    @NotEmpty(message = "At least one order is required")
+    private List<@Valid ProcessSalesOrderRequestDto> orders; // Processed in this order
+}
@@ -0,0 +1,15 @@
+package com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos;
+
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+
+import java.util.List;
+
+// One result per requested order, in request order; failed orders were left unchanged
+public record BulkStockOutResponse(
+        int totalOrders,
+        int successCount,
+        int failureCount,
+        List<OrderResult> results
+) {
+    public record OrderResult(Long orderId, String orderReference, boolean success, SalesOrderStatus status, String message) {}
+}
@@ -0,0 +1,18 @@
+package com.JK.SIMS.models.salesOrder.dtos.views;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Item totals of one sales order, aggregated in SQL for the summary lists
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SalesOrderItemTotals {
+    private Long salesOrderId;
+    private Long totalOrderedQuantity;
+    private BigDecimal totalAmount;
+    private Long totalApprovedQuantity;
+}
@@ -0,0 +1,14 @@
+package com.JK.SIMS.models.salesOrder.dtos.views;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Name of a product ordered in a sales order, read to build the order search index
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SalesOrderProductName {
+    private Long salesOrderId;
+    private String productName;
+}
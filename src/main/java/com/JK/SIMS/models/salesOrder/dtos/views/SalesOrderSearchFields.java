@@ -0,0 +1,22 @@
+package com.JK.SIMS.models.salesOrder.dtos.views;
+
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Text columns of one sales order, read to build the order search index
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SalesOrderSearchFields {
+    private Long id;
+    private String orderReference;
+    private String customerName;
+    private String destination;
+    private String createdBy;
+    private String updatedBy;
+    private String confirmedBy;
+    private String cancelledBy;
+    private SalesOrderStatus status;
+}
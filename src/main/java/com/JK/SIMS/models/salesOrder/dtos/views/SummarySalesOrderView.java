@@ -2,7 +2,6 @@ package com.JK.SIMS.models.salesOrder.dtos.views;
 
 import com.JK.SIMS.models.salesOrder.SalesOrder;
 import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
-import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -25,7 +24,8 @@ public class SummarySalesOrderView {
     private BigDecimal totalAmount; // Sum of orderPrice * quantity
     private Integer totalApprovedQuantity;
 
-    public SummarySalesOrderView(SalesOrder salesOrder){
+    // Totals come from SalesOrderItemTotals, so the items collection is never initialized
+    public SummarySalesOrderView(SalesOrder salesOrder, SalesOrderItemTotals totals){
         this.Id = salesOrder.getId();
         this.orderReference = salesOrder.getOrderReference();
         this.destination = salesOrder.getDestination();
@@ -33,10 +33,8 @@ public class SummarySalesOrderView {
         this.orderDate = salesOrder.getOrderDate();
         this.estimatedDeliveryDate = salesOrder.getEstimatedDeliveryDate();
         this.customerName = salesOrder.getCustomerName();
-        this.totalOrderedQuantity = salesOrder.getItems().stream().mapToInt(OrderItem::getQuantity).sum();
-        this.totalAmount = salesOrder.getItems().stream()
-                .map(item -> item.getProduct().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        this.totalApprovedQuantity = salesOrder.getItems().stream().mapToInt(OrderItem::getApprovedQuantity).sum();
+        this.totalOrderedQuantity = totals == null ? 0 : totals.getTotalOrderedQuantity().intValue();
+        this.totalAmount = totals == null ? BigDecimal.ZERO : totals.getTotalAmount();
+        this.totalApprovedQuantity = totals == null ? 0 : totals.getTotalApprovedQuantity().intValue();
     }
 }
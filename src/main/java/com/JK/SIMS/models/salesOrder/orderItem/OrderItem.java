@@ -1,7 +1,10 @@
 package com.JK.SIMS.models.salesOrder.orderItem;
 
+import com.JK.SIMS.config.idGeneration.IdGenerators;
 import com.JK.SIMS.models.salesOrder.SalesOrder;
 import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.service.generalUtils.textIndex.orderIndex.OrderSearchIndexListener;
+import com.JK.SIMS.service.reportAnalytics.financialRollup.FinancialRollupListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,10 +17,13 @@ import java.math.BigDecimal;
 @EqualsAndHashCode(exclude = "salesOrder")
 @Entity
 @Table(name = "order_items")
+@EntityListeners({OrderSearchIndexListener.class, FinancialRollupListener.class}) // Keep the search index and financial rollups current
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_items_id")
+    @TableGenerator(name = "order_items_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "order_items", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
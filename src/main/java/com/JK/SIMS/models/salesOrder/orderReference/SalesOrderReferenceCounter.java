@@ -0,0 +1,27 @@
+package com.JK.SIMS.models.salesOrder.orderReference;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One row per day: the next order number that has not been handed out to any node yet
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "sales_order_reference_counter")
+public class SalesOrderReferenceCounter {
+
+    @Id
+    @Column(name = "reference_date", nullable = false)
+    private LocalDate referenceDate;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+}
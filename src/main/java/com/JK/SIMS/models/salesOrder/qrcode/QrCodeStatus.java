@@ -0,0 +1,7 @@
+package com.JK.SIMS.models.salesOrder.qrcode;
+
+public enum QrCodeStatus {
+    PENDING, // token is assigned, image is not uploaded yet
+    READY, // image is in S3
+    FAILED // upload kept failing, see the qr_code_outbox entry
+}
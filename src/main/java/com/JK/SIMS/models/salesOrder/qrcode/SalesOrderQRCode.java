@@ -1,15 +1,14 @@
 package com.JK.SIMS.models.salesOrder.qrcode;
 
 import com.JK.SIMS.models.salesOrder.SalesOrder;
-import com.JK.SIMS.service.awsService.S3Service;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Entity
@@ -28,6 +27,11 @@ public class SalesOrderQRCode {
     @Column(name = "qr_code_s3_key", nullable = false, length = 500)
     private String qrCodeS3Key; // S3 key for the QR code image
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @ColumnDefault("'READY'") // rows created before the outbox pipeline already have their image
+    private QrCodeStatus status = QrCodeStatus.PENDING; // READY once the image is uploaded to S3
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime generatedAt;
@@ -0,0 +1,55 @@
+package com.JK.SIMS.models.salesOrder.qrcode.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row for a QR code image that still has to be rendered and uploaded.
+ * Written in the same transaction as the SalesOrder, processed after commit by QrCodeOutboxProcessor.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "qr_code_outbox", indexes = {
+        @Index(name = "idx_qr_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class QrCodeOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "qr_code_id", nullable = false)
+    private Long qrCodeId;
+
+    @Column(name = "order_reference", nullable = false)
+    private String orderReference;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private QrCodeOutboxStatus status = QrCodeOutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public QrCodeOutboxEntry(Long qrCodeId, String orderReference, LocalDateTime nextAttemptAt) {
+        this.qrCodeId = qrCodeId;
+        this.orderReference = orderReference;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
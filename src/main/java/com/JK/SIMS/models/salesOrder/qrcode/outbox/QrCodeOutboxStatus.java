@@ -0,0 +1,8 @@
+package com.JK.SIMS.models.salesOrder.qrcode.outbox;
+
+public enum QrCodeOutboxStatus {
+    PENDING,
+    PROCESSING, // claimed by a worker until nextAttemptAt (lease)
+    DONE,
+    FAILED
+}
@@ -1,5 +1,6 @@
 package com.JK.SIMS.models.stockMovements;
 
+import com.JK.SIMS.config.idGeneration.IdGenerators;
 import com.JK.SIMS.models.PM_models.ProductsForPM;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -10,13 +11,19 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "stock_movements")
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_product_created", columnList = "product_id, created_at, id"), // History and series of a product
+        @Index(name = "idx_stock_movements_created", columnList = "created_at, id"),                      // History of all products
+        @Index(name = "idx_stock_movements_reference", columnList = "reference_type, reference_id")       // Movements of an order
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class StockMovement {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "stock_movements_id")
+    @TableGenerator(name = "stock_movements_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "stock_movements", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
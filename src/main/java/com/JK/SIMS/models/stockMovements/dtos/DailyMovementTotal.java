@@ -0,0 +1,8 @@
+package com.JK.SIMS.models.stockMovements.dtos;
+
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+
+import java.time.LocalDate;
+
+// Quantity moved in one direction for one product on one day, as aggregated by the database
+public record DailyMovementTotal(String productId, String productName, LocalDate day, StockMovementType type, Long quantity) {}
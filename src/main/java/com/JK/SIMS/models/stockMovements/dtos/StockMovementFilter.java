@@ -0,0 +1,10 @@
+package com.JK.SIMS.models.stockMovements.dtos;
+
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+
+import java.time.LocalDateTime;
+
+// Filters of the movement history, each one optional; from is inclusive, to is exclusive
+public record StockMovementFilter(String productId, StockMovementType type, StockMovementReferenceType referenceType,
+                                  String referenceId, LocalDateTime from, LocalDateTime to) {}
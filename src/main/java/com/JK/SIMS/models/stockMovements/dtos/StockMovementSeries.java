@@ -0,0 +1,20 @@
+package com.JK.SIMS.models.stockMovements.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * IN/OUT quantities per product and period, for charts. Periods without movements are left out;
+ * a WEEK period starts on Monday and periodStart may be before from for the first week.
+ */
+public record StockMovementSeries(Granularity granularity, LocalDate from, LocalDate to, List<ProductSeries> products) {
+
+    public enum Granularity {
+        DAY, WEEK
+    }
+
+    public record ProductSeries(String productId, String productName, long totalIn, long totalOut, List<Point> points) {}
+
+    // net = in - out
+    public record Point(LocalDate periodStart, long in, long out, long net) {}
+}
@@ -0,0 +1,19 @@
+package com.JK.SIMS.models.stockMovements.dtos;
+
+import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+
+import java.time.LocalDateTime;
+
+// One row of the movement history; also the constructor projection of the NDJSON export
+public record StockMovementView(Long id, String productId, String productName, StockMovementType type, Integer quantity,
+                                StockMovementReferenceType referenceType, String referenceId, String createdBy,
+                                LocalDateTime createdAt) {
+
+    public static StockMovementView from(StockMovement movement) {
+        return new StockMovementView(movement.getId(), movement.getProduct().getProductID(), movement.getProduct().getName(),
+                movement.getType(), movement.getQuantity(), movement.getReferenceType(), movement.getReferenceId(),
+                movement.getCreatedBy(), movement.getCreatedAt());
+    }
+}
@@ -6,17 +6,21 @@ import com.JK.SIMS.models.inventoryData.dtos.InventoryMetrics;
 import com.JK.SIMS.models.PM_models.ProductCategories;
 import com.JK.SIMS.models.reportAnalyticsMetrics.inventoryHealth.InventoryReportMetrics;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface IC_repository extends JpaRepository<InventoryControlData, String>, JpaSpecificationExecutor<InventoryControlData> {
@@ -52,6 +56,10 @@ public interface IC_repository extends JpaRepository<InventoryControlData, Strin
             "LOWER(ic.pmProduct.category) LIKE CONCAT('%', :text, '%')")
     Page<InventoryControlData> searchInLowStockProducts(@Param("text") String text, Pageable pageable);
 
+    // Used to build the catalog search index; fetches the products in the same query
+    @Query("SELECT ic FROM InventoryControlData ic JOIN FETCH ic.pmProduct")
+    List<InventoryControlData> findAllWithProduct();
+
     Page<InventoryControlData> findByStatus(InventoryDataStatus status, Pageable pageable);
 
     @Query("SELECT i FROM InventoryControlData i WHERE i.currentStock <= :level")
@@ -61,17 +69,83 @@ public interface IC_repository extends JpaRepository<InventoryControlData, Strin
 
     Optional<InventoryControlData> findByPmProduct_ProductID(String productId);
 
+    List<InventoryControlData> findAllByPmProduct_ProductIDIn(Collection<String> productIds);
+
     @Query("SELECT i FROM InventoryControlData i WHERE i.status != 'INVALID' AND  i.currentStock <= i.minLevel")
     List<InventoryControlData> getLowStockItems(Sort sort);
 
     @Query("SELECT i FROM InventoryControlData i WHERE i.status != 'INVALID' AND  i.currentStock <= i.minLevel")
     Page<InventoryControlData> getLowStockItems(Pageable pageable);
 
+    // Excel reports; read through a forward-only cursor, must be consumed and closed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM InventoryControlData i JOIN FETCH i.pmProduct")
+    Stream<InventoryControlData> streamAllForReport(Sort sort);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM InventoryControlData i JOIN FETCH i.pmProduct WHERE i.status != 'INVALID' AND i.currentStock <= i.minLevel")
+    Stream<InventoryControlData> streamLowStockItemsForReport(Sort sort);
+
     // Find InventoryControlData by product ID with a pessimistic write lock
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT i FROM InventoryControlData i WHERE i.pmProduct.productID = :productId")
     InventoryControlData findByProductIdWithLock(@Param("productId") String productId);
 
+    // Lock several rows at once; ordering by productID keeps the lock acquisition order stable across transactions
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryControlData i WHERE i.pmProduct.productID IN :productIds ORDER BY i.pmProduct.productID ASC")
+    List<InventoryControlData> findAllByProductIdsWithLock(@Param("productIds") Collection<String> productIds);
+
+
+    // ******* Conditional-update reservation methods *******
+    // Each statement applies the guard and the change at once; the affected row count reports success.
+    // The native spaces hint limits cache invalidation to this table; without it Hibernate evicts every cache region.
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "inventory_control_data"))
+    @Query(value = """
+    UPDATE inventory_control_data
+    SET reserved_stock = reserved_stock + :quantity, last_update = CURRENT_TIMESTAMP
+    WHERE productid = :productId AND current_stock - reserved_stock >= :quantity
+    """, nativeQuery = true)
+    int reserveIfAvailable(@Param("productId") String productId, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "inventory_control_data"))
+    @Query(value = """
+    UPDATE inventory_control_data
+    SET reserved_stock = GREATEST(reserved_stock - :quantity, 0), last_update = CURRENT_TIMESTAMP
+    WHERE productid = :productId
+    """, nativeQuery = true)
+    int releaseReserved(@Param("productId") String productId, @Param("quantity") int quantity);
+
+    // Status is assigned first so that it is computed from the pre-update stock on every database
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "inventory_control_data"))
+    @Query(value = """
+    UPDATE inventory_control_data
+    SET status = CASE
+            WHEN status = 'INVALID' THEN status
+            WHEN current_stock - :quantity <= min_level THEN 'LOW_STOCK'
+            ELSE 'IN_STOCK' END,
+        current_stock = current_stock - :quantity,
+        reserved_stock = reserved_stock - :quantity,
+        last_update = CURRENT_TIMESTAMP
+    WHERE productid = :productId AND reserved_stock >= :quantity
+    """, nativeQuery = true)
+    int fulfillIfReserved(@Param("productId") String productId, @Param("quantity") int quantity);
+
+    boolean existsByPmProduct_ProductID(String productId);
+
+    @Query("SELECT i.status FROM InventoryControlData i WHERE i.pmProduct.productID = :productId")
+    Optional<InventoryDataStatus> findStatusByProductId(@Param("productId") String productId);
+
 
     // ******* Report & Analytics related methods *******
 
@@ -4,16 +4,22 @@ import com.JK.SIMS.models.PM_models.ProductsForPM;
 import com.JK.SIMS.models.PM_models.ProductCategories;
 import com.JK.SIMS.models.PM_models.ProductStatus;
 import com.JK.SIMS.models.PM_models.dtos.ReportProductMetrics;
+import com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.ProductStockRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PM_repository extends JpaRepository<ProductsForPM, String>, JpaSpecificationExecutor<ProductsForPM> {
@@ -44,6 +50,15 @@ public interface PM_repository extends JpaRepository<ProductsForPM, String>, Jpa
 
     Page<ProductsForPM> findByStatus(ProductStatus status, Pageable pageable);
 
+    // Excel report; read through a forward-only cursor, must be consumed and closed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT pm FROM ProductsForPM pm ORDER BY pm.productID ASC")
+    Stream<ProductsForPM> streamAllForReport();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // Dashboard; cached until a product changes
     @Query("""
         SELECT new com.JK.SIMS.models.PM_models.dtos.ReportProductMetrics(
             COUNT(CASE WHEN pm.status IN :activeStatuses THEN 1 END),
@@ -55,4 +70,23 @@ public interface PM_repository extends JpaRepository<ProductsForPM, String>, Jpa
             @Param("activeStatuses") List<ProductStatus> activeStatuses,
             @Param("inactiveStatuses") List<ProductStatus> inactiveStatuses
     );
+
+    // ******* Dashboard metrics snapshot *******
+
+    @Query("""
+        SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.ProductStockRow(
+            pm.productID, pm.status, pm.price, ic.SKU, ic.currentStock, ic.minLevel, ic.status)
+        FROM ProductsForPM pm
+        LEFT JOIN InventoryControlData ic ON ic.pmProduct = pm
+    """)
+    List<ProductStockRow> findAllStockRows();
+
+    @Query("""
+        SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.ProductStockRow(
+            pm.productID, pm.status, pm.price, ic.SKU, ic.currentStock, ic.minLevel, ic.status)
+        FROM ProductsForPM pm
+        LEFT JOIN InventoryControlData ic ON ic.pmProduct = pm
+        WHERE pm.productID IN :productIds
+    """)
+    List<ProductStockRow> findStockRowsByProductIds(@Param("productIds") Collection<String> productIds);
 }
@@ -1,14 +1,19 @@
 package com.JK.SIMS.repository.PurchaseOrder_repo;
 
 import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+import com.JK.SIMS.models.purchaseOrder.dtos.views.PurchaseOrderSearchFields;
+import com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.PurchaseOrderStatusRow;
 import com.JK.SIMS.models.reportAnalyticsMetrics.orderOverview.PurchaseOrderSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,9 +21,12 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
 
     boolean existsByPONumber(String potentialPONumber);
 
+    // Fallback of the order search index; matches the same fields as the index
     @Query("SELECT isr FROM PurchaseOrder isr WHERE " +
             "LOWER(isr.product.name) LIKE CONCAT('%', :text, '%') OR " +
             "LOWER(isr.supplier.name) LIKE CONCAT('%', :text, '%') OR " +
+            "LOWER(isr.orderedBy) LIKE CONCAT('%', :text, '%') OR " +
+            "LOWER(isr.updatedBy) LIKE CONCAT('%', :text, '%') OR " +
             "LOWER(isr.PONumber) LIKE CONCAT('%', :text, '%')")
     Page<PurchaseOrder> searchOrders(String text, Pageable pageable);
 
@@ -35,6 +43,27 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
             """)
     Page<PurchaseOrder> searchInPendingOrders(String text, Pageable pageable);
 
+    // ******* Order search index *******
+
+    @Query("""
+            SELECT new com.JK.SIMS.models.purchaseOrder.dtos.views.PurchaseOrderSearchFields(
+                po.id, po.PONumber, p.name, s.name, po.orderedBy, po.updatedBy, po.status)
+            FROM PurchaseOrder po
+            LEFT JOIN po.product p
+            LEFT JOIN po.supplier s
+            """)
+    List<PurchaseOrderSearchFields> findAllSearchFields();
+
+    @Query("""
+            SELECT new com.JK.SIMS.models.purchaseOrder.dtos.views.PurchaseOrderSearchFields(
+                po.id, po.PONumber, p.name, s.name, po.orderedBy, po.updatedBy, po.status)
+            FROM PurchaseOrder po
+            LEFT JOIN po.product p
+            LEFT JOIN po.supplier s
+            WHERE po.id IN :ids
+            """)
+    List<PurchaseOrderSearchFields> findSearchFieldsByIds(@Param("ids") Collection<Long> ids);
+
     @Query(value = "SELECT COUNT(*) FROM purchase_order WHERE status IN ('DELIVERY_IN_PROCESS', 'PARTIALLY_RECEIVED', 'AWAITING_APPROVAL') ", nativeQuery = true)
     Long countIncomingPurchaseOrders();
 
@@ -63,5 +92,22 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
 
     List<PurchaseOrder> findByProduct_ProductID(String productId);
 
+    // Orders with their products in one query, for receiving many orders at once
+    @Query("SELECT po FROM PurchaseOrder po JOIN FETCH po.product WHERE po.id IN :ids")
+    List<PurchaseOrder> findAllWithProductByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT po FROM PurchaseOrder po JOIN FETCH po.product WHERE po.PONumber IN :poNumbers")
+    List<PurchaseOrder> findAllWithProductByPONumberIn(@Param("poNumbers") Collection<String> poNumbers);
+
     List<PurchaseOrder> findBySupplier_Id(Long supplierId);
+
+    // ******* Dashboard metrics snapshot *******
+
+    @Query("SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.PurchaseOrderStatusRow(po.id, po.status) " +
+            "FROM PurchaseOrder po WHERE po.status IN :statuses")
+    List<PurchaseOrderStatusRow> findStatusRowsByStatusIn(@Param("statuses") Collection<PurchaseOrderStatus> statuses);
+
+    @Query("SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.PurchaseOrderStatusRow(po.id, po.status) " +
+            "FROM PurchaseOrder po WHERE po.id IN :ids")
+    List<PurchaseOrderStatusRow> findStatusRowsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -2,9 +2,22 @@ package com.JK.SIMS.repository.UserManagement_repo;
 
 import com.JK.SIMS.models.UM_models.BlacklistedToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface BlackListTokenRepository extends JpaRepository<BlacklistedToken, Long> {
     boolean existsByToken(String token);
+
+    // Used by TokenBlacklistCache to pick up tokens revoked on other nodes
+    List<BlacklistedToken> findByBlacklistedAtAfter(Date since);
+
+    @Modifying
+    @Query("DELETE FROM BlacklistedToken b WHERE b.blacklistedAt < :threshold")
+    int deleteBlacklistedBefore(@Param("threshold") Date threshold);
 }
@@ -3,18 +3,24 @@ package com.JK.SIMS.repository.damageLossRepo;
 import com.JK.SIMS.models.damage_loss.DamageLoss;
 import com.JK.SIMS.models.damage_loss.dtos.DamageLossMetrics;
 import com.JK.SIMS.models.damage_loss.LossReason;
+import com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.DamageQuantityRow;
+import com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.DailyLossRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface DamageLossRepository extends JpaRepository<DamageLoss, Integer> {
+public interface DamageLossRepository extends JpaRepository<DamageLoss, Integer>, JpaSpecificationExecutor<DamageLoss> {
 
     @Query("""
         SELECT new com.JK.SIMS.models.damage_loss.dtos.DamageLossMetrics(
@@ -48,4 +54,40 @@ public interface DamageLossRepository extends JpaRepository<DamageLoss, Integer>
     BigDecimal sumLossValueBetween(@Param("startDate") LocalDateTime startDate,
                                    @Param("endDate") LocalDateTime endDate);
 
+    // ******* Dashboard metrics snapshot *******
+
+    @Query("SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.DamageQuantityRow(dl.id, dl.quantityLost) FROM DamageLoss dl")
+    List<DamageQuantityRow> findAllQuantityRows();
+
+    @Query("SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.DamageQuantityRow(dl.id, dl.quantityLost) " +
+            "FROM DamageLoss dl WHERE dl.id IN :ids")
+    List<DamageQuantityRow> findQuantityRowsByIds(@Param("ids") Collection<Integer> ids);
+
+    // ******* Financial rollups *******
+
+    // Reports without a product are kept with a null category, so the day totals match sumLossValueBetween
+    @Query("""
+        SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.DailyLossRow(
+            CAST(dl.lossDate AS LocalDate),
+            p.category,
+            COALESCE(SUM(dl.lossValue), 0)
+        )
+        FROM DamageLoss dl
+        LEFT JOIN dl.icProduct ic
+        LEFT JOIN ic.pmProduct p
+        WHERE dl.lossDate >= :from AND dl.lossDate < :to
+        GROUP BY CAST(dl.lossDate AS LocalDate), p.category
+    """)
+    List<DailyLossRow> sumLossValueByDayAndCategory(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    @Query("""
+        SELECT DISTINCT CAST(dl.lossDate AS LocalDate)
+        FROM DamageLoss dl
+        WHERE dl.icProduct.pmProduct.productID = :productId
+    """)
+    List<LocalDate> findLossDaysOfProduct(@Param("productId") String productId);
+
+    @Query("SELECT MIN(dl.lossDate) FROM DamageLoss dl")
+    LocalDateTime findEarliestLossDate();
 }
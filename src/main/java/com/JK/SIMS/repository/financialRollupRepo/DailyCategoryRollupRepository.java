@@ -0,0 +1,21 @@
+package com.JK.SIMS.repository.financialRollupRepo;
+
+import com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.DailyCategoryRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyCategoryRollupRepository extends JpaRepository<DailyCategoryRollup, Long> {
+
+    List<DailyCategoryRollup> findByRollupDateBetweenOrderByRollupDateAscCategoryAsc(LocalDate startDate, LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM DailyCategoryRollup r WHERE r.rollupDate BETWEEN :startDate AND :endDate")
+    int deleteBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,31 @@
+package com.JK.SIMS.repository.financialRollupRepo;
+
+import com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.DailyFinancialRollup;
+import com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.FinancialRollupTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface DailyFinancialRollupRepository extends JpaRepository<DailyFinancialRollup, Long> {
+
+    @Query("""
+        SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.FinancialRollupTotals(
+            COALESCE(SUM(r.revenue), 0),
+            COALESCE(SUM(r.completedOrders), 0),
+            COALESCE(SUM(r.lossValue), 0)
+        )
+        FROM DailyFinancialRollup r
+        WHERE r.rollupDate BETWEEN :startDate AND :endDate
+    """)
+    FinancialRollupTotals sumBetween(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM DailyFinancialRollup r WHERE r.rollupDate BETWEEN :startDate AND :endDate")
+    int deleteBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
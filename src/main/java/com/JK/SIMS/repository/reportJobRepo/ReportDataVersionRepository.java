@@ -0,0 +1,19 @@
+package com.JK.SIMS.repository.reportJobRepo;
+
+import com.JK.SIMS.models.reportJob.ReportDataSet;
+import com.JK.SIMS.models.reportJob.ReportDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ReportDataVersionRepository extends JpaRepository<ReportDataVersion, ReportDataSet> {
+
+    @Modifying
+    @Query("UPDATE ReportDataVersion v SET v.version = v.version + 1 WHERE v.dataSet IN :dataSets")
+    int increment(@Param("dataSets") Collection<ReportDataSet> dataSets);
+}
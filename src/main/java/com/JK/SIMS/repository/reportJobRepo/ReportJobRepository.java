@@ -0,0 +1,36 @@
+package com.JK.SIMS.repository.reportJobRepo;
+
+import com.JK.SIMS.models.reportJob.ReportJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    // A job of the user that is still running, or done recently enough that its artifact outlives a new download link
+    @Query("SELECT j FROM ReportJob j WHERE j.cacheKey = :cacheKey AND j.requestedBy = :requestedBy " +
+            "AND (j.status IN ('PENDING', 'PROCESSING') OR (j.status = 'DONE' AND j.completedAt > :doneAfter)) ORDER BY j.id DESC")
+    List<ReportJob> findReusableJobs(@Param("cacheKey") String cacheKey, @Param("requestedBy") String requestedBy,
+                                     @Param("doneAfter") LocalDateTime doneAfter, Pageable pageable);
+
+    // Due jobs, including PROCESSING ones whose lease ran out (the worker or node died)
+    @Query("SELECT j.id FROM ReportJob j WHERE j.status IN ('PENDING', 'PROCESSING') " +
+            "AND j.nextAttemptAt <= :now ORDER BY j.nextAttemptAt ASC")
+    List<Long> findDueJobIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Only one worker (on any node) gets 1 back for the same job
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = 'PROCESSING', j.nextAttemptAt = :leaseUntil " +
+            "WHERE j.id = :id AND j.status IN ('PENDING', 'PROCESSING') AND j.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT j FROM ReportJob j WHERE j.status IN ('DONE', 'FAILED') AND j.completedAt < :completedBefore")
+    List<ReportJob> findExpiredJobs(@Param("completedBefore") LocalDateTime completedBefore, Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.JK.SIMS.repository.salesOrderQrRepo;
+
+import com.JK.SIMS.models.salesOrder.qrcode.outbox.QrCodeOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface QrCodeOutboxRepository extends JpaRepository<QrCodeOutboxEntry, Long> {
+
+    // Due entries, including PROCESSING ones whose lease ran out (the worker or node died)
+    @Query("SELECT o.id FROM QrCodeOutboxEntry o WHERE o.status IN ('PENDING', 'PROCESSING') " +
+            "AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt ASC")
+    List<Long> findDueEntryIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Only one worker (on any node) gets 1 back for the same entry
+    @Modifying
+    @Query("UPDATE QrCodeOutboxEntry o SET o.status = 'PROCESSING', o.nextAttemptAt = :leaseUntil " +
+            "WHERE o.id = :id AND o.status IN ('PENDING', 'PROCESSING') AND o.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
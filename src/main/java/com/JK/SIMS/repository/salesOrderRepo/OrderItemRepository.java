@@ -1,5 +1,8 @@
 package com.JK.SIMS.repository.salesOrderRepo;
 
+import com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.DailyRevenueRow;
+import com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderItemTotals;
+import com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderProductName;
 import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,7 +10,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -17,8 +23,61 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
         FROM OrderItem oi
         JOIN oi.salesOrder so
         WHERE so.orderDate BETWEEN :startDate AND :endDate
-        AND so.status IN ('DELIVERED', 'COMPLETED')
+        AND so.status = com.JK.SIMS.models.salesOrder.SalesOrderStatus.DELIVERED
     """)
     BigDecimal calculateTotalRevenue(@Param("startDate") LocalDateTime startDate,
                                      @Param("endDate") LocalDateTime endDate);
+
+    // One row per order: totals for a whole page of summaries in a single statement
+    @Query("""
+        SELECT new com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderItemTotals(
+            oi.salesOrder.id,
+            SUM(oi.quantity),
+            SUM(p.price * oi.quantity),
+            SUM(oi.approvedQuantity)
+        )
+        FROM OrderItem oi
+        JOIN oi.product p
+        WHERE oi.salesOrder.id IN :salesOrderIds
+        GROUP BY oi.salesOrder.id
+    """)
+    List<SalesOrderItemTotals> sumItemTotalsBySalesOrderIds(@Param("salesOrderIds") Collection<Long> salesOrderIds);
+
+    @Query("SELECT new com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderProductName(oi.salesOrder.id, p.name) " +
+            "FROM OrderItem oi JOIN oi.product p")
+    List<SalesOrderProductName> findAllProductNames();
+
+    @Query("SELECT new com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderProductName(oi.salesOrder.id, p.name) " +
+            "FROM OrderItem oi JOIN oi.product p WHERE oi.salesOrder.id IN :salesOrderIds")
+    List<SalesOrderProductName> findProductNamesBySalesOrderIds(@Param("salesOrderIds") Collection<Long> salesOrderIds);
+
+    // ******* Financial rollups *******
+
+    // Same conditions as calculateTotalRevenue, per order day and category
+    @Query("""
+        SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.DailyRevenueRow(
+            CAST(so.orderDate AS LocalDate),
+            p.category,
+            COALESCE(SUM(oi.quantity * p.price), 0),
+            COUNT(DISTINCT so.id)
+        )
+        FROM OrderItem oi
+        JOIN oi.salesOrder so
+        JOIN oi.product p
+        WHERE so.orderDate >= :from AND so.orderDate < :to
+        AND so.status = com.JK.SIMS.models.salesOrder.SalesOrderStatus.DELIVERED
+        GROUP BY CAST(so.orderDate AS LocalDate), p.category
+    """)
+    List<DailyRevenueRow> sumRevenueByDayAndCategory(@Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+
+    // Days whose revenue depends on the price and category of the product
+    @Query("""
+        SELECT DISTINCT CAST(so.orderDate AS LocalDate)
+        FROM OrderItem oi
+        JOIN oi.salesOrder so
+        WHERE oi.product.productID = :productId
+        AND so.status = com.JK.SIMS.models.salesOrder.SalesOrderStatus.DELIVERED
+    """)
+    List<LocalDate> findCompletedOrderDaysOfProduct(@Param("productId") String productId);
 }
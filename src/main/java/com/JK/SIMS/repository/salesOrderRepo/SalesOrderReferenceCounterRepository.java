@@ -0,0 +1,20 @@
+package com.JK.SIMS.repository.salesOrderRepo;
+
+import com.JK.SIMS.models.salesOrder.orderReference.SalesOrderReferenceCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface SalesOrderReferenceCounterRepository extends JpaRepository<SalesOrderReferenceCounter, LocalDate> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SalesOrderReferenceCounter c WHERE c.referenceDate = :referenceDate")
+    Optional<SalesOrderReferenceCounter> findByReferenceDateWithLock(@Param("referenceDate") LocalDate referenceDate);
+}
@@ -1,27 +1,44 @@
 package com.JK.SIMS.repository.salesOrderRepo;
 
+import com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.SalesOrderStatusRow;
+import com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.DailyOrderCountRow;
 import com.JK.SIMS.models.reportAnalyticsMetrics.orderOverview.SalesOrderSummary;
 import com.JK.SIMS.models.salesOrder.SalesOrder;
-import jakarta.persistence.LockModeType;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderSearchFields;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long>, JpaSpecificationExecutor<SalesOrder> {
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT so FROM SalesOrder so WHERE so.orderReference LIKE CONCAT(:pattern, '%') ORDER BY so.orderReference DESC LIMIT 1")
-    Optional<SalesOrder> findLatestSalesOrderWithPessimisticLock(@Param("pattern") String pattern);
+    String SALES_ORDER_TEXT_MATCH = """
+        LOWER(o.orderReference) LIKE LOWER(CONCAT('%', :text, '%'))
+        OR LOWER(o.customerName) LIKE LOWER(CONCAT('%', :text, '%'))
+        OR LOWER(o.destination) LIKE LOWER(CONCAT('%', :text, '%'))
+        OR LOWER(o.createdBy) LIKE LOWER(CONCAT('%', :text, '%'))
+        OR LOWER(o.updatedBy) LIKE LOWER(CONCAT('%', :text, '%'))
+        OR LOWER(o.confirmedBy) LIKE LOWER(CONCAT('%', :text, '%'))
+        OR LOWER(o.cancelledBy) LIKE LOWER(CONCAT('%', :text, '%'))
+        OR EXISTS (SELECT 1 FROM OrderItem i WHERE i.salesOrder = o
+                   AND LOWER(i.product.name) LIKE LOWER(CONCAT('%', :text, '%')))
+        """;
+
+    // Only used to seed the reference counter of a day that has no counter row yet
+    @Query("SELECT so.orderReference FROM SalesOrder so WHERE so.orderReference LIKE CONCAT(:prefix, '%') " +
+            "ORDER BY LENGTH(so.orderReference) DESC, so.orderReference DESC LIMIT 1")
+    Optional<String> findLatestOrderReference(@Param("prefix") String prefix);
 
     @Query(value = "SELECT COUNT(*) FROM sales_order WHERE status IN ('PARTIALLY_APPROVED', 'PENDING', 'PARTIALLY_DELIVERED')", nativeQuery = true)
     Long countOutgoingSalesOrders(); // Used in the Inventory Control
@@ -38,26 +55,35 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long>, J
             nativeQuery = true)
     long calculateTotalDeliveryDate();
 
+    // Fallback of the order search index; matches the same fields as the index
     @Query("""
-    SELECT DISTINCT o FROM SalesOrder o
-    JOIN o.items i
-    JOIN i.product p
+    SELECT o FROM SalesOrder o
     WHERE o.status IN ('PARTIALLY_APPROVED', 'PENDING', 'PARTIALLY_DELIVERED')
-      AND (
-        LOWER(o.customerName) LIKE LOWER(CONCAT('%', :text, '%'))
-       OR LOWER(o.orderReference) LIKE LOWER(CONCAT('%', :text, '%'))
-       )
-""")
+      AND (""" + SALES_ORDER_TEXT_MATCH + ")")
     Page<SalesOrder> searchInWaitingSalesOrders(String text, Pageable pageable);
 
+    // Fallback of the order search index; matches the same fields as the index
+    @Query("SELECT o FROM SalesOrder o WHERE " + SALES_ORDER_TEXT_MATCH)
+    Page<SalesOrder> searchInSalesOrders(String text, Pageable pageable);
+
+    // ******* Order search index *******
+
     @Query("""
-    SELECT DISTINCT o FROM SalesOrder o
-    JOIN o.items i
-    JOIN i.product p
-    WHERE LOWER(o.customerName) LIKE LOWER(CONCAT('%', :text, '%'))
-       OR LOWER(o.orderReference) LIKE LOWER(CONCAT('%', :text, '%'))
+    SELECT new com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderSearchFields(
+        o.id, o.orderReference, o.customerName, o.destination,
+        o.createdBy, o.updatedBy, o.confirmedBy, o.cancelledBy, o.status)
+    FROM SalesOrder o
     """)
-    Page<SalesOrder> searchInSalesOrders(String text, Pageable pageable);
+    List<SalesOrderSearchFields> findAllSearchFields();
+
+    @Query("""
+    SELECT new com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderSearchFields(
+        o.id, o.orderReference, o.customerName, o.destination,
+        o.createdBy, o.updatedBy, o.confirmedBy, o.cancelledBy, o.status)
+    FROM SalesOrder o
+    WHERE o.id IN :ids
+    """)
+    List<SalesOrderSearchFields> findSearchFieldsByIds(@Param("ids") Collection<Long> ids);
 
 
     /**
@@ -86,6 +112,10 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long>, J
     """)
     List<SalesOrder> findActiveOrdersForProduct(@Param("productId") String productId);
 
+    // Orders with their items and products in one query, for processing many orders at once
+    @Query("SELECT DISTINCT so FROM SalesOrder so LEFT JOIN FETCH so.items i LEFT JOIN FETCH i.product WHERE so.id IN :ids")
+    List<SalesOrder> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
 
 
     // ******* Report & Analytics related methods *******
@@ -97,11 +127,29 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long>, J
     SELECT COUNT(*)
     FROM SalesOrder so
     WHERE so.orderDate BETWEEN :startDate AND :endDate
-    AND so.status IN ('DELIVERED', 'COMPLETED')
+    AND so.status = com.JK.SIMS.models.salesOrder.SalesOrderStatus.DELIVERED
 """)
     Long countCompletedSalesOrdersBetween(@Param("startDate") LocalDateTime startDate,
                                       @Param("endDate") LocalDateTime endDate);
 
+    // Same conditions as countCompletedSalesOrdersBetween, per order day (for the financial rollups)
+    @Query("""
+    SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.DailyOrderCountRow(
+        CAST(so.orderDate AS LocalDate), COUNT(so))
+    FROM SalesOrder so
+    WHERE so.orderDate >= :from AND so.orderDate < :to
+    AND so.status = com.JK.SIMS.models.salesOrder.SalesOrderStatus.DELIVERED
+    GROUP BY CAST(so.orderDate AS LocalDate)
+""")
+    List<DailyOrderCountRow> countCompletedSalesOrdersByDay(@Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(so.orderDate) FROM SalesOrder so")
+    LocalDateTime findEarliestOrderDate();
+
+    @Query("SELECT DISTINCT CAST(so.orderDate AS LocalDate) FROM SalesOrder so WHERE so.id IN :ids")
+    List<LocalDate> findOrderDaysByIds(@Param("ids") Collection<Long> ids);
+
 
     @Query("""
     SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.orderOverview.SalesOrderSummary(
@@ -115,4 +163,14 @@ public interface SalesOrderRepository extends JpaRepository<SalesOrder, Long>, J
     FROM SalesOrder so
 """)
     SalesOrderSummary getSalesOrderSummaryMetrics();
+
+    // ******* Dashboard metrics snapshot *******
+
+    @Query("SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.SalesOrderStatusRow(so.id, so.status) " +
+            "FROM SalesOrder so WHERE so.status NOT IN :finishedStatuses")
+    List<SalesOrderStatusRow> findStatusRowsExcluding(@Param("finishedStatuses") Collection<SalesOrderStatus> finishedStatuses);
+
+    @Query("SELECT new com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.SalesOrderStatusRow(so.id, so.status) " +
+            "FROM SalesOrder so WHERE so.id IN :ids")
+    List<SalesOrderStatusRow> findStatusRowsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,7 +1,37 @@
 package com.JK.SIMS.repository.stockMovement;
 
 import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.models.stockMovements.dtos.DailyMovementTotal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long>, JpaSpecificationExecutor<StockMovement> {
+
+    // Daily IN/OUT totals of one product in [from, to), read from idx_stock_movements_product_created
+    @Query("""
+        SELECT new com.JK.SIMS.models.stockMovements.dtos.DailyMovementTotal(
+            p.productID, p.name, CAST(m.createdAt AS LocalDate), m.type, SUM(m.quantity))
+        FROM StockMovement m JOIN m.product p
+        WHERE p.productID = :productId AND m.createdAt >= :from AND m.createdAt < :to
+        GROUP BY p.productID, p.name, CAST(m.createdAt AS LocalDate), m.type
+        ORDER BY CAST(m.createdAt AS LocalDate)
+    """)
+    List<DailyMovementTotal> sumDailyByProduct(@Param("productId") String productId,
+                                               @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Daily IN/OUT totals of every product that moved in [from, to)
+    @Query("""
+        SELECT new com.JK.SIMS.models.stockMovements.dtos.DailyMovementTotal(
+            p.productID, p.name, CAST(m.createdAt AS LocalDate), m.type, SUM(m.quantity))
+        FROM StockMovement m JOIN m.product p
+        WHERE m.createdAt >= :from AND m.createdAt < :to
+        GROUP BY p.productID, p.name, CAST(m.createdAt AS LocalDate), m.type
+        ORDER BY p.productID, CAST(m.createdAt AS LocalDate)
+    """)
+    List<DailyMovementTotal> sumDaily(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
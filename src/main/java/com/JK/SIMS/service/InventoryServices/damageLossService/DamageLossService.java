@@ -52,15 +52,17 @@ public class DamageLossService {
     private final DamageLossRepository damageLossRepository;
 
     @Transactional(readOnly = true)
-    public DamageLossPageResponse getDamageLossDashboardData(int page, int size) {
+    public DamageLossPageResponse getDamageLossDashboardData(String cursor, int page, int size) {
         DamageLossMetrics damageLossMetrics = damageLossQueryService.getDamageLossMetrics();
-        Page<DamageLoss> pagedDamageLossEntity = damageLossQueryService.getAllDamageLoss(page, size);
+        PaginatedResponse<DamageLossResponse> damageLosses = cursor != null
+                ? damageLossQueryService.getDamageLossAfter(cursor, size).toResponse(damageLossHelper::convertToDTO)
+                : damageLossHelper.transformToPaginatedDTO(damageLossQueryService.getAllDamageLoss(page, size));
 
         return new DamageLossPageResponse(
                 damageLossMetrics.getTotalReport(),
                 damageLossMetrics.getTotalItemLost(),
                 damageLossMetrics.getTotalLossValue(),
-                damageLossHelper.transformToPaginatedDTO(pagedDamageLossEntity)
+                damageLosses
         );
     }
 
@@ -8,6 +8,8 @@ import com.JK.SIMS.models.damage_loss.DamageLoss;
 import com.JK.SIMS.models.damage_loss.dtos.DamageLossMetrics;
 import com.JK.SIMS.models.damage_loss.dtos.DamageLossResponse;
 import com.JK.SIMS.repository.damageLossRepo.DamageLossRepository;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetPaginator;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
@@ -19,11 +21,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class DamageLossQueryService {
     private final DamageLossRepository damageLossRepository;
+    private final KeysetPaginator keysetPaginator;
+
+    private static final String SORT_BY = "icProduct.pmProduct.name";
 
     @Transactional(readOnly = true)
     public DamageLoss getDamageLossById(Integer id){
@@ -34,7 +41,7 @@ public class DamageLossQueryService {
     @Transactional(readOnly = true)
     public Page<DamageLoss> getAllDamageLoss(int page, int size) {
         try {
-            Pageable pageable = PageRequest.of(page, size, Sort.by("icProduct.pmProduct.name").descending());
+            Pageable pageable = PageRequest.of(page, size, Sort.by(SORT_BY).descending());
             return damageLossRepository.findAll(pageable);
         } catch (DataAccessException de) {
             log.error("DL (getAllDamageLoss): Database error occurred: {}", de.getMessage(), de);
@@ -45,6 +52,17 @@ public class DamageLossQueryService {
         }
     }
 
+    // Keyset mode of getAllDamageLoss, same order: continues after the cursor, no count query
+    @Transactional(readOnly = true)
+    public KeysetSlice<DamageLoss> getDamageLossAfter(String cursor, int size) {
+        try {
+            return keysetPaginator.findSlice(damageLossRepository, null, "id", Set.of(SORT_BY), SORT_BY, "desc", cursor, size);
+        } catch (DataAccessException de) {
+            log.error("DL (getDamageLossAfter): Database error occurred: {}", de.getMessage(), de);
+            throw new DatabaseException("Internal Database error.", de);
+        }
+    }
+
     @Transactional(readOnly = true)
     public DamageLossMetrics getDamageLossMetrics() {
         try {
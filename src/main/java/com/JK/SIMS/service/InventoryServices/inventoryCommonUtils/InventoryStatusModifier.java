@@ -2,8 +2,9 @@ package com.JK.SIMS.service.InventoryServices.inventoryCommonUtils;
 
 import com.JK.SIMS.models.inventoryData.InventoryControlData;
 import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
-import com.JK.SIMS.service.email_service.LowStockScheduler;
+import com.JK.SIMS.service.email_service.lowStockAlert.LowStockTransitionEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,11 +12,12 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class InventoryStatusModifier {
 
-    private final LowStockScheduler lowStockAlert;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Updates inventory status based on current stock levels
      * Business logic: Determines if stock is low and triggers alerts
+     * The alert is only published here; it is delivered after the transaction commits.
      *
      * @param inventory The inventory item to update
      */
@@ -23,11 +25,19 @@ public class InventoryStatusModifier {
     public void updateInventoryStatus(InventoryControlData inventory) {
         if(inventory.getStatus() != InventoryDataStatus.INVALID) {
             if (inventory.getCurrentStock() <= inventory.getMinLevel()) {
+                boolean alreadyLow = inventory.getStatus() == InventoryDataStatus.LOW_STOCK;
                 inventory.setStatus(InventoryDataStatus.LOW_STOCK);
-                lowStockAlert.sendDailyLowStockAlert();
+                if (!alreadyLow) {
+                    triggerLowStockAlert(inventory.getPmProduct().getProductID());
+                }
             } else {
                 inventory.setStatus(InventoryDataStatus.IN_STOCK);
             }
         }
     }
+
+    // Used directly when the status was already changed in the database
+    public void triggerLowStockAlert(String productId) {
+        eventPublisher.publishEvent(new LowStockTransitionEvent(productId));
+    }
 }
@@ -8,6 +8,8 @@ import com.JK.SIMS.models.inventoryData.InventoryControlData;
 import com.JK.SIMS.models.inventoryData.dtos.InventoryControlResponse;
 import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
 import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetPaginator;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -16,10 +18,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 
 /**
@@ -39,6 +44,11 @@ public class InventoryQueryService {
 
     private final GlobalServiceHelper globalServiceHelper;
     private final IC_repository icRepository;
+    private final KeysetPaginator keysetPaginator;
+
+    // Status, category and product status are ENUM columns and cannot be paged with a cursor
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("location", "currentStock", "minLevel",
+            "reservedStock", "lastUpdate", "pmProduct.productID", "pmProduct.name", "pmProduct.location", "pmProduct.price");
 
     @Transactional(readOnly = true)
     public InventoryControlData getInventoryDataBySku(String sku) {
@@ -103,6 +113,34 @@ public class InventoryQueryService {
         }
     }
 
+    // Reads the low stock products through a cursor; the caller's transaction must stay open until the stream is closed
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Stream<InventoryControlData> streamAllLowStockProducts(String sortBy, String sortDirection) {
+        try {
+            return icRepository.streamLowStockItemsForReport(parseSort(sortBy, sortDirection));
+        } catch (DataAccessException da) {
+            log.error("Stream-getAllLowStockProducts(): Failed to retrieve products due to database error: {}", da.getMessage(), da);
+            throw new DatabaseException("Failed to retrieve products due to database error", da);
+        }
+    }
+
+    // Reads all inventory products through a cursor; the caller's transaction must stay open until the stream is closed
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Stream<InventoryControlData> streamAllInventoryProducts(String sortBy, String sortDirection) {
+        try {
+            return icRepository.streamAllForReport(parseSort(sortBy, sortDirection));
+        } catch (DataAccessException da) {
+            log.error("Stream-getAllInventoryProducts(): Failed to retrieve products due to database error: {}", da.getMessage(), da);
+            throw new DatabaseException("Failed to retrieve products due to database error", da);
+        }
+    }
+
+    private static Sort parseSort(String sortBy, String sortDirection) {
+        Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ?
+                Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, sortBy);
+    }
+
     @Transactional(readOnly = true)
     public Page<InventoryControlData> getAllInventoryProducts(String sortBy, String sortDirection, int page, int size) {
         try{
@@ -116,4 +154,15 @@ public class InventoryQueryService {
             throw new ServiceException("Internal Service Error", e);
         }
     }
+
+    // Keyset mode of getAllInventoryProducts: continues after the cursor, no count query
+    @Transactional(readOnly = true)
+    public KeysetSlice<InventoryControlData> getInventoryProductsAfter(String cursor, String sortBy, String sortDirection, int size) {
+        try {
+            return keysetPaginator.findSlice(icRepository, null, "SKU", KEYSET_SORT_FIELDS, sortBy, sortDirection, cursor, size);
+        } catch (DataAccessException da){
+            log.error("Keyset-getInventoryProductsAfter(): Failed to retrieve products due to database error: {}", da.getMessage(), da);
+            throw new DatabaseException("Failed to retrieve products due to database error", da);
+        }
+    }
 }
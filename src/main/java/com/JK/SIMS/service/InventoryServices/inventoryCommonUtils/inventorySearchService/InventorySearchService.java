@@ -11,6 +11,8 @@ import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.inventoryQueryService.InventoryQueryService;
 import com.JK.SIMS.service.InventoryServices.totalItemsService.filterLogic.InventorySpecification;
 import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.textIndex.IndexedSearchHydrator;
+import com.JK.SIMS.service.generalUtils.textIndex.catalogIndex.CatalogSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -20,6 +22,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 // Will be having Search and Filter business logics
@@ -30,6 +33,8 @@ import java.util.Optional;
 public class InventorySearchService {
 
     private final GlobalServiceHelper globalServiceHelper;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final IndexedSearchHydrator indexedSearchHydrator;
     private final InventoryQueryService inventoryQueryService;
     private final IC_repository icRepository;
 
@@ -39,7 +44,13 @@ public class InventorySearchService {
             Optional<String> inputText = Optional.ofNullable((text));
             if (inputText.isPresent() && !inputText.get().trim().isEmpty()) {
                 Pageable pageable = globalServiceHelper.preparePageable(page, size, sortBy, sortDirection);
-                return icRepository.searchInLowStockProducts(inputText.get().trim().toLowerCase(), pageable);
+                String query = inputText.get().trim().toLowerCase();
+                Optional<List<String>> skus = catalogSearchIndex.searchInventorySkus(query);
+                if (skus.isPresent()) {
+                    return indexedSearchHydrator.hydrate(skus.get(), icRepository, "SKU",
+                            InventoryControlData::getSKU, InventorySpecification.hasLowStock(), pageable);
+                }
+                return icRepository.searchInLowStockProducts(query, IndexedSearchHydrator.withoutRelevanceSort(pageable));
             }
             log.info("LowStockService (searchProduct): No search text provided. Retrieving first page with default size.");
             return inventoryQueryService.getAllLowStockProducts(sortBy, sortDirection, page, size);
@@ -82,7 +93,13 @@ public class InventorySearchService {
             if (inputText.isPresent() && !inputText.get().trim().isEmpty()) {
                 Pageable pageable = globalServiceHelper.preparePageable(page, size, sortBy, sortDirection);
                 // Search by SKU, Location, ID, Name, Category.
-                return icRepository.searchProducts(inputText.get().trim().toLowerCase(), pageable);
+                String query = inputText.get().trim().toLowerCase();
+                Optional<List<String>> skus = catalogSearchIndex.searchInventorySkus(query);
+                if (skus.isPresent()) {
+                    return indexedSearchHydrator.hydrate(skus.get(), icRepository, "SKU",
+                            InventoryControlData::getSKU, null, pageable);
+                }
+                return icRepository.searchProducts(query, IndexedSearchHydrator.withoutRelevanceSort(pageable));
             }
             log.info("SearchService-searchAll(): No search text provided. Retrieving first page with default size.");
             return inventoryQueryService.getAllInventoryProducts(sortBy, sortDirection, page, size);
@@ -16,10 +16,12 @@ import java.util.Optional;
 public interface InventoryControlService {
     InventoryPageResponse getInventoryControlPageData(int page, int size);
 
-    PaginatedResponse<PendingOrdersResponseInIC> getAllPendingOrders(int page, int size);
+    PaginatedResponse<PendingOrdersResponseInIC> getAllPendingOrders(String cursor, int page, int size);
 
     void addProduct(ProductsForPM product, boolean isUnderTransfer);
 
+    InventoryControlData newInventoryData(ProductsForPM product, boolean isUnderTransfer);
+
     void saveInventoryProduct(InventoryControlData inventoryControlData);
 
     void deleteByProductId(String productId);
@@ -31,6 +33,6 @@ public interface InventoryControlService {
     PaginatedResponse<PendingOrdersResponseInIC> filterPendingOrders(String type, SalesOrderStatus soStatus,
                                                                      PurchaseOrderStatus poStatus, String dateOption,
                                                                      LocalDate startDate, LocalDate endDate,
-                                                                     ProductCategories category, String sortBy,
-                                                                     String sortDirection, int page, int size);
+                                                                     ProductCategories category, String cursor,
+                                                                     int page, int size);
 }
@@ -12,33 +12,34 @@ import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
 import com.JK.SIMS.models.inventoryData.dtos.InventoryMetrics;
 import com.JK.SIMS.models.inventoryData.dtos.InventoryPageResponse;
 import com.JK.SIMS.models.inventoryData.dtos.PendingOrdersResponseInIC;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
 import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
-import com.JK.SIMS.models.purchaseOrder.dtos.views.SummaryPurchaseOrderView;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
 import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
-import com.JK.SIMS.models.salesOrder.dtos.views.SummarySalesOrderView;
+import com.JK.SIMS.models.reportJob.ReportDataSet;
 import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
 import com.JK.SIMS.service.InventoryServices.damageLossService.damageLossQueryService.DamageLossQueryService;
 import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.InventoryControlService;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.pendingOrdersFeed.PendingOrdersFeed;
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.inventorySearchService.searchLogicPendingOrders.PendingOrdersSearchStrategy;
-import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryServiceHelper;
 import com.JK.SIMS.service.purchaseOrder.purchaseOrderQueryService.PurchaseOrderQueryService;
-import com.JK.SIMS.service.purchaseOrder.purchaseOrderSearchService.PurchaseOrderSearchService;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardCounts;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsSnapshot;
+import com.JK.SIMS.service.reportJob.ReportDataVersions;
+import com.JK.SIMS.service.purchaseOrder.purchaseOrderSearchService.purchaseOrderFilterLogic.PoFilterStrategy;
 import com.JK.SIMS.service.salesOrder.salesOrderQueryService.SalesOrderQueryService;
-import com.JK.SIMS.service.salesOrder.salesOrderSearchService.SalesOrderSearchService;
+import com.JK.SIMS.service.salesOrder.salesOrderSearchService.salesOrderFilterLogic.SoFilterStrategy;
 import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.textIndex.catalogIndex.CatalogSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -47,17 +48,20 @@ import java.util.Optional;
 public class InventoryControlServiceImpl implements InventoryControlService {
     // =========== Helpers & Utilities ===========
     private final GlobalServiceHelper globalServiceHelper;
-    private final InventoryServiceHelper inventoryServiceHelper;
 
     // =========== Components ===========
     private final PendingOrdersSearchStrategy searchPendingStrategy;
+    private final PendingOrdersFeed pendingOrdersFeed;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final DashboardMetricsSnapshot dashboardMetricsSnapshot;
+    private final ReportDataVersions reportDataVersions;
+    private final SoFilterStrategy filterWaitingSalesOrders;
+    private final PoFilterStrategy filterWaitingPurchaseOrders;
 
     // =========== Services ===========
     private final SalesOrderQueryService salesOrderQueryService;
-    private final SalesOrderSearchService salesOrderSearchService;
     private final DamageLossQueryService damageLossQueryService;
     private final PurchaseOrderQueryService purchaseOrderQueryService;
-    private final PurchaseOrderSearchService purchaseOrderSearchService;
 
     // =========== Repositories ===========
     private final IC_repository icRepository;
@@ -66,19 +70,32 @@ public class InventoryControlServiceImpl implements InventoryControlService {
     @Transactional(readOnly = true)
     public InventoryPageResponse getInventoryControlPageData(int page, int size) {
         try {
-            InventoryMetrics metrics = icRepository.getInventoryMetrics();
-
-            PaginatedResponse<PendingOrdersResponseInIC> allPendingOrders = getAllPendingOrders(page, size);
-
-            // Create the response object
-            InventoryPageResponse inventoryPageResponse = new InventoryPageResponse(
-                    metrics.getTotalCount(),
-                    metrics.getLowStockCount(), // Checks against the VALID products only
-                    purchaseOrderQueryService.getTotalValidPoSize(),
-                    salesOrderQueryService.countOutgoingSalesOrders(),
-                    damageLossQueryService.countTotalDamagedProducts(),
-                    allPendingOrders
-            );
+            PaginatedResponse<PendingOrdersResponseInIC> allPendingOrders = getAllPendingOrders(null, page, size);
+
+            // Create the response object, from the in-memory totals once they are built
+            InventoryPageResponse inventoryPageResponse;
+            Optional<DashboardCounts> snapshot = dashboardMetricsSnapshot.current();
+            if (snapshot.isPresent()) {
+                DashboardCounts counts = snapshot.get();
+                inventoryPageResponse = new InventoryPageResponse(
+                        counts.inventoryProducts(),
+                        counts.lowStockProducts(),
+                        counts.validPurchaseOrders(),
+                        counts.outgoingSalesOrders(),
+                        counts.damagedProducts(),
+                        allPendingOrders
+                );
+            } else {
+                InventoryMetrics metrics = icRepository.getInventoryMetrics();
+                inventoryPageResponse = new InventoryPageResponse(
+                        metrics.getTotalCount(),
+                        metrics.getLowStockCount(), // Checks against the VALID products only
+                        purchaseOrderQueryService.getTotalValidPoSize(),
+                        salesOrderQueryService.countOutgoingSalesOrders(),
+                        damageLossQueryService.countTotalDamagedProducts(),
+                        allPendingOrders
+                );
+            }
             log.info("IC (getInventoryControlPageData): Sending page {} with {} products.", page, allPendingOrders.getContent().size());
             return inventoryPageResponse;
         } catch (DataAccessException e) {
@@ -92,22 +109,12 @@ public class InventoryControlServiceImpl implements InventoryControlService {
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedResponse<PendingOrdersResponseInIC> getAllPendingOrders(int page, int size) {
-        // Fetch all pending orders (SO and PO)
-        PaginatedResponse<SummarySalesOrderView> allPendingSalesOrders =
-                salesOrderQueryService.getAllOutgoingSalesOrders(page, size, "orderDate", "desc");
-
-        PaginatedResponse<SummaryPurchaseOrderView> allPendingPurchaseOrders =
-                purchaseOrderQueryService.getAllPendingPurchaseOrders(page, size, "product.name", "asc");
-
-        // Combine and sort
-        List<PendingOrdersResponseInIC> combinedResults = new ArrayList<>();
-        inventoryServiceHelper.fillWithSalesOrderView(combinedResults, allPendingSalesOrders.getContent());
-        inventoryServiceHelper.fillWithPurchaseOrderView(combinedResults, allPendingPurchaseOrders.getContent());
-
-        return new PaginatedResponse<>(
-                new PageImpl<>(combinedResults, PageRequest.of(page, size), combinedResults.size())
-        );
+    public PaginatedResponse<PendingOrdersResponseInIC> getAllPendingOrders(String cursor, int page, int size) {
+        globalServiceHelper.validatePaginationParameters(page, size);
+        return pendingOrdersFeed.getPage(
+                filterWaitingSalesOrders.buildSpecification(null, null, null, null),
+                filterWaitingPurchaseOrders.buildSpecification(null, null),
+                cursor, page, size);
     }
 
     // Helper method for external use
@@ -115,31 +122,9 @@ public class InventoryControlServiceImpl implements InventoryControlService {
     @Transactional
     public void addProduct(ProductsForPM product, boolean isUnderTransfer){
         try {
-            InventoryControlData inventoryControlData = new InventoryControlData();
-
-            //Generating the SKU and populating the object field
-            String sku = generateSKU(product.getProductID(), product.getCategory());
-            inventoryControlData.setSKU(sku);
-
-            // Set the basic fields
-            inventoryControlData.setPmProduct(product);
-            inventoryControlData.setLocation(product.getLocation());
-            inventoryControlData.setCurrentStock(0);
-            inventoryControlData.setMinLevel(0);
-
-            // Handle the status properly
-            if(product.isInInvalidStatus()){
-                inventoryControlData.setStatus(InventoryDataStatus.INVALID);
-            }else {
-                // isUnderTransfer means the Product is INCOMING
-                if(isUnderTransfer){
-                    inventoryControlData.setStatus(InventoryDataStatus.INCOMING);
-                } else {
-                    inventoryControlData.setStatus(InventoryDataStatus.LOW_STOCK);
-                }
-            }
+            InventoryControlData inventoryControlData = newInventoryData(product, isUnderTransfer);
             icRepository.save(inventoryControlData);
-            log.info("IC: New product is added with the {} SKU", sku);
+            log.info("IC: New product is added with the {} SKU", inventoryControlData.getSKU());
         } catch (DataAccessException da){
             throw new DatabaseException("IC (addProduct): Failed to save inventory data due to database error", da);
         } catch (InventoryException ex){
@@ -149,6 +134,35 @@ public class InventoryControlServiceImpl implements InventoryControlService {
         }
     }
 
+    // Builds the (unsaved) inventory row of a new product
+    @Override
+    public InventoryControlData newInventoryData(ProductsForPM product, boolean isUnderTransfer) {
+        InventoryControlData inventoryControlData = new InventoryControlData();
+
+        //Generating the SKU and populating the object field
+        String sku = generateSKU(product.getProductID(), product.getCategory());
+        inventoryControlData.setSKU(sku);
+
+        // Set the basic fields
+        inventoryControlData.setPmProduct(product);
+        inventoryControlData.setLocation(product.getLocation());
+        inventoryControlData.setCurrentStock(0);
+        inventoryControlData.setMinLevel(0);
+
+        // Handle the status properly
+        if(product.isInInvalidStatus()){
+            inventoryControlData.setStatus(InventoryDataStatus.INVALID);
+        }else {
+            // isUnderTransfer means the Product is INCOMING
+            if(isUnderTransfer){
+                inventoryControlData.setStatus(InventoryDataStatus.INCOMING);
+            } else {
+                inventoryControlData.setStatus(InventoryDataStatus.LOW_STOCK);
+            }
+        }
+        return inventoryControlData;
+    }
+
     // Helper method for internal use
     @Override
     @Transactional(propagation = Propagation.MANDATORY)
@@ -174,6 +188,10 @@ public class InventoryControlServiceImpl implements InventoryControlService {
     public void deleteByProductId(String productId) {
         try {
             icRepository.deleteByProduct_ProductID(productId);
+            // The bulk delete skips the entity listeners
+            catalogSearchIndex.inventoryOfProductRemoved(productId);
+            dashboardMetricsSnapshot.inventoryChanged(productId);
+            reportDataVersions.dataChanged(ReportDataSet.INVENTORY);
             log.info("IC (deleteByProductId): Successfully deleted inventory data for product ID {}", productId);
         } catch (DataAccessException da) {
             log.error("IC (deleteByProductId): Database error while deleting inventory data: {}", da.getMessage());
@@ -235,7 +253,7 @@ public class InventoryControlServiceImpl implements InventoryControlService {
                 return searchPendingStrategy.searchInPendingOrders(text, page, size);
             }
             log.info("IC (searchByTextPendingOrders): No search text provided. Retrieving first page with default size.");
-            return getAllPendingOrders(page, size);
+            return getAllPendingOrders(null, page, size);
         } catch (IllegalArgumentException e) {
             log.error("IC (searchByTextPendingOrders): Invalid pagination parameters: {}", e.getMessage());
             throw new ValidationException("Invalid pagination parameters");
@@ -248,68 +266,44 @@ public class InventoryControlServiceImpl implements InventoryControlService {
         }
     }
 
+    /**
+     * Pending orders of the requested type(s), in the same order as getAllPendingOrders.
+     * Sales orders are included for type SALES_ORDER or any sales order filter, purchase orders
+     * for type PURCHASE_ORDER or any purchase order filter, and both when nothing is given.
+     */
     @Override
     @Transactional(readOnly = true)
     public PaginatedResponse<PendingOrdersResponseInIC> filterPendingOrders(String type, SalesOrderStatus soStatus, PurchaseOrderStatus poStatus,
                                                                             String dateOption, LocalDate startDate, LocalDate endDate, ProductCategories category,
-                                                                            String sortBy, String sortDirection, int page, int size) {
-
-        List<PendingOrdersResponseInIC> combinedResults = new ArrayList<>();
-
-        if (type == null && soStatus == null && poStatus == null && category == null && dateOption == null) {
-            // Fetch all pending Sales Orders
-            PaginatedResponse<SummarySalesOrderView> salesOrders =
-                    salesOrderQueryService.getAllOutgoingSalesOrders(page, size, sortBy, sortDirection);
-            inventoryServiceHelper.fillWithSalesOrderView(combinedResults, salesOrders.getContent());
-
-            // Fetch all pending Purchase Orders
-            PaginatedResponse<SummaryPurchaseOrderView> purchaseOrders =
-                    purchaseOrderQueryService.getAllPendingPurchaseOrders(page, size, sortBy, sortDirection);
-            inventoryServiceHelper.fillWithPurchaseOrderView(combinedResults, purchaseOrders.getContent());
-        }
-
+                                                                            String cursor, int page, int size) {
+        try {
+            globalServiceHelper.validatePaginationParameters(page, size);
+            boolean noFilters = type == null && soStatus == null && poStatus == null && category == null && dateOption == null;
 
-        // Handle Sales Orders
-        boolean isSalesOrderType = "SALES_ORDER".equalsIgnoreCase(type);
-        boolean hasSalesOrderFilters = soStatus != null || dateOption != null;
+            boolean includeSalesOrders = noFilters || "SALES_ORDER".equalsIgnoreCase(type)
+                    || soStatus != null || dateOption != null;
+            boolean includePurchaseOrders = noFilters || "PURCHASE_ORDER".equalsIgnoreCase(type)
+                    || poStatus != null || category != null || dateOption != null;
 
-        if (isSalesOrderType || hasSalesOrderFilters) {
-            if (isSalesOrderType && !hasSalesOrderFilters) {
-                // Fetch all Sales Orders (no filters)
-                PaginatedResponse<SummarySalesOrderView> allSalesOrders =
-                        salesOrderQueryService.getAllOutgoingSalesOrders(page, size, sortBy, sortDirection);
-                inventoryServiceHelper.fillWithSalesOrderView(combinedResults, allSalesOrders.getContent());
-            } else {
-                // Fetch filtered Sales Orders
-                PaginatedResponse<SummarySalesOrderView> salesOrders =
-                        salesOrderSearchService.filterPending(soStatus, dateOption, startDate, endDate, page, size, sortBy, sortDirection);
-                inventoryServiceHelper.fillWithSalesOrderView(combinedResults, salesOrders.getContent());
-            }
-        }
+            Specification<SalesOrder> salesSpec = includeSalesOrders
+                    ? filterWaitingSalesOrders.buildSpecification(soStatus, dateOption, startDate, endDate)
+                    : null;
+            Specification<PurchaseOrder> purchaseSpec = includePurchaseOrders
+                    ? filterWaitingPurchaseOrders.buildSpecification(category, poStatus)
+                    : null;
 
-        // Handle Purchase Orders
-        boolean isPurchaseOrderType = "PURCHASE_ORDER".equalsIgnoreCase(type);
-        boolean hasPurchaseOrderFilters = poStatus != null || category != null || dateOption != null;
-
-        if (isPurchaseOrderType || hasPurchaseOrderFilters) {
-            if (isPurchaseOrderType && !hasPurchaseOrderFilters) {
-                // Fetch all Purchase Orders (no filters)
-                PaginatedResponse<SummaryPurchaseOrderView> allPurchaseOrders =
-                        purchaseOrderQueryService.getAllPendingPurchaseOrders(page, size, sortBy, sortDirection);
-                inventoryServiceHelper.fillWithPurchaseOrderView(combinedResults, allPurchaseOrders.getContent());
-            } else {
-                // Fetch filtered Purchase Orders
-                PaginatedResponse<SummaryPurchaseOrderView> purchaseOrders =
-                        purchaseOrderSearchService.filterPending(poStatus, category, sortBy, sortDirection, page, size);
-                inventoryServiceHelper.fillWithPurchaseOrderView(combinedResults, purchaseOrders.getContent());
-            }
+            return pendingOrdersFeed.getPage(salesSpec, purchaseSpec, cursor, page, size);
+        } catch (IllegalArgumentException e) {
+            log.error("IC (filterPendingOrders): Invalid filter parameters: {}", e.getMessage());
+            throw new ValidationException("Invalid filter parameters: " + e.getMessage());
+        } catch (ValidationException e) {
+            throw e;
+        } catch (DataAccessException e) {
+            log.error("IC (filterPendingOrders): Database error while filtering orders: {}", e.getMessage());
+            throw new DatabaseException("Failed to filter orders", e);
+        } catch (Exception e) {
+            log.error("IC (filterPendingOrders): Unexpected error while filtering orders: {}", e.getMessage());
+            throw new ServiceException("Failed to filter orders", e);
         }
-
-        // Sort combined results
-        combinedResults.sort(Comparator.comparing(PendingOrdersResponseInIC::getOrderDate).reversed());
-
-        return new PaginatedResponse<>(
-                new PageImpl<>(combinedResults, PageRequest.of(page, size), combinedResults.size())
-        );
     }
 }
@@ -0,0 +1,43 @@
+package com.JK.SIMS.service.InventoryServices.inventoryDashboardService.pendingOrdersFeed;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges lists that are each already sorted by the same comparator,
+ * keeping only the head of every source in the heap.
+ */
+final class KWayMerger {
+
+    private KWayMerger() {
+    }
+
+    /**
+     * @return up to {@code limit} elements in comparator order
+     */
+    static <T> List<T> merge(List<List<T>> sortedSources, Comparator<? super T> comparator, int limit) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sortedSources.size()),
+                (a, b) -> comparator.compare(a.value, b.value));
+        for (List<T> source : sortedSources) {
+            Iterator<T> iterator = source.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head<T> head = heads.poll();
+            merged.add(head.value);
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.rest));
+            }
+        }
+        return merged;
+    }
+
+    private record Head<T>(T value, Iterator<T> rest) {}
+}
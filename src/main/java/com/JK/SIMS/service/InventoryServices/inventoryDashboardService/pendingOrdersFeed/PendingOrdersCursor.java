@@ -0,0 +1,40 @@
+package com.JK.SIMS.service.InventoryServices.inventoryDashboardService.pendingOrdersFeed;
+
+import com.JK.SIMS.exception.ValidationException;
+import com.JK.SIMS.models.inventoryData.dtos.PendingOrdersResponseInIC;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the pending orders feed: the last (orderDate, type, id) returned to the client.
+ * Sent to the client as an opaque URL-safe string.
+ */
+record PendingOrdersCursor(LocalDateTime orderDate, String type, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    static PendingOrdersCursor of(PendingOrdersResponseInIC order) {
+        return new PendingOrdersCursor(order.getOrderDate(), order.getType(), order.getId());
+    }
+
+    String encode() {
+        String raw = orderDate + SEPARATOR + type + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PendingOrdersCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            return new PendingOrdersCursor(LocalDateTime.parse(parts[0]), parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor provided");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.JK.SIMS.service.InventoryServices.inventoryDashboardService.pendingOrdersFeed;
+
+import com.JK.SIMS.models.PaginatedResponse;
+import com.JK.SIMS.models.inventoryData.dtos.PendingOrdersResponseInIC;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryServiceHelper;
+import com.JK.SIMS.service.generalUtils.PurchaseOrderServiceHelper;
+import com.JK.SIMS.service.generalUtils.SalesOrderServiceHelper;
+import com.JK.SIMS.service.purchaseOrder.purchaseOrderSearchService.purchaseOrderFilterLogic.filterSpecification.PurchaseOrderSpecification;
+import com.JK.SIMS.service.salesOrder.salesOrderSearchService.salesOrderFilterLogic.filterSpecification.SalesOrderSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pending sales and purchase orders as one feed, ordered by (orderDate DESC, type ASC, id DESC).
+ * - Each source is read with a keyset predicate after the cursor and at most size + 1 rows,
+ *   then the sources are merged with a k-way merge.
+ * - The total comes from one count query per source.
+ * - Without a cursor, page N is served by reading the first (N + 1) * size + 1 rows of each source,
+ *   so old page-based clients still get non-overlapping pages; the cursor is the cheap path.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PendingOrdersFeed {
+
+    private static final String SALES_ORDER = StockMovementReferenceType.SALES_ORDER.toString();
+    private static final String PURCHASE_ORDER = StockMovementReferenceType.PURCHASE_ORDER.toString();
+
+    private static final Sort SOURCE_SORT = Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id"));
+    private static final Comparator<PendingOrdersResponseInIC> FEED_ORDER =
+            Comparator.comparing(PendingOrdersResponseInIC::getOrderDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed()
+                    .thenComparing(PendingOrdersResponseInIC::getType)
+                    .thenComparing(PendingOrdersResponseInIC::getId, Comparator.reverseOrder());
+
+    private final SalesOrderRepository salesOrderRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final SalesOrderServiceHelper salesOrderServiceHelper;
+    private final PurchaseOrderServiceHelper poServiceHelper;
+    private final InventoryServiceHelper inventoryServiceHelper;
+
+    /**
+     * @param salesSpec     filter for the sales orders, or null to leave sales orders out of the feed
+     * @param purchaseSpec  filter for the purchase orders, or null to leave purchase orders out of the feed
+     * @param cursor        nextCursor of the previous page; when present, page is ignored
+     */
+    @Transactional(readOnly = true)
+    public PaginatedResponse<PendingOrdersResponseInIC> getPage(Specification<SalesOrder> salesSpec,
+                                                                Specification<PurchaseOrder> purchaseSpec,
+                                                                String cursor, int page, int size) {
+        PendingOrdersCursor after = (cursor == null || cursor.isBlank()) ? null : PendingOrdersCursor.decode(cursor);
+        int skip = after == null ? page * size : 0;
+        int fetchSize = skip + size + 1;
+
+        List<List<PendingOrdersResponseInIC>> sources = new ArrayList<>(2);
+        long totalElements = 0;
+        if (salesSpec != null) {
+            sources.add(fetchSalesOrders(salesSpec, after, fetchSize));
+            totalElements += salesOrderRepository.count(salesSpec);
+        }
+        if (purchaseSpec != null) {
+            sources.add(fetchPurchaseOrders(purchaseSpec, after, fetchSize));
+            totalElements += purchaseOrderRepository.count(purchaseSpec);
+        }
+
+        List<PendingOrdersResponseInIC> merged = KWayMerger.merge(sources, FEED_ORDER, fetchSize);
+        List<PendingOrdersResponseInIC> content = merged.subList(Math.min(skip, merged.size()),
+                Math.min(skip + size, merged.size()));
+        boolean hasNext = merged.size() > skip + size;
+
+        log.info("IC (PendingOrdersFeed): Returning {} of {} pending orders", content.size(), totalElements);
+        return PaginatedResponse.<PendingOrdersResponseInIC>builder()
+                .content(new ArrayList<>(content))
+                .totalElements(totalElements)
+                .totalPages((int) ((totalElements + size - 1) / size))
+                .nextCursor(hasNext ? PendingOrdersCursor.of(content.get(content.size() - 1)).encode() : null)
+                .build();
+    }
+
+    private List<PendingOrdersResponseInIC> fetchSalesOrders(Specification<SalesOrder> spec, PendingOrdersCursor after, int limit) {
+        if (after != null) {
+            spec = spec.and(SalesOrderSpecification.orderedBefore(after.orderDate(), idBound(SALES_ORDER, after)));
+        }
+        List<SalesOrder> rows = salesOrderRepository.findBy(spec, query -> query.sortBy(SOURCE_SORT).limit(limit).all());
+        List<PendingOrdersResponseInIC> orders = new ArrayList<>(rows.size());
+        inventoryServiceHelper.fillWithSalesOrderView(orders,
+                salesOrderServiceHelper.transformToSummarySalesOrderView(new PageImpl<>(rows)).getContent());
+        return orders;
+    }
+
+    private List<PendingOrdersResponseInIC> fetchPurchaseOrders(Specification<PurchaseOrder> spec, PendingOrdersCursor after, int limit) {
+        if (after != null) {
+            // Purchase orders only have a date; in the feed they sit at the start of that day
+            LocalDate afterDate = after.orderDate().toLocalDate();
+            long idBound = after.orderDate().toLocalTime().equals(LocalTime.MIDNIGHT)
+                    ? idBound(PURCHASE_ORDER, after)
+                    : Long.MAX_VALUE; // the whole day is older than the cursor
+            spec = spec.and(PurchaseOrderSpecification.orderedBefore(afterDate, idBound));
+        }
+        List<PurchaseOrder> rows = purchaseOrderRepository.findBy(spec, query -> query.sortBy(SOURCE_SORT).limit(limit).all());
+        List<PendingOrdersResponseInIC> orders = new ArrayList<>(rows.size());
+        inventoryServiceHelper.fillWithPurchaseOrderView(orders, rows.stream().map(poServiceHelper::convertToSummaryView).toList());
+        return orders;
+    }
+
+    /**
+     * Upper id bound for the rows of a source that share the cursor's orderDate:
+     * a type ordered after the cursor's type keeps all of them, the same type keeps lower ids,
+     * a type ordered before keeps none.
+     */
+    private long idBound(String sourceType, PendingOrdersCursor after) {
+        int typeOrder = sourceType.compareTo(after.type());
+        if (typeOrder > 0) {
+            return Long.MAX_VALUE;
+        }
+        return typeOrder == 0 ? after.id() : Long.MIN_VALUE;
+    }
+}
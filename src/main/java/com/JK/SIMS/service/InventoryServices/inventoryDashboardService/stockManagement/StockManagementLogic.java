@@ -5,16 +5,21 @@ import com.JK.SIMS.exception.InsufficientStockException;
 import com.JK.SIMS.exception.ResourceNotFoundException;
 import com.JK.SIMS.exception.ServiceException;
 import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import com.JK.SIMS.models.reportJob.ReportDataSet;
 import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryStatusModifier;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsSnapshot;
+import com.JK.SIMS.service.reportJob.ReportDataVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.*;
 
 @Component
 @Slf4j
@@ -23,11 +28,20 @@ public class StockManagementLogic {
 
     private final InventoryStatusModifier inventoryStatusModifier;
     private final IC_repository icRepository;
+    private final DashboardMetricsSnapshot dashboardMetricsSnapshot;
+    private final ReportDataVersions reportDataVersions;
+
+    @Value("${inventory.stock.reservation-mode:PESSIMISTIC}")
+    private StockReservationMode reservationMode;
 
     // Reserve stock atomically - throws exception if insufficient stock
     @Transactional
     public void reserveStock(String productId, Integer requestQuantity) {
         try {
+            if (reservationMode == StockReservationMode.CONDITIONAL_UPDATE) {
+                reserveWithConditionalUpdate(productId, requestQuantity);
+                return;
+            }
             InventoryControlData inventory = icRepository.findByProductIdWithLock(productId);
             if (inventory == null) {
                 throw new ResourceNotFoundException("Inventory not found for product: " + productId);
@@ -48,8 +62,8 @@ public class StockManagementLogic {
         } catch (DataAccessException e) {
             log.error("StockManagement reserveStock(): Database error - {}", e.getMessage());
             throw new DatabaseException("Failed to reserve stock", e);
-        } catch ( InsufficientStockException e){
-            log.error("StockManagement reserveStock(): Insufficient stock - {}", e.getMessage());
+        } catch (InsufficientStockException | ResourceNotFoundException e){
+            log.error("StockManagement reserveStock(): {}", e.getMessage());
             throw e;
         } catch (Exception e) {
             log.error("StockManagement reserveStock(): Unexpected error - {}", e.getMessage());
@@ -57,9 +71,80 @@ public class StockManagementLogic {
         }
     }
 
+    /**
+     * Reserves stock for several products in one go (all-or-nothing).
+     * Rows are locked with a single query ordered by productID, so two concurrent
+     * orders always acquire the locks in the same order and cannot deadlock.
+     * Any failure rolls back the whole transaction, including the caller's.
+     *
+     * @param requestedQuantities productID -> quantity to reserve
+     * @throws ResourceNotFoundException if inventory is missing for any product
+     * @throws InsufficientStockException if any product does not have enough available stock
+     */
+    @Transactional
+    public void reserveStockBatch(Map<String, Integer> requestedQuantities) {
+        if (requestedQuantities == null || requestedQuantities.isEmpty()) {
+            return;
+        }
+        try {
+            if (reservationMode == StockReservationMode.CONDITIONAL_UPDATE) {
+                // Sorted so that row locks taken by the updates are acquired in a stable order
+                for (Map.Entry<String, Integer> entry : new TreeMap<>(requestedQuantities).entrySet()) {
+                    reserveWithConditionalUpdate(entry.getKey(), entry.getValue());
+                }
+                log.info("StockManagement reserveStockBatch(): Reserved stock for {} products", requestedQuantities.size());
+                return;
+            }
+            List<InventoryControlData> lockedInventories =
+                    icRepository.findAllByProductIdsWithLock(new TreeSet<>(requestedQuantities.keySet()));
+
+            Map<String, InventoryControlData> inventoryByProductId = new HashMap<>();
+            for (InventoryControlData inventory : lockedInventories) {
+                inventoryByProductId.put(inventory.getPmProduct().getProductID(), inventory);
+            }
+
+            // Validate every line before touching any row
+            for (Map.Entry<String, Integer> entry : requestedQuantities.entrySet()) {
+                String productId = entry.getKey();
+                InventoryControlData inventory = inventoryByProductId.get(productId);
+                if (inventory == null) {
+                    throw new ResourceNotFoundException("Inventory not found for product: " + productId);
+                }
+                int availableStock = getAvailableStock(inventory);
+                if (availableStock < entry.getValue()) {
+                    log.warn("StockManagement reserveStockBatch(): Insufficient stock for product {}. Available: {}, Requested: {}",
+                            productId, availableStock, entry.getValue());
+                    throw new InsufficientStockException(
+                            String.format("Insufficient stock for product %s.", productId));
+                }
+            }
+
+            for (Map.Entry<String, Integer> entry : requestedQuantities.entrySet()) {
+                InventoryControlData inventory = inventoryByProductId.get(entry.getKey());
+                inventory.setReservedStock(inventory.getReservedStock() + entry.getValue());
+            }
+            icRepository.saveAll(lockedInventories);
+            icRepository.flush();
+            log.info("StockManagement reserveStockBatch(): Reserved stock for {} products", requestedQuantities.size());
+        } catch (DataAccessException e) {
+            log.error("StockManagement reserveStockBatch(): Database error - {}", e.getMessage());
+            throw new DatabaseException("Failed to reserve stock", e);
+        } catch (InsufficientStockException | ResourceNotFoundException e) {
+            log.error("StockManagement reserveStockBatch(): {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("StockManagement reserveStockBatch(): Unexpected error - {}", e.getMessage());
+            throw new ServiceException("Failed to reserve stock", e);
+        }
+    }
+
     @Transactional
     public void fulfillReservation(String productId, int approvedQuantity) {
         try {
+            if (reservationMode == StockReservationMode.CONDITIONAL_UPDATE) {
+                fulfillWithConditionalUpdate(productId, approvedQuantity);
+                return;
+            }
             InventoryControlData inventory = icRepository.findByProductIdWithLock(productId);
             if (inventory == null) {
                 throw new ResourceNotFoundException("Inventory not found for product: " + productId);
@@ -86,10 +171,113 @@ public class StockManagementLogic {
         }
     }
 
+    /**
+     * Fulfills the reservations of several orders at once, locking every inventory row once:
+     * the rows of all orders are locked with a single query ordered by productID (in both reservation modes),
+     * and the deductions of all orders are written back once per row.
+     * Each order is all-or-nothing: an order with a line not covered by the reserved stock left
+     * after the orders before it is skipped without touching any row, and the next orders go on.
+     *
+     * @param orderQuantities per order, in processing order: productID -> approved quantity
+     * @return per order, the reason it was skipped, or null when it was fulfilled
+     */
+    @Transactional
+    public List<String> fulfillReservationsBatch(List<Map<String, Integer>> orderQuantities) {
+        try {
+            Set<String> productIds = new TreeSet<>();
+            orderQuantities.forEach(quantities -> productIds.addAll(quantities.keySet()));
+            if (productIds.isEmpty()) {
+                return new ArrayList<>(Collections.nCopies(orderQuantities.size(), null));
+            }
+            Map<String, InventoryControlData> inventoryByProductId = new HashMap<>();
+            for (InventoryControlData inventory : icRepository.findAllByProductIdsWithLock(productIds)) {
+                inventoryByProductId.put(inventory.getPmProduct().getProductID(), inventory);
+            }
+
+            List<String> failures = new ArrayList<>(orderQuantities.size());
+            Map<String, InventoryControlData> changed = new LinkedHashMap<>();
+            for (Map<String, Integer> quantities : orderQuantities) {
+                String failure = null;
+                for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+                    InventoryControlData inventory = inventoryByProductId.get(entry.getKey());
+                    if (inventory == null) {
+                        failure = "Inventory not found for product: " + entry.getKey();
+                        break;
+                    }
+                    if (entry.getValue() > inventory.getReservedStock()) {
+                        failure = "Approving more quantity than reserved for product " + entry.getKey();
+                        break;
+                    }
+                }
+                failures.add(failure);
+                if (failure != null) {
+                    log.warn("IC (fulfillReservationsBatch): Order skipped - {}", failure);
+                    continue;
+                }
+                for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+                    InventoryControlData inventory = inventoryByProductId.get(entry.getKey());
+                    inventory.setCurrentStock(inventory.getCurrentStock() - entry.getValue());
+                    inventory.setReservedStock(inventory.getReservedStock() - entry.getValue());
+                    changed.put(entry.getKey(), inventory);
+                }
+            }
+
+            // Update status based on the new stock levels, once per row
+            changed.values().forEach(inventoryStatusModifier::updateInventoryStatus);
+            icRepository.saveAll(changed.values());
+            icRepository.flush();
+            log.info("IC (fulfillReservationsBatch): Fulfilled {}/{} orders over {} products",
+                    failures.stream().filter(Objects::isNull).count(), orderQuantities.size(), changed.size());
+            return failures;
+        } catch (DataAccessException e) {
+            log.error("IC (fulfillReservationsBatch): Database error - {}", e.getMessage());
+            throw new DatabaseException("Failed to fulfill reservations", e);
+        } catch (Exception e) {
+            log.error("IC (fulfillReservationsBatch): Unexpected error - {}", e.getMessage());
+            throw new ServiceException("Failed to fulfill reservations", e);
+        }
+    }
+
+    /**
+     * Adds received stock to several products at once (goods receipt): the rows are locked with a single
+     * query ordered by productID, so concurrent receipts and reservations wait on the same rows in the same order,
+     * and each row is updated once whatever the number of receipt lines for its product.
+     * Products without an inventory row are left out, as for a single receipt.
+     *
+     * @param receivedQuantities productID -> total received quantity
+     * @return productID -> updated inventory row
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<String, InventoryControlData> receiveStockBatch(Map<String, Integer> receivedQuantities) {
+        Map<String, InventoryControlData> updated = new LinkedHashMap<>();
+        if (receivedQuantities.isEmpty()) {
+            return updated;
+        }
+        for (InventoryControlData inventory : icRepository.findAllByProductIdsWithLock(new TreeSet<>(receivedQuantities.keySet()))) {
+            String productId = inventory.getPmProduct().getProductID();
+            inventory.setCurrentStock(inventory.getCurrentStock() + receivedQuantities.get(productId));
+            inventoryStatusModifier.updateInventoryStatus(inventory);
+            updated.put(productId, inventory);
+        }
+        icRepository.saveAll(updated.values());
+        if (updated.size() < receivedQuantities.size()) {
+            log.warn("IC (receiveStockBatch): No inventory row for {} of {} products",
+                    receivedQuantities.size() - updated.size(), receivedQuantities.size());
+        }
+        return updated;
+    }
+
     // Release reservation when the order is cancelled or creation failed.
     @Transactional
     public void releaseReservation(String productId, int releasedQuantity) {
         try {
+            if (reservationMode == StockReservationMode.CONDITIONAL_UPDATE) {
+                if (icRepository.releaseReserved(productId, releasedQuantity) == 0) {
+                    throw new ResourceNotFoundException("Inventory not found for product: " + productId);
+                }
+                log.debug("IC (releaseReservation): Released reservation of {} units for product {}", releasedQuantity, productId);
+                return;
+            }
             InventoryControlData inventory = icRepository.findByProductIdWithLock(productId);
             if (inventory == null) {
                 throw new ResourceNotFoundException("Inventory not found for product: " + productId);
@@ -125,6 +313,42 @@ public class StockManagementLogic {
         icRepository.save(existingProduct);
     }
 
+    // ******* Conditional-update mode *******
+    // No row is read before the write: the guard lives in the UPDATE itself, so the row lock
+    // is only taken by the statement instead of by a SELECT ... FOR UPDATE before the Java-side check.
+    // Entities already loaded in the persistence context are not refreshed by these statements.
+
+    private void reserveWithConditionalUpdate(String productId, int requestQuantity) {
+        if (icRepository.reserveIfAvailable(productId, requestQuantity) == 0) {
+            if (!icRepository.existsByPmProduct_ProductID(productId)) {
+                throw new ResourceNotFoundException("Inventory not found for product: " + productId);
+            }
+            log.warn("StockManagement reserveStock(): Insufficient stock for product {}. Requested: {}",
+                    productId, requestQuantity);
+            throw new InsufficientStockException(
+                    String.format("Insufficient stock for product %s.", productId));
+        }
+        log.info("StockManagement reserveStock(): Reserved {} units for product {}", requestQuantity, productId);
+    }
+
+    private void fulfillWithConditionalUpdate(String productId, int approvedQuantity) {
+        if (icRepository.fulfillIfReserved(productId, approvedQuantity) == 0) {
+            if (!icRepository.existsByPmProduct_ProductID(productId)) {
+                throw new ResourceNotFoundException("Inventory not found for product: " + productId);
+            }
+            throw new InsufficientStockException("IC (fulfillReservation): Approving more quantity than reserved for product " + productId);
+        }
+        // The native statement skips the entity listeners
+        dashboardMetricsSnapshot.inventoryChanged(productId);
+        reportDataVersions.dataChanged(ReportDataSet.INVENTORY);
+        // The status was already recalculated by the statement, only the alert is left.
+        // The previous status is unknown here, repeated alerts are merged by the alert digest window.
+        icRepository.findStatusByProductId(productId)
+                .filter(status -> status == InventoryDataStatus.LOW_STOCK)
+                .ifPresent(status -> inventoryStatusModifier.triggerLowStockAlert(productId));
+        log.info("IC (fulfillReservation): Fulfilled reservation of {} units for product {}", approvedQuantity, productId);
+    }
+
     // Get available stock (current - reserved)
     private int getAvailableStock(InventoryControlData inventory) {
         return inventory.getCurrentStock() - inventory.getReservedStock();
@@ -0,0 +1,10 @@
+package com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement;
+
+/**
+ * How StockManagementLogic applies reservations to InventoryControlData rows.
+ * Selected per deployment with the "inventory.stock.reservation-mode" property.
+ */
+public enum StockReservationMode {
+    PESSIMISTIC, // SELECT ... FOR UPDATE, check in Java, then save (default)
+    CONDITIONAL_UPDATE // single guarded UPDATE statement, success reported by the affected row count
+}
@@ -7,18 +7,19 @@ import com.JK.SIMS.models.inventoryData.dtos.InventoryControlResponse;
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryServiceHelper;
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.inventoryQueryService.InventoryQueryService;
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.inventorySearchService.InventorySearchService;
+import com.JK.SIMS.service.generalUtils.ExcelReporterHelper;
+import com.JK.SIMS.service.generalUtils.StreamingExcelWriter;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
-import static com.JK.SIMS.service.generalUtils.ExcelReporterHelper.*;
+import static com.JK.SIMS.service.generalUtils.ExcelReporterHelper.populateDataRowForInventoryDto;
 
 @Service
 @Slf4j
@@ -28,6 +29,7 @@ public class LowStockService {
 
     private final InventoryQueryService inventoryQueryService;
     private final InventorySearchService inventorySearchService;
+    private final StreamingExcelWriter streamingExcelWriter;
 
     @Transactional(readOnly = true)
     public PaginatedResponse<InventoryControlResponse> getAllPaginatedLowStockRecords(String sortBy, String sortDirection, int page, int size) {
@@ -51,20 +53,19 @@ public class LowStockService {
         return inventoryServiceHelper.transformToPaginatedInventoryResponse(pagedFilterResponse);
     }
 
+    @Transactional(readOnly = true)
     public void generateLowStockReport(HttpServletResponse response, String sortBy, String sortDirection) {
-        XSSFWorkbook workbook = new XSSFWorkbook();
-        XSSFSheet sheet = workbook.createSheet("Low Stock Products");
-        createHeaderRowForInventoryDto(sheet);
-
-        // Retrieve all low-stock products & transform to DTO List
-        List<InventoryControlResponse> allLowStockProducts = inventoryServiceHelper
-                .convertToInventoryResponseList(
-                        inventoryQueryService.getAllLowStockProducts(sortBy, sortDirection)
-                );
+        ExcelReporterHelper.writeToResponse(response, outputStream -> writeLowStockReport(outputStream, sortBy, sortDirection));
+    }
 
-        // Populate excel rows with low stock products
-        populateDataRowsForInventoryDto(sheet, allLowStockProducts);
-        log.info("generateLowStockReport(): {} products retrieved.", allLowStockProducts.size());
-        writeWorkbookToResponse(response, workbook);
+    // Low-stock products are streamed from the database straight into the Excel rows
+    @Transactional(readOnly = true)
+    public long writeLowStockReport(OutputStream outputStream, String sortBy, String sortDirection) throws IOException {
+        long rowCount = streamingExcelWriter.write(outputStream, "Low Stock Products",
+                ExcelReporterHelper::createHeaderRowForInventoryDto,
+                inventoryQueryService.streamAllLowStockProducts(sortBy, sortDirection),
+                (row, product) -> populateDataRowForInventoryDto(row, inventoryServiceHelper.convertToInventoryResponse(product)));
+        log.info("generateLowStockReport(): {} products written.", rowCount);
+        return rowCount;
     }
 }
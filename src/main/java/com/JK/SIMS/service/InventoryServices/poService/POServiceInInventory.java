@@ -5,15 +5,22 @@ import com.JK.SIMS.models.PM_models.ProductCategories;
 import com.JK.SIMS.models.PaginatedResponse;
 import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
 import com.JK.SIMS.models.purchaseOrder.dtos.ReceiveStockRequest;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptRequest;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptSummary;
 import com.JK.SIMS.models.purchaseOrder.dtos.views.SummaryPurchaseOrderView;
 import jakarta.validation.Valid;
 import org.apache.coyote.BadRequestException;
+import org.springframework.web.multipart.MultipartFile;
 
 public interface POServiceInInventory {
     PaginatedResponse<SummaryPurchaseOrderView> getAllPendingPurchaseOrders(int page, int size, String sortBy, String sortDirection);
 
     ApiResponse<Void> receivePurchaseOrder(Long orderId, @Valid ReceiveStockRequest receiveRequest, String jwtToken) throws BadRequestException;
 
+    GoodsReceiptSummary receivePurchaseOrdersBulk(GoodsReceiptRequest receiptRequest, String jwtToken) throws BadRequestException;
+
+    GoodsReceiptSummary receivePurchaseOrdersFile(MultipartFile file, String jwtToken) throws BadRequestException;
+
     ApiResponse<Void> cancelPurchaseOrderInternal(Long orderId, String jwtToken) throws BadRequestException;
 
     PaginatedResponse<SummaryPurchaseOrderView> searchInIncomingPurchaseOrders(String text, int page, int size,
@@ -0,0 +1,189 @@
+package com.JK.SIMS.service.InventoryServices.poService.goodsReceipt;
+
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptLine;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptSummary;
+import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
+import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.productManagementService.utils.productStatusModifier.ProductStatusModifier;
+import com.JK.SIMS.service.stockMovementService.StockMovementService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a chunk of goods-receipt lines in one transaction, with the rules of POServiceInInventoryImpl.receivePurchaseOrder:
+ * - the purchase orders of the chunk are read with their products in one query per identifier kind;
+ * - the received quantities are summed per product and the inventory rows locked and updated once
+ *   (StockManagementLogic.receiveStockBatch);
+ * - the purchase orders and the stock movements of the chunk are written together, in JDBC batches.
+ * An invalid line is reported and the others go on; when the chunk fails in the database
+ * (e.g. a purchase order updated concurrently), its lines are retried one by one.
+ */
+@Slf4j
+@Component
+public class GoodsReceiptApplier {
+
+    private final Clock clock;
+    private final StockManagementLogic stockManagementLogic;
+    private final ProductStatusModifier productStatusModifier;
+    private final StockMovementService stockMovementService;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate chunkTransaction;
+
+    public GoodsReceiptApplier(Clock clock, StockManagementLogic stockManagementLogic, ProductStatusModifier productStatusModifier,
+                               StockMovementService stockMovementService, PurchaseOrderRepository purchaseOrderRepository,
+                               EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.clock = clock;
+        this.stockManagementLogic = stockManagementLogic;
+        this.productStatusModifier = productStatusModifier;
+        this.stockMovementService = stockMovementService;
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.entityManager = entityManager;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public record ReceiptLine(long lineNumber, GoodsReceiptLine line) {
+        String reference() {
+            return line.getOrderId() != null ? "ID " + line.getOrderId() : line.getPoNumber();
+        }
+    }
+
+    public record ReceivedLine(String productId, String productName, int quantity) {}
+
+    // currentStocks: productID -> current stock after the chunk
+    public record ChunkResult(List<ReceivedLine> received, Map<String, Integer> currentStocks,
+                              List<GoodsReceiptSummary.LineError> errors) {}
+
+    public ChunkResult applyChunk(List<ReceiptLine> lines, String updatedPerson) {
+        try {
+            return chunkTransaction.execute(status -> apply(lines, updatedPerson));
+        } catch (Exception chunkFailure) {
+            if (lines.size() == 1) {
+                ReceiptLine line = lines.get(0);
+                return new ChunkResult(List.of(), Map.of(), List.of(
+                        new GoodsReceiptSummary.LineError(line.lineNumber(), line.reference(), chunkFailure.getMessage())));
+            }
+            log.warn("GoodsReceipt: Chunk of {} lines failed, retrying them one by one - {}", lines.size(), chunkFailure.getMessage());
+            List<ReceivedLine> received = new ArrayList<>();
+            Map<String, Integer> currentStocks = new HashMap<>();
+            List<GoodsReceiptSummary.LineError> errors = new ArrayList<>();
+            for (ReceiptLine line : lines) {
+                ChunkResult result = applyChunk(List.of(line), updatedPerson);
+                received.addAll(result.received());
+                currentStocks.putAll(result.currentStocks());
+                errors.addAll(result.errors());
+            }
+            return new ChunkResult(received, currentStocks, errors);
+        }
+    }
+
+    private ChunkResult apply(List<ReceiptLine> lines, String updatedPerson) {
+        Set<Long> orderIds = new HashSet<>();
+        Set<String> poNumbers = new HashSet<>();
+        for (ReceiptLine line : lines) {
+            if (line.line().getOrderId() != null) {
+                orderIds.add(line.line().getOrderId());
+            } else if (line.line().getPoNumber() != null) {
+                poNumbers.add(line.line().getPoNumber());
+            }
+        }
+        Map<Long, PurchaseOrder> ordersById = orderIds.isEmpty() ? Map.of()
+                : purchaseOrderRepository.findAllWithProductByIdIn(orderIds).stream()
+                        .collect(Collectors.toMap(PurchaseOrder::getId, Function.identity()));
+        Map<String, PurchaseOrder> ordersByNumber = poNumbers.isEmpty() ? Map.of()
+                : purchaseOrderRepository.findAllWithProductByPONumberIn(poNumbers).stream()
+                        .collect(Collectors.toMap(PurchaseOrder::getPONumber, Function.identity()));
+
+        LocalDate today = GlobalServiceHelper.now(clock).toLocalDate();
+        List<GoodsReceiptSummary.LineError> errors = new ArrayList<>();
+        List<ReceivedLine> received = new ArrayList<>();
+        Map<String, Integer> receivedQuantities = new TreeMap<>();
+        Map<Long, PurchaseOrder> changedOrders = new LinkedHashMap<>();
+        List<StockMovement> movements = new ArrayList<>();
+        for (ReceiptLine receiptLine : lines) {
+            GoodsReceiptLine line = receiptLine.line();
+            PurchaseOrder order = line.getOrderId() != null ? ordersById.get(line.getOrderId()) : ordersByNumber.get(line.getPoNumber());
+            String failure = validate(line, order, today);
+            if (failure != null) {
+                errors.add(new GoodsReceiptSummary.LineError(receiptLine.lineNumber(),
+                        order != null ? order.getPONumber() : receiptLine.reference(), failure));
+                continue;
+            }
+
+            receive(order, line, today, updatedPerson);
+            changedOrders.put(order.getId(), order);
+            String productId = order.getProduct().getProductID();
+            receivedQuantities.merge(productId, line.getReceivedQuantity(), Integer::sum);
+            movements.add(new StockMovement(order.getProduct(), line.getReceivedQuantity(), StockMovementType.IN,
+                    order.getPONumber(), StockMovementReferenceType.PURCHASE_ORDER, updatedPerson));
+            received.add(new ReceivedLine(productId, order.getProduct().getName(), line.getReceivedQuantity()));
+        }
+
+        Map<String, InventoryControlData> inventories = stockManagementLogic.receiveStockBatch(receivedQuantities);
+        purchaseOrderRepository.saveAll(changedOrders.values());
+        stockMovementService.logMovements(movements);
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, Integer> currentStocks = new HashMap<>();
+        inventories.forEach((productId, inventory) -> currentStocks.put(productId, inventory.getCurrentStock()));
+        return new ChunkResult(received, currentStocks, errors);
+    }
+
+    // Same checks as the single receipt, reported instead of thrown
+    private static String validate(GoodsReceiptLine line, PurchaseOrder order, LocalDate today) {
+        if (line.getOrderId() == null && (line.getPoNumber() == null || line.getPoNumber().isBlank())) {
+            return "Either orderId or poNumber is required";
+        }
+        if (line.getReceivedQuantity() == null || line.getReceivedQuantity() < 0) {
+            return "Received quantity must be at least 0";
+        }
+        if (order == null) {
+            return "Purchase order not found";
+        }
+        if (order.isFinalized()) {
+            return "Cannot receive stock for finalized order";
+        }
+        if (line.getActualArrivalDate() != null && line.getActualArrivalDate().isAfter(today)) {
+            return "Actual arrival date cannot be in the future";
+        }
+        if (line.getReceivedQuantity() > order.getOrderedQuantity()) {
+            return "Cannot accept more than the ordered quantity";
+        }
+        return null;
+    }
+
+    private void receive(PurchaseOrder order, GoodsReceiptLine line, LocalDate today, String updatedPerson) {
+        if (line.getActualArrivalDate() != null) {
+            order.setActualArrivalDate(line.getActualArrivalDate());
+        } else if (order.getActualArrivalDate() == null) {
+            order.setActualArrivalDate(today);
+        }
+        order.setReceivedQuantity(order.getReceivedQuantity() + line.getReceivedQuantity());
+        if (order.getReceivedQuantity() >= order.getOrderedQuantity()) {
+            order.setStatus(PurchaseOrderStatus.RECEIVED);
+            productStatusModifier.updateIncomingProductStatusInPm(order.getProduct());
+        } else if (order.getReceivedQuantity() > 0) {
+            order.setStatus(PurchaseOrderStatus.PARTIALLY_RECEIVED);
+        }
+        order.setUpdatedBy(updatedPerson);
+    }
+}
@@ -0,0 +1,224 @@
+package com.JK.SIMS.service.InventoryServices.poService.goodsReceipt;
+
+import com.JK.SIMS.exception.ValidationException;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptLine;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptSummary;
+import com.JK.SIMS.service.dataImport.rowReader.ImportFileReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Goods receipt of many purchase order lines at once, from a request or from an .xlsx/.csv delivery file
+ * with the columns PO Number, Received Quantity and optionally Arrival Date.
+ * Lines are applied chunk by chunk (see GoodsReceiptApplier), each chunk committed on its own;
+ * a file is read as a stream, so memory holds one chunk of lines whatever the size of the file.
+ * The summary adds up what every product received and lists the lines that were not applied.
+ */
+@Slf4j
+@Service
+public class GoodsReceiptService {
+
+    private static final List<String> FILE_COLUMNS = List.of("PO Number", "Received Quantity", "Arrival Date");
+    // ISO dates, or Excel's default date format
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/yy"), DateTimeFormatter.ofPattern("M/d/yyyy"));
+
+    private final GoodsReceiptApplier goodsReceiptApplier;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final long maxSharedStringsBytes;
+
+    public GoodsReceiptService(GoodsReceiptApplier goodsReceiptApplier,
+                               @Value("${goods-receipt.chunk-size:500}") int chunkSize,
+                               @Value("${goods-receipt.max-reported-errors:1000}") int maxReportedErrors,
+                               @Value("${data-import.max-shared-strings-size:64MB}") DataSize maxSharedStringsSize) {
+        this.goodsReceiptApplier = goodsReceiptApplier;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxSharedStringsBytes = maxSharedStringsSize.toBytes();
+    }
+
+    public GoodsReceiptSummary receive(List<GoodsReceiptLine> lines, String updatedPerson) {
+        ReceiptRun run = new ReceiptRun(null, updatedPerson);
+        for (int i = 0; i < lines.size(); i++) {
+            run.add(new GoodsReceiptApplier.ReceiptLine(i + 1, lines.get(i)));
+        }
+        return run.finish();
+    }
+
+    public GoodsReceiptSummary receiveFile(MultipartFile file, String updatedPerson) {
+        try {
+            return ImportFileReader.withTempCopy(file, (tempFile, fileName) -> receiveFile(tempFile, fileName, updatedPerson));
+        } catch (IOException e) {
+            log.error("GoodsReceipt: Failed to read {} - {}", file.getOriginalFilename(), e.getMessage());
+            throw new ValidationException("Could not read the goods receipt file: " + e.getMessage());
+        }
+    }
+
+    public GoodsReceiptSummary receiveFile(Path file, String fileName, String updatedPerson) throws IOException {
+        ReceiptRun run = new ReceiptRun(fileName, updatedPerson);
+        ImportFileReader.read(file, fileName, maxSharedStringsBytes, run::row);
+        if (run.columnIndexes == null) {
+            throw new ValidationException("The goods receipt file is empty");
+        }
+        return run.finish();
+    }
+
+    private class ReceiptRun {
+        private final String fileName;
+        private final String updatedPerson;
+        private final long start = System.currentTimeMillis();
+        private int[] columnIndexes; // Position of each file column, -1 if absent
+        private List<GoodsReceiptApplier.ReceiptLine> chunk = new ArrayList<>();
+        private List<GoodsReceiptSummary.LineError> chunkErrors = new ArrayList<>(); // Unreadable lines of the chunk
+        private final Map<String, ProductTally> products = new TreeMap<>();
+        private final List<GoodsReceiptSummary.LineError> errors = new ArrayList<>();
+        private long totalLines = 0;
+        private long receivedLines = 0;
+        private long failedLines = 0;
+        private long totalQuantity = 0;
+
+        ReceiptRun(String fileName, String updatedPerson) {
+            this.fileName = fileName;
+            this.updatedPerson = updatedPerson;
+        }
+
+        void row(long rowNumber, List<String> cells) {
+            if (columnIndexes == null) {
+                columnIndexes = resolveColumns(cells);
+                return;
+            }
+            String[] values = new String[columnIndexes.length];
+            for (int i = 0; i < columnIndexes.length; i++) {
+                int index = columnIndexes[i];
+                values[i] = index >= 0 && index < cells.size() ? cells.get(index).trim() : "";
+            }
+            try {
+                add(new GoodsReceiptApplier.ReceiptLine(rowNumber, new GoodsReceiptLine(null,
+                        values[0].isEmpty() ? null : values[0], parseQuantity(values[1]), parseDate(values[2]))));
+            } catch (ValidationException e) {
+                totalLines++;
+                chunkErrors.add(new GoodsReceiptSummary.LineError(rowNumber, values[0], e.getMessage()));
+                applyChunkIfFull();
+            }
+        }
+
+        void add(GoodsReceiptApplier.ReceiptLine line) {
+            totalLines++;
+            chunk.add(line);
+            applyChunkIfFull();
+        }
+
+        void applyChunkIfFull() {
+            if (chunk.size() + chunkErrors.size() >= chunkSize) {
+                applyChunk();
+            }
+        }
+
+        void applyChunk() {
+            if (!chunk.isEmpty()) {
+                GoodsReceiptApplier.ChunkResult result = goodsReceiptApplier.applyChunk(chunk, updatedPerson);
+                tally(result);
+                chunkErrors.addAll(result.errors());
+            }
+            chunkErrors.sort(Comparator.comparingLong(GoodsReceiptSummary.LineError::lineNumber));
+            for (GoodsReceiptSummary.LineError error : chunkErrors) {
+                failedLines++;
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(error);
+                }
+            }
+            chunk = new ArrayList<>();
+            chunkErrors = new ArrayList<>();
+        }
+
+        void tally(GoodsReceiptApplier.ChunkResult result) {
+            for (GoodsReceiptApplier.ReceivedLine line : result.received()) {
+                ProductTally tally = products.computeIfAbsent(line.productId(), id -> new ProductTally(line.productName()));
+                tally.lines++;
+                tally.quantity += line.quantity();
+                receivedLines++;
+                totalQuantity += line.quantity();
+            }
+            result.currentStocks().forEach((productId, currentStock) -> products.get(productId).currentStock = currentStock);
+        }
+
+        GoodsReceiptSummary finish() {
+            applyChunk();
+            List<GoodsReceiptSummary.ProductReceipt> productReceipts = new ArrayList<>(products.size());
+            products.forEach((productId, tally) -> productReceipts.add(new GoodsReceiptSummary.ProductReceipt(
+                    productId, tally.name, tally.lines, tally.quantity, tally.currentStock)));
+            GoodsReceiptSummary summary = new GoodsReceiptSummary(fileName, totalLines, receivedLines, failedLines,
+                    totalQuantity, productReceipts, errors, failedLines > errors.size(), System.currentTimeMillis() - start);
+            log.info("GoodsReceipt: Received {}/{} lines, {} units over {} products in {} ms", receivedLines, totalLines,
+                    totalQuantity, productReceipts.size(), summary.durationMs());
+            return summary;
+        }
+    }
+
+    private static class ProductTally {
+        private final String name;
+        private long lines = 0;
+        private long quantity = 0;
+        private Integer currentStock;
+
+        ProductTally(String name) {
+            this.name = name;
+        }
+    }
+
+    private static int[] resolveColumns(List<String> header) {
+        Map<String, Integer> headerIndexes = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            headerIndexes.putIfAbsent(normalize(header.get(i)), i);
+        }
+        int[] indexes = new int[FILE_COLUMNS.size()];
+        for (int i = 0; i < FILE_COLUMNS.size(); i++) {
+            indexes[i] = headerIndexes.getOrDefault(normalize(FILE_COLUMNS.get(i)), -1);
+        }
+        if (indexes[0] < 0 || indexes[1] < 0) {
+            throw new ValidationException("The header row must contain the columns: PO Number, Received Quantity");
+        }
+        return indexes;
+    }
+
+    private static String normalize(String columnName) {
+        return columnName.replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Integer parseQuantity(String value) {
+        if (value.isEmpty()) {
+            return null; // Reported by the line validation
+        }
+        try {
+            return new BigDecimal(value.replace(",", "")).intValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new ValidationException("Invalid Received Quantity: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // Try the next format
+            }
+        }
+        throw new ValidationException("Invalid Arrival Date: " + value);
+    }
+}
@@ -12,6 +12,8 @@ import com.JK.SIMS.models.inventoryData.InventoryControlData;
 import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
 import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
 import com.JK.SIMS.models.purchaseOrder.dtos.ReceiveStockRequest;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptRequest;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptSummary;
 import com.JK.SIMS.models.purchaseOrder.dtos.views.SummaryPurchaseOrderView;
 import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
 import com.JK.SIMS.models.stockMovements.StockMovementType;
@@ -20,6 +22,7 @@ import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockMana
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.inventoryQueryService.InventoryQueryService;
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryStatusModifier;
 import com.JK.SIMS.service.InventoryServices.poService.POServiceInInventory;
+import com.JK.SIMS.service.InventoryServices.poService.goodsReceipt.GoodsReceiptService;
 import com.JK.SIMS.service.purchaseOrder.purchaseOrderQueryService.PurchaseOrderQueryService;
 import com.JK.SIMS.service.productManagementService.utils.productStatusModifier.ProductStatusModifier;
 import com.JK.SIMS.service.purchaseOrder.purchaseOrderSearchService.PurchaseOrderSearchService;
@@ -32,6 +35,7 @@ import org.apache.coyote.BadRequestException;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -51,6 +55,7 @@ public class POServiceInInventoryImpl implements POServiceInInventory {
     private final InventoryStatusModifier inventoryStatusModifier;
     private final ProductStatusModifier productStatusModifier;
     private final StockManagementLogic stockManagementLogic;
+    private final GoodsReceiptService goodsReceiptService;
 
     // =========== Services ===========
     private final StockMovementService stockMovementService; // Used to log the stock movement
@@ -106,6 +111,19 @@ public class POServiceInInventoryImpl implements POServiceInInventory {
         }
     }
 
+    // Goods receipt of a whole delivery; lines are committed in chunks, so no transaction here
+    @Override
+    public GoodsReceiptSummary receivePurchaseOrdersBulk(GoodsReceiptRequest receiptRequest, String jwtToken) throws BadRequestException {
+        String updatedPerson = securityUtils.validateAndExtractUsername(jwtToken);
+        return goodsReceiptService.receive(receiptRequest.getLines(), updatedPerson);
+    }
+
+    @Override
+    public GoodsReceiptSummary receivePurchaseOrdersFile(MultipartFile file, String jwtToken) throws BadRequestException {
+        String updatedPerson = securityUtils.validateAndExtractUsername(jwtToken);
+        return goodsReceiptService.receiveFile(file, updatedPerson);
+    }
+
     private void updateOrderWithReceivedStock(PurchaseOrder order, ReceiveStockRequest receiveRequest) {
         // Set actual arrival date
         if (receiveRequest.getActualArrivalDate() != null) {
@@ -4,6 +4,8 @@ import com.JK.SIMS.models.ApiResponse;
 import com.JK.SIMS.models.PaginatedResponse;
 import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
 import com.JK.SIMS.models.salesOrder.dtos.SalesOrderResponseDto;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.BulkStockOutRequestDto;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.BulkStockOutResponse;
 import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.ProcessSalesOrderRequestDto;
 import com.JK.SIMS.models.salesOrder.dtos.views.SummarySalesOrderView;
 import jakarta.validation.constraints.Max;
@@ -21,6 +23,8 @@ public interface SoServiceInInventory {
 
     ApiResponse<Void> processSalesOrder(ProcessSalesOrderRequestDto requestDto, String jwtToken);
 
+    BulkStockOutResponse processSalesOrdersBulk(BulkStockOutRequestDto requestDto, String jwtToken);
+
     ApiResponse<Void> cancelSalesOrder(Long orderId, String jwtToken);
 
     PaginatedResponse<SummarySalesOrderView> searchInWaitingSalesOrders(String text, int page, int size, String sortBy, String sortDir);
@@ -10,6 +10,8 @@ import com.JK.SIMS.models.PaginatedResponse;
 import com.JK.SIMS.models.salesOrder.SalesOrder;
 import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
 import com.JK.SIMS.models.salesOrder.dtos.SalesOrderResponseDto;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.BulkStockOutRequestDto;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.BulkStockOutResponse;
 import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.ProcessSalesOrderRequestDto;
 import com.JK.SIMS.models.salesOrder.dtos.views.SummarySalesOrderView;
 import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
@@ -17,6 +19,7 @@ import com.JK.SIMS.models.salesOrder.orderItem.OrderItemStatus;
 import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
 import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
 import com.JK.SIMS.service.InventoryServices.soService.SoServiceInInventory;
+import com.JK.SIMS.service.InventoryServices.soService.processSalesOrder.MultiOrderStockOutProcessor;
 import com.JK.SIMS.service.InventoryServices.soService.processSalesOrder.StockOutProcessor;
 import com.JK.SIMS.service.salesOrder.salesOrderQueryService.SalesOrderQueryService;
 import com.JK.SIMS.service.salesOrder.salesOrderSearchService.SalesOrderSearchService;
@@ -42,6 +45,7 @@ public class SoServiceInInventoryImpl implements SoServiceInInventory {
     // =========== Components ===========
     private final StockManagementLogic stockManagementLogic;
     private final StockOutProcessor stockOutProcessor;
+    private final MultiOrderStockOutProcessor multiOrderStockOutProcessor;
 
     // =========== Services ===========
     private final SalesOrderQueryService salesOrderQueryService;
@@ -86,6 +90,19 @@ public class SoServiceInInventoryImpl implements SoServiceInInventory {
         }
     }
 
+    @Override
+    public BulkStockOutResponse processSalesOrdersBulk(BulkStockOutRequestDto requestDto, String jwtToken) {
+        try {
+            String confirmedPerson = securityUtils.validateAndExtractUsername(jwtToken);
+            return multiOrderStockOutProcessor.processStockOuts(requestDto.getOrders(), confirmedPerson);
+        } catch (ValidationException exc) {
+            throw exc;
+        } catch (Exception e) {
+            log.error("OS (processSalesOrdersBulk): Error processing orders - {}", e.getMessage());
+            throw new ServiceException("Internal Service Error, failed to process orders", e);
+        }
+    }
+
     // CANCEL button
     @Override
     @Transactional
@@ -0,0 +1,151 @@
+package com.JK.SIMS.service.InventoryServices.soService.processSalesOrder;
+
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.BulkStockOutResponse;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.ProcessSalesOrderRequestDto;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
+import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
+import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.SalesOrderServiceHelper;
+import com.JK.SIMS.service.stockMovementService.StockMovementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stock-out of many sales orders in one transaction, with the rules of OrderProcessor.processOrder per order:
+ * - the orders and their items are read with one query;
+ * - the inventory rows of all orders are locked once and updated once (StockManagementLogic.fulfillReservationsBatch);
+ * - the stock movements of all orders are inserted together, in JDBC batches.
+ * An order that is invalid or not covered by the reserved stock fails alone and is left unchanged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MultiOrderStockOutProcessor {
+
+    private final Clock clock;
+    private final SalesOrderServiceHelper salesOrderServiceHelper;
+    private final StockManagementLogic stockManagementLogic;
+    private final StockMovementService stockMovementService;
+    private final SalesOrderRepository salesOrderRepository;
+
+    @Transactional
+    public BulkStockOutResponse processStockOuts(List<ProcessSalesOrderRequestDto> requests, String approvedPerson) {
+        Map<Long, SalesOrder> ordersById = salesOrderRepository.findAllWithItemsByIdIn(
+                        requests.stream().map(ProcessSalesOrderRequestDto::getOrderId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(SalesOrder::getId, Function.identity()));
+
+        // Validate every order on its own, then fulfill the valid ones together
+        BulkStockOutResponse.OrderResult[] results = new BulkStockOutResponse.OrderResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Map<String, Integer>> validQuantities = new ArrayList<>();
+        Set<Long> seenOrderIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ProcessSalesOrderRequestDto request = requests.get(i);
+            SalesOrder salesOrder = ordersById.get(request.getOrderId());
+            String failure = !seenOrderIds.add(request.getOrderId())
+                    ? "SalesOrder is listed more than once in the request"
+                    : validate(salesOrder, request);
+            if (failure != null) {
+                results[i] = failed(request.getOrderId(), salesOrder, failure);
+            } else {
+                validIndexes.add(i);
+                validQuantities.add(approvedQuantities(salesOrder, request.getItemQuantities()));
+            }
+        }
+
+        List<String> fulfillFailures = stockManagementLogic.fulfillReservationsBatch(validQuantities);
+        List<SalesOrder> processedOrders = new ArrayList<>();
+        List<StockMovement> movements = new ArrayList<>();
+        for (int j = 0; j < validIndexes.size(); j++) {
+            int index = validIndexes.get(j);
+            SalesOrder salesOrder = ordersById.get(requests.get(index).getOrderId());
+            if (fulfillFailures.get(j) != null) {
+                results[index] = failed(salesOrder.getId(), salesOrder, fulfillFailures.get(j));
+                continue;
+            }
+            applyApprovals(salesOrder, validQuantities.get(j), approvedPerson, movements);
+            processedOrders.add(salesOrder);
+            results[index] = new BulkStockOutResponse.OrderResult(salesOrder.getId(), salesOrder.getOrderReference(),
+                    true, salesOrder.getStatus(), "SalesOrder processed successfully");
+        }
+        salesOrderRepository.saveAll(processedOrders);
+        stockMovementService.logMovements(movements);
+
+        int successCount = processedOrders.size();
+        log.info("SO-processStockOuts(): Processed {}/{} orders, {} stock movements", successCount, requests.size(), movements.size());
+        return new BulkStockOutResponse(requests.size(), successCount, requests.size() - successCount, Arrays.asList(results));
+    }
+
+    // Same checks as OrderProcessor.processOrder, reported instead of thrown
+    private String validate(SalesOrder salesOrder, ProcessSalesOrderRequestDto request) {
+        if (salesOrder == null) {
+            return "SalesOrder with ID: " + request.getOrderId() + " not found";
+        }
+        if (salesOrder.isFinalized()) {
+            return "SalesOrder is finalized. Cannot process the following order: " + salesOrder.getOrderReference();
+        }
+        for (OrderItem item : salesOrder.getItems()) {
+            String productId = item.getProduct().getProductID();
+            Integer approvedQty = request.getItemQuantities().get(productId);
+            if (approvedQty == null) {
+                continue;
+            }
+            if (approvedQty < 0) {
+                return "Cannot approve negative stock for item: " + productId;
+            }
+            if (approvedQty > item.getQuantity()) {
+                return "Cannot approve more stock than the order quantity for item: " + productId;
+            }
+        }
+        return null;
+    }
+
+    // productID -> approved quantity of the items of the order; quantities of other products are ignored
+    private static Map<String, Integer> approvedQuantities(SalesOrder salesOrder, Map<String, Integer> itemQuantities) {
+        Map<String, Integer> approved = new LinkedHashMap<>();
+        for (OrderItem item : salesOrder.getItems()) {
+            String productId = item.getProduct().getProductID();
+            Integer approvedQty = itemQuantities.get(productId);
+            if (approvedQty == null) {
+                log.warn("Skipping item {} - no approved quantity provided", productId);
+                continue;
+            }
+            approved.merge(productId, approvedQty, Integer::sum);
+        }
+        return approved;
+    }
+
+    private void applyApprovals(SalesOrder salesOrder, Map<String, Integer> approved, String approvedPerson,
+                                List<StockMovement> movements) {
+        salesOrder.setConfirmedBy(approvedPerson);
+        salesOrder.setLastUpdate(GlobalServiceHelper.now(clock));
+        for (OrderItem item : salesOrder.getItems()) {
+            Integer approvedQty = approved.get(item.getProduct().getProductID());
+            if (approvedQty == null) {
+                continue;
+            }
+            salesOrderServiceHelper.updateOrderItemFulfillStatus(item, approvedQty);
+            item.setApprovedQuantity(item.getApprovedQuantity() + approvedQty);
+            movements.add(new StockMovement(item.getProduct(), approvedQty, StockMovementType.OUT,
+                    salesOrder.getOrderReference(), StockMovementReferenceType.SALES_ORDER, approvedPerson));
+        }
+        salesOrderServiceHelper.updateSoStatusBasedOnItemQuantity(salesOrder);
+    }
+
+    private static BulkStockOutResponse.OrderResult failed(Long orderId, SalesOrder salesOrder, String message) {
+        return new BulkStockOutResponse.OrderResult(orderId, salesOrder != null ? salesOrder.getOrderReference() : null,
+                false, salesOrder != null ? salesOrder.getStatus() : null, message);
+    }
+}
@@ -16,22 +16,24 @@ import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryServi
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.inventoryQueryService.InventoryQueryService;
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.inventorySearchService.InventorySearchService;
 import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
+import com.JK.SIMS.service.generalUtils.ExcelReporterHelper;
+import com.JK.SIMS.service.generalUtils.StreamingExcelWriter;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetSlice;
 import com.JK.SIMS.service.productManagementService.ProductManagementService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
 
 import static com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryServiceHelper.validateUpdateRequest;
-import static com.JK.SIMS.service.generalUtils.ExcelReporterHelper.*;
+import static com.JK.SIMS.service.generalUtils.ExcelReporterHelper.populateDataRowForInventoryDto;
 
 @Service
 @RequiredArgsConstructor
@@ -42,6 +44,7 @@ public class TotalItemsService {
 
     // =========== Components ===========
     private final StockManagementLogic stockManagementLogic;
+    private final StreamingExcelWriter streamingExcelWriter;
 
     // =========== Services ===========
     private final ProductManagementService productManagementService;
@@ -61,6 +64,14 @@ public class TotalItemsService {
         return inventoryServiceHelper.transformToPaginatedInventoryResponse(allInventoryProducts);
     }
 
+    @Transactional(readOnly = true)
+    public PaginatedResponse<InventoryControlResponse> getInventoryResponseAfter(String cursor, String sortBy, String sortDirection, int size) {
+        KeysetSlice<InventoryControlData> inventoryProducts =
+                inventoryQueryService.getInventoryProductsAfter(cursor, sortBy, sortDirection, size);
+        log.info("getInventoryResponseAfter(): {} products retrieved.", inventoryProducts.getContent().size());
+        return inventoryProducts.toResponse(inventoryServiceHelper::convertToInventoryResponse);
+    }
+
     // Only currentStock and minLevel can be updated in the IC section
     @Transactional
     public ApiResponse<Void> updateProduct(String sku, InventoryControlRequest inventoryControlRequest) {
@@ -149,20 +160,20 @@ public class TotalItemsService {
         }
     }
 
+    @Transactional(readOnly = true)
     public void generateTotalItemsReport(HttpServletResponse response, String sortBy, String sortDirection) {
-        XSSFWorkbook workbook = new XSSFWorkbook();
-        XSSFSheet sheet = workbook.createSheet("All Inventory Products");
-        createHeaderRowForInventoryDto(sheet);
-
-        // Retrieve all inventory products & transform to DTO List
-        List<InventoryControlResponse> allProducts = inventoryServiceHelper
-                .convertToInventoryResponseList(
-                        inventoryQueryService.getAllInventoryProducts(sortBy, sortDirection)
-                );
-
-        populateDataRowsForInventoryDto(sheet, allProducts);
-        log.info("TotalItems (generateTotalItemsReport): {} products retrieved.", allProducts.size());
-        writeWorkbookToResponse(response, workbook);
+        ExcelReporterHelper.writeToResponse(response, outputStream -> writeTotalItemsReport(outputStream, sortBy, sortDirection));
+    }
+
+    // Inventory products are streamed from the database straight into the Excel rows
+    @Transactional(readOnly = true)
+    public long writeTotalItemsReport(OutputStream outputStream, String sortBy, String sortDirection) throws IOException {
+        long rowCount = streamingExcelWriter.write(outputStream, "All Inventory Products",
+                ExcelReporterHelper::createHeaderRowForInventoryDto,
+                inventoryQueryService.streamAllInventoryProducts(sortBy, sortDirection),
+                (row, product) -> populateDataRowForInventoryDto(row, inventoryServiceHelper.convertToInventoryResponse(product)));
+        log.info("TotalItems (generateTotalItemsReport): {} products written.", rowCount);
+        return rowCount;
     }
 
 }
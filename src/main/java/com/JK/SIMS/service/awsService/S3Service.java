@@ -18,6 +18,7 @@ import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignReques
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Map;
 
@@ -72,6 +73,35 @@ public class S3Service {
         }
     }
 
+    /**
+     * Uploads a file from disk to the S3 bucket, without loading it into memory.
+     *
+     * @param objectKey The unique key (filename) for the object in S3.
+     * @param file The file to upload.
+     * @param contentType The MIME type of the file.
+     * @return The S3 key of the uploaded object.
+     */
+    public String uploadFile(String objectKey, Path file, String contentType) {
+        try {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(objectKey)
+                    .contentType(contentType)
+                    .metadata(Map.of("upload-timestamp", String.valueOf(System.currentTimeMillis())))
+                    .build();
+
+            s3Client.putObject(putObjectRequest, RequestBody.fromFile(file));
+            log.info("Successfully uploaded {} from {} to S3 bucket {}", objectKey, file, bucketName);
+            return objectKey;
+        } catch (AwsServiceException e) {
+            log.error("AWS error while uploading file: {}", e.getMessage());
+            throw new CustomS3Exception("Failed to upload file to S3", e);
+        } catch (SdkClientException e) {
+            log.error("SDK error while uploading file: {}", e.getMessage());
+            throw new CustomS3Exception("Failed to upload file to S3", e);
+        }
+    }
+
     /**
      * Reads (downloads) a file from the S3 bucket.
      *
@@ -166,7 +196,7 @@ public class S3Service {
 
         } catch (NoSuchKeyException e) {
             log.error("Object not found in S3: {}", objectKey);
-            throw new ResourceNotFoundException("QR code image not found: " + objectKey);
+            throw new ResourceNotFoundException("File not found: " + objectKey);
         } catch (S3Exception e) {
             log.error("Error generating presigned URL for {}: {}", objectKey, e.awsErrorDetails().errorMessage());
             throw new CustomS3Exception("Failed to generate presigned URL", e);
@@ -0,0 +1,236 @@
+package com.JK.SIMS.service.dataImport;
+
+import com.JK.SIMS.exception.ValidationException;
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.dtos.BatchProductResponse;
+import com.JK.SIMS.models.PM_models.dtos.ProductManagementRequest;
+import com.JK.SIMS.models.dataImport.ImportType;
+import com.JK.SIMS.models.dataImport.dtos.ImportReport;
+import com.JK.SIMS.models.inventoryData.dtos.InventoryControlRequest;
+import com.JK.SIMS.service.dataImport.rowReader.ImportFileReader;
+import com.JK.SIMS.service.productManagementService.bulkImport.ProductBulkImporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Imports product catalogs and stock levels from .xlsx or .csv files. The file is read as a stream
+ * (see ImportFileReader) and its rows are applied chunk by chunk, each chunk committed on its own:
+ * - CATALOG rows go through ProductBulkImporter, like the batch product endpoint;
+ * - STOCK_LEVELS rows go through StockLevelImporter, with the rules of the inventory update endpoint.
+ * Memory holds one chunk of rows and the first max-reported-errors errors, whatever the size of the file.
+ * Rows applied before a failure stay applied; the report tells which rows failed and why.
+ */
+@Slf4j
+@Service
+public class DataImportService {
+
+    private final ProductBulkImporter productBulkImporter;
+    private final StockLevelImporter stockLevelImporter;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final long maxSharedStringsBytes;
+
+    public DataImportService(ProductBulkImporter productBulkImporter, StockLevelImporter stockLevelImporter,
+                             @Value("${data-import.chunk-size:1000}") int chunkSize,
+                             @Value("${data-import.max-reported-errors:1000}") int maxReportedErrors,
+                             @Value("${data-import.max-shared-strings-size:64MB}") DataSize maxSharedStringsSize) {
+        this.productBulkImporter = productBulkImporter;
+        this.stockLevelImporter = stockLevelImporter;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxSharedStringsBytes = maxSharedStringsSize.toBytes();
+    }
+
+    public ImportReport importFile(ImportType importType, MultipartFile file) {
+        try {
+            return ImportFileReader.withTempCopy(file, (tempFile, fileName) -> importFile(importType, tempFile, fileName));
+        } catch (IOException e) {
+            log.error("DataImport: Failed to read {} - {}", file.getOriginalFilename(), e.getMessage());
+            throw new ValidationException("Could not read the import file: " + e.getMessage());
+        }
+    }
+
+    public ImportReport importFile(ImportType importType, Path file, String fileName) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun(importType);
+        ImportFileReader.read(file, fileName, maxSharedStringsBytes, run::row);
+        run.applyChunk();
+        if (run.columnIndexes == null) {
+            throw new ValidationException("The import file is empty");
+        }
+
+        ImportReport report = new ImportReport(importType, fileName, run.totalRows, run.totalRows - run.failureCount,
+                run.failureCount, run.errors, run.failureCount > run.errors.size(), System.currentTimeMillis() - start);
+        log.info("DataImport: Imported {} - {}/{} rows in {} ms", fileName, report.successCount(), report.totalRows(),
+                report.durationMs());
+        return report;
+    }
+
+    private class ImportRun {
+        private final ImportType importType;
+        private int[] columnIndexes; // Position of each column of the import type in the file, -1 if absent
+        private List<ParsedRow> chunk = new ArrayList<>();
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private long totalRows = 0;
+        private long failureCount = 0;
+
+        ImportRun(ImportType importType) {
+            this.importType = importType;
+        }
+
+        void row(long rowNumber, List<String> cells) {
+            if (columnIndexes == null) {
+                columnIndexes = resolveColumns(importType, cells);
+                return;
+            }
+            String[] values = new String[columnIndexes.length];
+            for (int i = 0; i < columnIndexes.length; i++) {
+                int index = columnIndexes[i];
+                values[i] = index >= 0 && index < cells.size() ? cells.get(index).trim() : "";
+            }
+            totalRows++;
+            chunk.add(new ParsedRow(rowNumber, values));
+            if (chunk.size() >= chunkSize) {
+                applyChunk();
+            }
+        }
+
+        void applyChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<ImportReport.RowError> chunkErrors = importType == ImportType.CATALOG
+                    ? importCatalogChunk(chunk) : importStockLevelChunk(chunk);
+            chunkErrors.sort(Comparator.comparingLong(ImportReport.RowError::rowNumber));
+            failureCount += chunkErrors.size();
+            for (ImportReport.RowError error : chunkErrors) {
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(error);
+                }
+            }
+            chunk = new ArrayList<>();
+        }
+    }
+
+    private record ParsedRow(long rowNumber, String[] values) {}
+
+    private List<ImportReport.RowError> importCatalogChunk(List<ParsedRow> rows) {
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        List<ProductManagementRequest> requests = new ArrayList<>(rows.size());
+        List<Long> rowNumbers = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            try {
+                String[] values = row.values();
+                requests.add(new ProductManagementRequest(values[0], values[2],
+                        parseEnum(ProductCategories.class, values[1], "Category"),
+                        parseDecimal(values[3], "Price"),
+                        parseEnum(ProductStatus.class, values[4], "Status")));
+                rowNumbers.add(row.rowNumber());
+            } catch (ValidationException e) {
+                errors.add(new ImportReport.RowError(row.rowNumber(), e.getMessage()));
+            }
+        }
+        if (!requests.isEmpty()) {
+            BatchProductResponse response = productBulkImporter.importProducts(requests);
+            for (BatchProductResponse.ProductError error : response.getErrors()) {
+                errors.add(new ImportReport.RowError(rowNumbers.get(error.getIndex()), error.getErrorMessage()));
+            }
+        }
+        return errors;
+    }
+
+    private List<ImportReport.RowError> importStockLevelChunk(List<ParsedRow> rows) {
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        List<StockLevelImporter.StockLevelRow> stockLevelRows = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            try {
+                String[] values = row.values();
+                if (values[0].isEmpty()) {
+                    throw new ValidationException("SKU is required");
+                }
+                stockLevelRows.add(new StockLevelImporter.StockLevelRow(row.rowNumber(), values[0].toUpperCase(Locale.ROOT),
+                        new InventoryControlRequest(parseInteger(values[1], "Current Stock"),
+                                parseInteger(values[2], "Minimum Stock"))));
+            } catch (ValidationException e) {
+                errors.add(new ImportReport.RowError(row.rowNumber(), e.getMessage()));
+            }
+        }
+        errors.addAll(stockLevelImporter.importChunk(stockLevelRows));
+        return errors;
+    }
+
+    // Matches the header row to the columns of the import type
+    private static int[] resolveColumns(ImportType importType, List<String> header) {
+        Map<String, Integer> headerIndexes = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            headerIndexes.putIfAbsent(normalize(header.get(i)), i);
+        }
+        List<String> columns = importType.getColumns();
+        int[] indexes = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            indexes[i] = headerIndexes.getOrDefault(normalize(columns.get(i)), -1);
+        }
+
+        List<String> missing = new ArrayList<>();
+        if (importType == ImportType.CATALOG) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (indexes[i] < 0) {
+                    missing.add(columns.get(i));
+                }
+            }
+        } else if (indexes[0] < 0 || (indexes[1] < 0 && indexes[2] < 0)) {
+            missing.add("SKU and Current Stock and/or Minimum Stock");
+        }
+        if (!missing.isEmpty()) {
+            throw new ValidationException("The header row must contain the column(s): " + String.join(", ", missing));
+        }
+        return indexes;
+    }
+
+    private static String normalize(String columnName) {
+        return columnName.replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String column) {
+        if (value.isEmpty()) {
+            return null; // Reported by the product validation
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value, String column) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Integer parseInteger(String value, String column) {
+        BigDecimal number = parseDecimal(value, column);
+        if (number == null) {
+            return null;
+        }
+        try {
+            return number.intValueExact();
+        } catch (ArithmeticException e) {
+            throw new ValidationException("Invalid " + column + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.JK.SIMS.service.dataImport;
+
+import com.JK.SIMS.models.dataImport.dtos.ImportReport;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.inventoryData.dtos.InventoryControlRequest;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryServiceHelper;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a chunk of imported stock levels in one transaction, with the same rules as
+ * TotalItemsService.updateProduct, but reading the inventory rows of the whole chunk in one query.
+ * When the chunk fails in the database, its rows are retried one by one so only the failing rows are reported.
+ */
+@Slf4j
+@Component
+public class StockLevelImporter {
+
+    private final IC_repository icRepository;
+    private final StockManagementLogic stockManagementLogic;
+    private final EntityManager entityManager;
+    private final TransactionTemplate chunkTransaction;
+
+    public StockLevelImporter(IC_repository icRepository, StockManagementLogic stockManagementLogic,
+                              EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.icRepository = icRepository;
+        this.stockManagementLogic = stockManagementLogic;
+        this.entityManager = entityManager;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public record StockLevelRow(long rowNumber, String sku, InventoryControlRequest request) {}
+
+    /**
+     * @return the errors of the rows that were not applied
+     */
+    public List<ImportReport.RowError> importChunk(List<StockLevelRow> rows) {
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        List<StockLevelRow> validRows = new ArrayList<>(rows.size());
+        for (StockLevelRow row : rows) {
+            try {
+                InventoryServiceHelper.validateUpdateRequest(row.request());
+                validRows.add(row);
+            } catch (Exception e) {
+                errors.add(new ImportReport.RowError(row.rowNumber(), e.getMessage()));
+            }
+        }
+        if (validRows.isEmpty()) {
+            return errors;
+        }
+
+        try {
+            errors.addAll(chunkTransaction.execute(status -> {
+                Map<String, InventoryControlData> inventoryBySku = icRepository.findAllById(
+                                validRows.stream().map(StockLevelRow::sku).collect(Collectors.toSet())).stream()
+                        .collect(Collectors.toMap(InventoryControlData::getSKU, Function.identity()));
+                List<ImportReport.RowError> missing = new ArrayList<>();
+                for (StockLevelRow row : validRows) {
+                    InventoryControlData inventoryData = inventoryBySku.get(row.sku());
+                    if (inventoryData == null) {
+                        missing.add(new ImportReport.RowError(row.rowNumber(), notFound(row.sku())));
+                    } else {
+                        apply(inventoryData, row.request());
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return missing;
+            }));
+        } catch (Exception chunkFailure) {
+            log.warn("StockLevelImport: Chunk of {} rows failed, retrying them one by one - {}",
+                    validRows.size(), chunkFailure.getMessage());
+            for (StockLevelRow row : validRows) {
+                try {
+                    chunkTransaction.executeWithoutResult(status -> apply(icRepository.findById(row.sku())
+                            .orElseThrow(() -> new NoSuchElementException(notFound(row.sku()))), row.request()));
+                } catch (Exception e) {
+                    errors.add(new ImportReport.RowError(row.rowNumber(), e.getMessage()));
+                }
+            }
+        }
+        return errors;
+    }
+
+    private void apply(InventoryControlData inventoryData, InventoryControlRequest request) {
+        stockManagementLogic.updateInventoryStockLevels(inventoryData,
+                Optional.ofNullable(request.getCurrentStock()), Optional.ofNullable(request.getMinLevel()));
+    }
+
+    private static String notFound(String sku) {
+        return "Product with SKU " + sku + " is not found";
+    }
+}
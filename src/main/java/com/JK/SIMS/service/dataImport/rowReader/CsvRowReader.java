@@ -0,0 +1,80 @@
+package com.JK.SIMS.service.dataImport.rowReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming CSV parser (RFC 4180): comma separated, fields optionally quoted, "" inside quotes for a quote,
+ * line breaks allowed inside quoted fields. Only the current record is held in memory.
+ * Records are numbered like the lines of the file, as long as no quoted field spans several lines.
+ */
+public class CsvRowReader {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private CsvRowReader() {
+    }
+
+    // The reader should be buffered; returns the number of records read, blank lines included
+    public static long read(Reader reader, ImportRowHandler handler) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean recordStarted = false;
+        long records = 0;
+
+        int next = reader.read();
+        if (next == BYTE_ORDER_MARK) {
+            next = reader.read();
+        }
+        while (next != -1) {
+            char c = (char) next;
+            next = reader.read();
+            if (quoted) {
+                if (c == QUOTE) {
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                        next = reader.read();
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+                continue;
+            }
+            if (c == QUOTE && field.isEmpty()) {
+                quoted = true;
+                recordStarted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+                recordStarted = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && next == '\n') {
+                    next = reader.read();
+                }
+                records++;
+                if (recordStarted || !field.isEmpty()) { // Blank lines are skipped but counted
+                    fields.add(field.toString());
+                    handler.row(records, fields);
+                }
+                fields = new ArrayList<>();
+                field.setLength(0);
+                recordStarted = false;
+            } else {
+                field.append(c);
+                recordStarted = true;
+            }
+        }
+        if (recordStarted || !field.isEmpty()) {
+            fields.add(field.toString());
+            handler.row(++records, fields);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,71 @@
+package com.JK.SIMS.service.dataImport.rowReader;
+
+import com.JK.SIMS.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Streams the rows of an uploaded .xlsx or .csv file, picked by the file name
+@Slf4j
+public class ImportFileReader {
+
+    private ImportFileReader() {
+    }
+
+    public static void validateFileName(String fileName) {
+        if (fileName == null || !(isXlsx(fileName) || isCsv(fileName))) {
+            throw new ValidationException("Only .xlsx and .csv files can be imported");
+        }
+    }
+
+    // maxSharedStringsBytes bounds the distinct texts of an .xlsx file, which are held in memory while it is read
+    public static long read(Path file, String fileName, long maxSharedStringsBytes, ImportRowHandler handler)
+            throws IOException {
+        validateFileName(fileName);
+        if (isXlsx(fileName)) {
+            return XlsxRowReader.read(file, maxSharedStringsBytes, handler);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return CsvRowReader.read(reader, handler);
+        }
+    }
+
+    @FunctionalInterface
+    public interface FileTask<T> {
+        T run(Path file, String fileName) throws IOException;
+    }
+
+    /**
+     * Runs the task on a temporary copy of the upload, deleted afterwards.
+     * Uploads are already on disk; the copy gives POI a file it can open without buffering it.
+     */
+    public static <T> T withTempCopy(MultipartFile file, FileTask<T> task) throws IOException {
+        String fileName = file.getOriginalFilename();
+        validateFileName(fileName);
+        Path tempFile = Files.createTempFile("sims-import-", fileName.substring(fileName.lastIndexOf('.')));
+        try {
+            file.transferTo(tempFile);
+            return task.run(tempFile, fileName);
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.warn("ImportFileReader: Failed to delete the temporary file {}", tempFile);
+            }
+        }
+    }
+
+    private static boolean isXlsx(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx");
+    }
+
+    private static boolean isCsv(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+}
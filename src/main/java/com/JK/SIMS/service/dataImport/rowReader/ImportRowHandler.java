@@ -0,0 +1,9 @@
+package com.JK.SIMS.service.dataImport.rowReader;
+
+import java.util.List;
+
+// Receives the rows of an import file one by one, the header first; rowNumber is 1-based as shown by spreadsheet tools
+@FunctionalInterface
+public interface ImportRowHandler {
+    void row(long rowNumber, List<String> cells);
+}
@@ -0,0 +1,144 @@
+package com.JK.SIMS.service.dataImport.rowReader;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads the first sheet of an .xlsx file with the POI event model: the sheet XML is parsed with SAX and each
+ * row is handed over as soon as it ends, so only the current row is held, unlike XSSFWorkbook which loads the
+ * whole workbook. Cells come formatted as Excel shows them. The shared strings table (distinct texts of the file)
+ * is still read into memory, so a file whose table is larger than maxSharedStringsBytes of XML is refused.
+ */
+public class XlsxRowReader {
+
+    private XlsxRowReader() {
+    }
+
+    // Opening the file instead of a stream lets POI read the zip entries without buffering the whole package
+    public static long read(Path file, long maxSharedStringsBytes, ImportRowHandler handler) throws IOException {
+        try (OPCPackage opcPackage = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            ReadOnlySharedStringsTable sharedStrings = readSharedStrings(opcPackage, maxSharedStringsBytes);
+            XSSFReader xssfReader = new XSSFReader(opcPackage);
+            StylesTable styles = xssfReader.getStylesTable();
+            Iterator<InputStream> sheets = xssfReader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return 0;
+            }
+            RowCollector rowCollector = new RowCollector(handler);
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, sharedStrings, rowCollector,
+                        new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+            return rowCollector.rows;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Not a readable .xlsx file: " + e.getMessage(), e);
+        }
+    }
+
+    private static ReadOnlySharedStringsTable readSharedStrings(OPCPackage opcPackage, long maxBytes)
+            throws IOException, SAXException {
+        List<PackagePart> parts = opcPackage.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        if (parts.isEmpty()) {
+            return new ReadOnlySharedStringsTable(opcPackage, false);
+        }
+        try (InputStream inputStream = new LimitedInputStream(parts.get(0).getInputStream(), maxBytes)) {
+            return new ReadOnlySharedStringsTable(inputStream, false);
+        }
+    }
+
+    // Fails the read once more than maxBytes came through, before they all end up in memory
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long bytesRead = 0;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            bytesRead += n;
+            if (bytesRead > maxBytes) {
+                String limit = maxBytes >= 1024 * 1024 ? maxBytes / (1024 * 1024) + " MB" : maxBytes / 1024 + " KB";
+                throw new IOException("The texts of the .xlsx file take more than " + limit
+                        + "; split the file or save it as .csv");
+            }
+        }
+    }
+
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ImportRowHandler handler;
+        private List<String> cells = new ArrayList<>();
+        private long rows = 0;
+
+        RowCollector(ImportRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            rows++;
+            if (!cells.isEmpty()) {
+                handler.row(rowNum + 1L, cells);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Empty cells are not in the sheet XML: fill the gap so values stay in their columns
+            int column = cellReference == null ? cells.size() : new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue == null ? "" : formattedValue);
+        }
+    }
+}
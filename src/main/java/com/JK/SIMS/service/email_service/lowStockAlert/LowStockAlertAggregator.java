@@ -0,0 +1,146 @@
+package com.JK.SIMS.service.email_service.lowStockAlert;
+
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.service.email_service.EmailSender;
+import com.JK.SIMS.service.email_service.LowStockScheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Collects low-stock transitions after the stock change has committed and merges
+ * everything that arrives within one window into a single digest email.
+ * The email is built and sent on a small bounded executor, so stock updates never
+ * wait for the database reload or SMTP. When the executor queue is full the digest is dropped
+ * (the daily LowStockScheduler run still reports every low-stock product).
+ */
+@Component
+@Slf4j
+public class LowStockAlertAggregator {
+
+    private final IC_repository icRepository;
+    private final EmailSender emailSender;
+    private final LowStockScheduler lowStockScheduler;
+
+    private final long windowMillis;
+    private final int maxPendingProducts;
+
+    private final Set<String> pendingProductIds = new LinkedHashSet<>();
+    private boolean flushScheduled = false;
+
+    private final ScheduledExecutorService windowTimer;
+    private final ThreadPoolExecutor digestExecutor;
+
+    private final Counter queuedCounter;
+    private final Counter droppedCounter;
+    private final Counter sentCounter;
+
+    public LowStockAlertAggregator(IC_repository icRepository,
+                                   EmailSender emailSender,
+                                   LowStockScheduler lowStockScheduler,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${alert.low-stock.digest-window-ms:60000}") long windowMillis,
+                                   @Value("${alert.low-stock.max-pending-products:5000}") int maxPendingProducts,
+                                   @Value("${alert.low-stock.queue-capacity:20}") int queueCapacity) {
+        this.icRepository = icRepository;
+        this.emailSender = emailSender;
+        this.lowStockScheduler = lowStockScheduler;
+        this.windowMillis = windowMillis;
+        this.maxPendingProducts = maxPendingProducts;
+
+        this.windowTimer = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "low-stock-window"));
+        this.digestExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "low-stock-digest"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queuedCounter = Counter.builder("sims.lowstock.alerts.queued")
+                .description("Low-stock transitions accepted into a digest window")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("sims.lowstock.alerts.dropped")
+                .description("Low-stock transitions dropped because the pending set or the executor queue was full")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("sims.lowstock.alerts.digests.sent")
+                .description("Low-stock digest emails sent")
+                .register(meterRegistry);
+        meterRegistry.gauge("sims.lowstock.alerts.pending", pendingProductIds, this::pendingSize);
+        meterRegistry.gauge("sims.lowstock.alerts.executor.queue", digestExecutor, executor -> executor.getQueue().size());
+    }
+
+    // fallbackExecution: transitions made outside a transaction are still collected
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLowStockTransition(LowStockTransitionEvent event) {
+        synchronized (pendingProductIds) {
+            if (pendingProductIds.size() >= maxPendingProducts && !pendingProductIds.contains(event.productId())) {
+                droppedCounter.increment();
+                log.warn("LowStockAlertAggregator: Pending set is full, dropping alert for product {}", event.productId());
+                return;
+            }
+            if (pendingProductIds.add(event.productId())) {
+                queuedCounter.increment();
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                windowTimer.schedule(this::flushWindow, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flushWindow() {
+        List<String> productIds;
+        synchronized (pendingProductIds) {
+            productIds = new ArrayList<>(pendingProductIds);
+            pendingProductIds.clear();
+            flushScheduled = false;
+        }
+        if (productIds.isEmpty()) {
+            return;
+        }
+        try {
+            digestExecutor.execute(() -> sendDigest(productIds));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment(productIds.size());
+            log.warn("LowStockAlertAggregator: Digest executor is full, dropping alert for {} products", productIds.size());
+        }
+    }
+
+    private void sendDigest(List<String> productIds) {
+        try {
+            // Only products that are still low when the digest goes out
+            List<InventoryControlData> lowStockProducts = icRepository.findAllByPmProduct_ProductIDIn(productIds).stream()
+                    .filter(inventory -> inventory.getStatus() == InventoryDataStatus.LOW_STOCK)
+                    .sorted(Comparator.comparing(InventoryControlData::getSKU))
+                    .toList();
+            if (lowStockProducts.isEmpty()) {
+                return;
+            }
+            String html = lowStockScheduler.buildLowStockHtml(lowStockProducts);
+            emailSender.sendLowStockEmail("Low Stock Alert", html);
+            sentCounter.increment();
+            log.info("LowStockAlertAggregator: Sent low stock digest for {} products", lowStockProducts.size());
+        } catch (Exception e) {
+            log.error("LowStockAlertAggregator: Failed to send low stock digest - {}", e.getMessage());
+        }
+    }
+
+    private int pendingSize(Set<String> pending) {
+        synchronized (pendingProductIds) {
+            return pending.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        windowTimer.shutdownNow();
+        digestExecutor.shutdown();
+    }
+}
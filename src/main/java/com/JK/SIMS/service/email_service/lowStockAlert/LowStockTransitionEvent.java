@@ -0,0 +1,8 @@
+package com.JK.SIMS.service.email_service.lowStockAlert;
+
+/**
+ * Published when an inventory row moves into LOW_STOCK.
+ * Only the productId is carried, the digest reloads the current stock values when it is sent.
+ */
+public record LowStockTransitionEvent(String productId) {
+}
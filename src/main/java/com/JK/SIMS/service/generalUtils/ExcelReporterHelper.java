@@ -3,37 +3,51 @@ package com.JK.SIMS.service.generalUtils;
 import com.JK.SIMS.models.inventoryData.dtos.InventoryControlResponse;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.Font;
-import org.apache.poi.xssf.usermodel.XSSFRow;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
 
 public class ExcelReporterHelper {
     private static final Logger logger = LoggerFactory.getLogger(ExcelReporterHelper.class);
 
-    public static void writeWorkbookToResponse(HttpServletResponse response, XSSFWorkbook workbook) {
-        try (ServletOutputStream outputStream = response.getOutputStream()) {
+    // Zips the workbook into the stream; a streaming workbook also drops its temporary files
+    public static void writeWorkbook(OutputStream outputStream, Workbook workbook) throws IOException {
+        try {
             workbook.write(outputStream);
-            logger.info("ExcelReporterHelper: Report is downloaded with {} sheet(s)", workbook.getNumberOfSheets());
-            workbook.close();
+            logger.info("ExcelReporterHelper: Report is written with {} sheet(s)", workbook.getNumberOfSheets());
+        } finally {
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                logger.warn("ExcelReporterHelper: Error closing Excel workbook", e);
+            }
+            if (workbook instanceof SXSSFWorkbook streamingWorkbook) {
+                streamingWorkbook.dispose();
+            }
+        }
+    }
+
+    public static void writeToResponse(HttpServletResponse response, ExcelReport report) {
+        try (ServletOutputStream outputStream = response.getOutputStream()) {
+            report.writeTo(outputStream);
         } catch (IOException e) {
             logger.error("ExcelReporterHelper: Error writing Excel file", e);
         }
     }
 
-    public static void createHeaderRowForInventoryDto(XSSFSheet sheet) {
-        // Create a bold font style
-        XSSFWorkbook workbook = sheet.getWorkbook();
-        CellStyle headerStyle = createBoldHeaderStyle(workbook);
+    // A report written into the given stream
+    @FunctionalInterface
+    public interface ExcelReport {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
 
+    public static void createHeaderRowForInventoryDto(Sheet sheet, CellStyle headerStyle) {
         // Create the header row
-        XSSFRow row = sheet.createRow(0);
+        Row row = sheet.createRow(0);
 
         // Create cells with the bold style
         createHeaderCell(row, 0, "Product ID", headerStyle);
@@ -48,31 +62,26 @@ public class ExcelReporterHelper {
         createHeaderCell(row, 9, "Inventory Status", headerStyle);
     }
 
-    private static void createHeaderCell(XSSFRow row, int column, String value, org.apache.poi.ss.usermodel.CellStyle style) {
-        org.apache.poi.ss.usermodel.Cell cell = row.createCell(column);
+    private static void createHeaderCell(Row row, int column, String value, CellStyle style) {
+        Cell cell = row.createCell(column);
         cell.setCellValue(value);
         cell.setCellStyle(style);
     }
 
-    public static void populateDataRowsForInventoryDto(XSSFSheet sheet, List<InventoryControlResponse> allProducts) {
-        int dataRowIndex = 1;
-        for (InventoryControlResponse ic : allProducts) {
-            XSSFRow rowForData = sheet.createRow(dataRowIndex);
-            rowForData.createCell(0).setCellValue(ic.getProductID());
-            rowForData.createCell(1).setCellValue(ic.getSKU());
-            rowForData.createCell(2).setCellValue(ic.getProductName());
-            rowForData.createCell(3).setCellValue(ic.getCategory().toString());
-            rowForData.createCell(4).setCellValue(ic.getLocation() != null ? ic.getLocation() : "");
-            rowForData.createCell(5).setCellValue(ic.getPrice().doubleValue());
-            rowForData.createCell(6).setCellValue(ic.getProductStatus().toString());
-            rowForData.createCell(7).setCellValue(ic.getCurrentStock());
-            rowForData.createCell(8).setCellValue(ic.getMinLevel());
-            rowForData.createCell(9).setCellValue(ic.getInventoryStatus().toString());
-            dataRowIndex++;
-        }
+    public static void populateDataRowForInventoryDto(Row rowForData, InventoryControlResponse ic) {
+        rowForData.createCell(0).setCellValue(ic.getProductID());
+        rowForData.createCell(1).setCellValue(ic.getSKU());
+        rowForData.createCell(2).setCellValue(ic.getProductName());
+        rowForData.createCell(3).setCellValue(ic.getCategory().toString());
+        rowForData.createCell(4).setCellValue(ic.getLocation() != null ? ic.getLocation() : "");
+        rowForData.createCell(5).setCellValue(ic.getPrice().doubleValue());
+        rowForData.createCell(6).setCellValue(ic.getProductStatus().toString());
+        rowForData.createCell(7).setCellValue(ic.getCurrentStock());
+        rowForData.createCell(8).setCellValue(ic.getMinLevel());
+        rowForData.createCell(9).setCellValue(ic.getInventoryStatus().toString());
     }
 
-    public static CellStyle createBoldHeaderStyle(XSSFWorkbook workbook) {
+    public static CellStyle createBoldHeaderStyle(Workbook workbook) {
         Font headerFont = workbook.createFont();
         headerFont.setBold(true);
 
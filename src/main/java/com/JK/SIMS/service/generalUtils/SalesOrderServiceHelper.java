@@ -6,6 +6,7 @@ import com.JK.SIMS.models.salesOrder.SalesOrder;
 import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
 import com.JK.SIMS.models.salesOrder.dtos.SalesOrderRequestDto;
 import com.JK.SIMS.models.salesOrder.dtos.SalesOrderResponseDto;
+import com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderItemTotals;
 import com.JK.SIMS.models.salesOrder.dtos.views.SummarySalesOrderView;
 import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
 import com.JK.SIMS.models.salesOrder.orderItem.OrderItemStatus;
@@ -13,21 +14,28 @@ import com.JK.SIMS.models.salesOrder.orderItem.dtos.OrderItemRequest;
 import com.JK.SIMS.models.salesOrder.orderItem.dtos.OrderItemResponse;
 import com.JK.SIMS.models.PM_models.ProductsForPM;
 import com.JK.SIMS.models.PaginatedResponse;
+import com.JK.SIMS.repository.salesOrderRepo.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class SalesOrderServiceHelper {
 
+    private final OrderItemRepository orderItemRepository;
+
     public SalesOrderResponseDto convertToSalesOrderResponseDto(SalesOrder salesOrder) {
         try {
             List<OrderItemResponse> itemDtos = salesOrder.getItems().stream()
@@ -83,13 +91,33 @@ public class SalesOrderServiceHelper {
         }
     }
 
+    /**
+     * Builds the summary page with one aggregate query for the totals of all orders on it,
+     * instead of loading every order's items and their products.
+     */
     public PaginatedResponse<SummarySalesOrderView> transformToSummarySalesOrderView(Page<SalesOrder> salesOrderPage){
-         Page<SummarySalesOrderView> test = salesOrderPage.map(this::convertToSummarySalesOrderView);
-         return new PaginatedResponse<>(test);
+        Map<Long, SalesOrderItemTotals> totalsByOrderId = sumItemTotals(salesOrderPage.getContent());
+        Page<SummarySalesOrderView> summaryPage =
+                salesOrderPage.map(order -> new SummarySalesOrderView(order, totalsByOrderId.get(order.getId())));
+        return new PaginatedResponse<>(summaryPage);
+    }
+
+    public List<SummarySalesOrderView> toSummarySalesOrderViews(List<SalesOrder> salesOrders){
+        Map<Long, SalesOrderItemTotals> totalsByOrderId = sumItemTotals(salesOrders);
+        return salesOrders.stream()
+                .map(order -> new SummarySalesOrderView(order, totalsByOrderId.get(order.getId())))
+                .toList();
     }
 
-    private SummarySalesOrderView convertToSummarySalesOrderView(SalesOrder order){
-        return new SummarySalesOrderView(order);
+    private Map<Long, SalesOrderItemTotals> sumItemTotals(List<SalesOrder> salesOrders) {
+        Map<Long, SalesOrderItemTotals> totalsByOrderId = new HashMap<>();
+        if (!salesOrders.isEmpty()) {
+            List<Long> orderIds = salesOrders.stream().map(SalesOrder::getId).toList();
+            for (SalesOrderItemTotals totals : orderItemRepository.sumItemTotalsBySalesOrderIds(orderIds)) {
+                totalsByOrderId.put(totals.getSalesOrderId(), totals);
+            }
+        }
+        return totalsByOrderId;
     }
 
     public void validateSalesOrderItems(List<OrderItemRequest> requestedOrderItems) {
@@ -0,0 +1,69 @@
+package com.JK.SIMS.service.generalUtils;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.DeferredSXSSFSheet;
+import org.apache.poi.xssf.streaming.DeferredSXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes an Excel report with a constant memory footprint: the rows are generated while the workbook is
+ * zipped into the output stream, only the last rowWindow rows are kept in memory, and the entities read from
+ * the stream are detached after every window. Must be called inside a (read-only) transaction, which keeps
+ * the cursor of the stream open until the last row is written.
+ */
+@Slf4j
+@Component
+public class StreamingExcelWriter {
+
+    private final EntityManager entityManager;
+    private final int rowWindow;
+
+    public StreamingExcelWriter(EntityManager entityManager,
+                                @Value("${excel-export.row-window:500}") int rowWindow) {
+        this.entityManager = entityManager;
+        this.rowWindow = rowWindow;
+    }
+
+    /**
+     * @param headerWriter creates the header in the first row of the sheet, with the given bold header style
+     * @param rows         the forward-only stream of the data rows; closed once written
+     * @param rowWriter    fills one data row
+     * @return the number of data rows written
+     */
+    public <T> long write(OutputStream outputStream, String sheetName, BiConsumer<Sheet, CellStyle> headerWriter,
+                          Stream<T> rows, BiConsumer<Row, T> rowWriter) throws IOException {
+        AtomicLong rowCount = new AtomicLong();
+        DeferredSXSSFWorkbook workbook = new DeferredSXSSFWorkbook(rowWindow);
+        try (rows) {
+            DeferredSXSSFSheet sheet = workbook.createSheet(sheetName);
+            // Styles are written before the sheet, while rows are only written when created inside the generator
+            CellStyle headerStyle = ExcelReporterHelper.createBoldHeaderStyle(workbook);
+            sheet.setRowGenerator(generatedSheet -> {
+                headerWriter.accept(generatedSheet, headerStyle);
+                Iterator<T> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    long written = rowCount.incrementAndGet();
+                    rowWriter.accept(generatedSheet.createRow((int) written), iterator.next());
+                    if (written % rowWindow == 0) {
+                        entityManager.clear();
+                    }
+                }
+            });
+            ExcelReporterHelper.writeWorkbook(outputStream, workbook);
+        }
+        log.debug("StreamingExcelWriter: Wrote {} rows to sheet '{}'", rowCount.get(), sheetName);
+        return rowCount.get();
+    }
+}
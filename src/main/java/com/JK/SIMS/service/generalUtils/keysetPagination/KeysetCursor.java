@@ -0,0 +1,38 @@
+package com.JK.SIMS.service.generalUtils.keysetPagination;
+
+import com.JK.SIMS.exception.ValidationException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token of a keyset-paginated list: the sort it was issued for and the
+ * sort value and id of the last row returned. Sent to the client as an opaque URL-safe string.
+ *
+ * @param value sort value of the last row as a string, null if the row had no value
+ */
+public record KeysetCursor(String sortBy, Sort.Direction direction, String value, String id) {
+
+    private static final String SEPARATOR = "\u001F"; // unit separator, never part of a sort value
+    private static final String NULL_VALUE = "\u0000";
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortBy, direction.name(), value == null ? NULL_VALUE : value, id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            String value = NULL_VALUE.equals(parts[2]) ? null : parts[2];
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), value, parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor provided");
+        }
+    }
+}
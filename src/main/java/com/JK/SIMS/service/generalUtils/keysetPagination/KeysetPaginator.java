@@ -0,0 +1,151 @@
+package com.JK.SIMS.service.generalUtils.keysetPagination;
+
+import com.JK.SIMS.exception.ValidationException;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keyset (seek) pagination for list endpoints, the opt-in alternative to page/size:
+ * - Rows are ordered by the requested sort field and then by id, and each page continues
+ *   after the last row of the previous one instead of skipping an OFFSET.
+ * - size + 1 rows are read to know whether there is a next page, so no COUNT(*) is run.
+ * - NULL sort values are treated as the lowest value, which is how MySQL (and H2) order them:
+ *   first in ascending and last in descending order.
+ * - Enum attributes cannot be sorted by: MySQL orders an ENUM column by declaration order,
+ *   but the seek would compare the stored names, so pages would skip or repeat rows.
+ */
+@Component
+@Slf4j
+public class KeysetPaginator {
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    /**
+     * @param filter        filter of the list, or null for all rows
+     * @param idAttribute   unique attribute used as the tie-breaker (usually the id)
+     * @param sortFields    attributes the endpoint can be sorted by: ids, dates, numbers and plain strings
+     * @param cursor        nextCursor of the previous page; null or empty for the first page
+     * @throws ValidationException if the sort field is not allowed, or the cursor is malformed or was issued for another sort
+     */
+    public <T> KeysetSlice<T> findSlice(JpaSpecificationExecutor<T> repository, @Nullable Specification<T> filter,
+                                        String idAttribute, Set<String> sortFields, String sortBy, String sortDirection,
+                                        @Nullable String cursor, int size) {
+        if (size <= 0 || size > 100) {
+            throw new ValidationException("Page size must be between 1 and 100");
+        }
+        if (!sortBy.equals(idAttribute) && !sortFields.contains(sortBy)) {
+            throw new ValidationException("Sorting by " + sortBy + " is not supported with a cursor");
+        }
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        Specification<T> specification = Specification.where(filter).and(seekable(sortBy));
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            if (!after.sortBy().equals(sortBy) || after.direction() != direction) {
+                throw new ValidationException("Cursor does not match the requested sort");
+            }
+            specification = specification.and(after(after, idAttribute));
+        }
+
+        Sort sort = Sort.by(new Sort.Order(direction, sortBy), new Sort.Order(direction, idAttribute));
+
+        List<T> rows;
+        try {
+            rows = repository.findBy(specification, query -> query.sortBy(sort).limit(size + 1).all());
+        } catch (IllegalArgumentException | PropertyReferenceException e) {
+            // Unknown sort field or a cursor value that does not fit the field's type
+            log.warn("KeysetPaginator findSlice(): Invalid keyset request - {}", e.getMessage());
+            throw new ValidationException("Invalid sort field or cursor provided");
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf(content.get(content.size() - 1), sortBy, direction, idAttribute) : null;
+        return new KeysetSlice<>(new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext), nextCursor);
+    }
+
+    private String cursorOf(Object lastRow, String sortBy, Sort.Direction direction, String idAttribute) {
+        BeanWrapper row = PropertyAccessorFactory.forBeanPropertyAccess(lastRow);
+        Object value = row.getPropertyValue(sortBy);
+        Object id = row.getPropertyValue(idAttribute);
+        return new KeysetCursor(sortBy, direction, value == null ? null : value.toString(), String.valueOf(id)).encode();
+    }
+
+    // No restriction, only refuses an enum attribute left in an endpoint's sort fields
+    private static <T> Specification<T> seekable(String sortBy) {
+        return (root, query, cb) -> {
+            if (path(root, sortBy).getJavaType().isEnum()) {
+                throw new ValidationException("Sorting by " + sortBy + " is not supported with a cursor");
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Rows after the cursor in "sortBy direction, id direction" order:
+     * ASC:  value > v OR (value = v AND id > lastId)             (v null: value IS NOT NULL OR (value IS NULL AND id > lastId))
+     * DESC: value < v OR (value = v AND id < lastId) OR value IS NULL   (v null: value IS NULL AND id < lastId)
+     */
+    private static <T> Specification<T> after(KeysetCursor cursor, String idAttribute) {
+        return (root, query, cb) -> {
+            Path<Comparable<Object>> id = path(root, idAttribute);
+            Comparable<Object> lastId = parse(cursor.id(), id.getJavaType());
+            boolean ascending = cursor.direction().isAscending();
+            Predicate idAfter = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+
+            if (cursor.sortBy().equals(idAttribute)) {
+                return idAfter;
+            }
+            Path<Comparable<Object>> field = path(root, cursor.sortBy());
+            if (cursor.value() == null) {
+                Predicate sameNull = cb.and(cb.isNull(field), idAfter);
+                return ascending ? cb.or(cb.isNotNull(field), sameNull) : sameNull;
+            }
+            Comparable<Object> value = parse(cursor.value(), field.getJavaType());
+            Predicate sameValue = cb.and(cb.equal(field, value), idAfter);
+            return ascending
+                    ? cb.or(cb.greaterThan(field, value), sameValue)
+                    : cb.or(cb.lessThan(field, value), sameValue, cb.isNull(field));
+        };
+    }
+
+    // Supports nested attributes such as "product.name"
+    @SuppressWarnings("unchecked")
+    private static Path<Comparable<Object>> path(Root<?> root, String attribute) {
+        Path<?> path = root;
+        for (String part : attribute.split("\\.")) {
+            path = path.get(part);
+        }
+        return (Path<Comparable<Object>>) path;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<Object> parse(String raw, Class<?> type) {
+        if (type == LocalDate.class) {
+            return (Comparable) LocalDate.parse(raw);
+        }
+        if (type == LocalDateTime.class) {
+            return (Comparable) LocalDateTime.parse(raw);
+        }
+        return (Comparable<Object>) CONVERSION_SERVICE.convert(raw, type);
+    }
+}
@@ -0,0 +1,29 @@
+package com.JK.SIMS.service.generalUtils.keysetPagination;
+
+import com.JK.SIMS.models.PaginatedResponse;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list; nextCursor is null on the last page.
+ */
+public record KeysetSlice<T>(Slice<T> slice, String nextCursor) {
+
+    public List<T> getContent() {
+        return slice.getContent();
+    }
+
+    // No totals: keyset mode does not run a count query
+    public <R> PaginatedResponse<R> toResponse(Function<? super T, ? extends R> converter) {
+        return toResponse(slice.getContent().stream().<R>map(converter).toList());
+    }
+
+    public <R> PaginatedResponse<R> toResponse(List<R> convertedContent) {
+        return PaginatedResponse.<R>builder()
+                .content(convertedContent)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.JK.SIMS.service.generalUtils.textIndex;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Turns the ids found by a text index into a page of entities with one batched query.
+ * - sortBy=relevance keeps the index ranking; only the ids of the requested page are loaded when there is no filter.
+ * - Any other sort is applied by the database to the matched ids.
+ */
+@Component
+public class IndexedSearchHydrator {
+
+    public static final String RELEVANCE_SORT = "relevance";
+
+    /**
+     * @param rankedIds   ids returned by the index, best match first
+     * @param idAttribute name of the id attribute of the entity
+     * @param filter      extra condition the rows must meet, or null
+     */
+    public <T, ID> Page<T> hydrate(List<ID> rankedIds, JpaSpecificationExecutor<T> repository, String idAttribute,
+                               Function<T, ID> idOf, @Nullable Specification<T> filter, Pageable pageable) {
+        if (rankedIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        if (!isRelevanceSort(pageable)) {
+            Specification<T> matched = idIn(idAttribute, rankedIds);
+            return repository.findAll(matched.and(filter), pageable);
+        }
+
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (filter == null) {
+            int from = (int) Math.min(unsorted.getOffset(), rankedIds.size());
+            List<ID> pageIds = rankedIds.subList(from, Math.min(from + unsorted.getPageSize(), rankedIds.size()));
+            List<T> content = pageIds.isEmpty() ? List.of()
+                    : inRankOrder(repository.findAll(idIn(idAttribute, pageIds)), pageIds, idOf);
+            return new PageImpl<>(content, unsorted, rankedIds.size());
+        }
+
+        // The filter may drop some of the ids, so the total is only known after loading all of them
+        Specification<T> matched = idIn(idAttribute, rankedIds);
+        List<T> matching = inRankOrder(repository.findAll(matched.and(filter)), rankedIds, idOf);
+        int from = (int) Math.min(unsorted.getOffset(), matching.size());
+        List<T> content = matching.subList(from, Math.min(from + unsorted.getPageSize(), matching.size()));
+        return new PageImpl<>(new ArrayList<>(content), unsorted, matching.size());
+    }
+
+    public static boolean isRelevanceSort(Pageable pageable) {
+        return pageable.getSort().getOrderFor(RELEVANCE_SORT) != null;
+    }
+
+    // The database query behind a fallback has no relevance, so that sort is dropped
+    public static Pageable withoutRelevanceSort(Pageable pageable) {
+        return isRelevanceSort(pageable) ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+    }
+
+    private static <T> Specification<T> idIn(String idAttribute, Collection<?> ids) {
+        return (root, query, criteriaBuilder) -> root.get(idAttribute).in(ids);
+    }
+
+    private static <T, ID> List<T> inRankOrder(List<T> entities, List<ID> rankedIds, Function<T, ID> idOf) {
+        Map<ID, Integer> rank = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rank.put(rankedIds.get(i), i);
+        }
+        List<T> ordered = new ArrayList<>(entities);
+        ordered.sort(Comparator.comparingInt(entity -> rank.getOrDefault(idOf.apply(entity), Integer.MAX_VALUE)));
+        return ordered;
+    }
+}
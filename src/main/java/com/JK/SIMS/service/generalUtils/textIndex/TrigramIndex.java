@@ -0,0 +1,210 @@
+package com.JK.SIMS.service.generalUtils.textIndex;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory substring index over a few text fields per document.
+ * - Every field is lower-cased and split into 3-character grams; each gram points to the ids containing it.
+ * - A query of 3+ characters only looks at the ids sharing all of its grams, and each candidate is then
+ *   checked with String.contains, so the result is exactly what LOWER(field) LIKE '%query%' returns.
+ * - Shorter queries have no gram to look up and check every document.
+ * - Results are ranked: exact field match, then prefix, then substring, multiplied by the field weight.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int CONTAINS = 1;
+
+    private final int[] fieldWeights;
+    private final Map<String, String[]> documents = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param fieldWeights ranking weight of each field, in the order the fields are passed to put()
+     */
+    public TrigramIndex(int... fieldWeights) {
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    /**
+     * Adds or replaces a document. Null fields are indexed as empty text.
+     */
+    public void put(String id, String... fields) {
+        if (fields.length != fieldWeights.length) {
+            throw new IllegalArgumentException("Expected " + fieldWeights.length + " fields, got " + fields.length);
+        }
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+        }
+        lock.writeLock().lock();
+        try {
+            String[] previous = documents.get(id);
+            if (Arrays.equals(previous, normalized)) {
+                return;
+            }
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            documents.put(id, normalized);
+            for (String field : normalized) {
+                for (String gram : grams(field)) {
+                    postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            String[] previous = documents.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the fields of a document as they were indexed (lower-cased), or null if it is not indexed.
+     */
+    public String[] get(String id) {
+        lock.readLock().lock();
+        try {
+            String[] fields = documents.get(id);
+            return fields == null ? null : fields.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the documents with a field containing the query, best match first.
+     * @param fields positions of the fields to match; all fields when none are given
+     */
+    public List<String> search(String query, int... fields) {
+        return search(query, id -> true, fields);
+    }
+
+    /**
+     * Same as search(query, fields), limited to the ids accepted by the filter.
+     */
+    public List<String> search(String query, Predicate<String> idFilter, int... fields) {
+        String text = normalize(query).trim();
+        if (text.isEmpty()) {
+            return List.of();
+        }
+        int[] searched = fields.length == 0 ? allFields() : fields;
+
+        List<Map.Entry<String, Integer>> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String id : candidates(text)) {
+                if (!idFilter.test(id)) {
+                    continue;
+                }
+                int score = score(documents.get(id), text, searched);
+                if (score > 0) {
+                    matches.add(Map.entry(id, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return matches.stream().map(Map.Entry::getKey).toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids sharing every gram of the query, starting from the rarest gram
+    private Collection<String> candidates(String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return documents.keySet();
+        }
+        List<Set<String>> lists = new ArrayList<>();
+        for (String gram : grams(text)) {
+            Set<String> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        List<String> result = new ArrayList<>();
+        for (String id : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            if (inAll) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private int score(String[] document, String text, int[] searched) {
+        int best = 0;
+        for (int field : searched) {
+            String value = document[field];
+            int kind = value.equals(text) ? EXACT
+                    : value.startsWith(text) ? PREFIX
+                    : value.contains(text) ? CONTAINS
+                    : 0;
+            best = Math.max(best, kind * fieldWeights[field]);
+        }
+        return best;
+    }
+
+    private void unlink(String id, String[] fields) {
+        for (String field : fields) {
+            for (String gram : grams(field)) {
+                Set<String> ids = postings.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private int[] allFields() {
+        int[] all = new int[fieldWeights.length];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    private static Set<String> grams(String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return Set.of();
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
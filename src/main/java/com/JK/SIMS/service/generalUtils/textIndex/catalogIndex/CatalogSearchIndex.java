@@ -0,0 +1,247 @@
+package com.JK.SIMS.service.generalUtils.textIndex.catalogIndex;
+
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.service.generalUtils.textIndex.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Text index of the products (ProductsForPM) and inventory rows (InventoryControlData), used by
+ * the product and inventory search instead of LOWER(column) LIKE '%text%' over the whole catalog.
+ * - Built at startup and rebuilt every rebuild-interval-ms, which also picks up changes made on other nodes.
+ * - Kept current in between by CatalogSearchIndexListener; changes are applied once their transaction commits.
+ * - Searches return empty (callers fall back to the LIKE queries) until the first build is done,
+ *   or when more than max-hydrated-ids rows match, where the scan is no worse than a long IN list.
+ */
+@Component
+@Slf4j
+public class CatalogSearchIndex {
+
+    // Product fields, in index order
+    public static final int PRODUCT_ID = 0;
+    public static final int PRODUCT_NAME = 1;
+    public static final int PRODUCT_LOCATION = 2;
+    public static final int PRODUCT_CATEGORY = 3;
+    public static final int PRODUCT_STATUS = 4;
+
+    // Inventory fields, in index order
+    private static final int INVENTORY_NAME = 2;
+    private static final int INVENTORY_CATEGORY = 4;
+
+    private final PM_repository pmRepository;
+    private final IC_repository icRepository;
+    private final boolean enabled;
+    private final int maxHydratedIds;
+
+    private volatile Indexes indexes = new Indexes();
+    private volatile boolean ready = false;
+    private List<Consumer<Indexes>> pendingChanges; // Non-null while a rebuild is running; guarded by this
+
+    public CatalogSearchIndex(PM_repository pmRepository, IC_repository icRepository,
+                              @Value("${search-index.enabled:true}") boolean enabled,
+                              @Value("${search-index.max-hydrated-ids:1000}") int maxHydratedIds) {
+        this.pmRepository = pmRepository;
+        this.icRepository = icRepository;
+        this.enabled = enabled;
+        this.maxHydratedIds = maxHydratedIds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search-index.rebuild-interval-ms:300000}",
+            initialDelayString = "${search-index.rebuild-interval-ms:300000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Reads both tables and swaps in a new index. Changes committed while the tables are
+     * being read are replayed on the new index, so none of them is lost by the swap.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (pendingChanges != null) {
+                log.debug("CatalogSearchIndex: Rebuild already running, skipped");
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        }
+        Indexes fresh = new Indexes();
+        try {
+            long start = System.currentTimeMillis();
+            pmRepository.findAll().forEach(product -> productChange(product).accept(fresh));
+            icRepository.findAllWithProduct().forEach(inventory -> inventoryChange(inventory).accept(fresh));
+            synchronized (this) {
+                pendingChanges.forEach(change -> change.accept(fresh));
+                indexes = fresh;
+                ready = true;
+            }
+            log.info("CatalogSearchIndex: Indexed {} products and {} inventory rows in {} ms",
+                    fresh.products.size(), fresh.inventory.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("CatalogSearchIndex: Rebuild failed, keeping the previous index: {}", e.getMessage(), e);
+        } finally {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    /**
+     * Product ids having one of the given fields (all when none) containing the text, best match first.
+     * Empty when the index cannot answer and the database has to be searched instead.
+     */
+    public Optional<List<String>> searchProductIds(String text, int... fields) {
+        return capped(indexes.products.search(text, fields));
+    }
+
+    /**
+     * SKUs whose SKU, product id, product name, location or category contains the text, best match first.
+     * Empty when the index cannot answer and the database has to be searched instead.
+     */
+    public Optional<List<String>> searchInventorySkus(String text) {
+        return capped(indexes.inventory.search(text));
+    }
+
+    public void productSaved(ProductsForPM product) {
+        applyAfterCommit(productChange(product));
+    }
+
+    public void productRemoved(String productId) {
+        applyAfterCommit(indexes -> {
+            indexes.products.remove(productId);
+            removeInventoryOfProduct(indexes, productId);
+        });
+    }
+
+    public void inventorySaved(InventoryControlData inventory) {
+        applyAfterCommit(inventoryChange(inventory));
+    }
+
+    public void inventoryRemoved(String sku) {
+        applyAfterCommit(indexes -> removeInventory(indexes, sku));
+    }
+
+    // For bulk deletes, which do not go through the entity listener
+    public void inventoryOfProductRemoved(String productId) {
+        applyAfterCommit(indexes -> removeInventoryOfProduct(indexes, productId));
+    }
+
+    private Optional<List<String>> capped(List<String> ids) {
+        if (!enabled || !ready || ids.size() > maxHydratedIds) {
+            return Optional.empty();
+        }
+        return Optional.of(ids);
+    }
+
+    // The field values are read now, while the entity is still attached to its session
+    private Consumer<Indexes> productChange(ProductsForPM product) {
+        String productId = product.getProductID();
+        String name = product.getName();
+        String category = product.getCategory() == null ? null : product.getCategory().name();
+        String status = product.getStatus() == null ? null : product.getStatus().name();
+        String location = product.getLocation();
+        return indexes -> {
+            indexes.products.put(productId, productId, name, location, category, status);
+            // Inventory rows carry the product name and category, so they follow the product
+            for (String sku : indexes.skusByProduct.getOrDefault(productId, Set.of())) {
+                String[] fields = indexes.inventory.get(sku);
+                if (fields != null) {
+                    fields[INVENTORY_NAME] = name;
+                    fields[INVENTORY_CATEGORY] = category;
+                    indexes.inventory.put(sku, fields);
+                }
+            }
+        };
+    }
+
+    private Consumer<Indexes> inventoryChange(InventoryControlData inventory) {
+        String sku = inventory.getSKU();
+        ProductsForPM product = inventory.getPmProduct();
+        String productId = product == null ? null : product.getProductID();
+        String name = product == null ? null : product.getName();
+        String category = product == null || product.getCategory() == null ? null : product.getCategory().name();
+        String location = inventory.getLocation();
+        return indexes -> {
+            String previousProductId = indexes.productBySku.get(sku);
+            if (previousProductId != null && !previousProductId.equals(productId)) {
+                removeInventory(indexes, sku);
+            }
+            indexes.inventory.put(sku, sku, productId, name, location, category);
+            if (productId != null) {
+                indexes.productBySku.put(sku, productId);
+                indexes.skusByProduct.computeIfAbsent(productId, id -> new HashSet<>()).add(sku);
+            }
+        };
+    }
+
+    private static void removeInventory(Indexes indexes, String sku) {
+        indexes.inventory.remove(sku);
+        String productId = indexes.productBySku.remove(sku);
+        if (productId != null) {
+            indexes.skusByProduct.computeIfPresent(productId, (id, skus) -> {
+                skus.remove(sku);
+                return skus.isEmpty() ? null : skus;
+            });
+        }
+    }
+
+    private static void removeInventoryOfProduct(Indexes indexes, String productId) {
+        Set<String> skus = indexes.skusByProduct.remove(productId);
+        if (skus != null) {
+            skus.forEach(sku -> {
+                indexes.inventory.remove(sku);
+                indexes.productBySku.remove(sku);
+            });
+        }
+    }
+
+    private void applyAfterCommit(Consumer<Indexes> change) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Consumer<Indexes> change) {
+        change.accept(indexes);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private static final class Indexes {
+        private final TrigramIndex products = new TrigramIndex(5, 4, 2, 1, 1);
+        private final TrigramIndex inventory = new TrigramIndex(5, 5, 4, 2, 1);
+        // Only used under the CatalogSearchIndex lock
+        private final Map<String, Set<String>> skusByProduct = new HashMap<>();
+        private final Map<String, String> productBySku = new HashMap<>();
+    }
+}
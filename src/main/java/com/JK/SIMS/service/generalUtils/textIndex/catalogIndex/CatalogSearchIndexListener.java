@@ -0,0 +1,49 @@
+package com.JK.SIMS.service.generalUtils.textIndex.catalogIndex;
+
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener of ProductsForPM and InventoryControlData that keeps the CatalogSearchIndex current.
+ * Created by Hibernate through Spring; the index is looked up lazily because it depends on the
+ * repositories, which are built after the listeners. Without an index bean (e.g. JPA test slices) it does nothing.
+ */
+public class CatalogSearchIndexListener {
+
+    private final ObjectProvider<CatalogSearchIndex> catalogSearchIndex;
+
+    public CatalogSearchIndexListener(ObjectProvider<CatalogSearchIndex> catalogSearchIndex) {
+        this.catalogSearchIndex = catalogSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        CatalogSearchIndex index = catalogSearchIndex.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        if (entity instanceof ProductsForPM product) {
+            index.productSaved(product);
+        } else if (entity instanceof InventoryControlData inventory) {
+            index.inventorySaved(inventory);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        CatalogSearchIndex index = catalogSearchIndex.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        if (entity instanceof ProductsForPM product) {
+            index.productRemoved(product.getProductID());
+        } else if (entity instanceof InventoryControlData inventory) {
+            index.inventoryRemoved(inventory.getSKU());
+        }
+    }
+}
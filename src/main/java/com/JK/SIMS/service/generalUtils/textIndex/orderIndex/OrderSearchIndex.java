@@ -0,0 +1,291 @@
+package com.JK.SIMS.service.generalUtils.textIndex.orderIndex;
+
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+import com.JK.SIMS.models.purchaseOrder.dtos.views.PurchaseOrderSearchFields;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderProductName;
+import com.JK.SIMS.models.salesOrder.dtos.views.SalesOrderSearchFields;
+import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.repository.salesOrderRepo.OrderItemRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.service.generalUtils.textIndex.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Text index of the sales and purchase orders, with the status of each order, so the order searches
+ * (including the waiting-orders search of the inventory screens) are a lookup instead of a join and LIKE scan.
+ * - Sales orders: order reference, customer, destination, ordered product names, and the people fields.
+ * - Purchase orders: PO number, supplier, product name, orderedBy and updatedBy.
+ * - OrderSearchIndexListener marks orders as changed once their transaction commits. Changed orders are
+ *   re-read in one query per type before the next search, or within refresh-interval-ms at the latest.
+ * - The whole index is rebuilt at startup and every rebuild-interval-ms, which also picks up writes of other nodes
+ *   and renamed products or suppliers (their orders are not marked as changed).
+ * - Searches return empty (callers fall back to the LIKE queries) until the first build is done,
+ *   or when more than max-hydrated-ids orders match.
+ * - Changed orders are re-read in a read-write transaction of their own, so the read goes to the primary even when
+ *   it runs inside the read-only transaction of a search, which may be routed to a replica that has not caught up.
+ */
+@Component
+@Slf4j
+public class OrderSearchIndex {
+
+    private static final int REFRESH_BATCH_SIZE = 500;
+    private static final String VALUE_SEPARATOR = "\n"; // Keeps a match from spanning two values of one field
+
+    private final SalesOrderRepository salesOrderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final boolean enabled;
+    private final int maxHydratedIds;
+
+    private final Set<Long> changedSalesOrders = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedPurchaseOrders = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock updateLock = new ReentrantLock(); // Serializes rebuilds and refreshes
+    private volatile Indexes indexes = new Indexes();
+    private volatile boolean ready = false;
+
+    public OrderSearchIndex(SalesOrderRepository salesOrderRepository,
+                            OrderItemRepository orderItemRepository,
+                            PurchaseOrderRepository purchaseOrderRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${search-index.enabled:true}") boolean enabled,
+                            @Value("${search-index.max-hydrated-ids:1000}") int maxHydratedIds) {
+        this.salesOrderRepository = salesOrderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.maxHydratedIds = maxHydratedIds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search-index.rebuild-interval-ms:300000}",
+            initialDelayString = "${search-index.rebuild-interval-ms:300000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search-index.refresh-interval-ms:1000}")
+    public void scheduledRefresh() {
+        if (ready && hasChanges()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Reads all orders and swaps in a new index. Orders changed while the tables are being read
+     * stay marked, and are re-read by the next refresh.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            Indexes fresh = new Indexes();
+            // Marks older than this read are covered by it
+            changedSalesOrders.clear();
+            changedPurchaseOrders.clear();
+            putSalesOrders(fresh, salesOrderRepository.findAllSearchFields(), orderItemRepository.findAllProductNames());
+            putPurchaseOrders(fresh, purchaseOrderRepository.findAllSearchFields());
+            indexes = fresh;
+            ready = true;
+            log.info("OrderSearchIndex: Indexed {} sales orders and {} purchase orders in {} ms",
+                    fresh.salesOrders.size(), fresh.purchaseOrders.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("OrderSearchIndex: Rebuild failed, keeping the previous index: {}", e.getMessage(), e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Ids of the sales orders matching the text, best match first.
+     * @param statuses statuses the orders must be in, or null for any status
+     * @return empty when the index cannot answer and the database has to be searched instead
+     */
+    public Optional<List<Long>> searchSalesOrderIds(String text, @Nullable Set<SalesOrderStatus> statuses) {
+        refreshIfChanged();
+        Indexes current = indexes;
+        List<String> ids = current.salesOrders.search(text,
+                id -> statuses == null || statuses.contains(current.salesOrderStatuses.get(id)));
+        return capped(ids);
+    }
+
+    /**
+     * Ids of the purchase orders matching the text, best match first.
+     * @param statuses statuses the orders must be in, or null for any status
+     * @return empty when the index cannot answer and the database has to be searched instead
+     */
+    public Optional<List<Long>> searchPurchaseOrderIds(String text, @Nullable Set<PurchaseOrderStatus> statuses) {
+        refreshIfChanged();
+        Indexes current = indexes;
+        List<String> ids = current.purchaseOrders.search(text,
+                id -> statuses == null || statuses.contains(current.purchaseOrderStatuses.get(id)));
+        return capped(ids);
+    }
+
+    public void salesOrderChanged(@Nullable Long salesOrderId) {
+        markAfterCommit(changedSalesOrders, salesOrderId);
+    }
+
+    public void purchaseOrderChanged(@Nullable Long purchaseOrderId) {
+        markAfterCommit(changedPurchaseOrders, purchaseOrderId);
+    }
+
+    /**
+     * Re-reads the changed orders and replaces their entries once the read succeeded, so a concurrent search
+     * keeps finding them in the meantime; orders no longer found are dropped from the index.
+     */
+    void refresh() {
+        updateLock.lock();
+        try {
+            Indexes current = indexes;
+            refreshBatches(changedSalesOrders, ids -> replaceSalesOrders(current, ids,
+                    salesOrderRepository.findSearchFieldsByIds(ids), orderItemRepository.findProductNamesBySalesOrderIds(ids)));
+            refreshBatches(changedPurchaseOrders, ids -> replacePurchaseOrders(current, ids,
+                    purchaseOrderRepository.findSearchFieldsByIds(ids)));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // A search does not wait for a running rebuild; it uses the current index and the refresh catches up
+    private void refreshIfChanged() {
+        if (ready && hasChanges() && !updateLock.isLocked()) {
+            refresh();
+        }
+    }
+
+    private boolean hasChanges() {
+        return !changedSalesOrders.isEmpty() || !changedPurchaseOrders.isEmpty();
+    }
+
+    private Optional<List<Long>> capped(List<String> ids) {
+        if (!enabled || !ready || ids.size() > maxHydratedIds) {
+            return Optional.empty();
+        }
+        return Optional.of(ids.stream().map(Long::valueOf).toList());
+    }
+
+    private void putSalesOrders(Indexes target, List<SalesOrderSearchFields> orders, List<SalesOrderProductName> productNames) {
+        Map<Long, String> namesByOrder = productNames.stream()
+                .filter(row -> row.getProductName() != null)
+                .collect(Collectors.groupingBy(SalesOrderProductName::getSalesOrderId,
+                        Collectors.mapping(SalesOrderProductName::getProductName, Collectors.joining(VALUE_SEPARATOR))));
+        for (SalesOrderSearchFields order : orders) {
+            String id = order.getId().toString();
+            target.salesOrders.put(id, order.getOrderReference(), order.getCustomerName(), order.getDestination(),
+                    namesByOrder.get(order.getId()),
+                    join(order.getCreatedBy(), order.getUpdatedBy(), order.getConfirmedBy(), order.getCancelledBy()));
+            putStatus(target.salesOrderStatuses, id, order.getStatus());
+        }
+    }
+
+    private void putPurchaseOrders(Indexes target, List<PurchaseOrderSearchFields> orders) {
+        for (PurchaseOrderSearchFields order : orders) {
+            String id = order.getId().toString();
+            target.purchaseOrders.put(id, order.getPoNumber(), order.getSupplierName(), order.getProductName(),
+                    join(order.getOrderedBy(), order.getUpdatedBy()));
+            putStatus(target.purchaseOrderStatuses, id, order.getStatus());
+        }
+    }
+
+    // put() replaces an indexed order in place, so only the orders that were not found are removed
+    private void replaceSalesOrders(Indexes target, List<Long> ids, List<SalesOrderSearchFields> orders,
+                                    List<SalesOrderProductName> productNames) {
+        putSalesOrders(target, orders, productNames);
+        Set<Long> found = orders.stream().map(SalesOrderSearchFields::getId).collect(Collectors.toSet());
+        ids.stream().filter(id -> !found.contains(id)).map(Object::toString).forEach(id -> {
+            target.salesOrders.remove(id);
+            target.salesOrderStatuses.remove(id);
+        });
+    }
+
+    private void replacePurchaseOrders(Indexes target, List<Long> ids, List<PurchaseOrderSearchFields> orders) {
+        putPurchaseOrders(target, orders);
+        Set<Long> found = orders.stream().map(PurchaseOrderSearchFields::getId).collect(Collectors.toSet());
+        ids.stream().filter(id -> !found.contains(id)).map(Object::toString).forEach(id -> {
+            target.purchaseOrders.remove(id);
+            target.purchaseOrderStatuses.remove(id);
+        });
+    }
+
+    private static <S> void putStatus(Map<String, S> statuses, String id, @Nullable S status) {
+        if (status != null) {
+            statuses.put(id, status);
+        } else {
+            statuses.remove(id);
+        }
+    }
+
+    private static String join(String... values) {
+        return Arrays.stream(values).filter(Objects::nonNull).collect(Collectors.joining(VALUE_SEPARATOR));
+    }
+
+    // Reloads the changed ids in batches; the ids of a failed batch and of the batches after it stay marked
+    private void refreshBatches(Set<Long> changed, Consumer<List<Long>> reload) {
+        List<Long> ids = new ArrayList<>(changed);
+        changed.removeAll(ids);
+        for (int from = 0; from < ids.size(); from += REFRESH_BATCH_SIZE) {
+            try {
+                List<Long> batch = ids.subList(from, Math.min(from + REFRESH_BATCH_SIZE, ids.size()));
+                primaryTransaction.executeWithoutResult(status -> reload.accept(batch));
+            } catch (Exception e) {
+                changed.addAll(ids.subList(from, ids.size()));
+                log.error("OrderSearchIndex: Refresh failed, keeping {} orders marked for the next one: {}",
+                        ids.size() - from, e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    private void markAfterCommit(Set<Long> changed, @Nullable Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed.add(id);
+                }
+            });
+        } else {
+            changed.add(id);
+        }
+    }
+
+    private static final class Indexes {
+        // reference, customer, destination, product names, people
+        private final TrigramIndex salesOrders = new TrigramIndex(5, 4, 2, 2, 1);
+        // PO number, supplier, product name, people
+        private final TrigramIndex purchaseOrders = new TrigramIndex(5, 4, 3, 1);
+        private final Map<String, SalesOrderStatus> salesOrderStatuses = new ConcurrentHashMap<>();
+        private final Map<String, PurchaseOrderStatus> purchaseOrderStatuses = new ConcurrentHashMap<>();
+    }
+}
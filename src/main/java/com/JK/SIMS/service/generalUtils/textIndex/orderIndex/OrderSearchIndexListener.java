@@ -0,0 +1,40 @@
+package com.JK.SIMS.service.generalUtils.textIndex.orderIndex;
+
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener of SalesOrder, OrderItem and PurchaseOrder that marks the changed orders for the OrderSearchIndex.
+ * Only ids are read here; the index re-reads the orders after the commit, so no lazy association is touched during a flush.
+ * Without an index bean (e.g. JPA test slices) it does nothing.
+ */
+public class OrderSearchIndexListener {
+
+    private final ObjectProvider<OrderSearchIndex> orderSearchIndex;
+
+    public OrderSearchIndexListener(ObjectProvider<OrderSearchIndex> orderSearchIndex) {
+        this.orderSearchIndex = orderSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        OrderSearchIndex index = orderSearchIndex.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        if (entity instanceof SalesOrder salesOrder) {
+            index.salesOrderChanged(salesOrder.getId());
+        } else if (entity instanceof OrderItem item && item.getSalesOrder() != null) {
+            index.salesOrderChanged(item.getSalesOrder().getId()); // Reading the id does not initialize the proxy
+        } else if (entity instanceof PurchaseOrder purchaseOrder) {
+            index.purchaseOrderChanged(purchaseOrder.getId());
+        }
+    }
+}
@@ -14,6 +14,8 @@ public interface PurchaseOrderService {
     ApiResponse<PurchaseOrderRequest> createPurchaseOrder(PurchaseOrderRequest stockRequestDto,
                                                           String jwtToken) throws BadRequestException;
     PaginatedResponse<SummaryPurchaseOrderView> getAllPurchaseOrders(int page, int size, String sortBy, String sortDirection);
+
+    PaginatedResponse<SummaryPurchaseOrderView> getPurchaseOrdersAfter(String cursor, String sortBy, String sortDirection, int size);
     DetailsPurchaseOrderView getDetailsForPurchaseOrder(Long orderId);
     PaginatedResponse<SummaryPurchaseOrderView> searchPurchaseOrders(String text, int page, int size, String sortBy, String sortDirection);
     PaginatedResponse<SummaryPurchaseOrderView> filterPurchaseOrders(ProductCategories category, PurchaseOrderStatus status, String sortBy, String sortDirection, int page, int size);
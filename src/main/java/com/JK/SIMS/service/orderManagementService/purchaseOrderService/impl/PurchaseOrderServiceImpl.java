@@ -70,6 +70,12 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         return purchaseOrderQueryService.getAllPurchaseOrders(page, size, sortBy, sortDirection);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedResponse<SummaryPurchaseOrderView> getPurchaseOrdersAfter(String cursor, String sortBy, String sortDirection, int size) {
+        return purchaseOrderQueryService.getPurchaseOrdersAfter(cursor, sortBy, sortDirection, size);
+    }
+
 
     @Override
     @Transactional(readOnly = true)
@@ -13,6 +13,8 @@ import java.time.LocalDate;
 
 public interface SalesOrderService {
     PaginatedResponse<SummarySalesOrderView> getAllSummarySalesOrders(String sortBy, String sortDirection, int page, int size);
+
+    PaginatedResponse<SummarySalesOrderView> getSummarySalesOrdersAfter(String cursor, String sortBy, String sortDirection, int size);
     DetailedSalesOrderView getDetailsForSalesOrderId(Long orderId);
     ApiResponse<String> createSalesOrder(@Valid SalesOrderRequestDto salesOrderRequestDto, String jwtToken);
     ApiResponse<String> updateSalesOrder(Long orderId, SalesOrderRequestDto salesOrderRequestDto, String jwtToken);
@@ -15,7 +15,8 @@ import java.time.Duration;
 public interface SoQrCodeService {
     DetailedSalesOrderView verifyQrCode(String qrToken, String jwtToken, HttpServletRequest request);
     ApiResponse<String> updateOrderStatus(String qrToken,  String jwtToken, SalesOrderStatus statusValue, HttpServletRequest request);
-    SalesOrderQRCode generateAndLinkQrCode(String orderReference) throws IOException, WriterException;
+    SalesOrderQRCode createPendingQrCode(String orderReference);
+    void uploadQrCodeImage(SalesOrderQRCode salesOrderQRCode) throws IOException, WriterException;
     void deleteQrCodeFromS3(String s3Key);
     QrCodeUrlResponse getPresignedQrCodeUrl(Long salesOrderId);
 }
@@ -20,6 +20,8 @@ import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
 import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
 import com.JK.SIMS.service.orderManagementService.salesOrderService.SalesOrderService;
 import com.JK.SIMS.service.orderManagementService.salesOrderService.SoQrCodeService;
+import com.JK.SIMS.service.orderManagementService.salesOrderService.orderReference.SalesOrderReferenceGenerator;
+import com.JK.SIMS.service.orderManagementService.salesOrderService.qrCodeOutbox.QrCodeOutboxService;
 import com.JK.SIMS.service.productManagementService.utils.queryService.ProductQueryService;
 import com.JK.SIMS.service.salesOrder.salesOrderQueryService.SalesOrderQueryService;
 import com.JK.SIMS.service.salesOrder.salesOrderSearchService.SalesOrderSearchService;
@@ -32,13 +34,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -53,12 +53,14 @@ public class SalesOrderServiceImpl implements SalesOrderService {
 
     // ========== Components ==========
     private final StockManagementLogic stockManagementLogic;
+    private final SalesOrderReferenceGenerator salesOrderReferenceGenerator;
 
     // ========== Services ==========
     private final SalesOrderQueryService salesOrderQueryService;
     private final ProductQueryService productQueryService;
     private final SalesOrderSearchService salesOrderSearchService;
     private final SoQrCodeService soQrCodeService;
+    private final QrCodeOutboxService qrCodeOutboxService;
 
     // ========== Repositories ==========
     private final SalesOrderRepository salesOrderRepository;
@@ -70,6 +72,12 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         return salesOrderQueryService.getAllSummarySalesOrders(sortBy, sortDirection, page, size);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginatedResponse<SummarySalesOrderView> getSummarySalesOrdersAfter(String cursor, String sortBy, String sortDirection, int size) {
+        return salesOrderQueryService.getSummarySalesOrdersAfter(cursor, sortBy, sortDirection, size);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public DetailedSalesOrderView getDetailsForSalesOrderId(Long orderId) {
@@ -80,19 +88,14 @@ public class SalesOrderServiceImpl implements SalesOrderService {
     @Override
     @Transactional
     public ApiResponse<String> createSalesOrder(@Valid SalesOrderRequestDto salesOrderRequestDto, String jwtToken) {
-        List<OrderItem> reservedItems = new ArrayList<>();
-        String qrCodeS3Key = null; // Track S3 key for rollback
-        boolean success = false;
         try {
             // Validate the request and Create the Entity
             salesOrderServiceHelper.validateSalesOrderItems(salesOrderRequestDto.getOrderItems());
             String createdPerson = securityUtils.validateAndExtractUsername(jwtToken);
-            String orderReference = generateOrderReference(LocalDate.now());
-
-            // Create the QR Code and upload to the AWS S3 bucket
-            SalesOrderQRCode salesOrderQRCode = soQrCodeService.generateAndLinkQrCode(orderReference);
-            qrCodeS3Key = "qr-codes/" + orderReference + ".png"; // Tracking
+            String orderReference = salesOrderReferenceGenerator.nextReference(LocalDate.now());
 
+            // Only the token is assigned here; the image is rendered and uploaded after commit
+            SalesOrderQRCode salesOrderQRCode = soQrCodeService.createPendingQrCode(orderReference);
 
             // Create the SalesOrder entity and link the QR Code
             SalesOrder salesOrder = createSalesOrderEntity(
@@ -102,12 +105,11 @@ public class SalesOrderServiceImpl implements SalesOrderService {
                     salesOrderQRCode
             );
 
-            // Process each item with stock reservation
+            // Reserve stock for all items at once (rolled back together with the order on failure)
             populateSalesOrderWithItems(salesOrder, salesOrderRequestDto.getOrderItems());
-            reservedItems.addAll(salesOrder.getItems()); // Track reserved items
 
-            salesOrderRepository.save(salesOrder); // This still might fail
-            success = true;
+            salesOrderRepository.save(salesOrder);
+            qrCodeOutboxService.enqueue(salesOrder.getQrCode(), orderReference);
             log.info("OM-SO createSalesOrder(): SalesOrder created successfully with reference ID: {}", orderReference);
             return new ApiResponse<>(true, "SalesOrder created successfully and it is under PENDING status");
         } catch (ValidationException | InsufficientStockException | ResourceNotFoundException e) {
@@ -125,27 +127,6 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         } catch (Exception e) {
             log.error("OM-SO createSalesOrder(): Unexpected error - {}", e.getMessage());
             throw new ServiceException("Internal Service error occurred while creating the order.", e);
-        } finally {
-            // Any other unexpected error - rollback reservations
-            if (!success) {
-                // Rollback stock reservations
-                if (!reservedItems.isEmpty()) {
-                    rollbackReservations(reservedItems);
-                }
-                // Rollback S3 upload
-                if (qrCodeS3Key != null) {
-                    rollbackS3Upload(qrCodeS3Key);
-                }
-            }
-        }
-    }
-
-    private void rollbackS3Upload(String s3Key) {
-        try {
-            soQrCodeService.deleteQrCodeFromS3(s3Key);
-            log.info("Successfully rolled back S3 upload for key: {}", s3Key);
-        } catch (Exception e) {
-            log.error("Failed to rollback S3 upload for key {}: {}", s3Key, e.getMessage());
         }
     }
 
@@ -172,21 +153,6 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         return salesOrder;
     }
 
-    private void rollbackReservations(List<OrderItem> reservedItems) {
-        for (OrderItem item : reservedItems) {
-            try {
-                stockManagementLogic.releaseReservation(
-                        item.getProduct().getProductID(),
-                        item.getQuantity()
-                );
-                log.debug("Rolled back reservation for product: {}", item.getProduct().getProductID());
-            } catch (Exception rollbackEx) {
-                log.error("Failed to rollback reservation for product {}: {}",
-                        item.getProduct().getProductID(), rollbackEx.getMessage());
-            }
-        }
-    }
-
     @Override
     @Transactional
     public ApiResponse<String> updateSalesOrder(Long orderId, SalesOrderRequestDto salesOrderRequestDto, String jwtToken) {
@@ -293,8 +259,6 @@ public class SalesOrderServiceImpl implements SalesOrderService {
     public ApiResponse<String> addItemsToSalesOrder(Long orderId,
                                                     @Valid BulkOrderItemsRequestDto bulkOrderItemsRequestDto,
                                                     String jwtToken){
-        List<OrderItem> newlyAddedItems = new ArrayList<>();
-        boolean success = false;
         try {
             SalesOrder salesOrder = getSalesOrderById(orderId);
             if (salesOrder.isFinalized()) {
@@ -304,20 +268,11 @@ public class SalesOrderServiceImpl implements SalesOrderService {
             salesOrderServiceHelper.validateSalesOrderItems(bulkOrderItemsRequestDto.getOrderItems());
             String updatedUser = securityUtils.validateAndExtractUsername(jwtToken);
 
-            // Keep track of how many items existed before adding new ones
-            int initialItemCount = salesOrder.getItems().size();
-
             // Process and add items with stock reservation
             populateSalesOrderWithItems(salesOrder, bulkOrderItemsRequestDto.getOrderItems());
 
-            // Identify only the newly added items for potential rollback
-            if (salesOrder.getItems().size() > initialItemCount) {
-                newlyAddedItems.addAll(salesOrder.getItems().subList(initialItemCount, salesOrder.getItems().size()));
-            }
-
             salesOrder.setUpdatedBy(updatedUser);
             salesOrderRepository.save(salesOrder);
-            success = true;
             log.info("OM-SO addItemsToSalesOrder(): New Items added to Sales Order: {}", salesOrder.getOrderReference());
             return new ApiResponse<>(true, "Order Item(s) added successfully");
 
@@ -330,17 +285,13 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         } catch (Exception e) {
             log.error("OM-SO addItemsToSalesOrder(): Unexpected error - {}", e.getMessage());
             throw new ServiceException("Internal Service error occurred while adding items to the order.", e);
-        } finally {
-            // This is the crucial part: if the operation failed, clean up the reservations
-            if (!success && !newlyAddedItems.isEmpty()) {
-                log.warn("Operation failed. Rolling back reservations for newly added items to order ID: {}", orderId);
-                rollbackReservations(newlyAddedItems);
-            }
         }
     }
 
     /**
      * Populates SalesOrder with OrderItems after reserving stock.
+     * Products are loaded with a single query and all reservations are applied in one
+     * batch, so either every line is reserved or the surrounding transaction rolls back.
      * This method is NOT marked as @Transactional because it's always called
      * from a method that already has an active transaction.
      *
@@ -351,19 +302,25 @@ public class SalesOrderServiceImpl implements SalesOrderService {
      * @throws ResourceNotFoundException if product/inventory not found
      */
     private void populateSalesOrderWithItems(SalesOrder salesOrder, List<OrderItemRequest> orderItemRequestList){
+        Map<String, Integer> requestedQuantities = new LinkedHashMap<>();
         for (OrderItemRequest itemDto : orderItemRequestList) {
-            ProductsForPM product = productQueryService.findById(itemDto.getProductId());
+            requestedQuantities.put(itemDto.getProductId(), itemDto.getQuantity());
+        }
+        Map<String, ProductsForPM> productsById = productQueryService.findAllByIds(requestedQuantities.keySet());
 
-            // Validate product status
+        // Validate product status
+        for (ProductsForPM product : productsById.values()) {
             if (product.getStatus() != ProductStatus.ACTIVE && product.getStatus() != ProductStatus.ON_ORDER) {
                 throw new ValidationException("Product '" + product.getName() + " ID: " + product.getProductID() + " is not active.");
             }
+        }
 
-            // Reserve stock - throws exception if insufficient
-            stockManagementLogic.reserveStock(product.getProductID(), itemDto.getQuantity());
+        // Reserve stock - throws exception if insufficient for any item
+        stockManagementLogic.reserveStockBatch(requestedQuantities);
 
-            // Create and add OrderItem
-            OrderItem orderItem = createOrderItem(product, itemDto.getQuantity());
+        // Create and add OrderItems
+        for (OrderItemRequest itemDto : orderItemRequestList) {
+            OrderItem orderItem = createOrderItem(productsById.get(itemDto.getProductId()), itemDto.getQuantity());
             salesOrder.addOrderItem(orderItem);
         }
     }
@@ -429,49 +386,6 @@ public class SalesOrderServiceImpl implements SalesOrderService {
         return salesOrderSearchService.filterAll(statusValue, optionDateValue, startDate, endDate, page, size, sortBy, sortDirection);
     }
 
-    // Note that: the Order Reference max prefix number is "SO-yyyy-MM-dd-999"
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public String generateOrderReference(LocalDate now) {
-        try {
-            // Get the latest order reference for today with pessimistic lock
-            Optional<SalesOrder> lastOrderOpt = salesOrderRepository.findLatestSalesOrderWithPessimisticLock(
-                    "SO-" + now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + "%");
-
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            String todayPrefix = "SO-" + now.format(dateFormatter) + "-";
-
-            if (lastOrderOpt.isPresent()) {
-                SalesOrder lastSalesOrder = lastOrderOpt.get();
-                String lastOrderReference = lastSalesOrder.getOrderReference();
-
-                // Validate that the reference belongs to today
-                if (lastOrderReference.startsWith(todayPrefix)) {
-                    String[] splitReference = lastOrderReference.split("-");
-
-                    if (splitReference.length >= 5) {
-                        try {
-                            int lastOrderNumber = Integer.parseInt(splitReference[4]);
-                            int nextOrderNumber = lastOrderNumber + 1;
-                            String paddedOrderNumber = String.format("%03d", nextOrderNumber);
-                            return todayPrefix + paddedOrderNumber;
-
-                        } catch (NumberFormatException e) {
-                            log.error("OM-SO generateOrderReference(): Invalid order number format in reference: {}", lastOrderReference);
-                            // Fall through to generate first order of the day
-                        }
-                    }
-                }
-            }
-
-            // First order of the day or fallback case
-            return todayPrefix + "001";
-
-        } catch (Exception e) {
-            log.error("OM-SO generateOrderReference(): Error generating order reference - {}", e.getMessage());
-            throw new ServiceException("Failed to generate unique order reference", e);
-        }
-    }
-
     private SalesOrder getSalesOrderById(Long orderId) {
         return salesOrderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("SalesOrder with ID: " + orderId + " not found"));
@@ -9,6 +9,7 @@ import com.JK.SIMS.models.ApiResponse;
 import com.JK.SIMS.models.salesOrder.SalesOrder;
 import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
 import com.JK.SIMS.models.salesOrder.dtos.views.DetailedSalesOrderView;
+import com.JK.SIMS.models.salesOrder.qrcode.QrCodeStatus;
 import com.JK.SIMS.models.salesOrder.qrcode.SalesOrderQRCode;
 import com.JK.SIMS.models.salesOrder.qrcode.dtos.QrCodeUrlResponse;
 import com.JK.SIMS.repository.salesOrderQrRepo.SalesOrderQrRepository;
@@ -124,14 +125,17 @@ public class SoQrCodeServiceImpl implements SoQrCodeService {
             if (soQrEntity == null || soQrEntity.getQrCodeS3Key() == null) {
                 throw new ResourceNotFoundException("QR Code not found for SalesOrder ID: " + salesOrderId);
             }
+            if (soQrEntity.getStatus() != QrCodeStatus.READY) {
+                throw new ValidationException("QR Code for SalesOrder ID: " + salesOrderId + " is " + soQrEntity.getStatus() + ", not ready yet");
+            }
             String s3Key = soQrEntity.getQrCodeS3Key();
             String qrImageUrl = s3Service.generatePresignedUrl(s3Key, Duration.ofMinutes(5));
 
             // Create the QrResponse Entity
             LocalDateTime expiryTime = LocalDateTime.now(clock).plusMinutes(5);
             return new QrCodeUrlResponse(qrImageUrl, salesOrder.getOrderReference(), expiryTime);
-        } catch (ResourceNotFoundException rnfe){
-            throw rnfe;
+        } catch (ResourceNotFoundException | ValidationException e){
+            throw e;
         } catch (S3Exception e) {
             log.error("SO-QR: Failed to generate presigned URL for salesOrderId: {}", salesOrderId, e);
             throw new ServiceException("Failed to generate QR code URL", e);
@@ -141,23 +145,26 @@ public class SoQrCodeServiceImpl implements SoQrCodeService {
         }
     }
 
+    /**
+     * Creates the QR code entity with its token and S3 key only; no image is rendered here.
+     * The image is produced after the order commits by QrCodeOutboxProcessor.
+     */
     @Override
-    public SalesOrderQRCode generateAndLinkQrCode(String orderReference) throws IOException, WriterException {
-        String secureToken = GlobalServiceHelper.generateToken();
-        String qrData = baseUrl + "/api/v1/products/manage-order/so/qrcode/" + secureToken;
-        byte[] qrImageBytes = qrCodeUtil.generateQrCodeImage(qrData, 250, 250);
-
-        // Define a unique object key (filename) for S3
-        String s3Key = "qr-codes/" + orderReference + ".png";
-        String uploadedS3Key = s3Service.uploadFile(s3Key, qrImageBytes, "image/png");
-
-        // Populate the entity and return the object
+    public SalesOrderQRCode createPendingQrCode(String orderReference) {
         SalesOrderQRCode salesOrderQRCode = new SalesOrderQRCode();
-        salesOrderQRCode.setQrCodeS3Key(uploadedS3Key);
-        salesOrderQRCode.setQrToken(secureToken);
+        salesOrderQRCode.setQrToken(GlobalServiceHelper.generateToken());
+        salesOrderQRCode.setQrCodeS3Key("qr-codes/" + orderReference + ".png"); // unique object key (filename) for S3
+        salesOrderQRCode.setStatus(QrCodeStatus.PENDING);
         return salesOrderQRCode; // the Cascade setting will automatically save the entity
     }
 
+    @Override
+    public void uploadQrCodeImage(SalesOrderQRCode salesOrderQRCode) throws IOException, WriterException {
+        String qrData = baseUrl + "/api/v1/products/manage-order/so/qrcode/" + salesOrderQRCode.getQrToken();
+        byte[] qrImageBytes = qrCodeUtil.generateQrCodeImage(qrData, 250, 250);
+        s3Service.uploadFile(salesOrderQRCode.getQrCodeS3Key(), qrImageBytes, "image/png");
+    }
+
     /**
      * Delete QR code from S3
      */
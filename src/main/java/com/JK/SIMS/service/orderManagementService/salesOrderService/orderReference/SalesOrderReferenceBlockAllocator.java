@@ -0,0 +1,63 @@
+package com.JK.SIMS.service.orderManagementService.salesOrderService.orderReference;
+
+import com.JK.SIMS.models.salesOrder.orderReference.SalesOrderReferenceCounter;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderReferenceCounterRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Reserves ranges of order numbers in the sales_order_reference_counter table.
+ * Runs in its own short transaction so the counter row lock is released before the order is processed.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SalesOrderReferenceBlockAllocator {
+
+    private final SalesOrderReferenceCounterRepository counterRepository;
+    private final SalesOrderRepository salesOrderRepository;
+
+    /**
+     * @return the first number of a block of {@code blockSize} numbers that belongs to the caller only
+     * @throws org.springframework.dao.DataIntegrityViolationException if another node created the counter row of the day at the same time
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserveBlock(LocalDate referenceDate, int blockSize) {
+        Optional<SalesOrderReferenceCounter> counterOpt = counterRepository.findByReferenceDateWithLock(referenceDate);
+        if (counterOpt.isPresent()) {
+            SalesOrderReferenceCounter counter = counterOpt.get();
+            long blockStart = counter.getNextValue();
+            counter.setNextValue(blockStart + blockSize);
+            counterRepository.save(counter);
+            log.debug("OM-SO reserveBlock(): Reserved order numbers {}-{} for {}", blockStart, blockStart + blockSize - 1, referenceDate);
+            return blockStart;
+        }
+
+        // First block of the day: continue after any order created before the counter existed
+        long blockStart = findLastExistingOrderNumber(referenceDate) + 1;
+        counterRepository.saveAndFlush(new SalesOrderReferenceCounter(referenceDate, blockStart + blockSize));
+        log.info("OM-SO reserveBlock(): Started order reference counter for {} at {}", referenceDate, blockStart);
+        return blockStart;
+    }
+
+    private long findLastExistingOrderNumber(LocalDate referenceDate) {
+        String prefix = SalesOrderReferenceGenerator.referencePrefix(referenceDate);
+        return salesOrderRepository.findLatestOrderReference(prefix)
+                .map(reference -> {
+                    try {
+                        return Long.parseLong(reference.substring(prefix.length()));
+                    } catch (NumberFormatException e) {
+                        log.error("OM-SO reserveBlock(): Invalid order number format in reference: {}", reference);
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,69 @@
+package com.JK.SIMS.service.orderManagementService.salesOrderService.orderReference;
+
+import com.JK.SIMS.exception.ServiceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hands out "SO-yyyy-MM-dd-N" references from a block of numbers held in memory.
+ * Only when the block is used up (or the day changes) a new block is reserved through
+ * SalesOrderReferenceBlockAllocator, so order creation does not query the sales_order table.
+ * Every node owns its blocks, so references never collide; numbers left in a block when
+ * the node stops are simply skipped. The number has no upper limit (padded to at least 3 digits).
+ */
+@Component
+@Slf4j
+public class SalesOrderReferenceGenerator {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final SalesOrderReferenceBlockAllocator blockAllocator;
+    private final int blockSize;
+
+    // Current block: [nextNumber, blockEnd) of currentDate
+    private LocalDate currentDate;
+    private long nextNumber;
+    private long blockEnd;
+
+    public SalesOrderReferenceGenerator(SalesOrderReferenceBlockAllocator blockAllocator,
+                                        @Value("${sales-order.reference.block-size:50}") int blockSize) {
+        this.blockAllocator = blockAllocator;
+        this.blockSize = blockSize;
+    }
+
+    public synchronized String nextReference(LocalDate date) {
+        if (!date.equals(currentDate) || nextNumber >= blockEnd) {
+            long blockStart = reserveBlock(date);
+            currentDate = date;
+            nextNumber = blockStart;
+            blockEnd = blockStart + blockSize;
+        }
+        return referencePrefix(date) + String.format("%03d", nextNumber++);
+    }
+
+    private long reserveBlock(LocalDate date) {
+        try {
+            return blockAllocator.reserveBlock(date, blockSize);
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the counter row of the day first, the row exists now
+            log.debug("OM-SO nextReference(): Counter row for {} created concurrently, retrying", date);
+            try {
+                return blockAllocator.reserveBlock(date, blockSize);
+            } catch (Exception retryException) {
+                throw new ServiceException("Failed to generate unique order reference", retryException);
+            }
+        } catch (Exception e) {
+            log.error("OM-SO nextReference(): Error reserving order reference block - {}", e.getMessage());
+            throw new ServiceException("Failed to generate unique order reference", e);
+        }
+    }
+
+    static String referencePrefix(LocalDate date) {
+        return "SO-" + date.format(DATE_FORMATTER) + "-";
+    }
+}
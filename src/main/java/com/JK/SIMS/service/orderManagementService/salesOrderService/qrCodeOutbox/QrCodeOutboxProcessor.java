@@ -0,0 +1,117 @@
+package com.JK.SIMS.service.orderManagementService.salesOrderService.qrCodeOutbox;
+
+import com.JK.SIMS.models.salesOrder.qrcode.SalesOrderQRCode;
+import com.JK.SIMS.models.salesOrder.qrcode.outbox.QrCodeOutboxEntry;
+import com.JK.SIMS.repository.salesOrderQrRepo.SalesOrderQrRepository;
+import com.JK.SIMS.service.orderManagementService.salesOrderService.SoQrCodeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Renders and uploads QR code images for committed sales orders.
+ * Entries are picked up right after commit (QrCodeRequestedEvent) and by a periodic poll,
+ * which also covers retries, rejected submissions and entries left behind by a stopped node.
+ * Work runs on a fixed number of workers with a bounded queue.
+ */
+@Component
+@Slf4j
+public class QrCodeOutboxProcessor {
+
+    private final QrCodeOutboxService outboxService;
+    private final SoQrCodeService soQrCodeService;
+    private final SalesOrderQrRepository salesOrderQrRepository;
+    private final int pollBatchSize;
+
+    private final ThreadPoolExecutor workers;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet(); // avoids queueing one entry twice on this node
+
+    public QrCodeOutboxProcessor(QrCodeOutboxService outboxService,
+                                 SoQrCodeService soQrCodeService,
+                                 SalesOrderQrRepository salesOrderQrRepository,
+                                 @Value("${sales-order.qr-code.workers:4}") int workerCount,
+                                 @Value("${sales-order.qr-code.queue-capacity:200}") int queueCapacity,
+                                 @Value("${sales-order.qr-code.poll-batch-size:50}") int pollBatchSize) {
+        this.outboxService = outboxService;
+        this.soQrCodeService = soQrCodeService;
+        this.salesOrderQrRepository = salesOrderQrRepository;
+        this.pollBatchSize = pollBatchSize;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "qr-code-outbox"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onQrCodeRequested(QrCodeRequestedEvent event) {
+        submit(event.outboxEntryId());
+    }
+
+    @Scheduled(fixedDelayString = "${sales-order.qr-code.poll-interval-ms:10000}")
+    public void pollDueEntries() {
+        try {
+            outboxService.findDueEntryIds(pollBatchSize).forEach(this::submit);
+        } catch (Exception e) {
+            log.error("SO-QR pollDueEntries(): Failed to read the QR code outbox - {}", e.getMessage());
+        }
+    }
+
+    private void submit(Long entryId) {
+        if (!inFlight.add(entryId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    process(entryId);
+                } finally {
+                    inFlight.remove(entryId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(entryId);
+            log.debug("SO-QR submit(): Workers are busy, entry {} is left for the next poll", entryId);
+        }
+    }
+
+    private void process(Long entryId) {
+        Optional<QrCodeOutboxEntry> claimed;
+        try {
+            claimed = outboxService.claim(entryId);
+        } catch (Exception e) {
+            log.error("SO-QR process(): Failed to claim outbox entry {} - {}", entryId, e.getMessage());
+            return;
+        }
+        if (claimed.isEmpty()) {
+            return; // done, not due yet, or owned by another worker
+        }
+        QrCodeOutboxEntry entry = claimed.get();
+        try {
+            SalesOrderQRCode qrCode = salesOrderQrRepository.findById(entry.getQrCodeId())
+                    .orElseThrow(() -> new IllegalStateException("QR code " + entry.getQrCodeId() + " not found"));
+            soQrCodeService.uploadQrCodeImage(qrCode);
+            outboxService.markDone(entryId);
+            log.info("SO-QR process(): QR code for {} is ready", entry.getOrderReference());
+        } catch (Exception e) {
+            try {
+                outboxService.markAttemptFailed(entryId, e.getMessage());
+            } catch (Exception markException) {
+                // The lease expires and the entry is picked up again by the poll
+                log.error("SO-QR process(): Failed to record failed attempt for entry {} - {}", entryId, markException.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,120 @@
+package com.JK.SIMS.service.orderManagementService.salesOrderService.qrCodeOutbox;
+
+import com.JK.SIMS.models.salesOrder.qrcode.QrCodeStatus;
+import com.JK.SIMS.models.salesOrder.qrcode.SalesOrderQRCode;
+import com.JK.SIMS.models.salesOrder.qrcode.outbox.QrCodeOutboxEntry;
+import com.JK.SIMS.models.salesOrder.qrcode.outbox.QrCodeOutboxStatus;
+import com.JK.SIMS.repository.salesOrderQrRepo.QrCodeOutboxRepository;
+import com.JK.SIMS.repository.salesOrderQrRepo.SalesOrderQrRepository;
+import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Database side of the QR code outbox: every method is one short transaction,
+ * the S3 upload itself happens outside of them in QrCodeOutboxProcessor.
+ */
+@Service
+@Slf4j
+public class QrCodeOutboxService {
+
+    private final Clock clock;
+    private final QrCodeOutboxRepository outboxRepository;
+    private final SalesOrderQrRepository salesOrderQrRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long leaseMillis;
+
+    public QrCodeOutboxService(Clock clock,
+                               QrCodeOutboxRepository outboxRepository,
+                               SalesOrderQrRepository salesOrderQrRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${sales-order.qr-code.max-attempts:5}") int maxAttempts,
+                               @Value("${sales-order.qr-code.retry-backoff-ms:5000}") long retryBackoffMillis,
+                               @Value("${sales-order.qr-code.lease-ms:60000}") long leaseMillis) {
+        this.clock = clock;
+        this.outboxRepository = outboxRepository;
+        this.salesOrderQrRepository = salesOrderQrRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Records that the image of a saved QR code still has to be produced.
+     * Must run in the transaction that saves the SalesOrder, so both commit or roll back together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(SalesOrderQRCode qrCode, String orderReference) {
+        QrCodeOutboxEntry entry = outboxRepository.save(
+                new QrCodeOutboxEntry(qrCode.getId(), orderReference, GlobalServiceHelper.now(clock)));
+        eventPublisher.publishEvent(new QrCodeRequestedEvent(entry.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findDueEntryIds(int limit) {
+        return outboxRepository.findDueEntryIds(GlobalServiceHelper.now(clock), PageRequest.of(0, limit));
+    }
+
+    /**
+     * @return the entry if this caller now owns it until the lease expires, empty if someone else does or it is not due
+     */
+    @Transactional
+    public Optional<QrCodeOutboxEntry> claim(Long entryId) {
+        LocalDateTime now = GlobalServiceHelper.now(clock);
+        if (outboxRepository.claim(entryId, now, now.plusNanos(leaseMillis * 1_000_000)) == 0) {
+            return Optional.empty();
+        }
+        return outboxRepository.findById(entryId);
+    }
+
+    @Transactional
+    public void markDone(Long entryId) {
+        QrCodeOutboxEntry entry = getEntry(entryId);
+        entry.setStatus(QrCodeOutboxStatus.DONE);
+        entry.setLastError(null);
+        updateQrCodeStatus(entry.getQrCodeId(), QrCodeStatus.READY);
+    }
+
+    // Retries with exponential backoff until maxAttempts, then gives up on the entry
+    @Transactional
+    public void markAttemptFailed(Long entryId, String error) {
+        QrCodeOutboxEntry entry = getEntry(entryId);
+        entry.setAttempts(entry.getAttempts() + 1);
+        entry.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        if (entry.getAttempts() >= maxAttempts) {
+            entry.setStatus(QrCodeOutboxStatus.FAILED);
+            updateQrCodeStatus(entry.getQrCodeId(), QrCodeStatus.FAILED);
+            log.error("SO-QR markAttemptFailed(): Giving up on QR code for {} after {} attempts - {}",
+                    entry.getOrderReference(), entry.getAttempts(), error);
+            return;
+        }
+        long backoff = retryBackoffMillis * (1L << (entry.getAttempts() - 1));
+        entry.setStatus(QrCodeOutboxStatus.PENDING);
+        entry.setNextAttemptAt(GlobalServiceHelper.now(clock).plusNanos(backoff * 1_000_000));
+        log.warn("SO-QR markAttemptFailed(): Attempt {} for {} failed, retrying in {} ms - {}",
+                entry.getAttempts(), entry.getOrderReference(), backoff, error);
+    }
+
+    private void updateQrCodeStatus(Long qrCodeId, QrCodeStatus status) {
+        salesOrderQrRepository.findById(qrCodeId).ifPresent(qrCode -> qrCode.setStatus(status));
+    }
+
+    private QrCodeOutboxEntry getEntry(Long entryId) {
+        return outboxRepository.findById(entryId)
+                .orElseThrow(() -> new IllegalStateException("QR code outbox entry " + entryId + " not found"));
+    }
+}
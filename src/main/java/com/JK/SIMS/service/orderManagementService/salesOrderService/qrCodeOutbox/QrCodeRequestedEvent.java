@@ -0,0 +1,5 @@
+package com.JK.SIMS.service.orderManagementService.salesOrderService.qrCodeOutbox;
+
+// Published together with a new outbox entry, so the image is produced right after commit instead of on the next poll
+public record QrCodeRequestedEvent(Long outboxEntryId) {
+}
@@ -9,6 +9,8 @@ import com.JK.SIMS.models.PaginatedResponse;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.coyote.BadRequestException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ProductManagementService {
@@ -20,5 +22,6 @@ public interface ProductManagementService {
     PaginatedResponse<ProductManagementResponse> searchProduct(String text, String sortBy, String sortDirection, int page, int size);
     PaginatedResponse<ProductManagementResponse> filterProducts(String filter, String sortBy, String direction, int page, int size);
     void generatePMReport(HttpServletResponse response);
+    long writePMReport(OutputStream outputStream) throws IOException;
     void saveProduct(ProductsForPM product);
 }
@@ -0,0 +1,140 @@
+package com.JK.SIMS.service.productManagementService.bulkImport;
+
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.PM_models.dtos.BatchProductResponse;
+import com.JK.SIMS.models.PM_models.dtos.ProductManagementRequest;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.InventoryControlService;
+import com.JK.SIMS.service.productManagementService.utils.PMServiceHelper;
+import com.JK.SIMS.service.productManagementService.utils.ProductIdAllocator;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Imports many products at once:
+ * - the requests are validated in parallel, the valid ones get a block of PRD ids from one allocation;
+ * - products and their inventory rows are persisted chunk by chunk, each chunk in its own transaction and sent
+ *   in JDBC batches (hibernate.jdbc.batch_size) instead of one round trip per row;
+ * - when a chunk fails in the database, its rows are retried one by one, so only the failing rows are reported.
+ * The entity listeners (search index, dashboard totals, report versions) see every row as with a single insert.
+ */
+@Slf4j
+@Component
+public class ProductBulkImporter {
+
+    private final PMServiceHelper pmServiceHelper;
+    private final ProductIdAllocator productIdAllocator;
+    private final InventoryControlService icService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public ProductBulkImporter(PMServiceHelper pmServiceHelper, ProductIdAllocator productIdAllocator,
+                               InventoryControlService icService, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${product-import.chunk-size:500}") int chunkSize) {
+        this.pmServiceHelper = pmServiceHelper;
+        this.productIdAllocator = productIdAllocator;
+        this.icService = icService;
+        this.entityManager = entityManager;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    public BatchProductResponse importProducts(List<ProductManagementRequest> products) {
+        long start = System.currentTimeMillis();
+        String[] validationErrors = validate(products);
+
+        List<Integer> validIndexes = IntStream.range(0, products.size()).filter(i -> validationErrors[i] == null).boxed().toList();
+        List<String> successfulIds = new ArrayList<>(validIndexes.size());
+        List<BatchProductResponse.ProductError> errors = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            if (validationErrors[i] != null) {
+                errors.add(new BatchProductResponse.ProductError(i, products.get(i), validationErrors[i]));
+            }
+        }
+
+        if (!validIndexes.isEmpty()) {
+            long firstNumber = productIdAllocator.allocate(validIndexes.size());
+            for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+                List<ImportRow> chunk = new ArrayList<>();
+                for (int j = from; j < Math.min(from + chunkSize, validIndexes.size()); j++) {
+                    int index = validIndexes.get(j);
+                    chunk.add(new ImportRow(index, products.get(index), ProductIdAllocator.formatProductId(firstNumber + j)));
+                }
+                importChunk(chunk, successfulIds, errors);
+            }
+        }
+        errors.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+
+        BatchProductResponse response = BatchProductResponse.builder()
+                .totalRequested(products.size())
+                .successCount(successfulIds.size())
+                .failureCount(errors.size())
+                .successfulProductIds(successfulIds)
+                .errors(errors)
+                .build();
+        log.info("ProductImport: Imported {}/{} products in {} ms",
+                response.getSuccessCount(), response.getTotalRequested(), System.currentTimeMillis() - start);
+        return response;
+    }
+
+    // The validation error of every request, null when valid
+    private String[] validate(List<ProductManagementRequest> products) {
+        String[] validationErrors = new String[products.size()];
+        IntStream.range(0, products.size()).parallel().forEach(i -> {
+            try {
+                pmServiceHelper.validateProduct(products.get(i));
+            } catch (Exception e) {
+                validationErrors[i] = e.getMessage();
+            }
+        });
+        return validationErrors;
+    }
+
+    private void importChunk(List<ImportRow> chunk, List<String> successfulIds, List<BatchProductResponse.ProductError> errors) {
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                chunk.forEach(this::persist);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            chunk.forEach(row -> successfulIds.add(row.productId()));
+        } catch (Exception chunkFailure) {
+            log.warn("ProductImport: Chunk of {} products failed, retrying them one by one - {}",
+                    chunk.size(), chunkFailure.getMessage());
+            for (ImportRow row : chunk) {
+                try {
+                    chunkTransaction.executeWithoutResult(status -> persist(row));
+                    successfulIds.add(row.productId());
+                } catch (Exception e) {
+                    log.warn("ProductImport: Failed to add product at index {} - {}", row.index(), e.getMessage());
+                    errors.add(new BatchProductResponse.ProductError(row.index(), row.request(), e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void persist(ImportRow row) {
+        ProductsForPM product = pmServiceHelper.createProductEntity(row.request());
+        product.setProductID(row.productId());
+        entityManager.persist(product);
+        // Add to inventory if status is not PLANNING
+        if (!row.request().getStatus().equals(ProductStatus.PLANNING)) {
+            entityManager.persist(icService.newInventoryData(product, false));
+        }
+    }
+
+    private record ImportRow(int index, ProductManagementRequest request, String productId) {
+    }
+}
@@ -18,16 +18,19 @@ import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
 import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.inventoryQueryService.InventoryQueryService;
 import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.InventoryControlService;
 import com.JK.SIMS.service.generalUtils.ExcelReporterHelper;
+import com.JK.SIMS.service.generalUtils.StreamingExcelWriter;
 import com.JK.SIMS.service.productManagementService.ProductManagementService;
+import com.JK.SIMS.service.productManagementService.bulkImport.ProductBulkImporter;
+import com.JK.SIMS.service.productManagementService.excelReporter.ExcelReporterForPM;
 import com.JK.SIMS.service.productManagementService.utils.PMServiceHelper;
+import com.JK.SIMS.service.productManagementService.utils.ProductIdAllocator;
 import com.JK.SIMS.service.productManagementService.utils.queryService.ProductQueryService;
 import com.JK.SIMS.service.productManagementService.utils.searchService.ProductSearchService;
+import com.JK.SIMS.service.reportAnalytics.financialRollup.FinancialRollupService;
 import com.JK.SIMS.service.salesOrder.salesOrderQueryService.SalesOrderQueryService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
@@ -35,13 +38,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 import static com.JK.SIMS.service.generalUtils.GlobalServiceHelper.amongInvalidStatus;
-import static com.JK.SIMS.service.productManagementService.excelReporter.ExcelReporterForPM.createHeaderRow;
-import static com.JK.SIMS.service.productManagementService.excelReporter.ExcelReporterForPM.populateDataRows;
 
 @Service
 @Slf4j
@@ -53,6 +55,10 @@ public class ProductManagementServiceImpl implements ProductManagementService {
 
     // ========== Components ==========
     private final SecurityUtils securityUtils;
+    private final FinancialRollupService financialRollupService;
+    private final StreamingExcelWriter streamingExcelWriter;
+    private final ProductIdAllocator productIdAllocator;
+    private final ProductBulkImporter productBulkImporter;
 
     // ========== Services ==========
     private final InventoryQueryService inventoryQueryService;
@@ -105,54 +111,15 @@ public class ProductManagementServiceImpl implements ProductManagementService {
     }
 
     /**
-     * Adds multiple products in a single transaction
+     * Adds multiple products; chunks are committed separately, in JDBC batches (see ProductBulkImporter)
      * Continues processing even if some products fail (partial success)
      */
     @Override
-    @Transactional
     public BatchProductResponse addProductsBatch(List<ProductManagementRequest> products) {
         log.info("PM (addProductsBatch): Processing {} products", products.size());
-
-        List<String> successfulIds = new ArrayList<>();
-        List<BatchProductResponse.ProductError> errors = new ArrayList<>();
-
-        for (int i = 0; i < products.size(); i++) {
-            ProductManagementRequest productRequest = products.get(i);
-            try {
-                if (pmServiceHelper.validateProduct(productRequest)) {
-                    ProductsForPM product = pmServiceHelper.createProductEntity(productRequest);
-                    product.setProductID(generateProductId());
-                    ProductsForPM savedProduct = pmRepository.save(product);
-
-                    // Add to inventory if needed
-                    if (!productRequest.getStatus().equals(ProductStatus.PLANNING)) {
-                        icService.addProduct(savedProduct, false);
-                    }
-
-                    successfulIds.add(savedProduct.getProductID());
-                    log.debug("PM (addProductsBatch): Product {} added successfully", savedProduct.getProductID());
-                }
-            } catch (Exception e) {
-                log.warn("PM (addProductsBatch): Failed to add product at index {} - {}", i, e.getMessage());
-                errors.add(new BatchProductResponse.ProductError(
-                        i,
-                        productRequest,
-                        e.getMessage()
-                ));
-            }
-        }
-
-        BatchProductResponse response = BatchProductResponse.builder()
-                .totalRequested(products.size())
-                .successCount(successfulIds.size())
-                .failureCount(errors.size())
-                .successfulProductIds(successfulIds)
-                .errors(errors)
-                .build();
-
+        BatchProductResponse response = productBulkImporter.importProducts(products);
         log.info("PM (addProductsBatch): Completed - {}/{} successful",
                 response.getSuccessCount(), response.getTotalRequested());
-
         return response;
     }
 
@@ -250,9 +217,15 @@ public class ProductManagementServiceImpl implements ProductManagementService {
             currentProduct.setName(newProductRequest.getName());
         }
         if (newProductRequest.getCategory() != null) {
+            if (newProductRequest.getCategory() != currentProduct.getCategory()) {
+                financialRollupService.productChanged(currentProduct.getProductID());
+            }
             currentProduct.setCategory(newProductRequest.getCategory());
         }
         if (newProductRequest.getPrice() != null) {
+            if (currentProduct.getPrice() == null || newProductRequest.getPrice().compareTo(currentProduct.getPrice()) != 0) {
+                financialRollupService.productChanged(currentProduct.getProductID()); // Past revenue is valued at the current price
+            }
             currentProduct.setPrice(newProductRequest.getPrice());
         }
         if (newProductRequest.getLocation() != null) {
@@ -319,21 +292,24 @@ public class ProductManagementServiceImpl implements ProductManagementService {
     /**
      * Generates an Excel report containing product management data.
      * Creates a workbook with product details including ID, category, name,
-     * location, price, and status.
+     * location, price, and status. The products are streamed from the database
+     * straight into the Excel rows, which are written to the response as they are generated.
      *
      * @param response HttpServletResponse to write the Excel file to
      */
     @Override
+    @Transactional(readOnly = true)
     public void generatePMReport(HttpServletResponse response) {
-        XSSFWorkbook workbook = new XSSFWorkbook();
-        XSSFSheet sheet = workbook.createSheet("Product Management");
-        createHeaderRow(sheet);
-
-        // Get All Products and populate data rows
-        List<ProductsForPM> productList = productQueryService.getAllProducts();
-        populateDataRows(sheet, productList);
-        log.info("PM (GeneratePmReport): Retrieved {} products from database for report generation.)", productList.size());
-        ExcelReporterHelper.writeWorkbookToResponse(response, workbook);
+        ExcelReporterHelper.writeToResponse(response, this::writePMReport);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long writePMReport(OutputStream outputStream) throws IOException {
+        long rowCount = streamingExcelWriter.write(outputStream, "Product Management",
+                ExcelReporterForPM::createHeaderRow, productQueryService.streamAllProducts(), ExcelReporterForPM::populateDataRow);
+        log.info("PM (GeneratePmReport): Wrote {} products from database to the report.", rowCount);
+        return rowCount;
     }
 
     @Override
@@ -351,21 +327,7 @@ public class ProductManagementServiceImpl implements ProductManagementService {
         }
     }
 
-    @Transactional(readOnly = true)
     public String generateProductId() {
-        Optional<String> lastIdOpt = pmRepository.getLastId();
-        if (lastIdOpt.isPresent()) {
-            String lastId = lastIdOpt.get();
-            int lastNumber = Integer.parseInt(lastId.substring(3));
-            return String.format("PRD%03d", lastNumber + 1);
-        }
-        return "PRD001";
+        return ProductIdAllocator.formatProductId(productIdAllocator.allocate(1));
     }
 }
-
-
-
-
-
-
-
@@ -0,0 +1,81 @@
+package com.JK.SIMS.service.productManagementService.utils;
+
+import com.JK.SIMS.config.idGeneration.IdGenerators;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Hands out the numbers of the PRD product ids in blocks, from the "products" row of the id_generator table,
+ * instead of reading the last id (a sort over the whole products table) for every new product.
+ * The row is seeded from the last product id the first time; each allocation is a short transaction of its own,
+ * so the row is not locked for the duration of an import. Numbers of rows that fail later are not reused.
+ */
+@Slf4j
+@Component
+public class ProductIdAllocator {
+
+    static final String SEGMENT = "products";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate allocationTransaction;
+    private final PM_repository pmRepository;
+
+    public ProductIdAllocator(DataSource dataSource, PlatformTransactionManager transactionManager,
+                              PM_repository pmRepository) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.allocationTransaction = new TransactionTemplate(transactionManager);
+        this.allocationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pmRepository = pmRepository;
+    }
+
+    public static String formatProductId(long number) {
+        return String.format("PRD%03d", number);
+    }
+
+    /**
+     * Reserves count consecutive product numbers.
+     *
+     * @return the first reserved number
+     */
+    public long allocate(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("At least one product id must be allocated");
+        }
+        Long first = allocationTransaction.execute(status -> {
+            List<Long> current = jdbcTemplate.queryForList("SELECT " + IdGenerators.VALUE_COLUMN + " FROM "
+                    + IdGenerators.TABLE + " WHERE " + IdGenerators.SEGMENT_COLUMN + " = ? FOR UPDATE", Long.class, SEGMENT);
+            if (current.isEmpty()) {
+                return null;
+            }
+            jdbcTemplate.update("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ? WHERE "
+                    + IdGenerators.SEGMENT_COLUMN + " = ?", current.get(0) + count, SEGMENT);
+            return current.get(0);
+        });
+        if (first != null) {
+            return first;
+        }
+        seed();
+        return allocate(count);
+    }
+
+    private void seed() {
+        long next = pmRepository.getLastId().map(lastId -> Long.parseLong(lastId.substring(3)) + 1).orElse(1L);
+        try {
+            allocationTransaction.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE
+                    + " (" + IdGenerators.SEGMENT_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)", SEGMENT, next));
+            log.info("ProductIdAllocator: Product ids continue from {}", formatProductId(next));
+        } catch (DataIntegrityViolationException e) {
+            // Seeded by another request or node in the meantime
+            log.debug("ProductIdAllocator: Product id row already seeded");
+        }
+    }
+}
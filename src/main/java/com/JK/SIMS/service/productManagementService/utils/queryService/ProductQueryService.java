@@ -20,9 +20,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Shared query service for product-related read operations
@@ -47,11 +53,34 @@ public class ProductQueryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
     }
 
+    /**
+     * Find several products in a single query - throws exception if any of them is missing
+     * Used by: SalesOrderService
+     * @return products keyed by productID
+     */
+    @Transactional(readOnly = true)
+    public Map<String, ProductsForPM> findAllByIds(Collection<String> productIds) {
+        Map<String, ProductsForPM> productsById = pmRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductsForPM::getProductID, Function.identity()));
+        for (String productId : productIds) {
+            if (!productsById.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product not found with ID: " + productId);
+            }
+        }
+        return productsById;
+    }
+
     @Transactional(readOnly = true)
     public List<ProductsForPM> getAllProducts() {
         return pmRepository.findAll(Sort.by("productID").ascending());
     }
 
+    // Reads the products through a cursor; the caller's transaction must stay open until the stream is closed
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Stream<ProductsForPM> streamAllProducts() {
+        return pmRepository.streamAllForReport();
+    }
+
     @Transactional(readOnly = true)
     public Page<ProductsForPM> getAllProducts(String sortBy, String sortDirection, int page, int size) {
         try {
@@ -8,6 +8,8 @@ import com.JK.SIMS.models.PM_models.ProductStatus;
 import com.JK.SIMS.models.PM_models.ProductsForPM;
 import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
 import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.textIndex.IndexedSearchHydrator;
+import com.JK.SIMS.service.generalUtils.textIndex.catalogIndex.CatalogSearchIndex;
 import com.JK.SIMS.service.productManagementService.utils.queryService.ProductQueryService;
 import com.JK.SIMS.service.productManagementService.utils.searchService.specification.ProductSpecification;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +22,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @Slf4j
@@ -27,6 +31,8 @@ import java.math.BigDecimal;
 public class ProductSearchService {
     private final ProductQueryService productQueryService;
     private final GlobalServiceHelper globalServiceHelper;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final IndexedSearchHydrator indexedSearchHydrator;
 
     private final PM_repository pmRepository;
 
@@ -35,7 +41,13 @@ public class ProductSearchService {
         try {
             if (text != null && !text.trim().isEmpty()) {
                 Pageable pageable = globalServiceHelper.preparePageable(page, size, sortBy, sortDirection);
-                return pmRepository.searchProducts(text.trim().toLowerCase(), pageable);
+                String query = text.trim().toLowerCase();
+                Optional<List<String>> productIds = catalogSearchIndex.searchProductIds(query);
+                if (productIds.isPresent()) {
+                    return indexedSearchHydrator.hydrate(productIds.get(), pmRepository, "productID",
+                            ProductsForPM::getProductID, null, pageable);
+                }
+                return pmRepository.searchProducts(query, IndexedSearchHydrator.withoutRelevanceSort(pageable));
             }
             log.info("SearchService-searchProduct(): No search text provided. Retrieving first page with default size.");
             return productQueryService.getAllProducts(sortBy, sortDirection, page, size);
@@ -79,9 +91,16 @@ public class ProductSearchService {
                 };
             } else {
                 // General filter across multiple fields
+                Optional<List<String>> productIds = catalogSearchIndex.searchProductIds(filter.trim(),
+                        CatalogSearchIndex.PRODUCT_LOCATION, CatalogSearchIndex.PRODUCT_CATEGORY, CatalogSearchIndex.PRODUCT_STATUS);
+                if (productIds.isPresent()) {
+                    return indexedSearchHydrator.hydrate(productIds.get(), pmRepository, "productID",
+                            ProductsForPM::getProductID, null, pageable);
+                }
                 spec = ProductSpecification.generalFilter(filter.trim());
             }
 
+            pageable = IndexedSearchHydrator.withoutRelevanceSort(pageable);
             return spec != null ? pmRepository.findAll(spec, pageable) : pmRepository.findAll(pageable);
 
         } catch (IllegalArgumentException iae) {
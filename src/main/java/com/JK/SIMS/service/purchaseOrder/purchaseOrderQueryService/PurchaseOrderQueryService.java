@@ -10,6 +10,8 @@ import com.JK.SIMS.models.purchaseOrder.dtos.views.DetailsPurchaseOrderView;
 import com.JK.SIMS.models.purchaseOrder.dtos.views.SummaryPurchaseOrderView;
 import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
 import com.JK.SIMS.service.generalUtils.PurchaseOrderServiceHelper;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetPaginator;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -21,6 +23,8 @@ import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
+
 /**
  * Centralized Query Service for Purchase Order read operations
  * Purpose:
@@ -38,6 +42,12 @@ public class PurchaseOrderQueryService {
 
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final PurchaseOrderServiceHelper poServiceHelper;
+    private final KeysetPaginator keysetPaginator;
+
+    // Status is an ENUM column and cannot be paged with a cursor
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("PONumber", "product.name", "product.productID",
+            "supplier.name", "orderedQuantity", "receivedQuantity", "orderDate", "expectedArrivalDate",
+            "actualArrivalDate", "lastUpdated", "orderedBy");
 
     /**
      * Find purchase order by ID
@@ -130,6 +140,25 @@ public class PurchaseOrderQueryService {
         }
     }
 
+    // Keyset mode of getAllPurchaseOrders: continues after the cursor, no count query
+    @Transactional(readOnly = true)
+    public PaginatedResponse<SummaryPurchaseOrderView> getPurchaseOrdersAfter(String cursor, String sortBy, String sortDirection, int size) {
+        try {
+            KeysetSlice<PurchaseOrder> slice =
+                    keysetPaginator.findSlice(purchaseOrderRepository, null, "id", KEYSET_SORT_FIELDS, sortBy, sortDirection, cursor, size);
+            log.info("OM-PO (getPurchaseOrdersAfter): Returning {} keyset data", slice.getContent().size());
+            return slice.toResponse(poServiceHelper::convertToSummaryView);
+        } catch (ValidationException e) {
+            throw e;
+        } catch (DataAccessException da) {
+            log.error("OM-PO (getPurchaseOrdersAfter): Database error occurred: {}", da.getMessage(), da);
+            throw new DatabaseException("Database error", da);
+        } catch (Exception e) {
+            log.error("OM-PO (getPurchaseOrdersAfter): Unexpected error occurred: {}", e.getMessage(), e);
+            throw new ServiceException("Internal Service Error occurred:", e);
+        }
+    }
+
     @Transactional(readOnly = true)
     public DetailsPurchaseOrderView getDetailsForPurchaseOrder(Long orderId) throws ResourceNotFoundException {
         try {
@@ -35,18 +35,24 @@ public abstract class AbstractPoFilterStrategy implements PoFilterStrategy {
      */
     protected @Nullable abstract Specification<PurchaseOrder> baseSpecType();
 
+    @Override
+    public Specification<PurchaseOrder> buildSpecification(ProductCategories category, PurchaseOrderStatus status) {
+        Specification<PurchaseOrder> spec = Specification.where(baseSpecType());
+
+        if (status != null) {
+            spec = spec.and(PurchaseOrderSpecification.hasStatus(status));
+        }
+        if (category != null) {
+            spec = spec.and(PurchaseOrderSpecification.hasProductCategory(category));
+        }
+        return spec;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PaginatedResponse<SummaryPurchaseOrderView> filterPurchaseOrders(ProductCategories category, PurchaseOrderStatus status, Pageable pageable) {
         try {
-            Specification<PurchaseOrder> spec = Specification.where(baseSpecType());
-
-            if (status != null) {
-                spec = spec.and(PurchaseOrderSpecification.hasStatus(status));
-            }
-            if (category != null) {
-                spec = spec.and(PurchaseOrderSpecification.hasProductCategory(category));
-            }
+            Specification<PurchaseOrder> spec = buildSpecification(category, status);
 
             Page<PurchaseOrder> filterResult = purchaseOrderRepository.findAll(spec, pageable);
             return poServiceHelper.transformToPaginatedSummaryView(filterResult);
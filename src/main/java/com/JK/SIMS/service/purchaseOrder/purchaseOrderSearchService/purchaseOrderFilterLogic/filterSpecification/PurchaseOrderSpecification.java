@@ -7,14 +7,20 @@ import com.JK.SIMS.models.PM_models.ProductsForPM;
 import jakarta.persistence.criteria.Join;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
 public class PurchaseOrderSpecification {
 
+    public static final Set<PurchaseOrderStatus> PENDING_STATUSES = EnumSet.of(
+            PurchaseOrderStatus.DELIVERY_IN_PROCESS,
+            PurchaseOrderStatus.PARTIALLY_RECEIVED,
+            PurchaseOrderStatus.AWAITING_APPROVAL
+    );
+
     public static Specification<PurchaseOrder> isPending() {
-        return (root, query, cb) -> root.get("status").in(
-                PurchaseOrderStatus.DELIVERY_IN_PROCESS,
-                PurchaseOrderStatus.PARTIALLY_RECEIVED,
-                PurchaseOrderStatus.AWAITING_APPROVAL
-        );
+        return (root, query, cb) -> root.get("status").in(PENDING_STATUSES);
     }
 
     public static Specification<PurchaseOrder> hasStatus(PurchaseOrderStatus status){
@@ -37,4 +43,15 @@ public class PurchaseOrderSpecification {
             //return cb.equal(root.get("product").get("category"), category);
         };
     }
+
+    // Keyset predicate for "orderDate DESC, id DESC": rows older than orderDate, or at orderDate with id < idBound
+    public static Specification<PurchaseOrder> orderedBefore(LocalDate orderDate, long idBound) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.get("orderDate"), orderDate),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("orderDate"), orderDate),
+                        criteriaBuilder.lessThan(root.get("id"), idBound)
+                )
+        );
+    }
 }
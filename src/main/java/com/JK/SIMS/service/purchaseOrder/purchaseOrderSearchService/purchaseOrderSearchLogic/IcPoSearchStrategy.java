@@ -4,6 +4,9 @@ import com.JK.SIMS.exception.DatabaseException;
 import com.JK.SIMS.exception.ServiceException;
 import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
 import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.service.generalUtils.textIndex.IndexedSearchHydrator;
+import com.JK.SIMS.service.generalUtils.textIndex.orderIndex.OrderSearchIndex;
+import com.JK.SIMS.service.purchaseOrder.purchaseOrderSearchService.purchaseOrderFilterLogic.filterSpecification.PurchaseOrderSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -14,11 +17,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+
 @Component("icPoSearchStrategy") // Must match field name
 @Slf4j
 @RequiredArgsConstructor
 public class IcPoSearchStrategy implements PoSearchStrategy {
     private final PurchaseOrderRepository purchaseOrderRepository;
+    private final OrderSearchIndex orderSearchIndex;
+    private final IndexedSearchHydrator indexedSearchHydrator;
 
     @Override
     @Transactional(readOnly = true)
@@ -29,7 +37,14 @@ public class IcPoSearchStrategy implements PoSearchStrategy {
                     : Sort.by(sortBy).ascending();
             log.info("IcPo (searchProduct): Search text provided. Searching for orders with text '{}'", text);
             Pageable pageable = PageRequest.of(page, size, sort);
-            return purchaseOrderRepository.searchInPendingOrders(text.trim().toLowerCase(), pageable);
+            String query = text.trim().toLowerCase();
+            Optional<List<Long>> ids = orderSearchIndex.searchPurchaseOrderIds(query, PurchaseOrderSpecification.PENDING_STATUSES);
+            if (ids.isPresent()) {
+                // The status is checked again on the rows, in case the index has not caught up with a change yet
+                return indexedSearchHydrator.hydrate(ids.get(), purchaseOrderRepository, "id", PurchaseOrder::getId,
+                        PurchaseOrderSpecification.isPending(), pageable);
+            }
+            return purchaseOrderRepository.searchInPendingOrders(query, IndexedSearchHydrator.withoutRelevanceSort(pageable));
         } catch (DataAccessException dae) {
             log.error("IcPo (searchProduct): Database error while searching products", dae);
             throw new DatabaseException("IcPo (searchProduct): Error occurred while searching products");
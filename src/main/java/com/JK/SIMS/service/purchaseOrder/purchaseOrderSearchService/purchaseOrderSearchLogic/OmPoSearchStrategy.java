@@ -4,6 +4,8 @@ import com.JK.SIMS.exception.DatabaseException;
 import com.JK.SIMS.exception.ServiceException;
 import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
 import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.service.generalUtils.textIndex.IndexedSearchHydrator;
+import com.JK.SIMS.service.generalUtils.textIndex.orderIndex.OrderSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -14,11 +16,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+
 @Component("omPoSearchStrategy") // Must match field name
 @Slf4j
 @RequiredArgsConstructor
 public class OmPoSearchStrategy implements PoSearchStrategy {
     private final PurchaseOrderRepository purchaseOrderRepository;
+    private final OrderSearchIndex orderSearchIndex;
+    private final IndexedSearchHydrator indexedSearchHydrator;
 
     @Override
     @Transactional(readOnly = true)
@@ -29,7 +36,12 @@ public class OmPoSearchStrategy implements PoSearchStrategy {
                     : Sort.by(sortBy).ascending();
             Pageable pageable = PageRequest.of(page, size, sort);
             log.info("OmPo searchInPos(): search text: {} is provided", text);
-            return purchaseOrderRepository.searchOrders(text.trim().toLowerCase(), pageable);
+            String query = text.trim().toLowerCase();
+            Optional<List<Long>> ids = orderSearchIndex.searchPurchaseOrderIds(query, null);
+            if (ids.isPresent()) {
+                return indexedSearchHydrator.hydrate(ids.get(), purchaseOrderRepository, "id", PurchaseOrder::getId, null, pageable);
+            }
+            return purchaseOrderRepository.searchOrders(query, IndexedSearchHydrator.withoutRelevanceSort(pageable));
         } catch (DataAccessException dae) {
             log.error("OmPo (searchProduct): Database error while searching products", dae);
             throw new DatabaseException("Error occurred while searching products");
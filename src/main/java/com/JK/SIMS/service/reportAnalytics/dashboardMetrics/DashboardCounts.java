@@ -0,0 +1,60 @@
+package com.JK.SIMS.service.reportAnalytics.dashboardMetrics;
+
+import java.math.BigDecimal;
+
+/**
+ * Values shown by the main dashboard and the inventory control header.
+ * Used both for the totals and for the share of a single product, order or damage report in them.
+ */
+public record DashboardCounts(
+        long activeProducts,
+        long inactiveProducts,
+        long inventoryProducts,
+        long lowStockProducts,
+        BigDecimal inventoryStockValue,
+        long inProgressSalesOrders,
+        long outgoingSalesOrders,
+        long validPurchaseOrders,
+        long damagedProducts
+) {
+    public static final DashboardCounts ZERO = new DashboardCounts(0, 0, 0, 0, BigDecimal.ZERO, 0, 0, 0, 0);
+
+    public DashboardCounts plus(DashboardCounts other) {
+        return new DashboardCounts(
+                activeProducts + other.activeProducts,
+                inactiveProducts + other.inactiveProducts,
+                inventoryProducts + other.inventoryProducts,
+                lowStockProducts + other.lowStockProducts,
+                inventoryStockValue.add(other.inventoryStockValue),
+                inProgressSalesOrders + other.inProgressSalesOrders,
+                outgoingSalesOrders + other.outgoingSalesOrders,
+                validPurchaseOrders + other.validPurchaseOrders,
+                damagedProducts + other.damagedProducts);
+    }
+
+    public DashboardCounts minus(DashboardCounts other) {
+        return new DashboardCounts(
+                activeProducts - other.activeProducts,
+                inactiveProducts - other.inactiveProducts,
+                inventoryProducts - other.inventoryProducts,
+                lowStockProducts - other.lowStockProducts,
+                inventoryStockValue.subtract(other.inventoryStockValue),
+                inProgressSalesOrders - other.inProgressSalesOrders,
+                outgoingSalesOrders - other.outgoingSalesOrders,
+                validPurchaseOrders - other.validPurchaseOrders,
+                damagedProducts - other.damagedProducts);
+    }
+
+    // BigDecimal.equals would also compare the scale
+    public boolean sameAs(DashboardCounts other) {
+        return activeProducts == other.activeProducts
+                && inactiveProducts == other.inactiveProducts
+                && inventoryProducts == other.inventoryProducts
+                && lowStockProducts == other.lowStockProducts
+                && inventoryStockValue.compareTo(other.inventoryStockValue) == 0
+                && inProgressSalesOrders == other.inProgressSalesOrders
+                && outgoingSalesOrders == other.outgoingSalesOrders
+                && validPurchaseOrders == other.validPurchaseOrders
+                && damagedProducts == other.damagedProducts;
+    }
+}
@@ -0,0 +1,46 @@
+package com.JK.SIMS.service.reportAnalytics.dashboardMetrics;
+
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.damage_loss.DamageLoss;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener of the entities counted by the dashboard, marking the changed keys for the DashboardMetricsSnapshot.
+ * Only ids are read here; the snapshot re-reads the rows after the commit.
+ * Without a snapshot bean (e.g. JPA test slices) it does nothing.
+ */
+public class DashboardMetricsListener {
+
+    private final ObjectProvider<DashboardMetricsSnapshot> dashboardMetricsSnapshot;
+
+    public DashboardMetricsListener(ObjectProvider<DashboardMetricsSnapshot> dashboardMetricsSnapshot) {
+        this.dashboardMetricsSnapshot = dashboardMetricsSnapshot;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        DashboardMetricsSnapshot snapshot = dashboardMetricsSnapshot.getIfAvailable();
+        if (snapshot == null) {
+            return;
+        }
+        if (entity instanceof ProductsForPM product) {
+            snapshot.productChanged(product.getProductID());
+        } else if (entity instanceof InventoryControlData inventory && inventory.getPmProduct() != null) {
+            snapshot.inventoryChanged(inventory.getPmProduct().getProductID());
+        } else if (entity instanceof SalesOrder salesOrder) {
+            snapshot.salesOrderChanged(salesOrder.getId());
+        } else if (entity instanceof PurchaseOrder purchaseOrder) {
+            snapshot.purchaseOrderChanged(purchaseOrder.getId());
+        } else if (entity instanceof DamageLoss damageLoss) {
+            snapshot.damageReportChanged(damageLoss.getId());
+        }
+    }
+}
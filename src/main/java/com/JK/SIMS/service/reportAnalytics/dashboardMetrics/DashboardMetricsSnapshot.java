@@ -0,0 +1,388 @@
+package com.JK.SIMS.service.reportAnalytics.dashboardMetrics;
+
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.dtos.ReportProductMetrics;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import com.JK.SIMS.models.inventoryData.dtos.InventoryMetrics;
+import com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.DamageQuantityRow;
+import com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.ProductStockRow;
+import com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.PurchaseOrderStatusRow;
+import com.JK.SIMS.models.reportAnalyticsMetrics.dashboard.SalesOrderStatusRow;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.repository.damageLossRepo.DamageLossRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.service.purchaseOrder.purchaseOrderSearchService.purchaseOrderFilterLogic.filterSpecification.PurchaseOrderSpecification;
+import com.JK.SIMS.service.salesOrder.salesOrderSearchService.salesOrderFilterLogic.filterSpecification.SalesOrderSpecification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory totals of the main dashboard and the inventory control header, so both are read without a query.
+ * - Every product (with its inventory rows), unfinished sales order, pending purchase order and damage report
+ *   keeps its share of the totals. A change replaces that share: the old one is subtracted, the new one added.
+ * - DashboardMetricsListener and the stock statements that bypass it mark the changed keys once their
+ *   transaction commits; the marked rows are re-read in one query per type every refresh-interval-ms.
+ * - Every reconcile-interval-ms the totals are compared with the aggregate queries they replace. On a mismatch
+ *   (e.g. a write from another node, or a direct database change) the whole snapshot is rebuilt.
+ * - Callers fall back to the aggregate queries until the first build is done.
+ */
+@Component
+@Slf4j
+public class DashboardMetricsSnapshot {
+
+    private static final int REFRESH_BATCH_SIZE = 500;
+    // Sales orders in these statuses have no share in any total
+    private static final Set<SalesOrderStatus> FINISHED_SALES_ORDER_STATUSES =
+            EnumSet.of(SalesOrderStatus.DELIVERED, SalesOrderStatus.CANCELLED);
+
+    private final PM_repository pmRepository;
+    private final IC_repository icRepository;
+    private final SalesOrderRepository salesOrderRepository;
+    private final PurchaseOrderRepository purchaseOrderRepository;
+    private final DamageLossRepository damageLossRepository;
+    private final boolean enabled;
+    private final Counter driftCounter;
+
+    private final Set<String> changedProducts = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedSalesOrders = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedPurchaseOrders = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> changedDamageReports = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock updateLock = new ReentrantLock(); // Serializes refreshes, rebuilds and reconciles
+
+    // Shares of the totals; only read and written under updateLock
+    private Map<String, DashboardCounts> products = new HashMap<>();
+    private Map<Long, DashboardCounts> salesOrders = new HashMap<>();
+    private Map<Long, DashboardCounts> purchaseOrders = new HashMap<>();
+    private Map<Integer, DashboardCounts> damageReports = new HashMap<>();
+    private volatile DashboardCounts totals = DashboardCounts.ZERO;
+    private volatile boolean ready = false;
+
+    public DashboardMetricsSnapshot(PM_repository pmRepository,
+                                    IC_repository icRepository,
+                                    SalesOrderRepository salesOrderRepository,
+                                    PurchaseOrderRepository purchaseOrderRepository,
+                                    DamageLossRepository damageLossRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${dashboard-metrics.enabled:true}") boolean enabled) {
+        this.pmRepository = pmRepository;
+        this.icRepository = icRepository;
+        this.salesOrderRepository = salesOrderRepository;
+        this.purchaseOrderRepository = purchaseOrderRepository;
+        this.damageLossRepository = damageLossRepository;
+        this.enabled = enabled;
+        this.driftCounter = Counter.builder("sims.dashboard.metrics.drift")
+                .description("Reconciles that found the dashboard snapshot different from the aggregate queries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the current totals, or empty when the snapshot is not built and the aggregates have to be queried
+     */
+    public Optional<DashboardCounts> current() {
+        return enabled && ready ? Optional.of(totals) : Optional.empty();
+    }
+
+    public void productChanged(@Nullable String productId) {
+        markAfterCommit(changedProducts, productId);
+    }
+
+    // Inventory rows are part of their product's share
+    public void inventoryChanged(@Nullable String productId) {
+        markAfterCommit(changedProducts, productId);
+    }
+
+    public void salesOrderChanged(@Nullable Long salesOrderId) {
+        markAfterCommit(changedSalesOrders, salesOrderId);
+    }
+
+    public void purchaseOrderChanged(@Nullable Long purchaseOrderId) {
+        markAfterCommit(changedPurchaseOrders, purchaseOrderId);
+    }
+
+    public void damageReportChanged(@Nullable Integer damageLossId) {
+        markAfterCommit(changedDamageReports, damageLossId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard-metrics.refresh-interval-ms:1000}")
+    public void scheduledRefresh() {
+        if (ready && hasChanges()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Compares the totals with the aggregate queries and rebuilds the snapshot when they differ.
+     * Pending changes are applied first, so only changes the snapshot was never told about show up as drift.
+     * A change committed between the refresh and the queries also makes them differ: it is applied by a second
+     * refresh, and only a difference that is still there afterwards counts as drift.
+     */
+    @Scheduled(fixedDelayString = "${dashboard-metrics.reconcile-interval-ms:600000}",
+            initialDelayString = "${dashboard-metrics.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        if (!enabled || !ready) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            refresh();
+            if (totals.sameAs(queryAggregates())) {
+                return;
+            }
+            refresh();
+            DashboardCounts expected = queryAggregates();
+            DashboardCounts current = totals;
+            if (!current.sameAs(expected)) {
+                driftCounter.increment();
+                log.warn("DashboardMetrics: Snapshot drifted from the aggregates, rebuilding. Snapshot: {}, aggregates: {}",
+                        current, expected);
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("DashboardMetrics: Reconcile failed: {}", e.getMessage(), e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the shares of all rows and swaps in the new totals. Keys changed while the tables are
+     * being read stay marked and are re-read by the next refresh.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            // Marks older than this read are covered by it
+            changedProducts.clear();
+            changedSalesOrders.clear();
+            changedPurchaseOrders.clear();
+            changedDamageReports.clear();
+
+            Map<String, DashboardCounts> newProducts = productShares(pmRepository.findAllStockRows());
+            Map<Long, DashboardCounts> newSalesOrders = shares(
+                    salesOrderRepository.findStatusRowsExcluding(FINISHED_SALES_ORDER_STATUSES),
+                    SalesOrderStatusRow::getId, DashboardMetricsSnapshot::salesOrderShare);
+            Map<Long, DashboardCounts> newPurchaseOrders = shares(
+                    purchaseOrderRepository.findStatusRowsByStatusIn(PurchaseOrderSpecification.PENDING_STATUSES),
+                    PurchaseOrderStatusRow::getId, DashboardMetricsSnapshot::purchaseOrderShare);
+            Map<Integer, DashboardCounts> newDamageReports = shares(damageLossRepository.findAllQuantityRows(),
+                    DamageQuantityRow::getId, DashboardMetricsSnapshot::damageShare);
+
+            products = newProducts;
+            salesOrders = newSalesOrders;
+            purchaseOrders = newPurchaseOrders;
+            damageReports = newDamageReports;
+            totals = sum(products).plus(sum(salesOrders)).plus(sum(purchaseOrders)).plus(sum(damageReports));
+            ready = true;
+            log.info("DashboardMetrics: Snapshot built from {} products, {} sales orders, {} purchase orders and {} damage reports in {} ms",
+                    products.size(), salesOrders.size(), purchaseOrders.size(), damageReports.size(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("DashboardMetrics: Rebuild failed, keeping the previous snapshot: {}", e.getMessage(), e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // Re-reads the marked keys; keys no longer found lose their share
+    void refresh() {
+        updateLock.lock();
+        try {
+            DashboardCounts updated = totals;
+            for (List<String> ids : drain(changedProducts)) {
+                Map<String, DashboardCounts> found = productShares(pmRepository.findStockRowsByProductIds(ids));
+                updated = replace(products, ids, found, updated);
+            }
+            for (List<Long> ids : drain(changedSalesOrders)) {
+                Map<Long, DashboardCounts> found = shares(salesOrderRepository.findStatusRowsByIds(ids),
+                        SalesOrderStatusRow::getId, DashboardMetricsSnapshot::salesOrderShare);
+                updated = replace(salesOrders, ids, found, updated);
+            }
+            for (List<Long> ids : drain(changedPurchaseOrders)) {
+                Map<Long, DashboardCounts> found = shares(purchaseOrderRepository.findStatusRowsByIds(ids),
+                        PurchaseOrderStatusRow::getId, DashboardMetricsSnapshot::purchaseOrderShare);
+                updated = replace(purchaseOrders, ids, found, updated);
+            }
+            for (List<Integer> ids : drain(changedDamageReports)) {
+                Map<Integer, DashboardCounts> found = shares(damageLossRepository.findQuantityRowsByIds(ids),
+                        DamageQuantityRow::getId, DashboardMetricsSnapshot::damageShare);
+                updated = replace(damageReports, ids, found, updated);
+            }
+            totals = updated;
+        } catch (Exception e) {
+            log.error("DashboardMetrics: Refresh failed, the next reconcile will catch up: {}", e.getMessage(), e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // The same values as ReportAnalyticsServiceImpl and InventoryControlServiceImpl read without the snapshot
+    DashboardCounts queryAggregates() {
+        ReportProductMetrics productMetrics = pmRepository.countProductMetricsByStatus(
+                ProductStatus.getActiveStatuses(), ProductStatus.getInactiveStatuses());
+        InventoryMetrics inventoryMetrics = icRepository.getInventoryMetrics();
+        return new DashboardCounts(
+                valueOf(productMetrics.getTotalActiveProducts()),
+                valueOf(productMetrics.getTotalInactiveProducts()),
+                valueOf(inventoryMetrics.getTotalCount()),
+                valueOf(inventoryMetrics.getLowStockCount()),
+                Objects.requireNonNullElse(icRepository.getInventoryStockValueAtRetail(), BigDecimal.ZERO),
+                valueOf(salesOrderRepository.countInProgressSalesOrders()),
+                valueOf(salesOrderRepository.countOutgoingSalesOrders()),
+                valueOf(purchaseOrderRepository.countIncomingPurchaseOrders()),
+                valueOf(damageLossRepository.countTotalDamagedProducts()));
+    }
+
+    // ******* Shares, matching the conditions of the aggregate queries *******
+
+    private static Map<String, DashboardCounts> productShares(List<ProductStockRow> rows) {
+        Map<String, List<ProductStockRow>> byProduct = rows.stream()
+                .collect(Collectors.groupingBy(ProductStockRow::getProductId));
+        Map<String, DashboardCounts> shares = new HashMap<>();
+        byProduct.forEach((productId, productRows) -> {
+            DashboardCounts share = productShare(productRows);
+            if (!share.sameAs(DashboardCounts.ZERO)) {
+                shares.put(productId, share);
+            }
+        });
+        return shares;
+    }
+
+    private static DashboardCounts productShare(List<ProductStockRow> rows) {
+        ProductStatus productStatus = rows.get(0).getProductStatus();
+        long inventoryProducts = 0;
+        long lowStockProducts = 0;
+        BigDecimal stockValue = BigDecimal.ZERO;
+        for (ProductStockRow row : rows) {
+            if (row.getSku() == null) {
+                continue; // No inventory row
+            }
+            inventoryProducts++;
+            boolean valid = row.getInventoryStatus() != null && row.getInventoryStatus() != InventoryDataStatus.INVALID;
+            if (valid && row.getCurrentStock() != null && row.getMinLevel() != null
+                    && row.getCurrentStock() <= row.getMinLevel()) {
+                lowStockProducts++;
+            }
+            if (valid && row.getCurrentStock() != null && row.getPrice() != null) {
+                stockValue = stockValue.add(row.getPrice().multiply(BigDecimal.valueOf(row.getCurrentStock())));
+            }
+        }
+        return new DashboardCounts(
+                productStatus != null && productStatus.isActive() ? 1 : 0,
+                productStatus != null && !productStatus.isActive() ? 1 : 0,
+                inventoryProducts, lowStockProducts, stockValue, 0, 0, 0, 0);
+    }
+
+    private static DashboardCounts salesOrderShare(SalesOrderStatusRow row) {
+        SalesOrderStatus status = row.getStatus();
+        boolean inProgress = status != null && !FINISHED_SALES_ORDER_STATUSES.contains(status);
+        boolean outgoing = SalesOrderSpecification.WAITING_STATUSES.contains(status);
+        return new DashboardCounts(0, 0, 0, 0, BigDecimal.ZERO, inProgress ? 1 : 0, outgoing ? 1 : 0, 0, 0);
+    }
+
+    private static DashboardCounts purchaseOrderShare(PurchaseOrderStatusRow row) {
+        boolean valid = PurchaseOrderSpecification.PENDING_STATUSES.contains(row.getStatus());
+        return new DashboardCounts(0, 0, 0, 0, BigDecimal.ZERO, 0, 0, valid ? 1 : 0, 0);
+    }
+
+    private static DashboardCounts damageShare(DamageQuantityRow row) {
+        return new DashboardCounts(0, 0, 0, 0, BigDecimal.ZERO, 0, 0, 0, valueOf(row.getQuantityLost()));
+    }
+
+    // ******* Bookkeeping *******
+
+    private static <R, K> Map<K, DashboardCounts> shares(List<R> rows, Function<R, K> keyOf,
+                                                         Function<R, DashboardCounts> shareOf) {
+        Map<K, DashboardCounts> shares = new HashMap<>();
+        for (R row : rows) {
+            DashboardCounts share = shareOf.apply(row);
+            if (!share.sameAs(DashboardCounts.ZERO)) { // Rows without a share are not kept
+                shares.put(keyOf.apply(row), share);
+            }
+        }
+        return shares;
+    }
+
+    private static <K> DashboardCounts replace(Map<K, DashboardCounts> shares, List<K> keys,
+                                               Map<K, DashboardCounts> found, DashboardCounts totals) {
+        DashboardCounts updated = totals;
+        for (K key : keys) {
+            DashboardCounts previous = shares.remove(key);
+            if (previous != null) {
+                updated = updated.minus(previous);
+            }
+            DashboardCounts current = found.get(key);
+            if (current != null) {
+                shares.put(key, current);
+                updated = updated.plus(current);
+            }
+        }
+        return updated;
+    }
+
+    private static <K> DashboardCounts sum(Map<K, DashboardCounts> shares) {
+        return shares.values().stream().reduce(DashboardCounts.ZERO, DashboardCounts::plus);
+    }
+
+    private boolean hasChanges() {
+        return !changedProducts.isEmpty() || !changedSalesOrders.isEmpty()
+                || !changedPurchaseOrders.isEmpty() || !changedDamageReports.isEmpty();
+    }
+
+    private static <K> List<List<K>> drain(Set<K> changed) {
+        List<K> keys = new ArrayList<>(changed);
+        changed.removeAll(keys);
+        List<List<K>> batches = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += REFRESH_BATCH_SIZE) {
+            batches.add(keys.subList(from, Math.min(from + REFRESH_BATCH_SIZE, keys.size())));
+        }
+        return batches;
+    }
+
+    private <K> void markAfterCommit(Set<K> changed, @Nullable K key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed.add(key);
+                }
+            });
+        } else {
+            changed.add(key);
+        }
+    }
+
+    private static long valueOf(@Nullable Number value) {
+        return value == null ? 0 : value.longValue();
+    }
+}
@@ -0,0 +1,44 @@
+package com.JK.SIMS.service.reportAnalytics.financialRollup;
+
+import com.JK.SIMS.models.damage_loss.DamageLoss;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener of SalesOrder, OrderItem and DamageLoss that marks the days whose financial rollups changed.
+ * Items only mark their order id, so no lazy association is touched during a flush.
+ * A damage report moved to another day marks the day it left as well; the order date of a sales order never changes.
+ * Without a FinancialRollupService bean (e.g. JPA test slices) it does nothing.
+ */
+public class FinancialRollupListener {
+
+    private final ObjectProvider<FinancialRollupService> financialRollupService;
+
+    public FinancialRollupListener(ObjectProvider<FinancialRollupService> financialRollupService) {
+        this.financialRollupService = financialRollupService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        FinancialRollupService rollups = financialRollupService.getIfAvailable();
+        if (rollups == null) {
+            return;
+        }
+        if (entity instanceof SalesOrder salesOrder) {
+            rollups.dayChanged(salesOrder.getOrderDate());
+        } else if (entity instanceof OrderItem item && item.getSalesOrder() != null) {
+            rollups.salesOrderChanged(item.getSalesOrder().getId());
+        } else if (entity instanceof DamageLoss damageLoss) {
+            rollups.dayChanged(damageLoss.getLossDate());
+            if (damageLoss.getStoredLossDate() != null) {
+                rollups.dayChanged(damageLoss.getStoredLossDate());
+            }
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.JK.SIMS.service.reportAnalytics.financialRollup;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.*;
+import com.JK.SIMS.repository.damageLossRepo.DamageLossRepository;
+import com.JK.SIMS.repository.financialRollupRepo.DailyCategoryRollupRepository;
+import com.JK.SIMS.repository.financialRollupRepo.DailyFinancialRollupRepository;
+import com.JK.SIMS.repository.salesOrderRepo.OrderItemRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the daily financial rollups (revenue, completed sales orders, damage loss value; per day and per
+ * product category) that FinancialOverviewServiceImpl sums instead of scanning the raw orders and reports.
+ * - A day is always rebuilt as a whole from the source tables, so rebuilding it again is harmless.
+ * - FinancialRollupListener marks the day of a changed sales order or damage report once its transaction
+ *   commits. Changed order items mark their order, price and category changes mark the product; their days
+ *   are looked up on refresh. The marked days are rebuilt every refresh-interval-ms.
+ * - The backfill rebuilds a date range in chunks of backfill-chunk-days on backfill-threads threads.
+ *   The whole history is backfilled on startup and by the backfill-cron job, which also picks up
+ *   changes made by other nodes or directly in the database.
+ * - Until the first full backfill on this node is done, callers fall back to the raw queries.
+ */
+@Component
+@Slf4j
+public class FinancialRollupService {
+
+    private final OrderItemRepository orderItemRepository;
+    private final SalesOrderRepository salesOrderRepository;
+    private final DamageLossRepository damageLossRepository;
+    private final DailyFinancialRollupRepository dailyFinancialRollupRepository;
+    private final DailyCategoryRollupRepository dailyCategoryRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkDays;
+
+    private final Set<LocalDate> changedDays = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedSalesOrders = ConcurrentHashMap.newKeySet();
+    private final Set<String> changedProducts = ConcurrentHashMap.newKeySet();
+    // Backfills wait for it; refreshes skip a round instead, their marked days stay until the next one
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ExecutorService chunkExecutor;
+    private final ThreadPoolExecutor backfillStarter; // Runs full backfills off the scheduler thread, one at a time
+    private volatile boolean ready = false;
+
+    public FinancialRollupService(OrderItemRepository orderItemRepository,
+                                  SalesOrderRepository salesOrderRepository,
+                                  DamageLossRepository damageLossRepository,
+                                  DailyFinancialRollupRepository dailyFinancialRollupRepository,
+                                  DailyCategoryRollupRepository dailyCategoryRollupRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${financial-rollup.enabled:true}") boolean enabled,
+                                  @Value("${financial-rollup.backfill-chunk-days:31}") int chunkDays,
+                                  @Value("${financial-rollup.backfill-threads:4}") int threads) {
+        this.orderItemRepository = orderItemRepository;
+        this.salesOrderRepository = salesOrderRepository;
+        this.damageLossRepository = damageLossRepository;
+        this.dailyFinancialRollupRepository = dailyFinancialRollupRepository;
+        this.dailyCategoryRollupRepository = dailyCategoryRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.chunkDays = Math.max(1, chunkDays);
+
+        ThreadFactory chunkThreads = new ThreadFactory() {
+            private int count = 0;
+
+            @Override
+            public synchronized Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "financial-rollup-" + (++count));
+            }
+        };
+        this.chunkExecutor = Executors.newFixedThreadPool(Math.max(1, threads), chunkThreads);
+        this.backfillStarter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                runnable -> new Thread(runnable, "financial-rollup-backfill"),
+                new ThreadPoolExecutor.DiscardPolicy()); // A backfill already waiting covers the same days
+    }
+
+    /**
+     * @return the sums of the rollups from startDate to endDate (both included), or empty when the rollups
+     * are not complete yet and the raw tables have to be queried
+     */
+    public Optional<FinancialRollupTotals> sumBetween(LocalDate startDate, LocalDate endDate) {
+        if (!enabled || !ready) {
+            return Optional.empty();
+        }
+        return Optional.of(dailyFinancialRollupRepository.sumBetween(startDate, endDate));
+    }
+
+    // A sales order or damage report of that day (order date / loss date) changed
+    public void dayChanged(@Nullable LocalDateTime dateTime) {
+        markAfterCommit(changedDays, dateTime == null ? LocalDate.now() : dateTime.toLocalDate());
+    }
+
+    // An item of the sales order changed; its order date is looked up on refresh
+    public void salesOrderChanged(@Nullable Long salesOrderId) {
+        markAfterCommit(changedSalesOrders, salesOrderId);
+    }
+
+    // The revenue and losses are valued at the current price and category of the product
+    public void productChanged(@Nullable String productId) {
+        markAfterCommit(changedProducts, productId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        startFullBackfill();
+    }
+
+    @Scheduled(cron = "${financial-rollup.backfill-cron:0 30 2 * * ?}")
+    public void scheduledBackfill() {
+        startFullBackfill();
+    }
+
+    @Scheduled(fixedDelayString = "${financial-rollup.refresh-interval-ms:5000}")
+    public void scheduledRefresh() {
+        if (ready && (!changedDays.isEmpty() || !changedSalesOrders.isEmpty() || !changedProducts.isEmpty())) {
+            refresh();
+        }
+    }
+
+    /**
+     * Rebuilds the whole history, from the earliest sales order or damage report until today.
+     * @return false if a chunk failed
+     */
+    public boolean backfillAll() {
+        if (!enabled) {
+            return false;
+        }
+        LocalDate earliest = earliestDay();
+        boolean completed = backfill(earliest == null ? LocalDate.now() : earliest, LocalDate.now());
+        if (completed && !ready) {
+            ready = true;
+            log.info("FinancialRollup: Rollups are complete, the financial overview now reads them");
+        }
+        return completed;
+    }
+
+    /**
+     * Rebuilds the rollups from startDate to endDate (both included) in parallel chunks and waits for them.
+     * @return false if a chunk failed; the other chunks are kept
+     */
+    public boolean backfill(LocalDate startDate, LocalDate endDate) {
+        rebuildLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            List<Future<?>> chunks = new ArrayList<>();
+            for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusDays(chunkDays)) {
+                LocalDate chunkStart = from;
+                LocalDate chunkEnd = min(from.plusDays(chunkDays - 1L), endDate);
+                chunks.add(chunkExecutor.submit(() -> rebuildDays(chunkStart, chunkEnd)));
+            }
+            int failed = 0;
+            for (Future<?> chunk : chunks) {
+                try {
+                    chunk.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("FinancialRollup: Backfill chunk failed: {}", e.getCause().getMessage(), e.getCause());
+                }
+            }
+            log.info("FinancialRollup: Backfilled {} to {} in {} chunks ({} failed) in {} ms",
+                    startDate, endDate, chunks.size(), failed, System.currentTimeMillis() - start);
+            return failed == 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("FinancialRollup: Backfill of {} to {} interrupted", startDate, endDate);
+            return false;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Rebuilds the marked days; days that fail stay marked for the next round
+    void refresh() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Long> salesOrderIds = drain(changedSalesOrders);
+            if (!salesOrderIds.isEmpty()) {
+                try {
+                    salesOrderRepository.findOrderDaysByIds(salesOrderIds).forEach(changedDays::add);
+                } catch (Exception e) {
+                    changedSalesOrders.addAll(salesOrderIds);
+                    log.error("FinancialRollup: Failed to find the days of {} sales orders: {}", salesOrderIds.size(), e.getMessage());
+                }
+            }
+            for (String productId : drain(changedProducts)) {
+                try {
+                    orderItemRepository.findCompletedOrderDaysOfProduct(productId).forEach(changedDays::add);
+                    damageLossRepository.findLossDaysOfProduct(productId).forEach(changedDays::add);
+                } catch (Exception e) {
+                    changedProducts.add(productId);
+                    log.error("FinancialRollup: Failed to find the days of product {}: {}", productId, e.getMessage());
+                }
+            }
+            List<LocalDate> days = drain(changedDays);
+            Collections.sort(days);
+            for (List<LocalDate> range : consecutiveRanges(days)) {
+                LocalDate from = range.get(0);
+                LocalDate to = range.get(range.size() - 1);
+                try {
+                    rebuildDays(from, to);
+                } catch (Exception e) {
+                    changedDays.addAll(range);
+                    log.error("FinancialRollup: Failed to rebuild {} to {}: {}", from, to, e.getMessage(), e);
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Replaces the rollups of the days from startDate to endDate in one transaction
+    void rebuildDays(LocalDate startDate, LocalDate endDate) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime from = startDate.atStartOfDay();
+            LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+            List<DailyRevenueRow> revenueRows = orderItemRepository.sumRevenueByDayAndCategory(from, to);
+            List<DailyOrderCountRow> orderRows = salesOrderRepository.countCompletedSalesOrdersByDay(from, to);
+            List<DailyLossRow> lossRows = damageLossRepository.sumLossValueByDayAndCategory(from, to);
+
+            Map<LocalDate, DailyFinancialRollup> days = new TreeMap<>();
+            Map<LocalDate, Map<ProductCategories, DailyCategoryRollup>> categories = new TreeMap<>();
+            LocalDateTime refreshedAt = LocalDateTime.now();
+            for (DailyRevenueRow row : revenueRows) {
+                DailyFinancialRollup day = day(days, row.getDay(), refreshedAt);
+                day.setRevenue(day.getRevenue().add(row.getRevenue()));
+                DailyCategoryRollup category = category(categories, row.getDay(), row.getCategory());
+                if (category != null) {
+                    category.setRevenue(category.getRevenue().add(row.getRevenue()));
+                    category.setCompletedOrders(category.getCompletedOrders() + row.getCompletedOrders());
+                }
+            }
+            for (DailyOrderCountRow row : orderRows) {
+                day(days, row.getDay(), refreshedAt).setCompletedOrders(row.getCompletedOrders());
+            }
+            for (DailyLossRow row : lossRows) {
+                DailyFinancialRollup day = day(days, row.getDay(), refreshedAt);
+                day.setLossValue(day.getLossValue().add(row.getLossValue()));
+                DailyCategoryRollup category = category(categories, row.getDay(), row.getCategory());
+                if (category != null) {
+                    category.setLossValue(category.getLossValue().add(row.getLossValue()));
+                }
+            }
+
+            dailyCategoryRollupRepository.deleteBetween(startDate, endDate);
+            dailyFinancialRollupRepository.deleteBetween(startDate, endDate);
+            dailyFinancialRollupRepository.saveAll(days.values());
+            dailyCategoryRollupRepository.saveAll(categories.values().stream()
+                    .flatMap(byCategory -> byCategory.values().stream()).toList());
+        });
+        log.debug("FinancialRollup: Rebuilt {} to {}", startDate, endDate);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillStarter.shutdownNow();
+        chunkExecutor.shutdownNow();
+    }
+
+    private void startFullBackfill() {
+        if (enabled) {
+            backfillStarter.execute(this::backfillAll);
+        }
+    }
+
+    @Nullable
+    private LocalDate earliestDay() {
+        LocalDateTime firstOrder = salesOrderRepository.findEarliestOrderDate();
+        LocalDateTime firstLoss = damageLossRepository.findEarliestLossDate();
+        if (firstOrder == null || firstLoss == null) {
+            return firstOrder != null ? firstOrder.toLocalDate() : firstLoss != null ? firstLoss.toLocalDate() : null;
+        }
+        return min(firstOrder.toLocalDate(), firstLoss.toLocalDate());
+    }
+
+    private static DailyFinancialRollup day(Map<LocalDate, DailyFinancialRollup> days, LocalDate date,
+                                            LocalDateTime refreshedAt) {
+        return days.computeIfAbsent(date, d -> new DailyFinancialRollup(d, BigDecimal.ZERO, 0L, BigDecimal.ZERO, refreshedAt));
+    }
+
+    // Rows without a category only count in the day totals
+    @Nullable
+    private static DailyCategoryRollup category(Map<LocalDate, Map<ProductCategories, DailyCategoryRollup>> categories,
+                                                LocalDate date, @Nullable ProductCategories category) {
+        if (category == null) {
+            return null;
+        }
+        return categories.computeIfAbsent(date, d -> new EnumMap<>(ProductCategories.class))
+                .computeIfAbsent(category, c -> new DailyCategoryRollup(date, c, BigDecimal.ZERO, 0L, BigDecimal.ZERO));
+    }
+
+    // Splits sorted days into runs of consecutive days, at most chunkDays long
+    private List<List<LocalDate>> consecutiveRanges(List<LocalDate> days) {
+        List<List<LocalDate>> ranges = new ArrayList<>();
+        List<LocalDate> current = new ArrayList<>();
+        for (LocalDate day : days) {
+            if (!current.isEmpty() && (ChronoUnit.DAYS.between(current.get(current.size() - 1), day) > 1
+                    || current.size() == chunkDays)) {
+                ranges.add(current);
+                current = new ArrayList<>();
+            }
+            current.add(day);
+        }
+        if (!current.isEmpty()) {
+            ranges.add(current);
+        }
+        return ranges;
+    }
+
+    private static <K> List<K> drain(Set<K> changed) {
+        List<K> keys = new ArrayList<>(changed);
+        changed.removeAll(keys);
+        return keys;
+    }
+
+    private <K> void markAfterCommit(Set<K> changed, @Nullable K key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed.add(key);
+                }
+            });
+        } else {
+            changed.add(key);
+        }
+    }
+
+    private static LocalDate min(LocalDate first, LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
@@ -5,10 +5,12 @@ import com.JK.SIMS.exception.ServiceException;
 import com.JK.SIMS.exception.ValidationException;
 import com.JK.SIMS.models.reportAnalyticsMetrics.financial.FinancialOverviewMetrics;
 import com.JK.SIMS.models.reportAnalyticsMetrics.TimeRange;
+import com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.FinancialRollupTotals;
 import com.JK.SIMS.repository.damageLossRepo.DamageLossRepository;
 import com.JK.SIMS.repository.salesOrderRepo.OrderItemRepository;
 import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
 import com.JK.SIMS.service.reportAnalytics.FinancialOverviewService;
+import com.JK.SIMS.service.reportAnalytics.financialRollup.FinancialRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -20,6 +22,7 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Optional;
 
 @Service
 @Slf4j
@@ -29,6 +32,7 @@ public class FinancialOverviewServiceImpl implements FinancialOverviewService {
     private final OrderItemRepository orderItemRepository;
     private final SalesOrderRepository salesOrderRepository;
     private final DamageLossRepository damageLossRepository;
+    private final FinancialRollupService financialRollupService;
 
     @Override
     @Transactional(readOnly = true)
@@ -90,16 +94,25 @@ public class FinancialOverviewServiceImpl implements FinancialOverviewService {
     private FinancialOverviewMetrics calculateFinancialMetrics(LocalDate startDate,
                                                                LocalDate endDate,
                                                                TimeRange timeRange) {
-        LocalDateTime start = startDate.atStartOfDay();
-        LocalDateTime end = endDate.atTime(23, 59, 59);
-
-        // Fetch financial data
-        BigDecimal totalRevenue = orderItemRepository.calculateTotalRevenue(start, end);
-        Long totalCompletedSalesOrders = countCompletedSalesOrders(start, end);
+        // Fetch financial data, from the daily rollups once they are complete
+        BigDecimal totalRevenue;
+        Long totalCompletedSalesOrders;
+        BigDecimal lossValue;
+        Optional<FinancialRollupTotals> rollups = financialRollupService.sumBetween(startDate, endDate);
+        if (rollups.isPresent()) {
+            totalRevenue = rollups.get().getRevenue();
+            totalCompletedSalesOrders = rollups.get().getCompletedOrders();
+            lossValue = rollups.get().getLossValue();
+        } else {
+            LocalDateTime start = startDate.atStartOfDay();
+            LocalDateTime end = endDate.atTime(23, 59, 59);
+            totalRevenue = orderItemRepository.calculateTotalRevenue(start, end);
+            totalCompletedSalesOrders = countCompletedSalesOrders(start, end);
+            lossValue = damageLossRepository.sumLossValueBetween(start, end);
+        }
         BigDecimal avgOrderValue = (totalCompletedSalesOrders == 0)
                 ? BigDecimal.valueOf(0)
                 : totalRevenue.divide(BigDecimal.valueOf(totalCompletedSalesOrders), 2, java.math.RoundingMode.HALF_UP);
-        BigDecimal lossValue = damageLossRepository.sumLossValueBetween(start, end);
 
         // Calculate Profit Margins
         // Since we don't store the Purchase Price of the Product,
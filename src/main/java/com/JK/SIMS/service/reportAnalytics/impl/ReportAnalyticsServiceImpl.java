@@ -14,6 +14,8 @@ import com.JK.SIMS.service.reportAnalytics.FinancialOverviewService;
 import com.JK.SIMS.service.reportAnalytics.InventoryHealthService;
 import com.JK.SIMS.service.reportAnalytics.OrderSummaryService;
 import com.JK.SIMS.service.reportAnalytics.ReportAnalyticsService;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardCounts;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsSnapshot;
 import com.JK.SIMS.service.salesOrder.salesOrderQueryService.SalesOrderQueryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Optional;
 
 @Service
 @Slf4j
@@ -37,10 +40,24 @@ public class ReportAnalyticsServiceImpl implements ReportAnalyticsService {
     private final InventoryHealthService inventoryHealthService;
     private final OrderSummaryService orderSummaryService;
     private final FinancialOverviewService financialOverviewService;
+    private final DashboardMetricsSnapshot dashboardMetricsSnapshot;
 
     @Override
     @Transactional(readOnly = true)
     public DashboardMetrics getMainDashboardMetrics() {
+        Optional<DashboardCounts> snapshot = dashboardMetricsSnapshot.current();
+        if (snapshot.isPresent()) {
+            DashboardCounts counts = snapshot.get();
+            return DashboardMetrics.builder()
+                    .totalActiveProducts(counts.activeProducts())
+                    .totalInactiveProducts(counts.inactiveProducts())
+                    .totalInventoryStockValue(counts.inventoryStockValue())
+                    .totalInProgressSalesOrders(counts.inProgressSalesOrders())
+                    .totalValidPurchaseOrders(counts.validPurchaseOrders())
+                    .totalDamagedProducts(counts.damagedProducts())
+                    .build();
+        }
+
         ReportProductMetrics totalActiveInactiveProducts = productQueryService.countTotalActiveInactiveProducts();
         BigDecimal inventoryStockValue = inventoryHealthService.calculateInventoryStockValueAtRetail();
         Long inProgressSalesOrders = salesOrderQueryService.countInProgressSalesOrders();
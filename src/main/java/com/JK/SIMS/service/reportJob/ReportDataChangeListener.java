@@ -0,0 +1,37 @@
+package com.JK.SIMS.service.reportJob;
+
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.reportJob.ReportDataSet;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener of the entities shown in the reports, marking their data set as changed for ReportDataVersions.
+ * Without a ReportDataVersions bean (e.g. JPA test slices) it does nothing.
+ */
+public class ReportDataChangeListener {
+
+    private final ObjectProvider<ReportDataVersions> reportDataVersions;
+
+    public ReportDataChangeListener(ObjectProvider<ReportDataVersions> reportDataVersions) {
+        this.reportDataVersions = reportDataVersions;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        ReportDataVersions versions = reportDataVersions.getIfAvailable();
+        if (versions == null) {
+            return;
+        }
+        if (entity instanceof ProductsForPM) {
+            versions.dataChanged(ReportDataSet.PRODUCTS);
+        } else if (entity instanceof InventoryControlData) {
+            versions.dataChanged(ReportDataSet.INVENTORY);
+        }
+    }
+}
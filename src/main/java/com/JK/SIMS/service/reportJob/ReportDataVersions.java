@@ -0,0 +1,111 @@
+package com.JK.SIMS.service.reportJob;
+
+import com.JK.SIMS.models.reportJob.ReportDataSet;
+import com.JK.SIMS.models.reportJob.ReportDataVersion;
+import com.JK.SIMS.repository.reportJobRepo.ReportDataVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Change counters of the report data sets, shared by all nodes through the report_data_version table.
+ * ReportDataChangeListener and the statements that bypass it mark a data set as changed; its counter is
+ * increased once per transaction, after the commit. Stored report artifacts are keyed by these counters.
+ */
+@Slf4j
+@Component
+public class ReportDataVersions {
+
+    private final ReportDataVersionRepository versionRepository;
+    private final TransactionTemplate newTransaction;
+
+    public ReportDataVersions(ReportDataVersionRepository versionRepository, PlatformTransactionManager transactionManager) {
+        this.versionRepository = versionRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Counters of the data sets; a data set that never changed is at 0
+    public Map<ReportDataSet, Long> currentVersions() {
+        Map<ReportDataSet, Long> versions = new EnumMap<>(ReportDataSet.class);
+        for (ReportDataSet dataSet : ReportDataSet.values()) {
+            versions.put(dataSet, 0L);
+        }
+        versionRepository.findAll().forEach(version -> versions.put(version.getDataSet(), version.getVersion()));
+        return versions;
+    }
+
+    public void dataChanged(ReportDataSet dataSet) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(EnumSet.of(dataSet));
+            return;
+        }
+        ChangedDataSets changed = (ChangedDataSets) TransactionSynchronizationManager.getResource(this);
+        if (changed == null) {
+            changed = new ChangedDataSets();
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(changed);
+        }
+        changed.dataSets.add(dataSet);
+    }
+
+    private void increment(Set<ReportDataSet> dataSets) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (versionRepository.increment(dataSets) < dataSets.size()) {
+                    createMissingVersions(dataSets);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the missing rows at the same time
+            newTransaction.executeWithoutResult(status -> versionRepository.increment(dataSets));
+        } catch (DataAccessException e) {
+            log.error("ReportJobs: Failed to record a change of {}, stored reports may be reused until the next change - {}",
+                    dataSets, e.getMessage());
+        }
+    }
+
+    // A created row starts at 1, as its data set has already changed once
+    private void createMissingVersions(Set<ReportDataSet> dataSets) {
+        List<ReportDataVersion> missing = new ArrayList<>();
+        for (ReportDataSet dataSet : dataSets) {
+            if (!versionRepository.existsById(dataSet)) {
+                missing.add(new ReportDataVersion(dataSet, 1));
+            }
+        }
+        versionRepository.saveAllAndFlush(missing);
+    }
+
+    // The data sets changed by one transaction; bound to it, so nested transactions collect their own
+    private final class ChangedDataSets implements TransactionSynchronization {
+        private final Set<ReportDataSet> dataSets = EnumSet.noneOf(ReportDataSet.class);
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ReportDataVersions.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ReportDataVersions.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            increment(dataSets);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ReportDataVersions.this);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.JK.SIMS.service.reportJob;
+
+import com.JK.SIMS.models.reportJob.ReportJob;
+import com.JK.SIMS.service.InventoryServices.lowStockService.LowStockService;
+import com.JK.SIMS.service.InventoryServices.totalItemsService.TotalItemsService;
+import com.JK.SIMS.service.productManagementService.ProductManagementService;
+import com.JK.SIMS.service.reportJob.artifactStore.ReportArtifactStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Builds submitted reports into a temporary file and stores them in the ReportArtifactStore.
+ * Jobs are picked up right after commit (ReportJobSubmittedEvent) and by a periodic poll,
+ * which also covers retries, rejected submissions and jobs left behind by a stopped node.
+ * Work runs on a fixed number of workers with a bounded queue, so a burst of exports holds at most
+ * that many database connections; finished jobs and their artifacts are removed after their time to live.
+ */
+@Component
+@Slf4j
+public class ReportJobProcessor {
+
+    static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private final ReportJobService jobService;
+    private final ReportArtifactStore artifactStore;
+    private final ProductManagementService productManagementService;
+    private final TotalItemsService totalItemsService;
+    private final LowStockService lowStockService;
+    private final int pollBatchSize;
+
+    private final ThreadPoolExecutor workers;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet(); // avoids queueing one job twice on this node
+
+    public ReportJobProcessor(ReportJobService jobService,
+                              ReportArtifactStore artifactStore,
+                              ProductManagementService productManagementService,
+                              TotalItemsService totalItemsService,
+                              LowStockService lowStockService,
+                              @Value("${report-jobs.workers:2}") int workerCount,
+                              @Value("${report-jobs.queue-capacity:50}") int queueCapacity,
+                              @Value("${report-jobs.poll-batch-size:20}") int pollBatchSize) {
+        this.jobService = jobService;
+        this.artifactStore = artifactStore;
+        this.productManagementService = productManagementService;
+        this.totalItemsService = totalItemsService;
+        this.lowStockService = lowStockService;
+        this.pollBatchSize = pollBatchSize;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "report-job"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReportJobSubmitted(ReportJobSubmittedEvent event) {
+        submit(event.jobId());
+    }
+
+    @Scheduled(fixedDelayString = "${report-jobs.poll-interval-ms:10000}")
+    public void pollDueJobs() {
+        try {
+            jobService.findDueJobIds(pollBatchSize).forEach(this::submit);
+        } catch (Exception e) {
+            log.error("ReportJobs pollDueJobs(): Failed to read the report jobs - {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${report-jobs.purge-interval-ms:3600000}")
+    public void purgeExpiredJobs() {
+        try {
+            List<ReportJob> expired;
+            do {
+                expired = jobService.findExpiredJobs(pollBatchSize);
+                for (ReportJob job : expired) {
+                    if (job.getArtifactKey() != null) {
+                        artifactStore.delete(job.getArtifactKey());
+                    }
+                    jobService.deleteJob(job.getId());
+                }
+            } while (expired.size() == pollBatchSize);
+        } catch (Exception e) {
+            log.error("ReportJobs purgeExpiredJobs(): Failed to remove expired report jobs - {}", e.getMessage());
+        }
+    }
+
+    private void submit(Long jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    process(jobId);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(jobId);
+            log.debug("ReportJobs submit(): Workers are busy, job {} is left for the next poll", jobId);
+        }
+    }
+
+    void process(Long jobId) {
+        Optional<ReportJob> claimed;
+        try {
+            claimed = jobService.claim(jobId);
+        } catch (Exception e) {
+            log.error("ReportJobs process(): Failed to claim job {} - {}", jobId, e.getMessage());
+            return;
+        }
+        if (claimed.isEmpty()) {
+            return; // done, not due yet, or owned by another worker
+        }
+        ReportJob job = claimed.get();
+        Path file = null;
+        try {
+            file = Files.createTempFile("report-job-" + jobId + "-", ".xlsx");
+            long rowCount;
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file))) {
+                rowCount = render(job, outputStream);
+            }
+            String artifactKey = "reports/" + job.getReportType().name().toLowerCase() + "/"
+                    + jobId + "-" + job.getReportType().getFileName() + ".xlsx";
+            artifactStore.store(artifactKey, file, XLSX_CONTENT_TYPE);
+            jobService.markDone(jobId, artifactKey, rowCount);
+            log.info("ReportJobs process(): Job {} ({}) is ready with {} rows", jobId, job.getReportType(), rowCount);
+        } catch (Exception e) {
+            try {
+                jobService.markAttemptFailed(jobId, e.getMessage());
+            } catch (Exception markException) {
+                // The lease expires and the job is picked up again by the poll
+                log.error("ReportJobs process(): Failed to record failed attempt for job {} - {}", jobId, markException.getMessage());
+            }
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private long render(ReportJob job, OutputStream outputStream) throws IOException {
+        return switch (job.getReportType()) {
+            case PRODUCTS -> productManagementService.writePMReport(outputStream);
+            case TOTAL_ITEMS -> totalItemsService.writeTotalItemsReport(outputStream, job.getSortBy(), job.getSortDirection());
+            case LOW_STOCK -> lowStockService.writeLowStockReport(outputStream, job.getSortBy(), job.getSortDirection());
+        };
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("ReportJobs: Failed to delete temporary file {} - {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
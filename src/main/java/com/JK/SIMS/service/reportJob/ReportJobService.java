@@ -0,0 +1,233 @@
+package com.JK.SIMS.service.reportJob;
+
+import com.JK.SIMS.config.security.utils.SecurityUtils;
+import com.JK.SIMS.exception.ResourceNotFoundException;
+import com.JK.SIMS.exception.ValidationException;
+import com.JK.SIMS.models.reportJob.*;
+import com.JK.SIMS.models.reportJob.dtos.ReportJobRequest;
+import com.JK.SIMS.models.reportJob.dtos.ReportJobResponse;
+import com.JK.SIMS.repository.reportJobRepo.ReportJobRepository;
+import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.reportJob.artifactStore.ReportArtifactStore;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static com.JK.SIMS.service.generalUtils.EntityConstants.DEFAULT_SORT_BY;
+import static com.JK.SIMS.service.generalUtils.EntityConstants.DEFAULT_SORT_DIRECTION;
+
+/**
+ * Database side of the report jobs: every method is one short transaction,
+ * building and storing the file happens outside of them in ReportJobProcessor.
+ * A submitted report reuses the user's job of an identical request while the data it was built from is unchanged.
+ * A job is only visible to the user who submitted it and to admins and managers.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private final Clock clock;
+    private final ReportJobRepository jobRepository;
+    private final ReportDataVersions reportDataVersions;
+    private final ReportArtifactStore artifactStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SecurityUtils securityUtils;
+
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long leaseMillis;
+    private final Duration artifactTtl;
+    private final Duration downloadUrlValidity;
+
+    public ReportJobService(Clock clock,
+                            ReportJobRepository jobRepository,
+                            ReportDataVersions reportDataVersions,
+                            ReportArtifactStore artifactStore,
+                            ApplicationEventPublisher eventPublisher,
+                            SecurityUtils securityUtils,
+                            @Value("${report-jobs.max-attempts:3}") int maxAttempts,
+                            @Value("${report-jobs.retry-backoff-ms:10000}") long retryBackoffMillis,
+                            @Value("${report-jobs.lease-ms:600000}") long leaseMillis,
+                            @Value("${report-jobs.artifact-ttl-minutes:1440}") long artifactTtlMinutes,
+                            @Value("${report-jobs.download-url-validity-minutes:60}") long downloadUrlValidityMinutes) {
+        this.clock = clock;
+        this.jobRepository = jobRepository;
+        this.reportDataVersions = reportDataVersions;
+        this.artifactStore = artifactStore;
+        this.eventPublisher = eventPublisher;
+        this.securityUtils = securityUtils;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.leaseMillis = leaseMillis;
+        this.artifactTtl = Duration.ofMinutes(artifactTtlMinutes);
+        this.downloadUrlValidity = Duration.ofMinutes(downloadUrlValidityMinutes);
+        if (downloadUrlValidity.compareTo(artifactTtl) >= 0) {
+            throw new IllegalStateException("report-jobs.download-url-validity-minutes must be less than report-jobs.artifact-ttl-minutes");
+        }
+    }
+
+    /**
+     * @throws ValidationException if the report cannot be sorted as requested
+     */
+    @Transactional
+    public ReportJobResponse submit(ReportJobRequest request, String jwtToken) throws BadRequestException {
+        ReportType reportType = request.getReportType();
+        String sortBy = null;
+        String sortDirection = null;
+        if (reportType.getSortFields().isEmpty()) {
+            if (hasText(request.getSortBy()) || hasText(request.getSortDirection())) {
+                throw new ValidationException("The " + reportType + " report has a fixed order and cannot be sorted");
+            }
+        } else {
+            sortBy = hasText(request.getSortBy()) ? request.getSortBy() : DEFAULT_SORT_BY;
+            sortDirection = (hasText(request.getSortDirection()) ? request.getSortDirection() : DEFAULT_SORT_DIRECTION).toLowerCase();
+            if (!reportType.getSortFields().contains(sortBy)) {
+                throw new ValidationException("The " + reportType + " report cannot be sorted by '" + sortBy
+                        + "', allowed fields are " + new TreeSet<>(reportType.getSortFields()));
+            }
+            if (!sortDirection.equals("asc") && !sortDirection.equals("desc")) {
+                throw new ValidationException("Sort direction must be asc or desc");
+            }
+        }
+        String username = securityUtils.validateAndExtractUsername(jwtToken);
+
+        // Read before the report is built, so an artifact is never older than the versions in its key
+        String cacheKey = cacheKey(reportType, sortBy, sortDirection, reportDataVersions.currentVersions());
+        LocalDateTime now = GlobalServiceHelper.now(clock);
+        List<ReportJob> reusable = jobRepository.findReusableJobs(cacheKey, username,
+                now.minus(artifactTtl.minus(downloadUrlValidity)), PageRequest.of(0, 1));
+        if (!reusable.isEmpty()) {
+            log.info("ReportJobs submit(): Reusing job {} ({}) for {}", reusable.get(0).getId(), reusable.get(0).getStatus(), cacheKey);
+            return toResponse(reusable.get(0));
+        }
+
+        ReportJob job = jobRepository.save(new ReportJob(reportType, sortBy, sortDirection, cacheKey, username, now));
+        eventPublisher.publishEvent(new ReportJobSubmittedEvent(job.getId()));
+        log.info("ReportJobs submit(): Job {} submitted for {}", job.getId(), cacheKey);
+        return toResponse(job);
+    }
+
+    // The download link is only handed out here and on submit, so this also scopes the download
+    @Transactional(readOnly = true)
+    public ReportJobResponse getJob(Long jobId, String jwtToken) throws BadRequestException {
+        String username = securityUtils.validateAndExtractUsername(jwtToken);
+        // Jobs of other users are reported as missing, so their ids cannot be probed
+        return toResponse(jobRepository.findById(jobId)
+                .filter(job -> username.equals(job.getRequestedBy()) || securityUtils.hasAccess())
+                .orElseThrow(() -> new ResourceNotFoundException("Report job " + jobId + " is not found")));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findDueJobIds(int limit) {
+        return jobRepository.findDueJobIds(GlobalServiceHelper.now(clock), PageRequest.of(0, limit));
+    }
+
+    /**
+     * @return the job if this caller now owns it until the lease expires, empty if someone else does or it is not due
+     */
+    @Transactional
+    public Optional<ReportJob> claim(Long jobId) {
+        LocalDateTime now = GlobalServiceHelper.now(clock);
+        if (jobRepository.claim(jobId, now, now.plusNanos(leaseMillis * 1_000_000)) == 0) {
+            return Optional.empty();
+        }
+        return jobRepository.findById(jobId);
+    }
+
+    @Transactional
+    public void markDone(Long jobId, String artifactKey, long rowCount) {
+        ReportJob job = getEntry(jobId);
+        job.setStatus(ReportJobStatus.DONE);
+        job.setArtifactKey(artifactKey);
+        job.setRowCount(rowCount);
+        job.setLastError(null);
+        job.setCompletedAt(GlobalServiceHelper.now(clock));
+    }
+
+    // Retries with exponential backoff until maxAttempts, then gives up on the job
+    @Transactional
+    public void markAttemptFailed(Long jobId, String error) {
+        ReportJob job = getEntry(jobId);
+        job.setAttempts(job.getAttempts() + 1);
+        job.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setCompletedAt(GlobalServiceHelper.now(clock));
+            log.error("ReportJobs markAttemptFailed(): Giving up on job {} ({}) after {} attempts - {}",
+                    jobId, job.getReportType(), job.getAttempts(), error);
+            return;
+        }
+        long backoff = retryBackoffMillis * (1L << (job.getAttempts() - 1));
+        job.setStatus(ReportJobStatus.PENDING);
+        job.setNextAttemptAt(GlobalServiceHelper.now(clock).plusNanos(backoff * 1_000_000));
+        log.warn("ReportJobs markAttemptFailed(): Attempt {} for job {} failed, retrying in {} ms - {}",
+                job.getAttempts(), jobId, backoff, error);
+    }
+
+    // Finished jobs whose artifacts are past their time to live
+    @Transactional(readOnly = true)
+    public List<ReportJob> findExpiredJobs(int limit) {
+        return jobRepository.findExpiredJobs(GlobalServiceHelper.now(clock).minus(artifactTtl), PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    public void deleteJob(Long jobId) {
+        jobRepository.deleteById(jobId);
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        String downloadUrl = null;
+        LocalDateTime downloadUrlExpiresAt = null;
+        if (job.getStatus() == ReportJobStatus.DONE) {
+            // The link must not outlive the artifact
+            LocalDateTime now = GlobalServiceHelper.now(clock);
+            LocalDateTime artifactExpiresAt = job.getCompletedAt().plus(artifactTtl);
+            Duration validity = Duration.between(now, artifactExpiresAt);
+            if (validity.compareTo(downloadUrlValidity) > 0) {
+                validity = downloadUrlValidity;
+            }
+            if (validity.toSeconds() <= 0) {
+                throw new ResourceNotFoundException("Report job " + job.getId() + " has expired, please submit it again");
+            }
+            downloadUrl = artifactStore.downloadUrl(job.getArtifactKey(), validity);
+            downloadUrlExpiresAt = now.plus(validity);
+        }
+        return new ReportJobResponse(job.getId(), job.getReportType(), job.getStatus(), job.getRowCount(), downloadUrl,
+                downloadUrlExpiresAt, job.getStatus() == ReportJobStatus.FAILED ? job.getLastError() : null,
+                job.getCreatedAt(), job.getCompletedAt());
+    }
+
+    static String cacheKey(ReportType reportType, String sortBy, String sortDirection, Map<ReportDataSet, Long> versions) {
+        StringBuilder key = new StringBuilder(reportType.name());
+        if (sortBy != null) {
+            key.append(':').append(sortBy).append(':').append(sortDirection);
+        }
+        for (ReportDataSet dataSet : ReportDataSet.values()) {
+            if (reportType.getDataSets().contains(dataSet)) {
+                key.append(':').append(dataSet.name()).append('@').append(versions.get(dataSet));
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private ReportJob getEntry(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalStateException("Report job " + jobId + " not found"));
+    }
+}
@@ -0,0 +1,5 @@
+package com.JK.SIMS.service.reportJob;
+
+// Published together with a new report job, so it is built right after commit instead of on the next poll
+public record ReportJobSubmittedEvent(Long jobId) {
+}
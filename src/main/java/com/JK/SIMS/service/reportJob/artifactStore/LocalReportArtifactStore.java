@@ -0,0 +1,60 @@
+package com.JK.SIMS.service.reportJob.artifactStore;
+
+import com.JK.SIMS.exception.ServiceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+
+// Artifacts are files in a local directory; the download link is a file: URI, only usable on this node
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "report-jobs.artifact-store", havingValue = "local")
+public class LocalReportArtifactStore implements ReportArtifactStore {
+
+    private final Path directory;
+
+    public LocalReportArtifactStore(@Value("${report-jobs.local-store.directory:${java.io.tmpdir}/sims-reports}") Path directory) {
+        this.directory = directory.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void store(String key, Path file, String contentType) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+            log.info("ReportJobs: Stored artifact {} in {}", key, directory);
+        } catch (IOException e) {
+            throw new ServiceException("Failed to store report artifact " + key, e);
+        }
+    }
+
+    @Override
+    public String downloadUrl(String key, Duration validity) {
+        return resolve(key).toUri().toString();
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new ServiceException("Failed to delete report artifact " + key, e);
+        }
+    }
+
+    private Path resolve(String key) {
+        Path path = directory.resolve(key).normalize();
+        if (!path.startsWith(directory)) {
+            throw new IllegalArgumentException("Invalid artifact key: " + key);
+        }
+        return path;
+    }
+}
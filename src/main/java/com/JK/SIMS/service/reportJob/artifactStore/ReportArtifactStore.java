@@ -0,0 +1,19 @@
+package com.JK.SIMS.service.reportJob.artifactStore;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Where the files of finished report jobs are kept. Selected with report-jobs.artifact-store:
+ * s3 (default) or local, a directory on this node for development and tests.
+ */
+public interface ReportArtifactStore {
+
+    // Stores the file under the key, replacing an existing artifact
+    void store(String key, Path file, String contentType);
+
+    // A link the client downloads the artifact from directly, valid for the given duration
+    String downloadUrl(String key, Duration validity);
+
+    void delete(String key);
+}
@@ -0,0 +1,33 @@
+package com.JK.SIMS.service.reportJob.artifactStore;
+
+import com.JK.SIMS.service.awsService.S3Service;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Artifacts are S3 objects, downloaded through presigned URLs
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "report-jobs.artifact-store", havingValue = "s3", matchIfMissing = true)
+public class S3ReportArtifactStore implements ReportArtifactStore {
+
+    private final S3Service s3Service;
+
+    @Override
+    public void store(String key, Path file, String contentType) {
+        s3Service.uploadFile(key, file, contentType);
+    }
+
+    @Override
+    public String downloadUrl(String key, Duration validity) {
+        return s3Service.generatePresignedUrl(key, validity);
+    }
+
+    @Override
+    public void delete(String key) {
+        s3Service.deleteFile(key);
+    }
+}
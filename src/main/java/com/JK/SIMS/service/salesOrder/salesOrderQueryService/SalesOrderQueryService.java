@@ -12,6 +12,8 @@ import com.JK.SIMS.models.salesOrder.dtos.views.SummarySalesOrderView;
 import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
 import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
 import com.JK.SIMS.service.generalUtils.SalesOrderServiceHelper;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetPaginator;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -22,6 +24,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 
 /**
@@ -38,6 +41,11 @@ public class SalesOrderQueryService {
     private final GlobalServiceHelper globalServiceHelper;
     private final SalesOrderServiceHelper salesOrderServiceHelper;
     private final SalesOrderRepository salesOrderRepository;
+    private final KeysetPaginator keysetPaginator;
+
+    // Status is an ENUM column and cannot be paged with a cursor
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("orderReference", "destination", "customerName",
+            "createdBy", "orderDate", "estimatedDeliveryDate", "deliveryDate", "lastUpdate");
 
 
     @Transactional(readOnly = true)
@@ -106,6 +114,25 @@ public class SalesOrderQueryService {
         }
     }
 
+    // Keyset mode of getAllSummarySalesOrders: continues after the cursor, no count query
+    @Transactional(readOnly = true)
+    public PaginatedResponse<SummarySalesOrderView> getSummarySalesOrdersAfter(String cursor, String sortBy, String sortDirection, int size) {
+        try {
+            KeysetSlice<SalesOrder> slice =
+                    keysetPaginator.findSlice(salesOrderRepository, null, "id", KEYSET_SORT_FIELDS, sortBy, sortDirection, cursor, size);
+            log.info("OM-SO (getSummarySalesOrdersAfter): Returning {} keyset data", slice.getContent().size());
+            return slice.toResponse(salesOrderServiceHelper.toSummarySalesOrderViews(slice.getContent()));
+        } catch (ValidationException e) {
+            throw e;
+        } catch (DataAccessException da){
+            log.error("OM-SO (getSummarySalesOrdersAfter): Database error occurred: {}", da.getMessage(), da);
+            throw new DatabaseException("Database error occurred, please contact the administration");
+        } catch (Exception e) {
+            log.error("OM-SO (getSummarySalesOrdersAfter): Unexpected error occurred: {}", e.getMessage(), e);
+            throw new ServiceException("Internal Service Error occurred: ", e);
+        }
+    }
+
     @Transactional(readOnly = true)
     public DetailedSalesOrderView getDetailsForSalesOrder(Long orderId) {
         try {
@@ -23,32 +23,39 @@ public abstract class AbstractSoFilterStrategy implements SoFilterStrategy {
     protected @Nullable
     abstract Specification<SalesOrder> baseSpecType();
 
+    @Override
+    public Specification<SalesOrder> buildSpecification(SalesOrderStatus status, String optionDate,
+                                                        LocalDate startDate, LocalDate endDate) {
+        // Always filtered by the allowed statuses
+        Specification<SalesOrder> specification = Specification.where(baseSpecType());
+
+        // Filtering by status if provided
+        if (status != null) {
+            specification = specification.and(
+                    SalesOrderSpecification.byStatus(status));
+        }
+
+        // Filtering by dates
+        if (optionDate != null && !optionDate.isEmpty()) {
+            if (startDate == null || endDate == null) {
+                throw new IllegalArgumentException("filterSalesOrders(): Start date and end date must be provided for date filtering.");
+            }
+            if (startDate.isAfter(endDate)) {
+                throw new IllegalArgumentException("filterSalesOrders():  Start date must be before or equal to end date.");
+            }
+            String option = optionDate.toLowerCase().trim();
+            specification = specification.and(SalesOrderSpecification.byDatesBetween(option, startDate, endDate));
+        }
+        return specification;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<SalesOrder> filterSalesOrders(SalesOrderStatus status, String optionDate, LocalDate startDate,
                                               LocalDate endDate, Pageable pageable) {
 
         try {
-            // Always filtered by the allowed statuses
-            Specification<SalesOrder> specification = Specification.where(baseSpecType());
-
-            // Filtering by status if provided
-            if (status != null) {
-                specification = specification.and(
-                        SalesOrderSpecification.byStatus(status));
-            }
-
-            // Filtering by dates
-            if (optionDate != null && !optionDate.isEmpty()) {
-                if (startDate == null || endDate == null) {
-                    throw new IllegalArgumentException("filterSalesOrders(): Start date and end date must be provided for date filtering.");
-                }
-                if (startDate.isAfter(endDate)) {
-                    throw new IllegalArgumentException("filterSalesOrders():  Start date must be before or equal to end date.");
-                }
-                String option = optionDate.toLowerCase().trim();
-                specification = specification.and(SalesOrderSpecification.byDatesBetween(option, startDate, endDate));
-            }
+            Specification<SalesOrder> specification = buildSpecification(status, optionDate, startDate, endDate);
 
             // Database call and conversion to DTO
             return salesOrderRepository.findAll(specification, pageable);
@@ -4,10 +4,15 @@ import com.JK.SIMS.models.salesOrder.SalesOrder;
 import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 
 public interface SoFilterStrategy {
     Page<SalesOrder> filterSalesOrders(SalesOrderStatus status, String optionDate,
                                        LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // The filter as a specification, for callers that page the results themselves
+    Specification<SalesOrder> buildSpecification(SalesOrderStatus status, String optionDate,
+                                                 LocalDate startDate, LocalDate endDate);
 }
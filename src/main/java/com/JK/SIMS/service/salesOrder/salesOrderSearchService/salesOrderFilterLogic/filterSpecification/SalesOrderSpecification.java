@@ -5,15 +5,19 @@ import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 public class SalesOrderSpecification {
+    public static final Set<SalesOrderStatus> WAITING_STATUSES = EnumSet.of(
+            SalesOrderStatus.PENDING,
+            SalesOrderStatus.PARTIALLY_DELIVERED,
+            SalesOrderStatus.PARTIALLY_APPROVED
+    );
+
     public static Specification<SalesOrder> byWaitingStatus() {
-        return (root, query, criteriaBuilder) ->
-                root.get("status").in(
-                        SalesOrderStatus.PENDING,
-                        SalesOrderStatus.PARTIALLY_DELIVERED,
-                        SalesOrderStatus.PARTIALLY_APPROVED
-                );
+        return (root, query, criteriaBuilder) -> root.get("status").in(WAITING_STATUSES);
     }
 
     public static Specification<SalesOrder> byStatus(SalesOrderStatus status){
@@ -35,4 +39,15 @@ public class SalesOrderSpecification {
             };
         };
     }
+
+    // Keyset predicate for "orderDate DESC, id DESC": rows older than orderDate, or at orderDate with id < idBound
+    public static Specification<SalesOrder> orderedBefore(LocalDateTime orderDate, long idBound) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.get("orderDate"), orderDate),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("orderDate"), orderDate),
+                        criteriaBuilder.lessThan(root.get("id"), idBound)
+                )
+        );
+    }
 }
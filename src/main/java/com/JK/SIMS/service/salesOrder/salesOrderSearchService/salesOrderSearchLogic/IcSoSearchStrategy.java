@@ -5,12 +5,19 @@ import com.JK.SIMS.exception.ServiceException;
 import com.JK.SIMS.models.salesOrder.SalesOrder;
 import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
 import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.textIndex.IndexedSearchHydrator;
+import com.JK.SIMS.service.generalUtils.textIndex.orderIndex.OrderSearchIndex;
+import com.JK.SIMS.service.salesOrder.salesOrderSearchService.salesOrderFilterLogic.filterSpecification.SalesOrderSpecification;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 @Component("icSoSearchStrategy")  // Must match field name
 @Slf4j
@@ -18,19 +25,31 @@ public class IcSoSearchStrategy implements SoSearchStrategy {
 
     private final GlobalServiceHelper globalServiceHelper;
     private final SalesOrderRepository salesOrderRepository;
+    private final OrderSearchIndex orderSearchIndex;
+    private final IndexedSearchHydrator indexedSearchHydrator;
     @Autowired
-    public IcSoSearchStrategy(GlobalServiceHelper globalServiceHelper, SalesOrderRepository salesOrderRepository) {
+    public IcSoSearchStrategy(GlobalServiceHelper globalServiceHelper, SalesOrderRepository salesOrderRepository,
+                              OrderSearchIndex orderSearchIndex, IndexedSearchHydrator indexedSearchHydrator) {
         this.globalServiceHelper = globalServiceHelper;
         this.salesOrderRepository = salesOrderRepository;
+        this.orderSearchIndex = orderSearchIndex;
+        this.indexedSearchHydrator = indexedSearchHydrator;
     }
 
-    // Search by Customer Name or Order Reference ID
+    // Search by order reference, customer, destination, product names or people, in the waiting orders only
     @Override
+    @Transactional(readOnly = true)
     public Page<SalesOrder> searchInSo(String text, int page, int size, String sortBy, String sortDirection) {
         try {
             Pageable pageable = globalServiceHelper.preparePageable(page, size, sortBy, sortDirection);
             log.info("IcSo (searchInSo): Search text provided. Searching for orders with text '{}'", text);
-            return salesOrderRepository.searchInWaitingSalesOrders(text, pageable);
+            Optional<List<Long>> ids = orderSearchIndex.searchSalesOrderIds(text, SalesOrderSpecification.WAITING_STATUSES);
+            if (ids.isPresent()) {
+                // The status is checked again on the rows, in case the index has not caught up with a change yet
+                return indexedSearchHydrator.hydrate(ids.get(), salesOrderRepository, "id", SalesOrder::getId,
+                        SalesOrderSpecification.byWaitingStatus(), pageable);
+            }
+            return salesOrderRepository.searchInWaitingSalesOrders(text, IndexedSearchHydrator.withoutRelevanceSort(pageable));
         } catch (DataAccessException dae) {
             log.error("IcSo (searchInSo): Database error while searching orders", dae);
             throw new DatabaseException("IcSo (searchInSo): Error occurred while searching orders");
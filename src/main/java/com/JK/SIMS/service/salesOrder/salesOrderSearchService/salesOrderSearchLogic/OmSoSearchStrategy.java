@@ -4,11 +4,17 @@ import com.JK.SIMS.exception.ServiceException;
 import com.JK.SIMS.models.salesOrder.SalesOrder;
 import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
 import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.textIndex.IndexedSearchHydrator;
+import com.JK.SIMS.service.generalUtils.textIndex.orderIndex.OrderSearchIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 @Component("omSoSearchStrategy")  // Must match field name
 @Slf4j
@@ -16,18 +22,28 @@ public class OmSoSearchStrategy implements SoSearchStrategy {
 
     private final GlobalServiceHelper globalServiceHelper;
     private final SalesOrderRepository salesOrderRepository;
+    private final OrderSearchIndex orderSearchIndex;
+    private final IndexedSearchHydrator indexedSearchHydrator;
     @Autowired
-    public OmSoSearchStrategy(GlobalServiceHelper globalServiceHelper, SalesOrderRepository salesOrderRepository) {
+    public OmSoSearchStrategy(GlobalServiceHelper globalServiceHelper, SalesOrderRepository salesOrderRepository,
+                              OrderSearchIndex orderSearchIndex, IndexedSearchHydrator indexedSearchHydrator) {
         this.globalServiceHelper = globalServiceHelper;
         this.salesOrderRepository = salesOrderRepository;
+        this.orderSearchIndex = orderSearchIndex;
+        this.indexedSearchHydrator = indexedSearchHydrator;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<SalesOrder> searchInSo(String text, int page, int size, String sortBy, String sortDirection) {
         try {
             Pageable pageable = globalServiceHelper.preparePageable(page, size, sortBy, sortDirection);
             log.info("OM-SO searchInSo(): Search text provided. Searching for orders with text '{}'", text);
-            return salesOrderRepository.searchInSalesOrders(text, pageable);
+            Optional<List<Long>> ids = orderSearchIndex.searchSalesOrderIds(text, null);
+            if (ids.isPresent()) {
+                return indexedSearchHydrator.hydrate(ids.get(), salesOrderRepository, "id", SalesOrder::getId, null, pageable);
+            }
+            return salesOrderRepository.searchInSalesOrders(text, IndexedSearchHydrator.withoutRelevanceSort(pageable));
         } catch (Exception e) {
             log.error("OM-SO searchInSo(): Error filtering orders - {}", e.getMessage());
             throw new ServiceException("Failed to filter orders");
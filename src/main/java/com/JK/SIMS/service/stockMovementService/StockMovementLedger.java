@@ -0,0 +1,156 @@
+package com.JK.SIMS.service.stockMovementService;
+
+import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.repository.stockMovement.StockMovementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind writer of the stock movement ledger. Movements appended during a transaction are kept in memory
+ * and inserted together just before it commits, as one JDBC batch (up to max-batch-size rows per batch):
+ * - they still commit or roll back with the stock change they record, in the same transaction;
+ * - an order with many lines costs one batched insert instead of one insert per line.
+ * Each transaction has its own buffer, also a REQUIRES_NEW one started inside another.
+ * Appended movements are not visible to queries of the same transaction before it commits.
+ * Outside a transaction, movements are saved right away.
+ */
+@Slf4j
+@Component
+public class StockMovementLedger {
+
+    private final EntityManager entityManager;
+    private final StockMovementRepository stockMovementRepository;
+    private final int maxBatchSize;
+
+    // Throughput, also published as sims.stock_movements.* meters when Micrometer is available
+    private final LongAdder appendedCount = new LongAdder();
+    private final LongAdder flushedCount = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final Counter appendedCounter;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    public StockMovementLedger(EntityManager entityManager, StockMovementRepository stockMovementRepository,
+                               ObjectProvider<MeterRegistry> meterRegistry,
+                               @Value("${stock-movement-ledger.max-batch-size:1000}") int maxBatchSize) {
+        this.entityManager = entityManager;
+        this.stockMovementRepository = stockMovementRepository;
+        this.maxBatchSize = maxBatchSize;
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.appendedCounter = registry == null ? null : Counter.builder("sims.stock_movements.appended")
+                .description("Stock movements appended to the ledger").register(registry);
+        this.flushTimer = registry == null ? null : Timer.builder("sims.stock_movements.flush")
+                .description("Batched ledger inserts at commit").register(registry);
+        this.batchSizeSummary = registry == null ? null : DistributionSummary.builder("sims.stock_movements.batch_size")
+                .description("Movements inserted per commit").register(registry);
+    }
+
+    public record Stats(long appended, long flushed, long flushes, double averageBatchSize, double flushedPerSecond) {}
+
+    public void append(StockMovement movement) {
+        appendAll(List.of(movement));
+    }
+
+    public void appendAll(Collection<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        appendedCount.add(movements.size());
+        if (appendedCounter != null) {
+            appendedCounter.increment(movements.size());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.debug("StockMovementLedger: No transaction, saving {} movements right away", movements.size());
+            write(new ArrayList<>(movements));
+            return;
+        }
+        currentBuffer().movements.addAll(movements);
+    }
+
+    public Stats stats() {
+        long flushed = flushedCount.sum();
+        long flushes = flushCount.sum();
+        long nanos = flushNanos.sum();
+        return new Stats(appendedCount.sum(), flushed, flushes, flushes == 0 ? 0 : (double) flushed / flushes,
+                nanos == 0 ? 0 : flushed * 1_000_000_000.0 / nanos);
+    }
+
+    private PendingMovements currentBuffer() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingMovements pending && pending.ledger() == this) {
+                return pending;
+            }
+        }
+        PendingMovements pending = new PendingMovements();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void write(List<StockMovement> movements) {
+        long start = System.nanoTime();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            Session session = entityManager.unwrap(Session.class);
+            Integer previousBatchSize = session.getJdbcBatchSize();
+            session.setJdbcBatchSize(Math.min(movements.size(), maxBatchSize));
+            try {
+                movements.forEach(session::persist);
+                session.flush();
+            } finally {
+                session.setJdbcBatchSize(previousBatchSize);
+            }
+        } else {
+            stockMovementRepository.saveAll(movements);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        flushedCount.add(movements.size());
+        flushCount.increment();
+        flushNanos.add(elapsed);
+        if (flushTimer != null) {
+            flushTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(movements.size());
+        }
+        log.debug("StockMovementLedger: Inserted {} movements in {} ms", movements.size(), elapsed / 1_000_000);
+    }
+
+    // Movements of one transaction, inserted before it commits
+    private class PendingMovements implements TransactionSynchronization {
+        private final List<StockMovement> movements = new ArrayList<>();
+
+        StockMovementLedger ledger() {
+            return StockMovementLedger.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!movements.isEmpty()) {
+                write(movements);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED && !movements.isEmpty()) {
+                log.debug("StockMovementLedger: Dropped {} movements of a rolled back transaction", movements.size());
+            }
+            movements.clear();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.JK.SIMS.service.stockMovementService;
+
+import com.JK.SIMS.exception.DatabaseException;
+import com.JK.SIMS.exception.ValidationException;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.PaginatedResponse;
+import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+import com.JK.SIMS.models.stockMovements.dtos.DailyMovementTotal;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementFilter;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementSeries;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementView;
+import com.JK.SIMS.repository.stockMovement.StockMovementRepository;
+import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetPaginator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the stock movement ledger:
+ * - the history, filtered and keyset-paginated on "createdAt, id" (idx_stock_movements_product_created / _created);
+ * - the same history exported as NDJSON, streamed from a database cursor instead of loaded into a list;
+ * - daily or weekly IN/OUT totals per product, summed by the database per day.
+ */
+@Slf4j
+@Service
+public class StockMovementQueryService {
+
+    private static final String SORT_BY = "createdAt";
+    private static final int DEFAULT_SERIES_DAYS = 30;
+
+    private final StockMovementRepository stockMovementRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final int seriesMaxDays;
+
+    public StockMovementQueryService(StockMovementRepository stockMovementRepository, KeysetPaginator keysetPaginator,
+                                     EntityManager entityManager, ObjectMapper objectMapper, Clock clock,
+                                     @Value("${stock-movement.series.max-days:366}") int seriesMaxDays) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.seriesMaxDays = seriesMaxDays;
+    }
+
+    // Newest first by default; nextCursor continues after the last row of the page
+    @Transactional(readOnly = true)
+    public PaginatedResponse<StockMovementView> getMovements(StockMovementFilter filter, String sortDirection,
+                                                             String cursor, int size) {
+        validateRange(filter.from(), filter.to());
+        try {
+            return keysetPaginator.findSlice(stockMovementRepository,
+                            StockMovementSpecification.matching(filter).and(StockMovementSpecification.fetchProduct()),
+                            "id", Set.of(SORT_BY), SORT_BY, sortDirection, cursor, size)
+                    .toResponse(StockMovementView::from);
+        } catch (DataAccessException de) {
+            log.error("StockMovements (getMovements): Database error occurred: {}", de.getMessage(), de);
+            throw new DatabaseException("Internal Database error.", de);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportMovements(HttpServletResponse response, StockMovementFilter filter) {
+        validateRange(filter.from(), filter.to()); // Before anything is written, so it is still reported as a 400
+        try (ServletOutputStream outputStream = response.getOutputStream()) {
+            writeMovements(outputStream, filter);
+        } catch (IOException e) {
+            log.error("StockMovements (exportMovements): Error writing the export - {}", e.getMessage());
+        }
+    }
+
+    // One JSON object per line, oldest first; memory holds one fetch of rows whatever the size of the history
+    @Transactional(readOnly = true)
+    public long writeMovements(OutputStream outputStream, StockMovementFilter filter) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(StockMovementView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE); // Flushed when the generator's buffer fills
+        long rowCount = 0;
+        try (Stream<StockMovementView> movements = streamMovements(filter);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (Iterator<StockMovementView> it = movements.iterator(); it.hasNext(); rowCount++) {
+                writer.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+            }
+        }
+        log.info("StockMovements (writeMovements): {} movements written.", rowCount);
+        return rowCount;
+    }
+
+    // Read through a forward-only cursor as view rows, no entities: must be consumed and closed inside a transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Stream<StockMovementView> streamMovements(StockMovementFilter filter) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StockMovementView> query = criteriaBuilder.createQuery(StockMovementView.class);
+        Root<StockMovement> movement = query.from(StockMovement.class);
+        Join<StockMovement, ProductsForPM> product = movement.join("product");
+        query.select(criteriaBuilder.construct(StockMovementView.class,
+                movement.get("id"), product.get("productID"), product.get("name"), movement.get("type"),
+                movement.get("quantity"), movement.get("referenceType"), movement.get("referenceId"),
+                movement.get("createdBy"), movement.get("createdAt")));
+        Predicate predicate = StockMovementSpecification.matching(filter).toPredicate(movement, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(movement.get(SORT_BY)), criteriaBuilder.asc(movement.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * @param productId null for every product that moved in the range
+     * @param from      first day, 29 days before to by default
+     * @param to        last day (inclusive), today by default
+     */
+    @Transactional(readOnly = true)
+    public StockMovementSeries getSeries(String productId, StockMovementSeries.Granularity granularity,
+                                         LocalDate from, LocalDate to) {
+        LocalDate lastDay = to != null ? to : GlobalServiceHelper.now(clock).toLocalDate();
+        LocalDate firstDay = from != null ? from : lastDay.minusDays(DEFAULT_SERIES_DAYS - 1);
+        if (firstDay.isAfter(lastDay)) {
+            throw new ValidationException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(firstDay, lastDay) >= seriesMaxDays) {
+            throw new ValidationException("A series covers at most " + seriesMaxDays + " days");
+        }
+
+        List<DailyMovementTotal> dailyTotals;
+        try {
+            LocalDateTime start = firstDay.atStartOfDay();
+            LocalDateTime end = lastDay.plusDays(1).atStartOfDay();
+            dailyTotals = productId != null
+                    ? stockMovementRepository.sumDailyByProduct(productId, start, end)
+                    : stockMovementRepository.sumDaily(start, end);
+        } catch (DataAccessException de) {
+            log.error("StockMovements (getSeries): Database error occurred: {}", de.getMessage(), de);
+            throw new DatabaseException("Internal Database error.", de);
+        }
+
+        Map<String, ProductTotals> products = new TreeMap<>();
+        for (DailyMovementTotal total : dailyTotals) {
+            LocalDate periodStart = granularity == StockMovementSeries.Granularity.WEEK
+                    ? total.day().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : total.day();
+            products.computeIfAbsent(total.productId(), id -> new ProductTotals(total.productName()))
+                    .add(periodStart, total.type(), total.quantity());
+        }
+        List<StockMovementSeries.ProductSeries> series = new ArrayList<>(products.size());
+        products.forEach((id, totals) -> series.add(totals.toSeries(id)));
+        return new StockMovementSeries(granularity, firstDay, lastDay, series);
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("from must be before to");
+        }
+    }
+
+    private static class ProductTotals {
+        private final String name;
+        private final Map<LocalDate, long[]> periods = new TreeMap<>(); // periodStart -> {in, out}
+        private long totalIn = 0;
+        private long totalOut = 0;
+
+        ProductTotals(String name) {
+            this.name = name;
+        }
+
+        void add(LocalDate periodStart, StockMovementType type, long quantity) {
+            long[] period = periods.computeIfAbsent(periodStart, day -> new long[2]);
+            if (type == StockMovementType.IN) {
+                period[0] += quantity;
+                totalIn += quantity;
+            } else {
+                period[1] += quantity;
+                totalOut += quantity;
+            }
+        }
+
+        StockMovementSeries.ProductSeries toSeries(String productId) {
+            List<StockMovementSeries.Point> points = new ArrayList<>(periods.size());
+            periods.forEach((periodStart, period) -> points.add(new StockMovementSeries.Point(periodStart,
+                    period[0], period[1], period[0] - period[1])));
+            return new StockMovementSeries.ProductSeries(productId, name, totalIn, totalOut, points);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.JK.SIMS.models.PM_models.ProductsForPM;
 import com.JK.SIMS.models.stockMovements.StockMovement;
 import com.JK.SIMS.models.stockMovements.StockMovementType;
 import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
-import com.JK.SIMS.repository.stockMovement.StockMovementRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,12 +12,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class StockMovementService {
 
-    private final StockMovementRepository stockMovementRepository;
+    private final StockMovementLedger stockMovementLedger; // Only writer of stock_movements, inserts at commit
 
     @Transactional
     public void logMovement(ProductsForPM product, StockMovementType type, Integer quantity,
@@ -26,6 +27,12 @@ public class StockMovementService {
         log.info("Logging stock movement: productId={}, type={}, quantity={}, referenceId={}, referenceType={}",
                 product.getProductID(), type, quantity, referenceId, referenceType);
         StockMovement movement = new StockMovement(product, quantity, type, referenceId, referenceType, createdBy);
-        stockMovementRepository.save(movement);
+        stockMovementLedger.append(movement);
+    }
+
+    @Transactional
+    public void logMovements(List<StockMovement> movements) {
+        log.info("Logging {} stock movements", movements.size());
+        stockMovementLedger.appendAll(movements);
     }
 }
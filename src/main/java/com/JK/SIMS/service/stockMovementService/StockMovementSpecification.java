@@ -0,0 +1,75 @@
+package com.JK.SIMS.service.stockMovementService;
+
+import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public class StockMovementSpecification {
+
+    // All filters of the history; the ones left null match every movement
+    public static Specification<StockMovement> matching(StockMovementFilter filter) {
+        return Specification.where(hasProduct(filter.productId()))
+                .and(hasType(filter.type()))
+                .and(hasReferenceType(filter.referenceType()))
+                .and(hasReferenceId(filter.referenceId()))
+                .and(createdFrom(filter.from()))
+                .and(createdBefore(filter.to()));
+    }
+
+    // Compared on the product_id column itself, no join
+    public static Specification<StockMovement> hasProduct(String productId) {
+        return (root, query, criteriaBuilder) -> {
+            if (productId == null) return null;
+            return criteriaBuilder.equal(root.get("product").get("productID"), productId);
+        };
+    }
+
+    public static Specification<StockMovement> hasType(StockMovementType type) {
+        return (root, query, criteriaBuilder) -> {
+            if (type == null) return null;
+            return criteriaBuilder.equal(root.get("type"), type);
+        };
+    }
+
+    public static Specification<StockMovement> hasReferenceType(StockMovementReferenceType referenceType) {
+        return (root, query, criteriaBuilder) -> {
+            if (referenceType == null) return null;
+            return criteriaBuilder.equal(root.get("referenceType"), referenceType);
+        };
+    }
+
+    public static Specification<StockMovement> hasReferenceId(String referenceId) {
+        return (root, query, criteriaBuilder) -> {
+            if (referenceId == null) return null;
+            return criteriaBuilder.equal(root.get("referenceId"), referenceId);
+        };
+    }
+
+    public static Specification<StockMovement> createdFrom(LocalDateTime from) {
+        return (root, query, criteriaBuilder) -> {
+            if (from == null) return null;
+            return criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), from);
+        };
+    }
+
+    public static Specification<StockMovement> createdBefore(LocalDateTime to) {
+        return (root, query, criteriaBuilder) -> {
+            if (to == null) return null;
+            return criteriaBuilder.lessThan(root.get("createdAt"), to);
+        };
+    }
+
+    // Loads the product of every row with the page, not one by one when the rows are converted
+    public static Specification<StockMovement> fetchProduct() {
+        return (root, query, criteriaBuilder) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("product");
+            }
+            return null;
+        };
+    }
+}
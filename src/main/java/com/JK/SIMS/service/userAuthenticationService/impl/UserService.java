@@ -1,12 +1,12 @@
 package com.JK.SIMS.service.userAuthenticationService.impl;
 
 import com.JK.SIMS.config.security.JWTService;
+import com.JK.SIMS.config.security.jwtAuthentication.UserPrincipalCache;
 import com.JK.SIMS.config.security.utils.SecurityUtils;
 import com.JK.SIMS.exception.*;
 import com.JK.SIMS.models.UM_models.*;
 import com.JK.SIMS.models.UM_models.dtos.LoginRequest;
 import com.JK.SIMS.models.UM_models.dtos.TokenResponse;
-import com.JK.SIMS.repository.UserManagement_repo.BlackListTokenRepository;
 import com.JK.SIMS.repository.UserManagement_repo.UserRepository;
 import com.JK.SIMS.service.userAuthenticationService.RefreshTokenService;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -27,7 +27,6 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
 
 @Service
 @RequiredArgsConstructor
@@ -48,9 +47,9 @@ public class UserService {
     // =========== Services ===========
     private final JWTService jwtService;
     private final RefreshTokenService refreshTokenService;
+    private final UserPrincipalCache userPrincipalCache;
 
     // =========== Repositories ===========
-    private final BlackListTokenRepository blackListTokenRepository;
     private final UserRepository userRepository;
 
     public TokenResponse verify(LoginRequest loginRequest, HttpServletResponse response, HttpServletRequest request) {
@@ -153,7 +152,8 @@ public class UserService {
                 log.warn("UM (logout): Token has already been blacklisted");
                 return;
             }
-            blackListTokenRepository.save(new BlacklistedToken(jwtToken, new Date()));
+            jwtService.blacklistToken(jwtToken);
+            userPrincipalCache.invalidate(username);
 
             // Revoke refresh token
             String refreshToken = extractRefreshTokenFromCookie(request);
@@ -181,6 +181,7 @@ public class UserService {
             RefreshToken refreshToken = refreshTokenService.findByToken(requestRefreshToken);
             Users user = refreshToken.getUser();
             refreshTokenService.revokeAllUserTokens(user);
+            userPrincipalCache.invalidate(user.getUsername());
             clearRefreshTokenCookie(response);
         } catch (TokenRefreshException e) {
             clearRefreshTokenCookie(response);
@@ -209,7 +210,7 @@ public class UserService {
                     .orElseThrow(() -> new ResourceNotFoundException("UM (updateUser): User not found"));
 
             updateUserFields(currentUser, user, currentAccessToken);
-            userRepository.save(currentUser);
+            userRepository.save(currentUser); // UserPrincipalCacheListener drops the cached principal
             log.info("User '{}' updated successfully.", username);
 
         } catch (ExpiredJwtException e) {
@@ -230,7 +231,7 @@ public class UserService {
                 );
             }
             currentUser.setPassword(passwordsEncoder.encode(newPassword));
-            blackListTokenRepository.save(new BlacklistedToken(currentAccessToken, new Date()));
+            jwtService.blacklistToken(currentAccessToken);
             log.info("User '{}' password updated. Token invalidated - re-login required.", currentUser.getUsername());
         }
 
@@ -0,0 +1,134 @@
+package com.JK.SIMS.config.dataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routing between two embedded H2 databases, each holding its own name in a "whoami" table.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaStalenessGuard stalenessGuard;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        stalenessGuard = new ReplicaStalenessGuard(Clock.systemUTC(), 60_000, 2_000, 60_000);
+        lagMonitor = new ReplicaLagMonitor(primary, replica, stalenessGuard, Clock.systemUTC());
+        route(replica);
+        lagMonitor.heartbeat();
+        replicateHeartbeat();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+        assertEquals("primary", readWrite.execute(status -> whoami()));
+        assertEquals("primary", whoami()); // Outside a transaction
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        login("alice");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE whoami SET name = name"));
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+
+        login("bob");
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+    }
+
+    @Test
+    void laggingReplicaIsSkipped() {
+        stalenessGuard.updateLag(10_000);
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+
+        // Caught up once the latest heartbeat reaches the replica
+        lagMonitor.heartbeat();
+        replicateHeartbeat();
+        lagMonitor.measureLag();
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToThePrimary() {
+        DriverManagerDataSource missingReplica = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+        route(missingReplica);
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+
+        // Not retried before retry-after-failure-ms, even if it came back
+        route(replica);
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+    }
+
+    private void route(DataSource replicaDataSource) {
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicaDataSource, stalenessGuard));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    // What replication would do with the heartbeat row
+    private void replicateHeartbeat() {
+        Long beatAt = new JdbcTemplate(primary).queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        replicaJdbc.update("MERGE INTO replica_heartbeat (id, beat_at) KEY (id) VALUES (1, ?)", beatAt);
+        lagMonitor.measureLag();
+    }
+
+    private String whoami() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbc.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return database;
+    }
+}
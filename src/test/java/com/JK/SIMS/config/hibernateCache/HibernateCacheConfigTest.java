@@ -0,0 +1,103 @@
+package com.JK.SIMS.config.hibernateCache;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.supplier.Supplier;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.supplier_repo.SupplierRepository;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cached products and suppliers must follow committed changes, and the conditional stock updates
+ * on the inventory table must not evict them.
+ */
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the cache is only updated on commit
+class HibernateCacheConfigTest {
+
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        icRepository.deleteAll();
+        pmRepository.deleteAll();
+        supplierRepository.deleteAll();
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictAllRegions();
+
+        ProductsForPM product = pmRepository.save(new ProductsForPM("PRD001", "Cable", "A1-01",
+                ProductCategories.ELECTRONIC, BigDecimal.TEN, ProductStatus.ACTIVE));
+        InventoryControlData inventory = InventoryFixtures.inventory("SKU-PRD001", product, 10);
+        inventory.setMinLevel(2);
+        icRepository.save(inventory);
+    }
+
+    @Test
+    void productUpdatesAndDeletesReachTheCache() {
+        pmRepository.findById("PRD001").orElseThrow();
+        assertTrue(cache.containsEntity(ProductsForPM.class, "PRD001"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ProductsForPM product = pmRepository.findById("PRD001").orElseThrow();
+            product.setName("Fiber cable");
+        });
+        assertEquals("Fiber cable", pmRepository.findById("PRD001").orElseThrow().getName());
+
+        icRepository.deleteAll();
+        pmRepository.deleteById("PRD001");
+        // The region keeps a lock entry for the deleted row, so only a lookup shows the removal
+        assertTrue(pmRepository.findById("PRD001").isEmpty());
+    }
+
+    @Test
+    void stockUpdatesKeepProductsCached() {
+        pmRepository.findById("PRD001").orElseThrow();
+        transactionTemplate.executeWithoutResult(status -> assertEquals(1, icRepository.reserveIfAvailable("PRD001", 3)));
+
+        assertTrue(cache.containsEntity(ProductsForPM.class, "PRD001"));
+        assertEquals(3, icRepository.findById("SKU-PRD001").orElseThrow().getReservedStock());
+    }
+
+    @Test
+    void cachedSupplierQueriesFollowInserts() {
+        assertTrue(supplierRepository.findAll().isEmpty());
+        assertTrue(supplierRepository.findByName("Cable Distributors").isEmpty());
+
+        Supplier supplier = new Supplier();
+        supplier.setName("Cable Distributors");
+        supplier.setContactPerson("Jane Doe");
+        supplier.setEmail("supplier@sims.com");
+        supplier.setPhone("+1234567890");
+        supplier.setAddress("1 Main St");
+        supplierRepository.save(supplier);
+
+        assertEquals(1, supplierRepository.findAll().size());
+        assertTrue(supplierRepository.findByName("Cable Distributors").isPresent());
+        assertTrue(cache.containsEntity(Supplier.class, supplier.getId()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.JK.SIMS.config.idGeneration;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
+import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.repository.stockMovement.StockMovementRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Orders with many lines are inserted in JDBC batches now that their ids come from the pooled id_generator,
+ * and the generator is moved past ids that were created before (by IDENTITY columns).
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(IdGeneratorAlignment.class)
+class IdGeneratorBatchingTest {
+
+    private static final int LINES = 1000;
+
+    @Autowired private IdGeneratorAlignment idGeneratorAlignment;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private StockMovementRepository stockMovementRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void thousandLineOrderIsInsertedInBatches() {
+        ProductsForPM product = pmRepository.saveAndFlush(new ProductsForPM("PRD001", "Cable", "A1-01",
+                ProductCategories.ELECTRONIC, new BigDecimal("2.50"), ProductStatus.ACTIVE));
+        SalesOrder order = new SalesOrder("SO-2026-01-01-001", "Berlin", SalesOrderStatus.PENDING, null);
+        order.setCustomerName("Customer");
+        order.setEstimatedDeliveryDate(LocalDateTime.now().plusDays(5));
+        for (int i = 0; i < LINES; i++) {
+            order.addOrderItem(new OrderItem(i + 1, product, product.getPrice().multiply(BigDecimal.valueOf(i + 1))));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        salesOrderRepository.save(order);
+        entityManager.flush();
+        long elapsedNanos = System.nanoTime() - start;
+        log.info("IdGeneratorBatchingTest: Inserted an order of {} lines in {} ms ({} rows/s, {} statements)",
+                LINES, elapsedNanos / 1_000_000, (LINES + 1) * 1_000_000_000L / Math.max(elapsedNanos, 1),
+                statistics.getPrepareStatementCount());
+
+        // One id block per 50 rows (a read and an update) and one insert batch per 50 rows, instead of 1001 inserts
+        assertTrue(statistics.getPrepareStatementCount() < 100,
+                "Expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements");
+        entityManager.clear();
+        assertEquals(LINES, salesOrderRepository.findById(order.getId()).orElseThrow().getItems().size());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Like at startup, the alignment commits before ids are fetched
+    void idsContinueAboveExistingRows() {
+        pmRepository.saveAndFlush(new ProductsForPM("PRD001", "Cable", "A1-01",
+                ProductCategories.ELECTRONIC, new BigDecimal("2.50"), ProductStatus.ACTIVE));
+        // A row created before the switch to the id_generator
+        jdbcTemplate.update("INSERT INTO stock_movements (id, product_id, quantity, type, reference_id, reference_type, created_by, created_at) "
+                + "VALUES (5000, 'PRD001', 1, 'IN', 'PO-1', 1, 'legacy', CURRENT_TIMESTAMP)");
+
+        idGeneratorAlignment.alignAll();
+
+        StockMovement movement = stockMovementRepository.save(new StockMovement(pmRepository.findById("PRD001").orElseThrow(),
+                2, StockMovementType.OUT, "SO-1", StockMovementReferenceType.SALES_ORDER, "tester"));
+        assertTrue(movement.getId() > 5000, "Id " + movement.getId() + " collides with existing rows");
+    }
+}
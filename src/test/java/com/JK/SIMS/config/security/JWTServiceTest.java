@@ -0,0 +1,186 @@
+package com.JK.SIMS.config.security;
+
+import com.JK.SIMS.config.security.jwtAuthentication.JwtAuthenticationToken;
+import com.JK.SIMS.config.security.jwtAuthentication.VerifiedJwt;
+import com.JK.SIMS.config.security.tokenBlacklist.TokenBlacklistCache;
+import com.JK.SIMS.config.security.utils.SecurityUtils;
+import com.JK.SIMS.models.UM_models.Roles;
+import com.JK.SIMS.models.UM_models.UserPrincipal;
+import com.JK.SIMS.models.UM_models.Users;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * An access token is parsed once per request: verify() checks signature and expiration with the cached key,
+ * and the service reuses the verified claims instead of parsing the header again.
+ * Also logs the time of the former path, which parsed each token four times with a freshly derived key.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "jwt.secret=" + JWTServiceTest.SECRET,
+        "jwt.access.expiration=3600000"
+})
+@Import({JWTService.class, TokenBlacklistCache.class, SecurityUtils.class})
+class JWTServiceTest {
+
+    static final String SECRET = "qvrObMpzYsKJal9Vto17Kopf98kkmN4PPivSYJPcFGo=";
+    private static final String OTHER_SECRET = "1MXHOymrFocryIouhAPlPi61i9NFomgYbFqSwBqTF/Y=";
+    private static final int REQUESTS = 2000;
+
+    @MockitoSpyBean private JWTService jwtService;
+    @Autowired private SecurityUtils securityUtils;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void verifyReadsAllClaimsOfAValidToken() {
+        String token = jwtService.generateAccessToken("alice", Roles.ROLE_MANAGER.name());
+
+        VerifiedJwt verifiedJwt = jwtService.verify(token);
+
+        assertEquals(token, verifiedJwt.token());
+        assertEquals("alice", verifiedJwt.username());
+        assertEquals("ROLE_MANAGER", verifiedJwt.role());
+        assertEquals("ACCESS", verifiedJwt.type());
+        assertFalse(verifiedJwt.isExpired());
+        assertTrue(jwtService.validateToken(verifiedJwt, principal("alice", Roles.ROLE_MANAGER)));
+        assertFalse(jwtService.validateToken(verifiedJwt, principal("bob", Roles.ROLE_MANAGER)));
+    }
+
+    @Test
+    void verifyRejectsExpiredTamperedAndForeignTokens() {
+        String expired = Jwts.builder()
+                .subject("alice")
+                .issuedAt(new Date(System.currentTimeMillis() - 7_200_000))
+                .expiration(new Date(System.currentTimeMillis() - 3_600_000))
+                .signWith(key(SECRET))
+                .compact();
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(expired));
+
+        // Same signature, payload changed to another user
+        String[] parts = jwtService.generateAccessToken("alice", Roles.ROLE_STAFF.name()).split("\\.");
+        String payload = new String(Decoders.BASE64URL.decode(parts[1]), StandardCharsets.UTF_8).replace("alice", "admin");
+        String tampered = parts[0] + "." + Encoders.BASE64URL.encode(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+        assertThrows(SignatureException.class, () -> jwtService.verify(tampered));
+
+        String foreign = Jwts.builder()
+                .subject("alice")
+                .claim("role", Roles.ROLE_ADMIN.name())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(key(OTHER_SECRET))
+                .compact();
+        assertThrows(SignatureException.class, () -> jwtService.verify(foreign));
+    }
+
+    @Test
+    void usernameComesFromTheContextOnlyForTheVerifiedToken() throws Exception {
+        String aliceToken = jwtService.generateAccessToken("alice", Roles.ROLE_STAFF.name());
+        String bobToken = jwtService.generateAccessToken("bob", Roles.ROLE_STAFF.name());
+
+        // No JWT authentication for this request: the token is parsed
+        assertEquals("alice", securityUtils.validateAndExtractUsername(aliceToken));
+        verify(jwtService).extractUsername(aliceToken);
+
+        authenticate(aliceToken);
+        clearInvocations(jwtService);
+        assertEquals("alice", securityUtils.validateAndExtractUsername(aliceToken));
+        verify(jwtService, never()).extractUsername(anyString());
+
+        // Another token than the one the filter verified is parsed and checked on its own
+        assertEquals("bob", securityUtils.validateAndExtractUsername(bobToken));
+        verify(jwtService).extractUsername(bobToken);
+        String forgedBobToken = Jwts.builder().subject("bob").signWith(key(OTHER_SECRET)).compact();
+        assertThrows(SignatureException.class, () -> securityUtils.validateAndExtractUsername(forgedBobToken));
+    }
+
+    @Test
+    void requestParsesTheTokenOnceInsteadOfFourTimes() throws Exception {
+        String token = jwtService.generateAccessToken("alice", Roles.ROLE_STAFF.name());
+        UserDetails userDetails = principal("alice", Roles.ROLE_STAFF);
+        AtomicInteger legacyParses = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            assertEquals("alice", legacyRequest(token, userDetails, legacyParses));
+        }
+        long legacyNanos = System.nanoTime() - start;
+
+        clearInvocations(jwtService);
+        start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            // What JWTFilter and a service do for one request today
+            VerifiedJwt verifiedJwt = jwtService.verify(token);
+            assertTrue(jwtService.validateToken(verifiedJwt, userDetails));
+            SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(userDetails, verifiedJwt));
+            assertEquals("alice", securityUtils.validateAndExtractUsername(token));
+            SecurityContextHolder.clearContext();
+        }
+        long verifiedNanos = System.nanoTime() - start;
+
+        log.info("{} requests: former path {} parses in {} ms, verify() {} parses in {} ms", REQUESTS,
+                legacyParses.get(), legacyNanos / 1_000_000, REQUESTS, verifiedNanos / 1_000_000);
+        assertEquals(4 * REQUESTS, legacyParses.get());
+        verify(jwtService, times(REQUESTS)).verify(token);
+        verify(jwtService, never()).extractUsername(anyString());
+        verify(jwtService, never()).isTokenExpired(anyString());
+    }
+
+    // The former request path: JWTFilter read the username, validateToken() parsed twice more and the
+    // service parsed the header again; each parse decoded the secret and built a new parser
+    private String legacyRequest(String token, UserDetails userDetails, AtomicInteger parses) {
+        String username = legacyParse(token, parses).getSubject();
+        boolean valid = legacyParse(token, parses).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(token, parses).getExpiration().before(new Date());
+        assertTrue(valid && username != null);
+        return legacyParse(token, parses).getSubject();
+    }
+
+    private static Claims legacyParse(String token, AtomicInteger parses) {
+        parses.incrementAndGet();
+        return Jwts.parser()
+                .verifyWith(key(SECRET))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private void authenticate(String token) {
+        VerifiedJwt verifiedJwt = jwtService.verify(token);
+        UserDetails userDetails = principal(verifiedJwt.username(), Roles.valueOf(verifiedJwt.role()));
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(userDetails, verifiedJwt));
+    }
+
+    private static UserDetails principal(String username, Roles role) {
+        return new UserPrincipal(new Users(null, username, "secret", role, username + "@sims.test", "First", "Last"));
+    }
+
+    private static SecretKey key(String secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+}
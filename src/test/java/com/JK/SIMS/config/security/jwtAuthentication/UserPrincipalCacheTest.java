@@ -0,0 +1,126 @@
+package com.JK.SIMS.config.security.jwtAuthentication;
+
+import com.JK.SIMS.config.security.JWTService;
+import com.JK.SIMS.config.security.utils.SecurityUtils;
+import com.JK.SIMS.models.UM_models.Roles;
+import com.JK.SIMS.models.UM_models.Users;
+import com.JK.SIMS.repository.UserManagement_repo.UserRepository;
+import com.JK.SIMS.service.userAuthenticationService.RefreshTokenService;
+import com.JK.SIMS.service.userAuthenticationService.impl.UserDetailsServiceImpl;
+import com.JK.SIMS.service.userAuthenticationService.impl.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * A cached principal is served until the user row changes: a new role or a deleted account applies
+ * to the next request even while the old token is still used, and logging out drops the principal.
+ */
+@DataJpaTest(properties = {
+        "jwt.principal-cache.ttl-ms=3600000", // Only invalidation can refresh an entry during the test
+        "jwt.refresh.cookie.name=refresh_token",
+        "jwt.refresh.cookie.max-age=604800"
+})
+@Import({UserPrincipalCache.class, UserDetailsServiceImpl.class, UserService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Entries are dropped after commit
+class UserPrincipalCacheTest {
+
+    @Autowired private UserPrincipalCache userPrincipalCache;
+    @Autowired private UserService userService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean private UserDetailsServiceImpl userDetailsService;
+    @MockitoBean private JWTService jwtService;
+    @MockitoBean private AuthenticationManager authenticationManager;
+    @MockitoBean private BCryptPasswordEncoder passwordEncoder;
+    @MockitoBean private SecurityUtils securityUtils;
+    @MockitoBean private RefreshTokenService refreshTokenService;
+
+    private TransactionTemplate transaction;
+    private VerifiedJwt managerToken;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userPrincipalCache.invalidateAll();
+        userRepository.save(new Users(null, "alice", "secret", Roles.ROLE_MANAGER, "alice@sims.test", "Alice", "Smith"));
+        transaction = new TransactionTemplate(transactionManager);
+        managerToken = new VerifiedJwt("token", "alice", Roles.ROLE_MANAGER.name(), "ACCESS",
+                new Date(System.currentTimeMillis() + 3_600_000));
+    }
+
+    @Test
+    void roleChangeRefreshesThePrincipalOfAnOldToken() {
+        assertEquals(List.of("ROLE_MANAGER"), roles(userPrincipalCache.loadUser(managerToken)));
+        assertEquals(List.of("ROLE_MANAGER"), roles(userPrincipalCache.loadUser(managerToken)));
+        verify(userDetailsService, times(1)).loadUserByUsername("alice"); // Second request served from the cache
+
+        transaction.executeWithoutResult(status -> userRepository.findByUsername("alice").orElseThrow()
+                .setRole(Roles.ROLE_STAFF));
+
+        // The token still claims ROLE_MANAGER, the principal must not
+        assertEquals(List.of("ROLE_STAFF"), roles(userPrincipalCache.loadUser(managerToken)));
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void rolledBackRoleChangeIsNotServedFromTheCache() {
+        userPrincipalCache.loadUser(managerToken);
+
+        transaction.executeWithoutResult(status -> {
+            Users alice = userRepository.findByUsername("alice").orElseThrow();
+            alice.setRole(Roles.ROLE_ADMIN);
+            userRepository.saveAndFlush(alice);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of("ROLE_MANAGER"), roles(userPrincipalCache.loadUser(managerToken)));
+    }
+
+    @Test
+    void deletedUserIsNoLongerAuthenticated() {
+        userPrincipalCache.loadUser(managerToken);
+
+        transaction.executeWithoutResult(status -> userRepository.delete(userRepository.findByUsername("alice").orElseThrow()));
+
+        assertThrows(UsernameNotFoundException.class, () -> userPrincipalCache.loadUser(managerToken));
+    }
+
+    @Test
+    void logoutDropsTheCachedPrincipal() {
+        when(jwtService.extractUsername("token")).thenReturn("alice");
+        userPrincipalCache.loadUser(managerToken);
+
+        userService.logout("token", new MockHttpServletResponse(), new MockHttpServletRequest());
+
+        verify(jwtService).blacklistToken("token");
+        userPrincipalCache.loadUser(managerToken);
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    private static List<String> roles(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
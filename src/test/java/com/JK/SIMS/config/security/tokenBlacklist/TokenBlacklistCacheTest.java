@@ -0,0 +1,121 @@
+package com.JK.SIMS.config.security.tokenBlacklist;
+
+import com.JK.SIMS.config.security.JWTService;
+import com.JK.SIMS.config.security.jwtAuthentication.UserPrincipalCache;
+import com.JK.SIMS.config.security.secFilter.JWTFilter;
+import com.JK.SIMS.exception.JwtAuthenticationException;
+import com.JK.SIMS.models.UM_models.BlacklistedToken;
+import com.JK.SIMS.repository.UserManagement_repo.BlackListTokenRepository;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * A token revoked on logout is rejected by the next request on this node without a database read,
+ * and a cache built from the table at startup knows every revocation that has not expired yet.
+ */
+@DataJpaTest(properties = {
+        "jwt.secret=qvrObMpzYsKJal9Vto17Kopf98kkmN4PPivSYJPcFGo=",
+        "jwt.access.expiration=3600000"
+})
+@Import({TokenBlacklistCache.class, JWTService.class, JWTFilter.class})
+class TokenBlacklistCacheTest {
+
+    private static final long HOUR_MS = 1000L * 60 * 60;
+
+    @Autowired private JWTService jwtService;
+    @Autowired private JWTFilter jwtFilter;
+    @Autowired private BlackListTokenRepository blackListTokenRepository;
+
+    @MockitoBean private UserPrincipalCache userPrincipalCache;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenBlacklistedOnLogoutIsRejectedByTheNextRequest() throws Exception {
+        String token = jwtService.generateAccessToken("alice", "ROLE_STAFF");
+        String otherToken = jwtService.generateAccessToken("bob", "ROLE_STAFF");
+        assertFalse(jwtService.isTokenBlacklisted(token));
+
+        jwtService.blacklistToken(token);
+
+        assertTrue(jwtService.isTokenBlacklisted(token));
+        assertFalse(jwtService.isTokenBlacklisted(otherToken));
+        assertTrue(blackListTokenRepository.findAll().stream().anyMatch(row -> row.getToken().equals(token)
+                && row.getExpiresAt() != null)); // Stored for the other nodes
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        FilterChain filterChain = mock(FilterChain.class);
+        JwtAuthenticationException rejected = assertThrows(JwtAuthenticationException.class,
+                () -> jwtFilter.doFilter(request, new MockHttpServletResponse(), filterChain));
+        assertEquals("Token has been blacklisted", rejected.getMessage());
+        verify(filterChain, never()).doFilter(any(), any());
+        verifyNoInteractions(userPrincipalCache);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void cacheBuiltAtStartupKeepsEveryLiveRevocation() {
+        long now = System.currentTimeMillis();
+        List<String> live = new ArrayList<>();
+        List<String> gone = new ArrayList<>();
+        List<BlacklistedToken> rows = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            String token = "live-" + i;
+            live.add(token);
+            rows.add(new BlacklistedToken(token, new Date(now - 1000), new Date(now + HOUR_MS)));
+        }
+        for (int i = 0; i < 100; i++) {
+            String token = "legacy-" + i; // Written before expires_at existed, kept for 8 hours
+            live.add(token);
+            rows.add(new BlacklistedToken(token, new Date(now - HOUR_MS)));
+        }
+        for (int i = 0; i < 100; i++) {
+            String token = "expired-" + i;
+            gone.add(token);
+            rows.add(new BlacklistedToken(token, new Date(now - 2 * HOUR_MS), new Date(now - HOUR_MS)));
+        }
+        for (int i = 0; i < 100; i++) {
+            String token = "legacy-expired-" + i;
+            gone.add(token);
+            rows.add(new BlacklistedToken(token, new Date(now - 9 * HOUR_MS)));
+        }
+        blackListTokenRepository.saveAll(rows);
+
+        // A restarted node, with a Bloom filter sized far below the number of rows
+        TokenBlacklistCache restarted = new TokenBlacklistCache(blackListTokenRepository, 100, 0.01, 5000);
+        restarted.loadAll();
+
+        live.forEach(token -> assertTrue(restarted.isRevoked(token), token));
+        gone.forEach(token -> assertFalse(restarted.isRevoked(token), token));
+
+        // The periodic rebuild of the filter keeps them as well
+        restarted.evictExpired();
+        live.forEach(token -> assertTrue(restarted.isRevoked(token), token));
+
+        // Revocations made on another node after startup arrive with the next sync
+        blackListTokenRepository.save(new BlacklistedToken("other-node", new Date(), new Date(now + HOUR_MS)));
+        assertFalse(restarted.isRevoked("other-node"));
+        restarted.syncFromDatabase();
+        assertTrue(restarted.isRevoked("other-node"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.JK.SIMS.service.InventoryServices.inventoryDashboardService.pendingOrdersFeed;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.PaginatedResponse;
+import com.JK.SIMS.models.inventoryData.dtos.PendingOrdersResponseInIC;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
+import com.JK.SIMS.models.supplier.Supplier;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryServiceHelper;
+import com.JK.SIMS.service.generalUtils.PurchaseOrderServiceHelper;
+import com.JK.SIMS.service.generalUtils.SalesOrderServiceHelper;
+import com.JK.SIMS.service.purchaseOrder.purchaseOrderSearchService.purchaseOrderFilterLogic.filterSpecification.PurchaseOrderSpecification;
+import com.JK.SIMS.service.salesOrder.salesOrderSearchService.salesOrderFilterLogic.filterSpecification.SalesOrderSpecification;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks the merged feed page by page and checks that every pending order is returned exactly once,
+ * in feed order, with many orders sharing the same orderDate across both sources.
+ */
+@DataJpaTest
+@Import({PendingOrdersFeed.class, SalesOrderServiceHelper.class, PurchaseOrderServiceHelper.class, InventoryServiceHelper.class})
+class PendingOrdersFeedTest {
+
+    private static final int SALES_ORDERS = 23;
+    private static final int PURCHASE_ORDERS = 17;
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Autowired private PendingOrdersFeed pendingOrdersFeed;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        ProductsForPM product = pmRepository.save(new ProductsForPM("PRD001", "Cable", "A1-01",
+                ProductCategories.ELECTRONIC, BigDecimal.TEN, ProductStatus.ACTIVE));
+        Supplier supplier = new Supplier();
+        supplier.setName("Cable Distributors");
+        supplier.setContactPerson("Jane Doe");
+        supplier.setEmail("supplier@sims.com");
+        supplier.setPhone("+1234567890");
+        supplier.setAddress("1 Main St");
+        entityManager.persist(supplier);
+
+        for (int i = 0; i < SALES_ORDERS; i++) {
+            SalesOrder order = new SalesOrder(String.format("SO-2026-03-10-%03d", i), "Berlin", SalesOrderStatus.PENDING, null);
+            order.setCustomerName("Customer " + i);
+            order.setEstimatedDeliveryDate(DAY.plusDays(5).atStartOfDay());
+            order.addOrderItem(new OrderItem(1, product, BigDecimal.TEN));
+            salesOrderRepository.save(order);
+        }
+        for (int i = 0; i < PURCHASE_ORDERS; i++) {
+            purchaseOrderRepository.save(new PurchaseOrder(product, supplier, 5, DAY.plusDays(7), null,
+                    "PO-" + i, DAY.minusDays(i % 3), LocalDateTime.now(), "tester"));
+        }
+        entityManager.flush();
+
+        // Several sales orders share each timestamp, some of them exactly at the start of a PO day
+        List<SalesOrder> salesOrders = salesOrderRepository.findAll();
+        for (int i = 0; i < salesOrders.size(); i++) {
+            LocalDateTime orderDate = i % 4 == 0 ? DAY.atStartOfDay() : DAY.minusDays(i % 3).atTime(9, 0);
+            entityManager.createQuery("UPDATE SalesOrder so SET so.orderDate = :orderDate WHERE so.id = :id")
+                    .setParameter("orderDate", orderDate)
+                    .setParameter("id", salesOrders.get(i).getId())
+                    .executeUpdate();
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    void cursorWalkReturnsEveryOrderOnceInFeedOrder() {
+        List<PendingOrdersResponseInIC> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PaginatedResponse<PendingOrdersResponseInIC> page = pendingOrdersFeed.getPage(
+                    SalesOrderSpecification.byWaitingStatus(), PurchaseOrderSpecification.isPending(), cursor, 0, 7);
+            assertEquals(SALES_ORDERS + PURCHASE_ORDERS, page.getTotalElements());
+            walked.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 100);
+
+        assertFeedComplete(walked);
+    }
+
+    @Test
+    void pageNumbersDoNotOverlap() {
+        List<PendingOrdersResponseInIC> walked = new ArrayList<>();
+        for (int page = 0; page < 6; page++) {
+            walked.addAll(pendingOrdersFeed.getPage(
+                    SalesOrderSpecification.byWaitingStatus(), PurchaseOrderSpecification.isPending(), null, page, 7).getContent());
+        }
+        assertFeedComplete(walked);
+    }
+
+    private void assertFeedComplete(List<PendingOrdersResponseInIC> walked) {
+        assertEquals(SALES_ORDERS + PURCHASE_ORDERS, walked.size());
+        Set<String> seen = new HashSet<>();
+        for (PendingOrdersResponseInIC order : walked) {
+            assertTrue(seen.add(order.getType() + order.getId()), "duplicate " + order.getType() + " " + order.getId());
+        }
+        List<PendingOrdersResponseInIC> sorted = new ArrayList<>(walked);
+        sorted.sort((a, b) -> {
+            int byDate = b.getOrderDate().compareTo(a.getOrderDate());
+            if (byDate != 0) return byDate;
+            int byType = a.getType().compareTo(b.getType());
+            return byType != 0 ? byType : Long.compare(b.getId(), a.getId());
+        });
+        assertEquals(sorted, walked);
+    }
+}
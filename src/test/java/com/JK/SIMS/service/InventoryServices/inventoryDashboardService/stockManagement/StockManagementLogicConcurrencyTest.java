@@ -0,0 +1,143 @@
+package com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement;
+
+import com.JK.SIMS.exception.InsufficientStockException;
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryStatusModifier;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsSnapshot;
+import com.JK.SIMS.service.reportJob.ReportDataVersions;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many threads reserving the same SKU, each reservation in its own transaction.
+ * Compares the PESSIMISTIC and CONDITIONAL_UPDATE reservation modes on one contended row.
+ */
+@Slf4j
+@DataJpaTest
+@Import(StockManagementLogic.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // every reservation commits on its own
+class StockManagementLogicConcurrencyTest {
+
+    private static final String PRODUCT_ID = "PRD001";
+    private static final int THREADS = 8;
+    private static final int RESERVATIONS_PER_THREAD = 100;
+
+    @Autowired private StockManagementLogic stockManagementLogic;
+    @Autowired private IC_repository icRepository;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @MockitoBean private InventoryStatusModifier inventoryStatusModifier;
+    @MockitoBean private DashboardMetricsSnapshot dashboardMetricsSnapshot;
+    @MockitoBean private ReportDataVersions reportDataVersions;
+
+    @BeforeEach
+    void setUp() {
+        icRepository.deleteAll();
+        pmRepository.deleteAll();
+        ProductsForPM product = pmRepository.save(new ProductsForPM(PRODUCT_ID, "Hot SKU", "A1-01",
+                ProductCategories.ELECTRONIC, BigDecimal.TEN, ProductStatus.ACTIVE));
+        icRepository.save(InventoryFixtures.inventory("SKU-" + PRODUCT_ID, product, THREADS * RESERVATIONS_PER_THREAD));
+    }
+
+    @Test
+    void bothModesReserveEveryUnitOnContendedSku() throws Exception {
+        int total = THREADS * RESERVATIONS_PER_THREAD;
+
+        double pessimistic = reserveConcurrently(StockReservationMode.PESSIMISTIC, total);
+        assertEquals(total, reservedStock());
+
+        resetReservedStock();
+        double conditional = reserveConcurrently(StockReservationMode.CONDITIONAL_UPDATE, total);
+        assertEquals(total, reservedStock());
+
+        log.info("Reservations/sec on one SKU with {} threads - PESSIMISTIC: {}, CONDITIONAL_UPDATE: {}",
+                THREADS, String.format("%.0f", pessimistic), String.format("%.0f", conditional));
+    }
+
+    @Test
+    void conditionalUpdateNeverOversells() throws Exception {
+        int available = RESERVATIONS_PER_THREAD; // far less than the number of attempts
+        updateCurrentStock(available);
+
+        reserveConcurrently(StockReservationMode.CONDITIONAL_UPDATE, available);
+        assertEquals(available, reservedStock());
+    }
+
+    // Returns reservations per second; asserts that exactly the expected number succeeded
+    private double reserveConcurrently(StockReservationMode mode, int expectedSuccesses) throws Exception {
+        ReflectionTestUtils.setField(stockManagementLogic, "reservationMode", mode);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger successes = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < RESERVATIONS_PER_THREAD; i++) {
+                        try {
+                            transactionTemplate.executeWithoutResult(status ->
+                                    stockManagementLogic.reserveStock(PRODUCT_ID, 1));
+                            successes.incrementAndGet();
+                        } catch (InsufficientStockException ignored) {
+                            // expected once the stock runs out
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+            assertEquals(expectedSuccesses, successes.get());
+            return THREADS * RESERVATIONS_PER_THREAD / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int reservedStock() {
+        return icRepository.findBySKU("SKU-" + PRODUCT_ID).orElseThrow().getReservedStock();
+    }
+
+    private void resetReservedStock() {
+        InventoryControlData inventory = icRepository.findBySKU("SKU-" + PRODUCT_ID).orElseThrow();
+        inventory.setReservedStock(0);
+        icRepository.save(inventory);
+    }
+
+    private void updateCurrentStock(int currentStock) {
+        InventoryControlData inventory = icRepository.findBySKU("SKU-" + PRODUCT_ID).orElseThrow();
+        inventory.setCurrentStock(currentStock);
+        icRepository.save(inventory);
+    }
+}
@@ -0,0 +1,172 @@
+package com.JK.SIMS.service.InventoryServices.poService.goodsReceipt;
+
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptLine;
+import com.JK.SIMS.models.purchaseOrder.dtos.goodsReceipt.GoodsReceiptSummary;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.repository.stockMovement.StockMovementRepository;
+import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryStatusModifier;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
+import com.JK.SIMS.service.productManagementService.utils.productStatusModifier.ProductStatusModifier;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsSnapshot;
+import com.JK.SIMS.service.reportJob.ReportDataVersions;
+import com.JK.SIMS.service.stockMovementService.StockMovementLedger;
+import com.JK.SIMS.service.stockMovementService.StockMovementService;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A delivery of many PO lines is received in chunks: each line is applied or reported on its own,
+ * the received quantities are added up per product, and the summary tells what every product received.
+ */
+@DataJpaTest
+@Import({GoodsReceiptService.class, GoodsReceiptApplier.class, StockManagementLogic.class, InventoryStatusModifier.class,
+        ProductStatusModifier.class, StockMovementService.class, StockMovementLedger.class,
+        GoodsReceiptServiceTest.ClockConfig.class})
+@TestPropertySource(properties = {"goods-receipt.chunk-size=4", "goods-receipt.max-reported-errors=3"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Chunks are committed separately
+class GoodsReceiptServiceTest {
+
+    @Autowired private GoodsReceiptService goodsReceiptService;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private StockMovementRepository stockMovementRepository;
+
+    @MockitoBean private DashboardMetricsSnapshot dashboardMetricsSnapshot;
+    @MockitoBean private ReportDataVersions reportDataVersions;
+
+    @TempDir private Path tempDir;
+
+    private PurchaseOrder cablesFirst;
+    private PurchaseOrder cablesSecond;
+    private PurchaseOrder plugs;
+
+    @TestConfiguration
+    static class ClockConfig {
+        @Bean
+        Clock clock() {
+            return Clock.systemUTC();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        stockMovementRepository.deleteAll();
+        purchaseOrderRepository.deleteAll();
+        icRepository.deleteAll();
+        pmRepository.deleteAll();
+        ProductsForPM cable = product("PRD001", ProductStatus.ON_ORDER, 2);
+        ProductsForPM plug = product("PRD002", ProductStatus.ACTIVE, 0);
+        cablesFirst = purchaseOrder("PO-1", cable, 10);
+        cablesSecond = purchaseOrder("PO-2", cable, 5);
+        plugs = purchaseOrder("PO-3", plug, 4);
+    }
+
+    @Test
+    void receivesValidLinesAndReportsInvalidOnes() {
+        GoodsReceiptSummary summary = goodsReceiptService.receive(List.of(
+                line(cablesFirst.getId(), null, 10, null),
+                line(null, "PO-2", 2, null),
+                line(cablesSecond.getId(), null, 3, LocalDate.now().minusDays(1)),
+                line(cablesFirst.getId(), null, 1, null),                       // Received in full by line 1
+                line(null, "PO-404", 1, null),
+                line(plugs.getId(), null, 5, null),                              // More than ordered
+                line(plugs.getId(), null, 4, LocalDate.now().plusDays(3)),       // Arrives in the future
+                line(plugs.getId(), null, 4, null)), "manager");
+
+        assertEquals(8, summary.totalLines());
+        assertEquals(4, summary.receivedLines());
+        assertEquals(4, summary.failedLines());
+        assertEquals(19, summary.totalQuantityReceived());
+        assertEquals(List.of(4L, 5L, 6L), summary.errors().stream().map(GoodsReceiptSummary.LineError::lineNumber).toList());
+        assertEquals("Cannot receive stock for finalized order", summary.errors().get(0).errorMessage());
+        assertEquals("PO-404", summary.errors().get(1).reference());
+        assertTrue(summary.errorsTruncated());
+
+        GoodsReceiptSummary.ProductReceipt cables = summary.products().get(0);
+        assertEquals("PRD001", cables.productId());
+        assertEquals(3, cables.linesReceived());
+        assertEquals(15, cables.quantityReceived());
+        assertEquals(17, cables.currentStock());
+        assertEquals(4, summary.products().get(1).currentStock());
+
+        assertEquals(PurchaseOrderStatus.RECEIVED, purchaseOrderRepository.findById(cablesFirst.getId()).orElseThrow().getStatus());
+        PurchaseOrder second = purchaseOrderRepository.findById(cablesSecond.getId()).orElseThrow();
+        assertEquals(PurchaseOrderStatus.RECEIVED, second.getStatus());
+        assertEquals(5, second.getReceivedQuantity());
+        assertEquals("manager", second.getUpdatedBy());
+        assertEquals(17, icRepository.findByPmProduct_ProductID("PRD001").orElseThrow().getCurrentStock());
+        assertEquals(ProductStatus.ACTIVE, pmRepository.findById("PRD001").orElseThrow().getStatus());
+        assertEquals(4, stockMovementRepository.count());
+    }
+
+    @Test
+    void receivesDeliveryFile() throws Exception {
+        Path file = tempDir.resolve("delivery.csv");
+        Files.writeString(file, """
+                Received Quantity,PO Number,Arrival Date
+                6,PO-1,2026-01-15
+                ten,PO-2,
+                4,PO-3,1/16/26
+                4,PO-1,
+                """);
+
+        GoodsReceiptSummary summary = goodsReceiptService.receiveFile(file, "delivery.csv", "manager");
+
+        assertEquals("delivery.csv", summary.fileName());
+        assertEquals(4, summary.totalLines());
+        assertEquals(3, summary.receivedLines());
+        assertEquals(3, summary.errors().get(0).lineNumber());
+        assertEquals("Invalid Received Quantity: ten", summary.errors().get(0).errorMessage());
+
+        PurchaseOrder first = purchaseOrderRepository.findById(cablesFirst.getId()).orElseThrow();
+        assertEquals(PurchaseOrderStatus.RECEIVED, first.getStatus());
+        assertEquals(LocalDate.of(2026, 1, 15), first.getActualArrivalDate());
+        assertEquals(LocalDate.of(2026, 1, 16),
+                purchaseOrderRepository.findById(plugs.getId()).orElseThrow().getActualArrivalDate());
+        assertEquals(12, icRepository.findByPmProduct_ProductID("PRD001").orElseThrow().getCurrentStock());
+    }
+
+    private static GoodsReceiptLine line(Long orderId, String poNumber, int quantity, LocalDate arrivalDate) {
+        return new GoodsReceiptLine(orderId, poNumber, quantity, arrivalDate);
+    }
+
+    private ProductsForPM product(String productId, ProductStatus status, int currentStock) {
+        ProductsForPM product = pmRepository.save(InventoryFixtures.product(productId, status));
+        InventoryControlData inventory = InventoryFixtures.inventory("ELE-" + productId.substring(3), product, currentStock);
+        inventory.setStatus(InventoryDataStatus.LOW_STOCK);
+        icRepository.save(inventory);
+        return product;
+    }
+
+    private PurchaseOrder purchaseOrder(String poNumber, ProductsForPM product, int orderedQuantity) {
+        return purchaseOrderRepository.save(InventoryFixtures.purchaseOrder(poNumber, product, orderedQuantity));
+    }
+}
@@ -0,0 +1,132 @@
+package com.JK.SIMS.service.InventoryServices.soService.processSalesOrder;
+
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.BulkStockOutResponse;
+import com.JK.SIMS.models.salesOrder.dtos.processSalesOrderDtos.ProcessSalesOrderRequestDto;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItemStatus;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.repository.stockMovement.StockMovementRepository;
+import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryStatusModifier;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
+import com.JK.SIMS.service.generalUtils.SalesOrderServiceHelper;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsSnapshot;
+import com.JK.SIMS.service.reportJob.ReportDataVersions;
+import com.JK.SIMS.service.stockMovementService.StockMovementLedger;
+import com.JK.SIMS.service.stockMovementService.StockMovementService;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Several orders are stocked out in one call: each order is applied or rejected on its own,
+ * and an order that needs more than the reserved stock left by the orders before it changes nothing.
+ */
+@DataJpaTest
+@Import({MultiOrderStockOutProcessor.class, StockManagementLogic.class, InventoryStatusModifier.class,
+        SalesOrderServiceHelper.class, StockMovementService.class, StockMovementLedger.class,
+        MultiOrderStockOutProcessorTest.ClockConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Stock movements are inserted when the processing commits
+class MultiOrderStockOutProcessorTest {
+
+    @Autowired private MultiOrderStockOutProcessor multiOrderStockOutProcessor;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private StockMovementRepository stockMovementRepository;
+
+    @MockitoBean private DashboardMetricsSnapshot dashboardMetricsSnapshot;
+    @MockitoBean private ReportDataVersions reportDataVersions;
+
+    @TestConfiguration
+    static class ClockConfig {
+        @Bean
+        Clock clock() {
+            return Clock.systemUTC();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        stockMovementRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        icRepository.deleteAll();
+        pmRepository.deleteAll();
+    }
+
+    @Test
+    void processesEachOrderOnItsOwn() {
+        ProductsForPM cable = product("PRD001", 20, 9);
+        ProductsForPM plug = product("PRD002", 10, 3);
+        SalesOrder full = order("SO-1", SalesOrderStatus.PENDING, new OrderItem(5, cable, BigDecimal.ONE), new OrderItem(3, plug, BigDecimal.ONE));
+        SalesOrder partial = order("SO-2", SalesOrderStatus.PENDING, new OrderItem(10, cable, BigDecimal.ONE));
+        SalesOrder overReserved = order("SO-3", SalesOrderStatus.PENDING, new OrderItem(10, plug, BigDecimal.ONE));
+        SalesOrder finalized = order("SO-4", SalesOrderStatus.CANCELLED, new OrderItem(1, cable, BigDecimal.ONE));
+
+        BulkStockOutResponse response = multiOrderStockOutProcessor.processStockOuts(List.of(
+                new ProcessSalesOrderRequestDto(full.getId(), Map.of("PRD001", 5, "PRD002", 3)),
+                new ProcessSalesOrderRequestDto(partial.getId(), Map.of("PRD001", 4)),
+                new ProcessSalesOrderRequestDto(overReserved.getId(), Map.of("PRD002", 1)), // Reserved stock already used by SO-1
+                new ProcessSalesOrderRequestDto(finalized.getId(), Map.of("PRD001", 1)),
+                new ProcessSalesOrderRequestDto(-1L, Map.of("PRD001", 1)),
+                new ProcessSalesOrderRequestDto(full.getId(), Map.of("PRD001", 1))), "manager");
+
+        assertEquals(6, response.totalOrders());
+        assertEquals(2, response.successCount());
+        assertEquals(List.of(true, true, false, false, false, false),
+                response.results().stream().map(BulkStockOutResponse.OrderResult::success).toList());
+        assertEquals(SalesOrderStatus.APPROVED, response.results().get(0).status());
+        assertTrue(response.results().get(2).message().contains("more quantity than reserved"));
+
+        assertEquals(SalesOrderStatus.APPROVED, salesOrderRepository.findById(full.getId()).orElseThrow().getStatus());
+        SalesOrder partialAfter = salesOrderRepository.findAllWithItemsByIdIn(List.of(partial.getId())).get(0);
+        assertEquals(OrderItemStatus.PARTIALLY_APPROVED, partialAfter.getItems().get(0).getStatus());
+        assertEquals("manager", partialAfter.getConfirmedBy());
+        assertEquals(4, partialAfter.getItems().get(0).getApprovedQuantity());
+        assertEquals(SalesOrderStatus.PENDING, salesOrderRepository.findById(overReserved.getId()).orElseThrow().getStatus());
+
+        InventoryControlData cableStock = icRepository.findByPmProduct_ProductID("PRD001").orElseThrow();
+        assertEquals(11, cableStock.getCurrentStock());
+        assertEquals(0, cableStock.getReservedStock());
+        InventoryControlData plugStock = icRepository.findByPmProduct_ProductID("PRD002").orElseThrow();
+        assertEquals(7, plugStock.getCurrentStock());
+        assertEquals(0, plugStock.getReservedStock());
+        assertEquals(3, stockMovementRepository.count());
+    }
+
+    private ProductsForPM product(String productId, int currentStock, int reservedStock) {
+        ProductsForPM product = pmRepository.save(InventoryFixtures.product(productId));
+        InventoryControlData inventory = InventoryFixtures.inventory("ELE-" + productId.substring(3), product, currentStock);
+        inventory.setReservedStock(reservedStock);
+        icRepository.save(inventory);
+        return product;
+    }
+
+    private SalesOrder order(String reference, SalesOrderStatus status, OrderItem... items) {
+        SalesOrder order = new SalesOrder(reference, "Berlin", status, List.of(items));
+        order.setCustomerName("Customer");
+        order.setEstimatedDeliveryDate(LocalDateTime.now().plusDays(5));
+        return salesOrderRepository.save(order);
+    }
+}
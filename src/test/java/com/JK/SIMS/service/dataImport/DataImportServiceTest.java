@@ -0,0 +1,228 @@
+package com.JK.SIMS.service.dataImport;
+
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.dataImport.ImportType;
+import com.JK.SIMS.models.dataImport.dtos.ImportReport;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryStatusModifier;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.InventoryControlService;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
+import com.JK.SIMS.service.productManagementService.bulkImport.ProductBulkImporter;
+import com.JK.SIMS.service.productManagementService.utils.PMServiceHelper;
+import com.JK.SIMS.service.productManagementService.utils.ProductIdAllocator;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsSnapshot;
+import com.JK.SIMS.service.reportJob.ReportDataVersions;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+/**
+ * Files are streamed row by row into chunked imports: every valid row is applied, and every invalid
+ * one is reported with its row number in the file, also when the chunk it belongs to partly fails.
+ * Rows of earlier chunks are not kept while the file is read, whatever its size.
+ */
+@DataJpaTest
+@Import({DataImportService.class, StockLevelImporter.class, ProductBulkImporter.class, ProductIdAllocator.class,
+        PMServiceHelper.class, StockManagementLogic.class, InventoryStatusModifier.class})
+@TestPropertySource(properties = {"data-import.chunk-size=100", "data-import.max-reported-errors=5",
+        "data-import.max-shared-strings-size=4KB"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Chunks are committed separately
+class DataImportServiceTest {
+
+    @Autowired private DataImportService dataImportService;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+
+    @MockitoSpyBean private StockLevelImporter stockLevelImporter;
+    @MockitoBean private InventoryControlService icService;
+    @MockitoBean private DashboardMetricsSnapshot dashboardMetricsSnapshot;
+    @MockitoBean private ReportDataVersions reportDataVersions;
+
+    @TempDir private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        icRepository.deleteAll();
+        pmRepository.deleteAll();
+        when(icService.newInventoryData(any(), anyBoolean())).thenAnswer(invocation -> {
+            ProductsForPM product = invocation.getArgument(0);
+            return inventory(product, 0, 0);
+        });
+    }
+
+    @Test
+    void importsCatalogFromCsv() throws Exception {
+        Path file = tempDir.resolve("catalog.csv");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            // Columns in another order than the export, with an ignored extra column
+            writer.write("\uFEFFStatus,Price,Location,Notes,Category,Name\r\n");
+            for (int i = 1; i <= 250; i++) {
+                String location = i % 50 == 0 ? "nowhere" : "A1-" + String.format("%03d", i);
+                String category = i == 17 ? "TOYS" : "Electronic";
+                writer.write("ACTIVE," + (i + 0.5) + "," + location + ",\"note, with comma\"\"s\"," + category
+                        + ",\"Product " + i + "\"\r\n");
+            }
+        }
+
+        ImportReport report = dataImportService.importFile(ImportType.CATALOG, file, "catalog.csv");
+
+        assertEquals(250, report.totalRows());
+        assertEquals(6, report.failureCount());
+        assertEquals(244, report.successCount());
+        assertEquals(244, pmRepository.count());
+        assertEquals(244, icRepository.count());
+        // The header is row 1, so product i is on row i + 1
+        assertEquals(18, report.errors().get(0).rowNumber());
+        assertEquals("Invalid Category: TOYS", report.errors().get(0).errorMessage());
+        assertEquals(51, report.errors().get(1).rowNumber());
+        assertEquals(5, report.errors().size());
+        assertTrue(report.errorsTruncated());
+        assertTrue(pmRepository.findAll().stream().anyMatch(product -> product.getName().equals("Product 249")));
+    }
+
+    @Test
+    void importsStockLevelsFromXlsx() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            ProductsForPM product = pmRepository.save(InventoryFixtures.product(String.format("PRD%03d", i)));
+            icRepository.save(inventory(product, 5, 2));
+        }
+
+        Path file = tempDir.resolve("stock.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream outputStream = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Stock");
+            row(sheet, 0, "SKU", "Product Name", "Current Stock", "Minimum Stock");
+            row(sheet, 1, "ELE-001", "Product 1", 40, 10);
+            row(sheet, 2, "ele-002", "Product 2", 1, null); // Current stock only, below the minimum level
+            row(sheet, 4, "ELE-404", "Unknown", 7, 1);      // After an empty row
+            row(sheet, 5, "ELE-003", "Product 3", -3, 1);
+            workbook.write(outputStream);
+        }
+
+        ImportReport report = dataImportService.importFile(ImportType.STOCK_LEVELS, file, "stock.xlsx");
+
+        assertEquals(4, report.totalRows());
+        assertEquals(2, report.successCount());
+        assertEquals(List.of(5L, 6L), report.errors().stream().map(ImportReport.RowError::rowNumber).toList());
+        assertEquals("Product with SKU ELE-404 is not found", report.errors().get(0).errorMessage());
+
+        InventoryControlData first = icRepository.findById("ELE-001").orElseThrow();
+        assertEquals(40, first.getCurrentStock());
+        assertEquals(10, first.getMinLevel());
+        assertEquals(InventoryDataStatus.IN_STOCK, first.getStatus());
+        InventoryControlData second = icRepository.findById("ELE-002").orElseThrow();
+        assertEquals(1, second.getCurrentStock());
+        assertEquals(2, second.getMinLevel());
+        assertEquals(InventoryDataStatus.LOW_STOCK, second.getStatus());
+        assertEquals(5, icRepository.findById("ELE-003").orElseThrow().getCurrentStock());
+    }
+
+    @Test
+    void largeCsvReachesTheImporterInChunksWithoutAccumulating() throws Exception {
+        int rowCount = 100_000;
+        Path file = tempDir.resolve("stock.csv");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("SKU,Current Stock,Minimum Stock\r\n");
+            for (int i = 1; i <= rowCount; i++) {
+                writer.write("ELE-" + i + "," + (i % 500) + ",5\r\n");
+            }
+        }
+        List<WeakReference<String>> earlierChunks = new ArrayList<>();
+        long[] nextRowNumber = {2}; // After the header
+        doAnswer(invocation -> {
+            List<StockLevelImporter.StockLevelRow> chunk = invocation.getArgument(0);
+            assertEquals(100, chunk.size());
+            for (StockLevelImporter.StockLevelRow row : chunk) {
+                assertEquals(nextRowNumber[0]++, row.rowNumber());
+            }
+            if (earlierChunks.size() % 250 == 249) {
+                clearInvocations(stockLevelImporter); // Mockito keeps the arguments of every call
+                assertCollected(earlierChunks);
+            }
+            // The SKU is the text read from the file (already upper case), shared by every copy of the row
+            earlierChunks.add(new WeakReference<>(chunk.get(0).sku()));
+            return new ArrayList<ImportReport.RowError>();
+        }).when(stockLevelImporter).importChunk(any());
+
+        ImportReport report = dataImportService.importFile(ImportType.STOCK_LEVELS, file, "stock.csv");
+
+        assertEquals(rowCount, report.successCount());
+        assertEquals(rowCount / 100, earlierChunks.size());
+        assertEquals(rowCount + 2, nextRowNumber[0]);
+    }
+
+    @Test
+    void xlsxWithTooManyDistinctTextsIsRefused() throws Exception {
+        Path file = tempDir.resolve("stock.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream outputStream = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Stock");
+            row(sheet, 0, "SKU", "Product Name", "Current Stock", "Minimum Stock");
+            for (int i = 1; i <= 500; i++) {
+                row(sheet, i, "ELE-" + i, "Product " + i, i, 1);
+            }
+            workbook.write(outputStream);
+        }
+
+        IOException refused = assertThrows(IOException.class,
+                () -> dataImportService.importFile(ImportType.STOCK_LEVELS, file, "stock.xlsx"));
+        assertEquals("The texts of the .xlsx file take more than 4 KB; split the file or save it as .csv", refused.getMessage());
+        verify(stockLevelImporter, never()).importChunk(any());
+    }
+
+    // Nothing but the weak references points to the rows any more
+    private static void assertCollected(List<? extends Reference<?>> references) {
+        for (int attempt = 0; attempt < 5 && !references.stream().allMatch(reference -> reference.refersTo(null)); attempt++) {
+            System.gc();
+        }
+        assertTrue(references.stream().allMatch(reference -> reference.refersTo(null)), "Rows of earlier chunks are still held");
+    }
+
+    private static void row(Sheet sheet, int rowIndex, Object... values) {
+        Row row = sheet.createRow(rowIndex);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Integer number) {
+                row.createCell(i).setCellValue(number);
+            } else if (values[i] != null) {
+                row.createCell(i).setCellValue((String) values[i]);
+            }
+        }
+    }
+
+    private static InventoryControlData inventory(ProductsForPM product, int currentStock, int minLevel) {
+        InventoryControlData inventoryData = InventoryFixtures.inventory("ELE-" + product.getProductID().substring(3),
+                product, currentStock);
+        inventoryData.setMinLevel(minLevel);
+        inventoryData.setStatus(InventoryDataStatus.LOW_STOCK);
+        return inventoryData;
+    }
+}
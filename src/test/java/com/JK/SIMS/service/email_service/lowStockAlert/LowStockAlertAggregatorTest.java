@@ -0,0 +1,117 @@
+package com.JK.SIMS.service.email_service.lowStockAlert;
+
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryStatusModifier;
+import com.JK.SIMS.service.email_service.EmailSender;
+import com.JK.SIMS.service.email_service.LowStockScheduler;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Low-stock alerts leave only with a committed stock change, and every crossing inside one window,
+ * also repeated ones of the same product, goes out as a single digest.
+ */
+@DataJpaTest(properties = "alert.low-stock.digest-window-ms=" + LowStockAlertAggregatorTest.WINDOW_MS)
+@Import({LowStockAlertAggregator.class, InventoryStatusModifier.class, LowStockAlertAggregatorTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Alerts are collected after commit
+class LowStockAlertAggregatorTest {
+
+    static final long WINDOW_MS = 500;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired private InventoryStatusModifier inventoryStatusModifier;
+    @Autowired private IC_repository icRepository;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @MockitoBean private EmailSender emailSender;
+    @MockitoBean private LowStockScheduler lowStockScheduler;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        icRepository.deleteAll();
+        pmRepository.deleteAll();
+        inventory("PRD001");
+        inventory("PRD002");
+        transaction = new TransactionTemplate(transactionManager);
+        when(lowStockScheduler.buildLowStockHtml(anyList())).thenReturn("<html></html>");
+    }
+
+    @Test
+    void rolledBackStockChangeSendsNoAlert() {
+        transaction.executeWithoutResult(status -> {
+            setStock("PRD001", 1);
+            status.setRollbackOnly();
+        });
+
+        verify(emailSender, after(WINDOW_MS * 3).never()).sendLowStockEmail(anyString(), anyString());
+        assertEquals(InventoryDataStatus.IN_STOCK, icRepository.findByPmProduct_ProductID("PRD001").orElseThrow().getStatus());
+    }
+
+    @Test
+    void crossingsInsideOneWindowAreSentAsOneDigest() {
+        double queuedBefore = meterRegistry.counter("sims.lowstock.alerts.queued").count();
+        transaction.executeWithoutResult(status -> setStock("PRD001", 1));
+        transaction.executeWithoutResult(status -> setStock("PRD001", 50)); // Back in stock
+        transaction.executeWithoutResult(status -> setStock("PRD001", 2));  // And low again
+        transaction.executeWithoutResult(status -> setStock("PRD002", 0));
+
+        verify(emailSender, timeout(WINDOW_MS * 6)).sendLowStockEmail(anyString(), anyString());
+        verify(emailSender, after(WINDOW_MS * 3).times(1)).sendLowStockEmail(anyString(), anyString());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InventoryControlData>> digest = ArgumentCaptor.forClass(List.class);
+        verify(lowStockScheduler).buildLowStockHtml(digest.capture());
+        assertEquals(List.of("SKU-PRD001", "SKU-PRD002"), digest.getValue().stream().map(InventoryControlData::getSKU).toList());
+        assertEquals(2, meterRegistry.counter("sims.lowstock.alerts.queued").count() - queuedBefore);
+    }
+
+    private void setStock(String productId, int currentStock) {
+        InventoryControlData inventory = icRepository.findByPmProduct_ProductID(productId).orElseThrow();
+        inventory.setCurrentStock(currentStock);
+        inventoryStatusModifier.updateInventoryStatus(inventory);
+        icRepository.save(inventory);
+    }
+
+    private void inventory(String productId) {
+        ProductsForPM product = pmRepository.save(InventoryFixtures.product(productId));
+        InventoryControlData inventory = InventoryFixtures.inventory("SKU-" + productId, product, 50);
+        inventory.setMinLevel(5);
+        icRepository.save(inventory);
+    }
+}
@@ -0,0 +1,102 @@
+package com.JK.SIMS.service.generalUtils;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.PaginatedResponse;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.salesOrder.dtos.views.SummarySalesOrderView;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins the summary list to a constant number of statements: the page, its count and one
+ * aggregate query for the totals, however many orders and items are on the page.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SalesOrderServiceHelper.class)
+class SalesOrderSummaryQueryCountTest {
+
+    private static final int ORDERS = 30;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired private SalesOrderServiceHelper salesOrderServiceHelper;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<ProductsForPM> products = pmRepository.saveAll(List.of(
+                new ProductsForPM("PRD001", "Cable", "A1-01", ProductCategories.ELECTRONIC, new BigDecimal("2.50"), ProductStatus.ACTIVE),
+                new ProductsForPM("PRD002", "Switch", "A1-02", ProductCategories.ELECTRONIC, BigDecimal.TEN, ProductStatus.ACTIVE),
+                new ProductsForPM("PRD003", "Router", "A1-03", ProductCategories.ELECTRONIC, new BigDecimal("40.00"), ProductStatus.ACTIVE)));
+
+        for (int i = 0; i < ORDERS; i++) {
+            SalesOrder order = new SalesOrder(String.format("SO-2026-01-01-%03d", i), "Berlin", SalesOrderStatus.PENDING, null);
+            order.setCustomerName("Customer " + i);
+            order.setEstimatedDeliveryDate(LocalDateTime.now().plusDays(5));
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                ProductsForPM product = products.get(j);
+                OrderItem item = new OrderItem(j + 1, product, product.getPrice().multiply(BigDecimal.valueOf(j + 1)));
+                item.setApprovedQuantity(j);
+                order.addOrderItem(item);
+            }
+            salesOrderRepository.save(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void summaryPageUsesConstantNumberOfStatements() {
+        assertEquals(3, statementsForPage(10));
+        entityManager.clear();
+        assertEquals(3, statementsForPage(25));
+    }
+
+    @Test
+    void summaryTotalsMatchItems() {
+        Page<SalesOrder> page = salesOrderRepository.findAll(PageRequest.of(0, 5, Sort.by("id")));
+        SummarySalesOrderView summary = salesOrderServiceHelper.transformToSummarySalesOrderView(page).getContent().get(0);
+
+        assertEquals(1 + 2 + 3, summary.getTotalOrderedQuantity());
+        assertEquals(0 + 1 + 2, summary.getTotalApprovedQuantity());
+        assertEquals(0, new BigDecimal("2.50").add(new BigDecimal("20")).add(new BigDecimal("120"))
+                .compareTo(summary.getTotalAmount()));
+    }
+
+    private long statementsForPage(int size) {
+        statistics.clear();
+        Page<SalesOrder> page = salesOrderRepository.findAll(PageRequest.of(0, size, Sort.by("id")));
+        PaginatedResponse<SummarySalesOrderView> response = salesOrderServiceHelper.transformToSummarySalesOrderView(page);
+        assertEquals(size, response.getContent().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,68 @@
+package com.JK.SIMS.service.generalUtils;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.service.productManagementService.excelReporter.ExcelReporterForPM;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The streamed report must hold every row of the cursor in order, with the styled header, even though
+ * only a window of rows is kept in memory and the entities are detached along the way.
+ */
+@DataJpaTest
+@Import(StreamingExcelWriter.class)
+@TestPropertySource(properties = "excel-export.row-window=7")
+class StreamingExcelWriterTest {
+
+    private static final int PRODUCTS = 40;
+
+    @Autowired private StreamingExcelWriter streamingExcelWriter;
+    @Autowired private PM_repository pmRepository;
+
+    @Test
+    void writesAllStreamedRowsBehindTheHeader() throws Exception {
+        List<ProductsForPM> products = new ArrayList<>();
+        for (int i = PRODUCTS; i > 0; i--) {
+            products.add(new ProductsForPM(String.format("PRD%03d", i), "Product " + i, i % 3 == 0 ? null : "A1-0" + i % 10,
+                    ProductCategories.ELECTRONIC, BigDecimal.valueOf(100 + i, 2), ProductStatus.ACTIVE));
+        }
+        pmRepository.saveAll(products);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long rowCount = streamingExcelWriter.write(outputStream, "Product Management",
+                ExcelReporterForPM::createHeaderRow, pmRepository.streamAllForReport(), ExcelReporterForPM::populateDataRow);
+        assertEquals(PRODUCTS, rowCount);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Product Management");
+            assertEquals(PRODUCTS, sheet.getLastRowNum());
+            Row header = sheet.getRow(0);
+            assertEquals("Product ID", header.getCell(0).getStringCellValue());
+            assertTrue(workbook.getFontAt(header.getCell(0).getCellStyle().getFontIndex()).getBold());
+            for (int i = 1; i <= PRODUCTS; i++) {
+                Row row = sheet.getRow(i);
+                assertEquals(String.format("PRD%03d", i), row.getCell(0).getStringCellValue());
+                assertEquals("Product " + i, row.getCell(2).getStringCellValue());
+                assertEquals(i % 3 == 0 ? "" : "A1-0" + i % 10, row.getCell(3).getStringCellValue());
+                assertEquals((100 + i) / 100.0, row.getCell(4).getNumericCellValue(), 1e-9);
+            }
+        }
+    }
+}
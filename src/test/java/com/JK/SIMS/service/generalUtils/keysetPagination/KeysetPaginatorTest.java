@@ -0,0 +1,149 @@
+package com.JK.SIMS.service.generalUtils.keysetPagination;
+
+import com.JK.SIMS.exception.ValidationException;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paging through a list with cursors returns every row exactly once and in the order of the sort field and id,
+ * whatever the page size, ties and NULL values; cursors and sort fields the list cannot continue are rejected.
+ */
+@DataJpaTest
+@Import(KeysetPaginator.class)
+class KeysetPaginatorTest {
+
+    private static final Set<String> ORDER_SORT_FIELDS = Set.of("destination", "deliveryDate");
+    private static final String[] DESTINATIONS = {"Berlin", "Hamburg", "Berlin", "Munich", "Berlin", "Hamburg", "Berlin"};
+
+    @Autowired private KeysetPaginator keysetPaginator;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+
+    private List<SalesOrder> orders;
+
+    @BeforeEach
+    void setUp() {
+        List<SalesOrder> newOrders = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            SalesOrder order = new SalesOrder(String.format("SO-2026-03-10-%03d", i), DESTINATIONS[i % DESTINATIONS.length],
+                    SalesOrderStatus.values()[i % SalesOrderStatus.values().length], null);
+            order.setCustomerName("Customer " + i);
+            order.setCreatedBy("alice");
+            order.setEstimatedDeliveryDate(LocalDateTime.now());
+            // Every third order is not delivered, two delivered orders share a date
+            order.setDeliveryDate(i % 3 == 0 ? null : LocalDateTime.of(2026, 3, 1, 12, 0).plusDays(i % 5));
+            newOrders.add(order);
+        }
+        orders = salesOrderRepository.saveAllAndFlush(newOrders);
+    }
+
+    @Test
+    void tiesOnTheSortValueAreOrderedById() {
+        Comparator<SalesOrder> ascending = Comparator.comparing(SalesOrder::getDestination).thenComparing(SalesOrder::getId);
+
+        for (int size : new int[]{1, 2, 3, 11}) {
+            assertEquals(ids(orders.stream().sorted(ascending).toList()),
+                    pageThrough(salesOrderRepository, "id", ORDER_SORT_FIELDS, "destination", "asc", size, SalesOrder::getId), "size " + size);
+            assertEquals(ids(orders.stream().sorted(ascending.reversed()).toList()),
+                    pageThrough(salesOrderRepository, "id", ORDER_SORT_FIELDS, "destination", "desc", size, SalesOrder::getId), "size " + size);
+        }
+    }
+
+    @Test
+    void nullSortValuesComeFirstAscendingAndLastDescending() {
+        Comparator<SalesOrder> ascending = Comparator.comparing(SalesOrder::getDeliveryDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(SalesOrder::getId);
+        List<Long> expected = ids(orders.stream().sorted(ascending).toList());
+        assertNull(orders.stream().filter(order -> order.getId().equals(expected.get(0))).findFirst().orElseThrow().getDeliveryDate());
+
+        for (int size : new int[]{1, 2, 4}) {
+            assertEquals(expected,
+                    pageThrough(salesOrderRepository, "id", ORDER_SORT_FIELDS, "deliveryDate", "asc", size, SalesOrder::getId), "size " + size);
+            assertEquals(expected.reversed(),
+                    pageThrough(salesOrderRepository, "id", ORDER_SORT_FIELDS, "deliveryDate", "desc", size, SalesOrder::getId), "size " + size);
+        }
+    }
+
+    @Test
+    void nestedSortPathIsFollowed() {
+        List<InventoryControlData> rows = new ArrayList<>();
+        String[] names = {"Fan", "Cable", "Fan", "Adapter", "Cable", "Fan", "Plug"};
+        for (int i = 0; i < names.length; i++) {
+            ProductsForPM product = InventoryFixtures.product(String.format("PRD%03d", i));
+            product.setName(names[i]);
+            rows.add(InventoryFixtures.inventory("SKU-" + i, pmRepository.save(product), 10));
+        }
+        icRepository.saveAllAndFlush(rows);
+        Comparator<InventoryControlData> ascending = Comparator.comparing((InventoryControlData row) -> row.getPmProduct().getName())
+                .thenComparing(InventoryControlData::getSKU);
+
+        assertEquals(rows.stream().sorted(ascending).map(InventoryControlData::getSKU).toList(),
+                pageThrough(icRepository, "SKU", Set.of("pmProduct.name"), "pmProduct.name", "asc", 2, InventoryControlData::getSKU));
+        assertEquals(rows.stream().sorted(ascending.reversed()).map(InventoryControlData::getSKU).toList(),
+                pageThrough(icRepository, "SKU", Set.of("pmProduct.name"), "pmProduct.name", "desc", 3, InventoryControlData::getSKU));
+    }
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        String cursor = keysetPaginator.findSlice(salesOrderRepository, null, "id", ORDER_SORT_FIELDS,
+                "destination", "asc", null, 2).nextCursor();
+        assertNotNull(cursor);
+
+        assertThrows(ValidationException.class, () -> keysetPaginator.findSlice(salesOrderRepository, null, "id",
+                ORDER_SORT_FIELDS, "deliveryDate", "asc", cursor, 2));
+        assertThrows(ValidationException.class, () -> keysetPaginator.findSlice(salesOrderRepository, null, "id",
+                ORDER_SORT_FIELDS, "destination", "desc", cursor, 2));
+        assertThrows(ValidationException.class, () -> keysetPaginator.findSlice(salesOrderRepository, null, "id",
+                ORDER_SORT_FIELDS, "destination", "asc", cursor.substring(3), 2));
+    }
+
+    @Test
+    void enumSortFieldIsRejected() {
+        // Not in the endpoint's sort fields
+        assertThrows(ValidationException.class, () -> keysetPaginator.findSlice(salesOrderRepository, null, "id",
+                ORDER_SORT_FIELDS, "status", "asc", null, 2));
+
+        // Left in the sort fields by mistake: refused on the first page already, before a cursor is issued
+        ValidationException rejected = assertThrows(ValidationException.class, () -> keysetPaginator.findSlice(
+                salesOrderRepository, null, "id", Set.of("status"), "status", "asc", null, 2));
+        assertEquals("Sorting by status is not supported with a cursor", rejected.getMessage());
+    }
+
+    private <T, K> List<K> pageThrough(JpaSpecificationExecutor<T> repository, String idAttribute, Set<String> sortFields,
+                                       String sortBy, String sortDirection, int size, Function<T, K> key) {
+        List<K> keys = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetSlice<T> slice = keysetPaginator.findSlice(repository, null, idAttribute, sortFields, sortBy, sortDirection, cursor, size);
+            slice.getContent().forEach(row -> keys.add(key.apply(row)));
+            cursor = slice.nextCursor();
+        } while (cursor != null);
+        return keys;
+    }
+
+    private static List<Long> ids(List<SalesOrder> sorted) {
+        return sorted.stream().map(SalesOrder::getId).toList();
+    }
+}
@@ -0,0 +1,114 @@
+package com.JK.SIMS.service.generalUtils.textIndex.catalogIndex;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The index must return exactly the rows of the LIKE queries it replaces, and follow committed changes.
+ * Also logs the time of both for the same queries.
+ */
+@Slf4j
+@DataJpaTest
+@Import(CatalogSearchIndex.class)
+@TestPropertySource(properties = "search-index.max-hydrated-ids=100000")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the index only applies committed changes
+class CatalogSearchIndexTest {
+
+    private static final int PRODUCTS = 1000;
+    private static final List<String> QUERIES = List.of("prd00", "widget 1", "b7-", "electronic", "archived", "42", "x", "nothing-like-this");
+    private static final String[] NAMES = {"Widget", "Robot", "Puzzle", "Drum", "Kite"};
+
+    @Autowired private CatalogSearchIndex catalogSearchIndex;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+
+    @BeforeEach
+    void setUp() {
+        icRepository.deleteAll();
+        pmRepository.deleteAll();
+        ProductCategories[] categories = ProductCategories.values();
+        ProductStatus[] statuses = ProductStatus.values();
+        List<ProductsForPM> products = new ArrayList<>();
+        for (int i = 1; i <= PRODUCTS; i++) {
+            products.add(new ProductsForPM(String.format("PRD%05d", i), NAMES[i % NAMES.length] + " " + i,
+                    "B" + (i % 10) + "-" + (i % 37), categories[i % categories.length], BigDecimal.TEN,
+                    statuses[i % statuses.length]));
+        }
+        pmRepository.saveAll(products);
+        List<InventoryControlData> inventory = new ArrayList<>();
+        for (ProductsForPM product : products) {
+            InventoryControlData row = InventoryFixtures.inventory("SKU-" + product.getProductID(), product, 10);
+            row.setMinLevel(5);
+            inventory.add(row);
+        }
+        icRepository.saveAll(inventory);
+        catalogSearchIndex.rebuild();
+    }
+
+    @Test
+    void indexMatchesLikeQueries() {
+        for (String query : QUERIES) {
+            Set<String> expectedProducts = new HashSet<>(timed("LIKE products '" + query + "'", () ->
+                    pmRepository.searchProducts(query, Pageable.unpaged()).map(ProductsForPM::getProductID).getContent()));
+            Set<String> indexedProducts = new HashSet<>(timed("index products '" + query + "'", () ->
+                    catalogSearchIndex.searchProductIds(query).orElseThrow()));
+            assertEquals(expectedProducts, indexedProducts, "products matching '" + query + "'");
+
+            Set<String> expectedSkus = new HashSet<>(timed("LIKE inventory '" + query + "'", () ->
+                    icRepository.searchProducts(query, Pageable.unpaged()).map(InventoryControlData::getSKU).getContent()));
+            Set<String> indexedSkus = new HashSet<>(timed("index inventory '" + query + "'", () ->
+                    catalogSearchIndex.searchInventorySkus(query).orElseThrow()));
+            assertEquals(expectedSkus, indexedSkus, "inventory rows matching '" + query + "'");
+        }
+    }
+
+    @Test
+    void exactMatchesRankFirst() {
+        List<String> ids = catalogSearchIndex.searchProductIds("prd00042").orElseThrow();
+        assertEquals("PRD00042", ids.get(0));
+    }
+
+    @Test
+    void committedChangesAreIndexed() {
+        ProductsForPM product = pmRepository.findById("PRD00007").orElseThrow();
+        product.setName("Zeppelin");
+        pmRepository.save(product);
+
+        assertEquals(List.of("PRD00007"), catalogSearchIndex.searchProductIds("zeppelin").orElseThrow());
+        assertEquals(List.of("SKU-PRD00007"), catalogSearchIndex.searchInventorySkus("zeppelin").orElseThrow());
+        assertFalse(catalogSearchIndex.searchProductIds("robot 7").orElseThrow().contains("PRD00007"));
+
+        icRepository.deleteById("SKU-PRD00007");
+        pmRepository.deleteById("PRD00007");
+        assertTrue(catalogSearchIndex.searchProductIds("zeppelin").orElseThrow().isEmpty());
+        assertTrue(catalogSearchIndex.searchInventorySkus("zeppelin").orElseThrow().isEmpty());
+    }
+
+    private <T> T timed(String label, Supplier<T> search) {
+        long start = System.nanoTime();
+        T result = search.get();
+        log.info("{}: {} us", label, (System.nanoTime() - start) / 1000);
+        return result;
+    }
+}
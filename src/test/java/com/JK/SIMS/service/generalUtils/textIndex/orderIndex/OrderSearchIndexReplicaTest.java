@@ -0,0 +1,129 @@
+package com.JK.SIMS.service.generalUtils.textIndex.orderIndex;
+
+import com.JK.SIMS.config.dataSource.ReplicaRoutingDataSource;
+import com.JK.SIMS.config.dataSource.ReplicaStalenessGuard;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.service.salesOrder.salesOrderSearchService.salesOrderFilterLogic.filterSpecification.SalesOrderSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * With replica routing on, a search runs in a read-only transaction on a replica that may lag behind.
+ * The orders it re-reads for the index must still come from the primary, or the index would keep their old fields.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderSearchIndex.class, OrderSearchIndexReplicaTest.RoutingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the index only applies committed changes
+class OrderSearchIndexReplicaTest {
+
+    @Autowired private OrderSearchIndex orderSearchIndex;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private ReplicaStalenessGuard stalenessGuard;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired @Qualifier("primaryDatabase") private EmbeddedDatabase primaryDatabase;
+    @Autowired @Qualifier("replicaDatabase") private EmbeddedDatabase replicaDatabase;
+
+    private Long orderId;
+
+    @TestConfiguration
+    static class RoutingConfig {
+        @Bean
+        EmbeddedDatabase primaryDatabase() {
+            return database("primary");
+        }
+
+        @Bean
+        EmbeddedDatabase replicaDatabase() {
+            return database("replica");
+        }
+
+        @Bean
+        ReplicaStalenessGuard replicaStalenessGuard() {
+            return new ReplicaStalenessGuard(Clock.systemUTC(), 5_000, 2_000, 30_000);
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(@Qualifier("primaryDatabase") DataSource primary, @Qualifier("replicaDatabase") DataSource replica,
+                              ReplicaStalenessGuard stalenessGuard) {
+            return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, stalenessGuard));
+        }
+
+        private static EmbeddedDatabase database(String name) {
+            return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .setName(name + "-" + UUID.randomUUID())
+                    .build();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        salesOrderRepository.deleteAll();
+        SalesOrder order = new SalesOrder("SO-2026-03-10-001", "Berlin", SalesOrderStatus.PENDING, null);
+        order.setCustomerName("Alpha Works");
+        order.setCreatedBy("alice");
+        order.setEstimatedDeliveryDate(LocalDateTime.now());
+        orderId = salesOrderRepository.save(order).getId();
+        orderSearchIndex.rebuild();
+
+        replicate();
+        stalenessGuard.updateLag(0); // The replica is used from now on, and does not receive the changes below
+    }
+
+    @Test
+    void changedOrdersAreReadFromThePrimaryDuringAReadOnlySearch() {
+        SalesOrder order = salesOrderRepository.findById(orderId).orElseThrow();
+        order.setCustomerName("Zeppelin Works");
+        order.setStatus(SalesOrderStatus.CANCELLED);
+        salesOrderRepository.save(order);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            assertEquals("Alpha Works", salesOrderRepository.findById(orderId).orElseThrow().getCustomerName()); // Stale replica
+
+            assertEquals(List.of(orderId), orderSearchIndex.searchSalesOrderIds("zeppelin", null).orElseThrow());
+            assertTrue(orderSearchIndex.searchSalesOrderIds("zeppelin", SalesOrderSpecification.WAITING_STATUSES)
+                    .orElseThrow().isEmpty());
+        });
+        assertTrue(orderSearchIndex.searchSalesOrderIds("alpha", null).orElseThrow().isEmpty());
+    }
+
+    // What replication would have done up to now
+    private void replicate() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDatabase);
+        replica.execute("DROP ALL OBJECTS");
+        new JdbcTemplate(primaryDatabase).queryForList("SCRIPT NOPASSWORDS NOSETTINGS", String.class).stream()
+                .filter(statement -> !statement.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+    }
+}
@@ -0,0 +1,188 @@
+package com.JK.SIMS.service.generalUtils.textIndex.orderIndex;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
+import com.JK.SIMS.models.supplier.Supplier;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.repository.supplier_repo.SupplierRepository;
+import com.JK.SIMS.service.purchaseOrder.purchaseOrderSearchService.purchaseOrderFilterLogic.filterSpecification.PurchaseOrderSpecification;
+import com.JK.SIMS.service.salesOrder.salesOrderSearchService.salesOrderFilterLogic.filterSpecification.SalesOrderSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+/**
+ * The index must return exactly the rows of the LIKE queries it replaces, within the same status scope,
+ * and follow committed changes. Also logs the time of both for the same queries.
+ */
+@Slf4j
+@DataJpaTest
+@Import(OrderSearchIndex.class)
+@TestPropertySource(properties = "search-index.max-hydrated-ids=100000")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the index only applies committed changes
+class OrderSearchIndexTest {
+
+    private static final int SALES_ORDERS = 400;
+    private static final int PURCHASE_ORDERS = 200;
+    private static final List<String> QUERIES = List.of("so-2026", "-017", "berlin", "customer 3", "widget", "kite 4",
+            "supplier 2", "alice", "po-1", "x", "nothing-like-this");
+    private static final String[] NAMES = {"Widget", "Robot", "Puzzle", "Drum", "Kite"};
+    private static final String[] CITIES = {"Berlin", "Vienna", "Prague"};
+    private static final String[] PEOPLE = {"alice", "bob", "carol"};
+
+    @Autowired private OrderSearchIndex orderSearchIndex;
+    @MockitoSpyBean private SalesOrderRepository salesOrderRepository;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private PM_repository pmRepository;
+
+    @BeforeEach
+    void setUp() {
+        salesOrderRepository.deleteAll();
+        purchaseOrderRepository.deleteAll();
+        supplierRepository.deleteAll();
+        pmRepository.deleteAll();
+
+        List<ProductsForPM> products = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            products.add(new ProductsForPM(String.format("PRD%03d", i), NAMES[i % NAMES.length] + " " + i, "A1-01",
+                    ProductCategories.ELECTRONIC, BigDecimal.TEN, ProductStatus.ACTIVE));
+        }
+        pmRepository.saveAll(products);
+        List<Supplier> suppliers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Supplier supplier = new Supplier();
+            supplier.setName("Supplier " + i);
+            supplier.setContactPerson("Jane Doe");
+            supplier.setEmail("supplier" + i + "@sims.com");
+            supplier.setPhone("+1234567890");
+            supplier.setAddress("1 Main St");
+            suppliers.add(supplier);
+        }
+        supplierRepository.saveAll(suppliers);
+
+        SalesOrderStatus[] salesStatuses = SalesOrderStatus.values();
+        List<SalesOrder> salesOrders = new ArrayList<>();
+        for (int i = 0; i < SALES_ORDERS; i++) {
+            SalesOrder order = new SalesOrder(String.format("SO-2026-03-10-%03d", i), CITIES[i % CITIES.length],
+                    salesStatuses[i % salesStatuses.length], null);
+            order.setCustomerName("Customer " + i);
+            order.setCreatedBy(PEOPLE[i % PEOPLE.length]);
+            order.setEstimatedDeliveryDate(LocalDateTime.of(2026, 3, 15, 0, 0));
+            order.addOrderItem(new OrderItem(1, products.get(i % products.size()), BigDecimal.TEN));
+            order.addOrderItem(new OrderItem(2, products.get((i * 7) % products.size()), BigDecimal.TEN));
+            salesOrders.add(order);
+        }
+        salesOrderRepository.saveAll(salesOrders);
+
+        PurchaseOrderStatus[] purchaseStatuses = PurchaseOrderStatus.values();
+        List<PurchaseOrder> purchaseOrders = new ArrayList<>();
+        for (int i = 0; i < PURCHASE_ORDERS; i++) {
+            PurchaseOrder order = new PurchaseOrder(products.get(i % products.size()), suppliers.get(i % suppliers.size()),
+                    5, LocalDate.of(2026, 3, 20), null, "PO-" + i, LocalDate.of(2026, 3, 10), LocalDateTime.now(),
+                    PEOPLE[i % PEOPLE.length]);
+            order.setStatus(purchaseStatuses[i % purchaseStatuses.length]);
+            purchaseOrders.add(order);
+        }
+        purchaseOrderRepository.saveAll(purchaseOrders);
+        orderSearchIndex.rebuild();
+    }
+
+    @Test
+    void indexMatchesLikeQueries() {
+        for (String query : QUERIES) {
+            assertEquals(ids(timed("LIKE sales '" + query + "'", () ->
+                            salesOrderRepository.searchInSalesOrders(query, Pageable.unpaged()).map(SalesOrder::getId).getContent())),
+                    ids(timed("index sales '" + query + "'", () -> orderSearchIndex.searchSalesOrderIds(query, null).orElseThrow())),
+                    "sales orders matching '" + query + "'");
+            assertEquals(ids(timed("LIKE waiting sales '" + query + "'", () ->
+                            salesOrderRepository.searchInWaitingSalesOrders(query, Pageable.unpaged()).map(SalesOrder::getId).getContent())),
+                    ids(timed("index waiting sales '" + query + "'", () ->
+                            orderSearchIndex.searchSalesOrderIds(query, SalesOrderSpecification.WAITING_STATUSES).orElseThrow())),
+                    "waiting sales orders matching '" + query + "'");
+            assertEquals(ids(purchaseOrderRepository.searchOrders(query, Pageable.unpaged()).map(PurchaseOrder::getId).getContent()),
+                    ids(orderSearchIndex.searchPurchaseOrderIds(query, null).orElseThrow()),
+                    "purchase orders matching '" + query + "'");
+            assertEquals(ids(purchaseOrderRepository.searchInPendingOrders(query, Pageable.unpaged()).map(PurchaseOrder::getId).getContent()),
+                    ids(orderSearchIndex.searchPurchaseOrderIds(query, PurchaseOrderSpecification.PENDING_STATUSES).orElseThrow()),
+                    "pending purchase orders matching '" + query + "'");
+        }
+    }
+
+    @Test
+    void committedChangesAreIndexed() {
+        SalesOrder order = salesOrderRepository.findAll().get(0);
+        order.setCustomerName("Zeppelin Works");
+        order.setStatus(SalesOrderStatus.PENDING);
+        salesOrderRepository.save(order);
+        assertEquals(List.of(order.getId()),
+                orderSearchIndex.searchSalesOrderIds("zeppelin", SalesOrderSpecification.WAITING_STATUSES).orElseThrow());
+
+        order.setStatus(SalesOrderStatus.CANCELLED);
+        salesOrderRepository.save(order);
+        assertTrue(orderSearchIndex.searchSalesOrderIds("zeppelin", SalesOrderSpecification.WAITING_STATUSES).orElseThrow().isEmpty());
+        assertEquals(List.of(order.getId()), orderSearchIndex.searchSalesOrderIds("zeppelin", null).orElseThrow());
+
+        PurchaseOrder purchaseOrder = purchaseOrderRepository.findAll().get(0);
+        purchaseOrder.setUpdatedBy("zoe");
+        purchaseOrderRepository.save(purchaseOrder);
+        assertEquals(List.of(purchaseOrder.getId()), orderSearchIndex.searchPurchaseOrderIds("zoe", null).orElseThrow());
+
+        salesOrderRepository.deleteById(order.getId());
+        assertTrue(orderSearchIndex.searchSalesOrderIds("zeppelin", null).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void ordersStayFoundWhileTheirChangeCannotBeRead() {
+        SalesOrder order = salesOrderRepository.findAll().get(0);
+        order.setCustomerName("Zeppelin Works");
+        salesOrderRepository.save(order);
+        doThrow(new QueryTimeoutException("Query timed out")).when(salesOrderRepository).findSearchFieldsByIds(anyList());
+
+        // The failed read keeps the order as it was indexed, and its change marked
+        assertEquals(List.of(order.getId()), orderSearchIndex.searchSalesOrderIds(order.getOrderReference(), null).orElseThrow());
+        assertTrue(orderSearchIndex.searchSalesOrderIds("zeppelin", null).orElseThrow().isEmpty());
+
+        reset(salesOrderRepository);
+        assertEquals(List.of(order.getId()), orderSearchIndex.searchSalesOrderIds("zeppelin", null).orElseThrow());
+        assertEquals(List.of(order.getId()), orderSearchIndex.searchSalesOrderIds(order.getOrderReference(), null).orElseThrow());
+    }
+
+    private static Set<Long> ids(List<Long> ids) {
+        return new HashSet<>(ids);
+    }
+
+    private <T> T timed(String label, java.util.function.Supplier<T> search) {
+        long start = System.nanoTime();
+        T result = search.get();
+        log.info("{}: {} us", label, (System.nanoTime() - start) / 1000);
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+package com.JK.SIMS.service.orderManagementService.salesOrderService.impl;
+
+import com.JK.SIMS.config.security.utils.SecurityUtils;
+import com.JK.SIMS.exception.InsufficientStockException;
+import com.JK.SIMS.exception.ServiceException;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.salesOrder.dtos.SalesOrderRequestDto;
+import com.JK.SIMS.models.salesOrder.orderItem.dtos.OrderItemRequest;
+import com.JK.SIMS.models.salesOrder.qrcode.SalesOrderQRCode;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.service.InventoryServices.inventoryCommonUtils.InventoryStatusModifier;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.stockManagement.StockManagementLogic;
+import com.JK.SIMS.service.generalUtils.GlobalServiceHelper;
+import com.JK.SIMS.service.generalUtils.SalesOrderServiceHelper;
+import com.JK.SIMS.service.orderManagementService.salesOrderService.SoQrCodeService;
+import com.JK.SIMS.service.orderManagementService.salesOrderService.orderReference.SalesOrderReferenceGenerator;
+import com.JK.SIMS.service.orderManagementService.salesOrderService.qrCodeOutbox.QrCodeOutboxService;
+import com.JK.SIMS.service.productManagementService.utils.queryService.ProductQueryService;
+import com.JK.SIMS.service.reportAnalytics.dashboardMetrics.DashboardMetricsSnapshot;
+import com.JK.SIMS.service.reportJob.ReportDataVersions;
+import com.JK.SIMS.service.salesOrder.salesOrderQueryService.SalesOrderQueryService;
+import com.JK.SIMS.service.salesOrder.salesOrderSearchService.SalesOrderSearchService;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reservations of a new sales order are undone by the rollback of its transaction alone:
+ * whether a line is short of stock or the order fails after every line was reserved,
+ * no product keeps a reservation and no order is left behind.
+ */
+@DataJpaTest
+@Import({SalesOrderServiceImpl.class, StockManagementLogic.class, InventoryStatusModifier.class,
+        ProductQueryService.class, GlobalServiceHelper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // createSalesOrder commits or rolls back on its own
+class SalesOrderStockReservationTest {
+
+    @Autowired private SalesOrderServiceImpl salesOrderService;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+
+    @MockitoBean private SalesOrderServiceHelper salesOrderServiceHelper;
+    @MockitoBean private SecurityUtils securityUtils;
+    @MockitoBean private SalesOrderReferenceGenerator salesOrderReferenceGenerator;
+    @MockitoBean private SalesOrderQueryService salesOrderQueryService;
+    @MockitoBean private SalesOrderSearchService salesOrderSearchService;
+    @MockitoBean private SoQrCodeService soQrCodeService;
+    @MockitoBean private QrCodeOutboxService qrCodeOutboxService;
+    @MockitoBean private DashboardMetricsSnapshot dashboardMetricsSnapshot;
+    @MockitoBean private ReportDataVersions reportDataVersions;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        salesOrderRepository.deleteAll();
+        icRepository.deleteAll();
+        pmRepository.deleteAll();
+        product("PRD001", 10, 1);
+        product("PRD002", 10, 1);
+        product("PRD003", 6, 1);
+
+        when(securityUtils.validateAndExtractUsername(anyString())).thenReturn("tester");
+        when(salesOrderReferenceGenerator.nextReference(any())).thenReturn("SO-2026-10-17-001");
+        when(soQrCodeService.createPendingQrCode(anyString())).thenAnswer(invocation -> {
+            SalesOrderQRCode qrCode = new SalesOrderQRCode();
+            qrCode.setQrToken("token-" + invocation.getArgument(0));
+            qrCode.setQrCodeS3Key("qr-codes/" + invocation.getArgument(0) + ".png");
+            return qrCode;
+        });
+    }
+
+    @Test
+    void lastLineShortOfStockLeavesEveryReservationUnchanged() {
+        SalesOrderRequestDto request = request(line("PRD001", 5), line("PRD002", 2), line("PRD003", 8)); // PRD003 has 5 available
+
+        assertThrows(InsufficientStockException.class, () -> salesOrderService.createSalesOrder(request, "Bearer token"));
+
+        assertReservationsUnchanged();
+    }
+
+    @Test
+    void failureAfterEveryLineWasReservedRollsTheReservationsBack() {
+        doThrow(new IllegalStateException("Outbox unavailable")).when(qrCodeOutboxService).enqueue(any(), anyString());
+        SalesOrderRequestDto request = request(line("PRD001", 5), line("PRD002", 2), line("PRD003", 5));
+
+        assertThrows(ServiceException.class, () -> salesOrderService.createSalesOrder(request, "Bearer token"));
+
+        assertReservationsUnchanged();
+    }
+
+    private void assertReservationsUnchanged() {
+        for (String productId : List.of("PRD001", "PRD002", "PRD003")) {
+            assertEquals(1, icRepository.findByPmProduct_ProductID(productId).orElseThrow().getReservedStock(), productId);
+        }
+        assertEquals(0, salesOrderRepository.count());
+    }
+
+    private void product(String productId, int currentStock, int reservedStock) {
+        ProductsForPM product = pmRepository.save(InventoryFixtures.product(productId));
+        InventoryControlData inventory = InventoryFixtures.inventory("SKU-" + productId, product, currentStock);
+        inventory.setReservedStock(reservedStock);
+        icRepository.save(inventory);
+    }
+
+    private static SalesOrderRequestDto request(OrderItemRequest... lines) {
+        return new SalesOrderRequestDto("Warehouse B", "Customer", List.of(lines));
+    }
+
+    private static OrderItemRequest line(String productId, int quantity) {
+        OrderItemRequest line = new OrderItemRequest();
+        line.setProductId(productId);
+        line.setQuantity(quantity);
+        return line;
+    }
+}
@@ -0,0 +1,106 @@
+package com.JK.SIMS.service.orderManagementService.salesOrderService.orderReference;
+
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderReferenceCounterRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two generators stand for two nodes sharing the counter table: their blocks never overlap,
+ * a used-up block continues with the next free one, and a new day starts again at 001.
+ */
+@DataJpaTest
+@Import(SalesOrderReferenceBlockAllocator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Blocks are reserved in their own transactions
+class SalesOrderReferenceGeneratorTest {
+
+    private static final int BLOCK_SIZE = 3;
+    private static final LocalDate DAY = LocalDate.parse("2026-10-17");
+
+    @Autowired private SalesOrderReferenceBlockAllocator blockAllocator;
+    @Autowired private SalesOrderReferenceCounterRepository counterRepository;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+
+    private SalesOrderReferenceGenerator nodeA;
+    private SalesOrderReferenceGenerator nodeB;
+
+    @BeforeEach
+    void setUp() {
+        salesOrderRepository.deleteAll();
+        counterRepository.deleteAll();
+        nodeA = new SalesOrderReferenceGenerator(blockAllocator, BLOCK_SIZE);
+        nodeB = new SalesOrderReferenceGenerator(blockAllocator, BLOCK_SIZE);
+    }
+
+    @Test
+    void nodesTakeSeparateBlocksAndRollOverAtBlockAndDayBoundaries() {
+        assertEquals("SO-2026-10-17-001", nodeA.nextReference(DAY));
+        assertEquals("SO-2026-10-17-004", nodeB.nextReference(DAY)); // Node B's block starts after node A's
+        assertEquals("SO-2026-10-17-002", nodeA.nextReference(DAY));
+        assertEquals("SO-2026-10-17-003", nodeA.nextReference(DAY));
+        assertEquals("SO-2026-10-17-007", nodeA.nextReference(DAY)); // Block used up, next free block
+        assertEquals("SO-2026-10-17-005", nodeB.nextReference(DAY));
+
+        LocalDate nextDay = DAY.plusDays(1);
+        assertEquals("SO-2026-10-18-001", nodeB.nextReference(nextDay));
+        assertEquals("SO-2026-10-18-004", nodeA.nextReference(nextDay));
+        assertEquals("SO-2026-10-18-002", nodeB.nextReference(nextDay)); // Rest of the day's block
+    }
+
+    @Test
+    void firstBlockOfTheDayContinuesAfterExistingOrders() {
+        SalesOrder existing = new SalesOrder("SO-2026-10-17-012", "Berlin", SalesOrderStatus.PENDING, List.of());
+        existing.setCustomerName("Customer");
+        existing.setEstimatedDeliveryDate(LocalDateTime.now().plusDays(5));
+        salesOrderRepository.save(existing);
+
+        assertEquals("SO-2026-10-17-013", nodeA.nextReference(DAY));
+    }
+
+    @Test
+    void concurrentNodesNeverHandOutTheSameReference() throws Exception {
+        int perThread = 200;
+        List<SalesOrderReferenceGenerator> nodes = List.of(nodeA, nodeB, nodeA, nodeB); // Two threads per node
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (SalesOrderReferenceGenerator node : nodes) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<String> references = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        references.add(node.nextReference(DAY));
+                    }
+                    return references;
+                }));
+            }
+            start.countDown();
+            Set<String> distinct = new HashSet<>();
+            int total = 0;
+            for (Future<List<String>> future : futures) {
+                List<String> references = future.get(2, TimeUnit.MINUTES);
+                distinct.addAll(references);
+                total += references.size();
+            }
+            assertEquals(nodes.size() * perThread, total);
+            assertEquals(total, distinct.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.JK.SIMS.service.orderManagementService.salesOrderService.qrCodeOutbox;
+
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.salesOrder.qrcode.QrCodeStatus;
+import com.JK.SIMS.models.salesOrder.qrcode.SalesOrderQRCode;
+import com.JK.SIMS.models.salesOrder.qrcode.outbox.QrCodeOutboxEntry;
+import com.JK.SIMS.models.salesOrder.qrcode.outbox.QrCodeOutboxStatus;
+import com.JK.SIMS.repository.salesOrderQrRepo.QrCodeOutboxRepository;
+import com.JK.SIMS.repository.salesOrderQrRepo.SalesOrderQrRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.service.orderManagementService.salesOrderService.SoQrCodeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * A QR code image is produced only for a committed order: a failed render or upload is retried
+ * until the image exists, and an order that rolls back leaves neither an outbox entry nor an upload.
+ */
+@DataJpaTest(properties = "sales-order.qr-code.retry-backoff-ms=50")
+@Import({QrCodeOutboxService.class, QrCodeOutboxProcessor.class, QrCodeOutboxProcessorTest.ClockConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Entries are processed after commit
+class QrCodeOutboxProcessorTest {
+
+    @TestConfiguration
+    static class ClockConfig {
+        @Bean
+        Clock clock() {
+            return Clock.systemUTC();
+        }
+    }
+
+    @Autowired private QrCodeOutboxService outboxService;
+    @Autowired private QrCodeOutboxProcessor outboxProcessor;
+    @Autowired private QrCodeOutboxRepository outboxRepository;
+    @Autowired private SalesOrderQrRepository salesOrderQrRepository;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @MockitoBean private SoQrCodeService soQrCodeService;
+
+    private final Set<String> uploadedImages = ConcurrentHashMap.newKeySet(); // S3 keys with an image
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        salesOrderQrRepository.deleteAll();
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void failedUploadIsRetriedUntilTheImageExists() throws Exception {
+        doThrow(new IOException("S3 unavailable"))
+                .doAnswer(invocation -> uploadedImages.add(invocation.<SalesOrderQRCode>getArgument(0).getQrCodeS3Key()))
+                .when(soQrCodeService).uploadQrCodeImage(any());
+
+        createOrder("SO-2026-10-17-001", false);
+
+        // The first attempt runs right after commit and fails
+        waitUntil(() -> entry().getAttempts() == 1);
+        assertEquals("S3 unavailable", entry().getLastError());
+        assertTrue(uploadedImages.isEmpty());
+
+        // Picked up again by the poll once the backoff has passed
+        waitUntil(() -> {
+            outboxProcessor.pollDueEntries();
+            return entry().getStatus() == QrCodeOutboxStatus.DONE;
+        });
+        SalesOrderQRCode qrCode = salesOrderQrRepository.findAll().get(0);
+        assertEquals(QrCodeStatus.READY, qrCode.getStatus());
+        assertEquals(Set.of(qrCode.getQrCodeS3Key()), uploadedImages);
+        verify(soQrCodeService, times(2)).uploadQrCodeImage(any());
+    }
+
+    @Test
+    void rolledBackOrderLeavesNoOutboxEntry() throws Exception {
+        createOrder("SO-2026-10-17-002", true);
+
+        outboxProcessor.pollDueEntries();
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, salesOrderQrRepository.count());
+        verify(soQrCodeService, after(500).never()).uploadQrCodeImage(any());
+    }
+
+    // Saves the order with its pending QR code and outbox entry in one transaction, as createSalesOrder does
+    private void createOrder(String orderReference, boolean rollBack) {
+        transaction.executeWithoutResult(status -> {
+            SalesOrderQRCode qrCode = new SalesOrderQRCode();
+            qrCode.setQrToken("token-" + orderReference);
+            qrCode.setQrCodeS3Key("qr-codes/" + orderReference + ".png");
+            SalesOrder order = new SalesOrder(orderReference, "Berlin", SalesOrderStatus.PENDING, List.of());
+            order.setCustomerName("Customer");
+            order.setEstimatedDeliveryDate(LocalDateTime.now().plusDays(5));
+            order.setQrCode(qrCode);
+            salesOrderRepository.save(order);
+            outboxService.enqueue(order.getQrCode(), orderReference);
+            if (rollBack) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private QrCodeOutboxEntry entry() {
+        return outboxRepository.findAll().get(0);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10 s");
+            Thread.sleep(50);
+        }
+    }
+}
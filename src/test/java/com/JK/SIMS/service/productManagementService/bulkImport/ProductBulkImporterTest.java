@@ -0,0 +1,102 @@
+package com.JK.SIMS.service.productManagementService.bulkImport;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.PM_models.dtos.BatchProductResponse;
+import com.JK.SIMS.models.PM_models.dtos.ProductManagementRequest;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.service.InventoryServices.inventoryDashboardService.InventoryControlService;
+import com.JK.SIMS.service.productManagementService.utils.PMServiceHelper;
+import com.JK.SIMS.service.productManagementService.utils.ProductIdAllocator;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.when;
+
+/**
+ * The bulk import gives the valid rows consecutive ids after the existing products, inserts them in batches,
+ * and reports the invalid rows by their index, as the one-by-one batch endpoint did.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProductBulkImporter.class, ProductIdAllocator.class, PMServiceHelper.class})
+@TestPropertySource(properties = "product-import.chunk-size=200")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Chunks are committed separately
+class ProductBulkImporterTest {
+
+    private static final int PRODUCTS = 1000;
+
+    @Autowired private ProductBulkImporter productBulkImporter;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean private InventoryControlService icService;
+
+    @BeforeEach
+    void setUp() {
+        when(icService.newInventoryData(any(), anyBoolean())).thenAnswer(invocation -> {
+            ProductsForPM product = invocation.getArgument(0);
+            InventoryControlData inventoryData = InventoryFixtures.inventory("ELE-" + product.getProductID().substring(3),
+                    product, 0);
+            inventoryData.setStatus(InventoryDataStatus.LOW_STOCK);
+            return inventoryData;
+        });
+    }
+
+    @Test
+    void importsValidRowsInBatchesAndReportsInvalidOnes() {
+        pmRepository.save(InventoryFixtures.product("PRD041"));
+
+        List<ProductManagementRequest> requests = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            ProductManagementRequest request = new ProductManagementRequest();
+            request.setName("Product " + i);
+            request.setLocation(i % 100 == 7 ? "nowhere" : "A1-" + String.format("%03d", i % 1000));
+            request.setCategory(ProductCategories.ELECTRONIC);
+            request.setPrice(BigDecimal.valueOf(5 + i));
+            request.setStatus(i % 2 == 0 ? ProductStatus.ACTIVE : ProductStatus.PLANNING);
+            requests.add(request);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BatchProductResponse response = productBulkImporter.importProducts(requests);
+
+        assertEquals(PRODUCTS, response.getTotalRequested());
+        assertEquals(10, response.getFailureCount());
+        assertEquals(PRODUCTS - 10, response.getSuccessCount());
+        assertEquals(7, response.getErrors().get(0).getIndex());
+        assertTrue(response.getErrors().get(0).getErrorMessage().contains("Invalid location format"));
+
+        // Consecutive ids after the last existing product
+        assertEquals("PRD042", response.getSuccessfulProductIds().get(0));
+        assertEquals(String.format("PRD%03d", 42 + PRODUCTS - 11), response.getSuccessfulProductIds().get(PRODUCTS - 11));
+        assertEquals(PRODUCTS - 10 + 1, pmRepository.count());
+        // Only the ACTIVE ones (even indexes, all valid) get an inventory row
+        assertEquals(PRODUCTS / 2, icRepository.count());
+        assertTrue(statistics.getPrepareStatementCount() < 100,
+                "Expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
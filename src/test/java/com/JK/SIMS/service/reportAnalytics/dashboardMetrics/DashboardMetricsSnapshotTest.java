@@ -0,0 +1,219 @@
+package com.JK.SIMS.service.reportAnalytics.dashboardMetrics;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.damage_loss.DamageLoss;
+import com.JK.SIMS.models.damage_loss.LossReason;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.supplier.Supplier;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.PurchaseOrder_repo.PurchaseOrderRepository;
+import com.JK.SIMS.repository.damageLossRepo.DamageLossRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.repository.supplier_repo.SupplierRepository;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * The snapshot must hold the same values as the aggregate queries it replaces, after a build and after
+ * applying committed changes, including the conditional stock statements that bypass the entity listener.
+ */
+@DataJpaTest
+@Import({DashboardMetricsSnapshot.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the snapshot only applies committed changes
+class DashboardMetricsSnapshotTest {
+
+    @MockitoSpyBean private DashboardMetricsSnapshot dashboardMetricsSnapshot;
+    @Autowired private SimpleMeterRegistry meterRegistry;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private PurchaseOrderRepository purchaseOrderRepository;
+    @Autowired private DamageLossRepository damageLossRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private final List<InventoryControlData> inventories = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        damageLossRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        purchaseOrderRepository.deleteAll();
+        icRepository.deleteAll();
+        supplierRepository.deleteAll();
+        pmRepository.deleteAll();
+        inventories.clear();
+
+        ProductStatus[] productStatuses = ProductStatus.values();
+        InventoryDataStatus[] inventoryStatuses = InventoryDataStatus.values();
+        List<ProductsForPM> products = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            products.add(new ProductsForPM(String.format("PRD%03d", i), "Product " + i, "A1-01",
+                    ProductCategories.ELECTRONIC, BigDecimal.valueOf(10 + i, 1), productStatuses[i % productStatuses.length]));
+        }
+        pmRepository.saveAll(products);
+        for (int i = 0; i < 20; i++) { // The last products have no inventory row
+            InventoryControlData inventory = InventoryFixtures.inventory("SKU-" + products.get(i).getProductID(),
+                    products.get(i), i * 3);
+            inventory.setMinLevel(10);
+            inventory.setStatus(inventoryStatuses[i % inventoryStatuses.length]);
+            inventories.add(inventory);
+        }
+        icRepository.saveAll(inventories);
+
+        Supplier supplier = new Supplier();
+        supplier.setName("Supplier");
+        supplier.setContactPerson("Jane Doe");
+        supplier.setEmail("supplier@sims.com");
+        supplier.setPhone("+1234567890");
+        supplier.setAddress("1 Main St");
+        supplierRepository.save(supplier);
+
+        SalesOrderStatus[] salesStatuses = SalesOrderStatus.values();
+        for (int i = 0; i < 20; i++) {
+            salesOrderRepository.save(salesOrder(String.format("SO-2026-03-10-%03d", i), salesStatuses[i % salesStatuses.length]));
+        }
+        PurchaseOrderStatus[] purchaseStatuses = PurchaseOrderStatus.values();
+        for (int i = 0; i < 15; i++) {
+            PurchaseOrder order = new PurchaseOrder(products.get(i), supplier, 5, LocalDate.of(2026, 3, 20), null,
+                    "PO-" + i, LocalDate.of(2026, 3, 10), LocalDateTime.now(), "alice");
+            order.setStatus(purchaseStatuses[i % purchaseStatuses.length]);
+            purchaseOrderRepository.save(order);
+        }
+        for (int i = 0; i < 5; i++) {
+            damageLossRepository.save(damage(inventories.get(i), i + 1));
+        }
+        dashboardMetricsSnapshot.rebuild();
+    }
+
+    @Test
+    void buildMatchesAggregates() {
+        assertSame(dashboardMetricsSnapshot.queryAggregates());
+    }
+
+    @Test
+    void committedChangesAreApplied() {
+        ProductsForPM product = pmRepository.findById("PRD001").orElseThrow();
+        product.setStatus(ProductStatus.DISCONTINUED);
+        product.setPrice(BigDecimal.valueOf(99));
+        pmRepository.save(product);
+
+        InventoryControlData inventory = icRepository.findById("SKU-PRD004").orElseThrow();
+        inventory.setCurrentStock(2);
+        inventory.setStatus(InventoryDataStatus.IN_STOCK);
+        icRepository.save(inventory);
+
+        // Conditional statements bypass the listener, as in StockManagementLogic
+        transactionTemplate.executeWithoutResult(status -> {
+            icRepository.reserveIfAvailable("PRD007", 5);
+            icRepository.fulfillIfReserved("PRD007", 5);
+            dashboardMetricsSnapshot.inventoryChanged("PRD007");
+        });
+
+        SalesOrder salesOrder = salesOrderRepository.findAll().get(0);
+        salesOrder.setStatus(SalesOrderStatus.CANCELLED);
+        salesOrderRepository.save(salesOrder);
+        salesOrderRepository.save(salesOrder("SO-2026-03-11-001", SalesOrderStatus.PENDING));
+
+        PurchaseOrder purchaseOrder = purchaseOrderRepository.findAll().get(0);
+        purchaseOrder.setStatus(PurchaseOrderStatus.CANCELLED);
+        purchaseOrderRepository.save(purchaseOrder);
+
+        damageLossRepository.deleteById(damageLossRepository.findAll().get(0).getId());
+        damageLossRepository.save(damage(inventories.get(8), 7));
+
+        DashboardCounts beforeRefresh = dashboardMetricsSnapshot.current().orElseThrow();
+        assertFalse(beforeRefresh.sameAs(dashboardMetricsSnapshot.queryAggregates()));
+
+        dashboardMetricsSnapshot.refresh();
+        assertSame(dashboardMetricsSnapshot.queryAggregates());
+    }
+
+    @Test
+    void reconcileRebuildsAfterUnseenChanges() {
+        double driftBefore = driftCount();
+        // A change the snapshot is not told about, like a write from another node
+        transactionTemplate.executeWithoutResult(status -> icRepository.deleteByProduct_ProductID("PRD012"));
+        assertFalse(dashboardMetricsSnapshot.current().orElseThrow().sameAs(dashboardMetricsSnapshot.queryAggregates()));
+
+        dashboardMetricsSnapshot.reconcile();
+        assertSame(dashboardMetricsSnapshot.queryAggregates());
+        assertEquals(driftBefore + 1, driftCount());
+    }
+
+    @Test
+    void changeCommittedDuringReconcileIsNotDrift() {
+        double driftBefore = driftCount();
+        boolean[] committed = {false};
+        doAnswer(invocation -> {
+            if (!committed[0]) { // Commits after the refresh, before the aggregates are queried
+                committed[0] = true;
+                transactionTemplate.executeWithoutResult(status -> {
+                    pmRepository.findById("PRD001").orElseThrow().setStatus(ProductStatus.DISCONTINUED);
+                    dashboardMetricsSnapshot.productChanged("PRD001");
+                });
+            }
+            return invocation.callRealMethod();
+        }).when(dashboardMetricsSnapshot).queryAggregates();
+
+        dashboardMetricsSnapshot.reconcile();
+
+        assertTrue(committed[0]);
+        assertEquals(driftBefore, driftCount());
+        assertSame(dashboardMetricsSnapshot.queryAggregates());
+    }
+
+    private double driftCount() {
+        return meterRegistry.counter("sims.dashboard.metrics.drift").count();
+    }
+
+    private void assertSame(DashboardCounts expected) {
+        DashboardCounts actual = dashboardMetricsSnapshot.current().orElseThrow();
+        assertTrue(actual.sameAs(expected), "snapshot " + actual + " differs from the aggregates " + expected);
+    }
+
+    private static SalesOrder salesOrder(String reference, SalesOrderStatus status) {
+        SalesOrder order = new SalesOrder(reference, "Berlin", status, null);
+        order.setCustomerName("Customer");
+        order.setCreatedBy("alice");
+        order.setEstimatedDeliveryDate(LocalDateTime.of(2026, 3, 15, 0, 0));
+        return order;
+    }
+
+    private static DamageLoss damage(InventoryControlData inventory, int quantity) {
+        DamageLoss damageLoss = new DamageLoss();
+        damageLoss.setIcProduct(inventory);
+        damageLoss.setQuantityLost(quantity);
+        damageLoss.setReason(LossReason.DAMAGED);
+        damageLoss.setLossValue(BigDecimal.TEN);
+        damageLoss.setLossDate(LocalDateTime.now());
+        damageLoss.setRecordedBy("alice");
+        return damageLoss;
+    }
+}
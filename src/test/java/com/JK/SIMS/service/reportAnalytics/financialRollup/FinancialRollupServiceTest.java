@@ -0,0 +1,195 @@
+package com.JK.SIMS.service.reportAnalytics.financialRollup;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.damage_loss.DamageLoss;
+import com.JK.SIMS.models.damage_loss.LossReason;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.reportAnalyticsMetrics.financial.rollup.FinancialRollupTotals;
+import com.JK.SIMS.models.salesOrder.SalesOrder;
+import com.JK.SIMS.models.salesOrder.SalesOrderStatus;
+import com.JK.SIMS.models.salesOrder.orderItem.OrderItem;
+import com.JK.SIMS.repository.InventoryControl_repo.IC_repository;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.damageLossRepo.DamageLossRepository;
+import com.JK.SIMS.repository.financialRollupRepo.DailyCategoryRollupRepository;
+import com.JK.SIMS.repository.financialRollupRepo.DailyFinancialRollupRepository;
+import com.JK.SIMS.repository.salesOrderRepo.OrderItemRepository;
+import com.JK.SIMS.repository.salesOrderRepo.SalesOrderRepository;
+import com.JK.SIMS.testSupport.InventoryFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sums of the daily rollups must equal the raw queries they replace for any date range, after a parallel
+ * backfill and after rebuilding the days marked by committed changes.
+ */
+@DataJpaTest
+@Import(FinancialRollupService.class)
+@TestPropertySource(properties = {"financial-rollup.backfill-chunk-days=7", "financial-rollup.backfill-threads=3"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // days are only marked when the change commits
+class FinancialRollupServiceTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.now().minusDays(60);
+
+    @Autowired private FinancialRollupService financialRollupService;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private IC_repository icRepository;
+    @Autowired private SalesOrderRepository salesOrderRepository;
+    @Autowired private OrderItemRepository orderItemRepository;
+    @Autowired private DamageLossRepository damageLossRepository;
+    @Autowired private DailyFinancialRollupRepository dailyFinancialRollupRepository;
+    @Autowired private DailyCategoryRollupRepository dailyCategoryRollupRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final List<ProductsForPM> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dailyCategoryRollupRepository.deleteAll();
+        dailyFinancialRollupRepository.deleteAll();
+        damageLossRepository.deleteAll();
+        salesOrderRepository.deleteAll();
+        icRepository.deleteAll();
+        pmRepository.deleteAll();
+        products.clear();
+
+        ProductCategories[] categories = {ProductCategories.ELECTRONIC, ProductCategories.DOLLS, ProductCategories.EDUCATION};
+        for (int i = 0; i < 6; i++) {
+            products.add(new ProductsForPM(String.format("PRD%03d", i), "Product " + i, "A1-01",
+                    categories[i % categories.length], BigDecimal.valueOf(1050 + i * 125L, 2), ProductStatus.ACTIVE));
+        }
+        pmRepository.saveAll(products);
+        List<InventoryControlData> inventories = new ArrayList<>();
+        for (ProductsForPM product : products) {
+            InventoryControlData inventory = InventoryFixtures.inventory("SKU-" + product.getProductID(), product, 100);
+            inventory.setMinLevel(10);
+            inventories.add(inventory);
+        }
+        icRepository.saveAll(inventories);
+
+        SalesOrderStatus[] statuses = SalesOrderStatus.values();
+        for (int i = 0; i < 120; i++) {
+            SalesOrder order = new SalesOrder(String.format("SO-2026-03-10-%03d", i), "Berlin", statuses[i % statuses.length], null);
+            order.setCustomerName("Customer " + i);
+            order.setCreatedBy("alice");
+            order.setEstimatedDeliveryDate(LocalDateTime.now());
+            order.addOrderItem(new OrderItem(1 + i % 4, products.get(i % products.size()), BigDecimal.TEN));
+            order.addOrderItem(new OrderItem(2, products.get((i * 5 + 1) % products.size()), BigDecimal.TEN));
+            salesOrderRepository.save(order);
+            // The order date is set on insert only
+            jdbcTemplate.update("UPDATE sales_order SET order_date = ? WHERE id = ?",
+                    FIRST_DAY.plusDays(i / 2).atTime(i % 24, 15), order.getId());
+        }
+        for (int i = 0; i < 40; i++) {
+            damageLossRepository.save(damage(inventories.get(i % inventories.size()),
+                    FIRST_DAY.plusDays(i * 3 / 2).atTime(9, 0), BigDecimal.valueOf(500 + i * 37L, 2)));
+        }
+        assertTrue(financialRollupService.backfillAll());
+    }
+
+    @Test
+    void backfillMatchesRawQueries() {
+        assertRangesMatch();
+        BigDecimal categoryRevenue = dailyCategoryRollupRepository
+                .findByRollupDateBetweenOrderByRollupDateAscCategoryAsc(FIRST_DAY, LocalDate.now()).stream()
+                .map(rollup -> rollup.getRevenue())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, categoryRevenue.compareTo(rollups(FIRST_DAY, LocalDate.now()).getRevenue()));
+    }
+
+    @Test
+    void committedChangesAreRolledUp() {
+        SalesOrder order = salesOrderRepository.findAll().stream()
+                .filter(so -> so.getStatus() == SalesOrderStatus.PENDING).findFirst().orElseThrow();
+        order.setStatus(SalesOrderStatus.DELIVERED);
+        salesOrderRepository.save(order);
+
+        OrderItem item = orderItemRepository.findAll().get(3);
+        item.setQuantity(item.getQuantity() + 7);
+        orderItemRepository.save(item);
+
+        DamageLoss damageLoss = damageLossRepository.findAll().get(5);
+        damageLoss.setLossValue(damageLoss.getLossValue().add(BigDecimal.valueOf(12.34)));
+        damageLossRepository.save(damageLoss);
+        damageLossRepository.save(damage(icRepository.findById("SKU-PRD002").orElseThrow(),
+                LocalDateTime.now(), BigDecimal.valueOf(3.21)));
+
+        // Price changes are applied by the product service, which marks the product
+        ProductsForPM product = pmRepository.findById("PRD001").orElseThrow();
+        product.setPrice(BigDecimal.valueOf(99.99));
+        pmRepository.save(product);
+        financialRollupService.productChanged("PRD001");
+
+        financialRollupService.refresh();
+        assertRangesMatch();
+    }
+
+    @Test
+    void damageMovedToAnotherDayRebuildsBothDays() {
+        financialRollupService.refresh(); // Clears the days marked while the test data was inserted
+        DamageLoss damageLoss = damageLossRepository.findAll().get(7);
+        LocalDate oldDay = damageLoss.getLossDate().toLocalDate();
+        LocalDate newDay = LocalDate.now().minusDays(1);
+        BigDecimal oldDayLoss = rollups(oldDay, oldDay).getLossValue();
+        BigDecimal newDayLoss = rollups(newDay, newDay).getLossValue();
+
+        damageLoss.setLossDate(newDay.atTime(14, 0));
+        damageLossRepository.save(damageLoss);
+        financialRollupService.refresh();
+
+        assertEquals(0, oldDayLoss.subtract(damageLoss.getLossValue()).compareTo(rollups(oldDay, oldDay).getLossValue()));
+        assertEquals(0, newDayLoss.add(damageLoss.getLossValue()).compareTo(rollups(newDay, newDay).getLossValue()));
+        assertRangesMatch();
+    }
+
+    private void assertRangesMatch() {
+        LocalDate today = LocalDate.now();
+        List<LocalDate[]> ranges = List.of(
+                new LocalDate[]{FIRST_DAY, today},
+                new LocalDate[]{FIRST_DAY.minusYears(1), today},
+                new LocalDate[]{FIRST_DAY.plusDays(3), FIRST_DAY.plusDays(3)},
+                new LocalDate[]{FIRST_DAY.plusDays(10), FIRST_DAY.plusDays(45)},
+                new LocalDate[]{today.minusDays(6), today});
+        for (LocalDate[] range : ranges) {
+            LocalDateTime start = range[0].atStartOfDay();
+            LocalDateTime end = range[1].atTime(23, 59, 59);
+            FinancialRollupTotals rollups = rollups(range[0], range[1]);
+            String label = range[0] + " to " + range[1];
+            assertEquals(0, orderItemRepository.calculateTotalRevenue(start, end).compareTo(rollups.getRevenue()), "revenue " + label);
+            assertEquals(salesOrderRepository.countCompletedSalesOrdersBetween(start, end), rollups.getCompletedOrders(), "orders " + label);
+            assertEquals(0, damageLossRepository.sumLossValueBetween(start, end).compareTo(rollups.getLossValue()), "loss " + label);
+        }
+    }
+
+    private FinancialRollupTotals rollups(LocalDate startDate, LocalDate endDate) {
+        return financialRollupService.sumBetween(startDate, endDate).orElseThrow();
+    }
+
+    private static DamageLoss damage(InventoryControlData inventory, LocalDateTime lossDate, BigDecimal lossValue) {
+        DamageLoss damageLoss = new DamageLoss();
+        damageLoss.setIcProduct(inventory);
+        damageLoss.setQuantityLost(1);
+        damageLoss.setReason(LossReason.DAMAGED);
+        damageLoss.setLossValue(lossValue);
+        damageLoss.setLossDate(lossDate);
+        damageLoss.setRecordedBy("alice");
+        return damageLoss;
+    }
+}
@@ -0,0 +1,196 @@
+package com.JK.SIMS.service.reportJob;
+
+import com.JK.SIMS.config.AppConfig;
+import com.JK.SIMS.config.security.utils.SecurityUtils;
+import com.JK.SIMS.exception.ResourceNotFoundException;
+import com.JK.SIMS.exception.ValidationException;
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.reportJob.ReportDataSet;
+import com.JK.SIMS.models.reportJob.ReportJobStatus;
+import com.JK.SIMS.models.reportJob.ReportType;
+import com.JK.SIMS.models.reportJob.dtos.ReportJobRequest;
+import com.JK.SIMS.models.reportJob.dtos.ReportJobResponse;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.reportJobRepo.ReportDataVersionRepository;
+import com.JK.SIMS.repository.reportJobRepo.ReportJobRepository;
+import com.JK.SIMS.service.InventoryServices.lowStockService.LowStockService;
+import com.JK.SIMS.service.InventoryServices.totalItemsService.TotalItemsService;
+import com.JK.SIMS.service.productManagementService.ProductManagementService;
+import com.JK.SIMS.service.reportJob.artifactStore.LocalReportArtifactStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Report jobs are built once per request and data version: identical requests share the stored artifact
+ * until a committed change of the report data increases its version. A job is only visible to its submitter
+ * and to admins, and a sort the report does not support is rejected on submit.
+ */
+@DataJpaTest
+@Import({ReportJobService.class, ReportJobProcessor.class, ReportDataVersions.class, LocalReportArtifactStore.class, AppConfig.class})
+@TestPropertySource(properties = {
+        "report-jobs.artifact-store=local",
+        "report-jobs.local-store.directory=target/test-report-artifacts",
+        "report-jobs.retry-backoff-ms=0"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // versions only change when the change commits
+class ReportJobServiceTest {
+
+    @Autowired private ReportJobService reportJobService;
+    @Autowired private ReportJobProcessor reportJobProcessor;
+    @Autowired private ReportDataVersions reportDataVersions;
+    @Autowired private ReportJobRepository reportJobRepository;
+    @Autowired private ReportDataVersionRepository reportDataVersionRepository;
+    @Autowired private PM_repository pmRepository;
+
+    @MockitoBean private ProductManagementService productManagementService;
+    @MockitoBean private TotalItemsService totalItemsService;
+    @MockitoBean private LowStockService lowStockService;
+    @MockitoBean private SecurityUtils securityUtils;
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        reportJobRepository.deleteAll();
+        pmRepository.deleteAll();
+        reportDataVersionRepository.deleteAll();
+        renders.set(0);
+        // The tests use the username as the token
+        when(securityUtils.validateAndExtractUsername(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productManagementService.writePMReport(any())).thenAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write(("products v" + renders.incrementAndGet()).getBytes(StandardCharsets.UTF_8));
+            return 3L;
+        });
+    }
+
+    @Test
+    void committedChangesIncreaseTheVersionOncePerTransaction() {
+        long before = reportDataVersions.currentVersions().get(ReportDataSet.PRODUCTS);
+        pmRepository.saveAll(List.of(product("PRD001"), product("PRD002"), product("PRD003")));
+        assertEquals(before + 1, reportDataVersions.currentVersions().get(ReportDataSet.PRODUCTS));
+        assertEquals(0L, reportDataVersions.currentVersions().get(ReportDataSet.INVENTORY));
+
+        pmRepository.save(product("PRD004"));
+        assertEquals(before + 2, reportDataVersions.currentVersions().get(ReportDataSet.PRODUCTS));
+    }
+
+    @Test
+    void identicalRequestsReuseTheArtifactUntilTheDataChanges() throws Exception {
+        pmRepository.save(product("PRD001"));
+
+        ReportJobResponse first = awaitDone(reportJobService.submit(request(ReportType.PRODUCTS), "alice").jobId());
+        assertEquals(3L, first.rowCount());
+        assertEquals("products v1", Files.readString(Path.of(URI.create(first.downloadUrl()))));
+
+        ReportJobResponse second = reportJobService.submit(request(ReportType.PRODUCTS), "alice");
+        assertEquals(first.jobId(), second.jobId());
+        assertEquals(ReportJobStatus.DONE, second.status());
+        assertEquals(1, renders.get());
+
+        ProductsForPM product = pmRepository.findById("PRD001").orElseThrow();
+        product.setPrice(BigDecimal.ONE);
+        pmRepository.save(product);
+
+        ReportJobResponse third = awaitDone(reportJobService.submit(request(ReportType.PRODUCTS), "alice").jobId());
+        assertNotEquals(first.jobId(), third.jobId());
+        assertEquals("products v2", Files.readString(Path.of(URI.create(third.downloadUrl()))));
+    }
+
+    @Test
+    void failedAttemptsAreRetriedUntilMaxAttempts() throws Exception {
+        when(lowStockService.writeLowStockReport(any(), eq("pmProduct.name"), eq("desc")))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        ReportJobResponse submitted = reportJobService.submit(request(ReportType.LOW_STOCK), "alice");
+        // Retries are picked up by the poll
+        ReportJobResponse failed = awaitFinished(submitted.jobId(), "alice", reportJobProcessor::pollDueJobs);
+        assertEquals(ReportJobStatus.FAILED, failed.status());
+        assertEquals("database unavailable", failed.error());
+        assertNull(failed.downloadUrl());
+        verify(lowStockService, times(3)).writeLowStockReport(any(), eq("pmProduct.name"), eq("desc"));
+    }
+
+    @Test
+    void sortIsValidatedAgainstTheReportType() throws Exception {
+        assertThrows(ValidationException.class, () -> reportJobService.submit(
+                new ReportJobRequest(ReportType.LOW_STOCK, "pmProduct.password", "asc"), "alice"));
+        assertThrows(ValidationException.class, () -> reportJobService.submit(
+                new ReportJobRequest(ReportType.TOTAL_ITEMS, "currentStock", "sideways"), "alice"));
+        assertThrows(ValidationException.class, () -> reportJobService.submit(
+                new ReportJobRequest(ReportType.PRODUCTS, "name", null), "alice"));
+        assertEquals(0, reportJobRepository.count());
+
+        ReportJobResponse sorted = reportJobService.submit(new ReportJobRequest(ReportType.TOTAL_ITEMS, "currentStock", "ASC"), "alice");
+        assertEquals(ReportJobStatus.PENDING, sorted.status());
+        assertEquals("asc", reportJobRepository.findById(sorted.jobId()).orElseThrow().getSortDirection());
+    }
+
+    @Test
+    void jobIsOnlyVisibleToItsSubmitterAndAdmins() throws Exception {
+        ReportJobResponse alicesJob = awaitDone(reportJobService.submit(request(ReportType.PRODUCTS), "alice").jobId());
+
+        assertThrows(ResourceNotFoundException.class, () -> reportJobService.getJob(alicesJob.jobId(), "bob"));
+        // An identical request of another user gets a job of its own
+        ReportJobResponse bobsJob = awaitDone(reportJobService.submit(request(ReportType.PRODUCTS), "bob").jobId(), "bob");
+        assertNotEquals(alicesJob.jobId(), bobsJob.jobId());
+
+        when(securityUtils.hasAccess()).thenReturn(true);
+        assertEquals(alicesJob.downloadUrl(), reportJobService.getJob(alicesJob.jobId(), "admin").downloadUrl());
+    }
+
+    private ReportJobResponse awaitDone(Long jobId) throws Exception {
+        return awaitDone(jobId, "alice");
+    }
+
+    private ReportJobResponse awaitDone(Long jobId, String username) throws Exception {
+        ReportJobResponse job = awaitFinished(jobId, username, () -> { });
+        assertEquals(ReportJobStatus.DONE, job.status(), "job " + jobId + ": " + job.error());
+        return job;
+    }
+
+    private ReportJobResponse awaitFinished(Long jobId, String username, Runnable eachRound) throws Exception {
+        for (int i = 0; i < 200; i++) {
+            ReportJobResponse job = reportJobService.getJob(jobId, username);
+            if (job.status() == ReportJobStatus.DONE || job.status() == ReportJobStatus.FAILED) {
+                return job;
+            }
+            eachRound.run();
+            Thread.sleep(50);
+        }
+        fail("Report job " + jobId + " did not finish");
+        return null;
+    }
+
+    private static ReportJobRequest request(ReportType reportType) {
+        return new ReportJobRequest(reportType, null, null);
+    }
+
+    private static ProductsForPM product(String productId) {
+        return new ProductsForPM(productId, "Product " + productId, "A1-01", ProductCategories.ELECTRONIC,
+                BigDecimal.TEN, ProductStatus.ACTIVE);
+    }
+}
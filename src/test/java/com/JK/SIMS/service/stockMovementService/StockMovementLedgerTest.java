@@ -0,0 +1,128 @@
+package com.JK.SIMS.service.stockMovementService;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.stockMovement.StockMovementRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Movements appended during a transaction are inserted in one batch when it commits, and dropped with it
+ * when it rolls back. Also compares 10k movements written through the ledger with one save per movement.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({StockMovementService.class, StockMovementLedger.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // every transaction commits on its own
+class StockMovementLedgerTest {
+
+    private static final int MOVEMENTS = 10_000;
+    private static final int MOVEMENTS_PER_TRANSACTION = 500; // A large goods receipt or stock-out
+
+    @Autowired private StockMovementService stockMovementService;
+    @Autowired private StockMovementLedger stockMovementLedger;
+    @Autowired private StockMovementRepository stockMovementRepository;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private ProductsForPM product;
+
+    @BeforeEach
+    void setUp() {
+        stockMovementRepository.deleteAll();
+        pmRepository.deleteAll();
+        product = pmRepository.save(new ProductsForPM("PRD001", "Cable", "A1-001", ProductCategories.ELECTRONIC,
+                BigDecimal.TEN, ProductStatus.ACTIVE));
+    }
+
+    @Test
+    void movementsCommitAndRollBackWithTheirTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            log(3);
+            assertEquals(0, stockMovementRepository.count(), "Movements are inserted at commit");
+        });
+        assertEquals(3, stockMovementRepository.count());
+
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            log(2);
+            throw new IllegalStateException("Stock update failed");
+        }));
+        assertEquals(3, stockMovementRepository.count());
+    }
+
+    @Test
+    void tenThousandMovements() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // One save per movement, as before the ledger
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < MOVEMENTS; i += MOVEMENTS_PER_TRANSACTION) {
+            transaction.executeWithoutResult(status -> {
+                for (int j = 0; j < MOVEMENTS_PER_TRANSACTION; j++) {
+                    stockMovementRepository.saveAndFlush(movement());
+                }
+            });
+        }
+        long perRowNanos = System.nanoTime() - start;
+        long perRowStatements = statistics.getPrepareStatementCount();
+        stockMovementRepository.deleteAllInBatch();
+
+        // Through the ledger, inserted at commit
+        statistics.clear();
+        StockMovementLedger.Stats before = stockMovementLedger.stats();
+        start = System.nanoTime();
+        for (int i = 0; i < MOVEMENTS; i += MOVEMENTS_PER_TRANSACTION) {
+            transaction.executeWithoutResult(status -> log(MOVEMENTS_PER_TRANSACTION));
+        }
+        long ledgerNanos = System.nanoTime() - start;
+        long ledgerStatements = statistics.getPrepareStatementCount();
+        StockMovementLedger.Stats after = stockMovementLedger.stats();
+
+        log.info("StockMovementLedgerTest: {} movements - one save each: {} ms, {} statements; ledger: {} ms, {} statements, "
+                        + "{} inserted/s during flushes",
+                MOVEMENTS, perRowNanos / 1_000_000, perRowStatements, ledgerNanos / 1_000_000, ledgerStatements,
+                Math.round(after.flushedPerSecond()));
+
+        assertEquals(MOVEMENTS, stockMovementRepository.count());
+        assertEquals(MOVEMENTS, after.flushed() - before.flushed());
+        assertEquals(MOVEMENTS / MOVEMENTS_PER_TRANSACTION, after.flushes() - before.flushes());
+        // One insert batch per transaction plus the id blocks, instead of one insert per movement
+        assertTrue(ledgerStatements < perRowStatements / 10,
+                "Expected batched inserts but got " + ledgerStatements + " statements");
+    }
+
+    private void log(int count) {
+        for (int i = 0; i < count; i++) {
+            stockMovementService.logMovement(product, StockMovementType.IN, i + 1, "PO-" + i,
+                    StockMovementReferenceType.PURCHASE_ORDER, "manager");
+        }
+    }
+
+    private StockMovement movement() {
+        return new StockMovement(product, 1, StockMovementType.IN, "PO-1", StockMovementReferenceType.PURCHASE_ORDER, "manager");
+    }
+}
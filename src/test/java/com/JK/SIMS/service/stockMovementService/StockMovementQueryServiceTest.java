@@ -0,0 +1,176 @@
+package com.JK.SIMS.service.stockMovementService;
+
+import com.JK.SIMS.exception.ValidationException;
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.PaginatedResponse;
+import com.JK.SIMS.models.stockMovements.StockMovement;
+import com.JK.SIMS.models.stockMovements.StockMovementReferenceType;
+import com.JK.SIMS.models.stockMovements.StockMovementType;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementFilter;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementSeries;
+import com.JK.SIMS.models.stockMovements.dtos.StockMovementView;
+import com.JK.SIMS.repository.ProductManagement_repo.PM_repository;
+import com.JK.SIMS.repository.stockMovement.StockMovementRepository;
+import com.JK.SIMS.service.generalUtils.keysetPagination.KeysetPaginator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The movement history is filtered and paged with keyset cursors, summed per product by day or week,
+ * and exported as one JSON object per line.
+ */
+@DataJpaTest
+@Import({StockMovementQueryService.class, KeysetPaginator.class, StockMovementQueryServiceTest.Config.class})
+class StockMovementQueryServiceTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        Clock clock() {
+            return Clock.fixed(Instant.parse("2026-10-15T12:00:00Z"), ZoneOffset.UTC);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            // ISO dates, as configured by Spring Boot
+            return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        }
+    }
+
+    @Autowired private StockMovementQueryService stockMovementQueryService;
+    @Autowired private StockMovementRepository stockMovementRepository;
+    @Autowired private PM_repository pmRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManager entityManager;
+    @Autowired private ObjectMapper objectMapper;
+
+    private Long receivedFirst;
+    private Long shippedFirst;
+    private Long receivedSecond;
+    private Long shippedSecond;
+    private Long receivedLast;
+
+    @BeforeEach
+    void setUp() {
+        ProductsForPM cable = pmRepository.save(new ProductsForPM("PRD001", "Cable", "A1-001", ProductCategories.ELECTRONIC,
+                BigDecimal.TEN, ProductStatus.ACTIVE));
+        ProductsForPM fan = pmRepository.save(new ProductsForPM("PRD002", "Fan", "A1-002", ProductCategories.ELECTRONIC,
+                BigDecimal.TEN, ProductStatus.ACTIVE));
+        // 2026-10-05 and 2026-10-12 are Mondays
+        receivedFirst = movement(cable, 10, StockMovementType.IN, "PO-1", "2026-10-05T09:00");
+        shippedFirst = movement(cable, 3, StockMovementType.OUT, "SO-1", "2026-10-05T15:00");
+        movement(fan, 7, StockMovementType.IN, "PO-3", "2026-10-06T12:00");
+        receivedSecond = movement(cable, 4, StockMovementType.IN, "PO-4", "2026-10-06T12:00"); // Same time, higher id
+        shippedSecond = movement(cable, 2, StockMovementType.OUT, "SO-2", "2026-10-07T10:00");
+        receivedLast = movement(cable, 5, StockMovementType.IN, "PO-2", "2026-10-12T08:00");
+        entityManager.clear();
+    }
+
+    @Test
+    void filtersAndPagesTheHistoryNewestFirst() {
+        StockMovementFilter cableOnly = new StockMovementFilter("PRD001", null, null, null, null, null);
+
+        PaginatedResponse<StockMovementView> first = stockMovementQueryService.getMovements(cableOnly, "desc", null, 2);
+        assertEquals(List.of(receivedLast, shippedSecond), ids(first));
+        assertEquals("Cable", first.getContent().get(0).productName());
+        assertNull(first.getTotalElements());
+        PaginatedResponse<StockMovementView> second = stockMovementQueryService.getMovements(cableOnly, "desc", first.getNextCursor(), 2);
+        assertEquals(List.of(receivedSecond, shippedFirst), ids(second));
+        PaginatedResponse<StockMovementView> last = stockMovementQueryService.getMovements(cableOnly, "desc", second.getNextCursor(), 2);
+        assertEquals(List.of(receivedFirst), ids(last));
+        assertNull(last.getNextCursor());
+
+        StockMovementFilter salesOrders = new StockMovementFilter(null, StockMovementType.OUT,
+                StockMovementReferenceType.SALES_ORDER, null, null, null);
+        assertEquals(List.of(shippedFirst, shippedSecond),
+                ids(stockMovementQueryService.getMovements(salesOrders, "asc", null, 10)));
+        StockMovementFilter oneOrder = new StockMovementFilter(null, null, null, "PO-4", null, null);
+        assertEquals(List.of(receivedSecond), ids(stockMovementQueryService.getMovements(oneOrder, "desc", null, 10)));
+        StockMovementFilter sixthOfOctober = new StockMovementFilter("PRD001", null, null, null,
+                LocalDateTime.parse("2026-10-06T00:00"), LocalDateTime.parse("2026-10-07T10:00"));
+        assertEquals(List.of(receivedSecond), ids(stockMovementQueryService.getMovements(sixthOfOctober, "desc", null, 10)));
+    }
+
+    @Test
+    void sumsMovementsPerProductByDayAndWeek() {
+        StockMovementSeries daily = stockMovementQueryService.getSeries(null, StockMovementSeries.Granularity.DAY,
+                LocalDate.parse("2026-10-01"), LocalDate.parse("2026-10-12"));
+        assertEquals(2, daily.products().size());
+        StockMovementSeries.ProductSeries cable = daily.products().get(0);
+        assertEquals("PRD001", cable.productId());
+        assertEquals(19, cable.totalIn());
+        assertEquals(5, cable.totalOut());
+        assertEquals(List.of(
+                new StockMovementSeries.Point(LocalDate.parse("2026-10-05"), 10, 3, 7),
+                new StockMovementSeries.Point(LocalDate.parse("2026-10-06"), 4, 0, 4),
+                new StockMovementSeries.Point(LocalDate.parse("2026-10-07"), 0, 2, -2),
+                new StockMovementSeries.Point(LocalDate.parse("2026-10-12"), 5, 0, 5)), cable.points());
+        assertEquals(7, daily.products().get(1).totalIn());
+
+        StockMovementSeries weekly = stockMovementQueryService.getSeries("PRD001", StockMovementSeries.Granularity.WEEK,
+                LocalDate.parse("2026-10-06"), null);
+        assertEquals(LocalDate.parse("2026-10-15"), weekly.to()); // Today by default
+        assertEquals(List.of(
+                new StockMovementSeries.Point(LocalDate.parse("2026-10-05"), 4, 2, 2), // Only from 2026-10-06
+                new StockMovementSeries.Point(LocalDate.parse("2026-10-12"), 5, 0, 5)), weekly.products().get(0).points());
+
+        assertThrows(ValidationException.class, () -> stockMovementQueryService.getSeries(null,
+                StockMovementSeries.Granularity.DAY, LocalDate.parse("2025-01-01"), LocalDate.parse("2026-10-01")));
+    }
+
+    @Test
+    void exportsOneJsonObjectPerLineOldestFirst() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long rowCount = stockMovementQueryService.writeMovements(outputStream,
+                new StockMovementFilter("PRD001", null, null, null, null, null));
+
+        String ndjson = outputStream.toString(StandardCharsets.UTF_8);
+        assertEquals(5, rowCount);
+        assertTrue(ndjson.endsWith("\n"));
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(5, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(receivedFirst, first.get("id").asLong());
+        assertEquals("Cable", first.get("productName").asText());
+        assertEquals("PURCHASE_ORDER", first.get("referenceType").asText());
+        assertEquals("2026-10-05T09:00:00", first.get("createdAt").asText());
+        assertEquals(receivedLast, objectMapper.readTree(lines.get(4)).get("id").asLong());
+    }
+
+    // createdAt is set by Hibernate on insert, so the test times are written afterwards
+    private Long movement(ProductsForPM product, int quantity, StockMovementType type, String referenceId, String createdAt) {
+        StockMovementReferenceType referenceType = referenceId.startsWith("PO")
+                ? StockMovementReferenceType.PURCHASE_ORDER : StockMovementReferenceType.SALES_ORDER;
+        StockMovement movement = stockMovementRepository.saveAndFlush(
+                new StockMovement(product, quantity, type, referenceId, referenceType, "tester"));
+        jdbcTemplate.update("UPDATE stock_movements SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.parse(createdAt)), movement.getId());
+        return movement.getId();
+    }
+
+    private static List<Long> ids(PaginatedResponse<StockMovementView> page) {
+        return page.getContent().stream().map(StockMovementView::id).toList();
+    }
+}
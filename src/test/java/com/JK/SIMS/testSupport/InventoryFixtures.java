@@ -0,0 +1,58 @@
+package com.JK.SIMS.testSupport;
+
+import com.JK.SIMS.models.PM_models.ProductCategories;
+import com.JK.SIMS.models.PM_models.ProductStatus;
+import com.JK.SIMS.models.PM_models.ProductsForPM;
+import com.JK.SIMS.models.inventoryData.InventoryControlData;
+import com.JK.SIMS.models.inventoryData.InventoryDataStatus;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrder;
+import com.JK.SIMS.models.purchaseOrder.PurchaseOrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Unsaved products, inventory rows and purchase orders for repository tests;
+ * a test changes what it cares about with the setters and saves them itself.
+ */
+public final class InventoryFixtures {
+    private InventoryFixtures() {}
+
+    public static final String LOCATION = "A1-001";
+
+    public static ProductsForPM product(String productId) {
+        return product(productId, ProductStatus.ACTIVE);
+    }
+
+    public static ProductsForPM product(String productId, ProductStatus status) {
+        return new ProductsForPM(productId, "Product " + productId, LOCATION, ProductCategories.ELECTRONIC,
+                BigDecimal.TEN, status);
+    }
+
+    // In stock at the product's location, nothing reserved and no minimum level
+    public static InventoryControlData inventory(String sku, ProductsForPM product, int currentStock) {
+        InventoryControlData inventory = new InventoryControlData();
+        inventory.setSKU(sku);
+        inventory.setPmProduct(product);
+        inventory.setLocation(product.getLocation());
+        inventory.setCurrentStock(currentStock);
+        inventory.setMinLevel(0);
+        inventory.setStatus(InventoryDataStatus.IN_STOCK);
+        return inventory;
+    }
+
+    // Ordered a week ago and on its way, nothing received yet
+    public static PurchaseOrder purchaseOrder(String poNumber, ProductsForPM product, int orderedQuantity) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.setPONumber(poNumber);
+        order.setProduct(product);
+        order.setOrderedQuantity(orderedQuantity);
+        order.setReceivedQuantity(0);
+        order.setStatus(PurchaseOrderStatus.DELIVERY_IN_PROCESS);
+        order.setOrderDate(LocalDate.now().minusDays(7));
+        order.setLastUpdated(LocalDateTime.now());
+        order.setOrderedBy("buyer");
+        return order;
+    }
+}